@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex.tregex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.oracle.truffle.regex.RegexCache;
+import com.oracle.truffle.regex.RegexOptions;
+import com.oracle.truffle.regex.RegexSource;
+
+public class RegexCacheTest {
+
+    private static RegexSource source(String pattern) {
+        return new RegexSource(pattern, "", RegexOptions.DEFAULT, null);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        RegexCache cache = new RegexCache(10, 100);
+        Object a = cache.get(source("a"), s -> new Object());
+        assertSame(a, cache.get(source("a"), s -> new Object()));
+        cache.get(source("b"), s -> new Object());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getTotalWeight());
+        long compilations = 0;
+        for (long n : cache.getCompilationTimeHistogram()) {
+            compilations += n;
+        }
+        assertEquals(2, compilations);
+    }
+
+    @Test
+    public void testLRUEviction() {
+        RegexCache cache = new RegexCache(2, 100);
+        Object a = cache.get(source("a"), s -> new Object());
+        cache.get(source("b"), s -> new Object());
+        // "a" is now more recently used than "b"
+        cache.get(source("a"), s -> new Object());
+        cache.get(source("c"), s -> new Object());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(a, cache.get(source("a"), s -> new Object()));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testWeightEviction() {
+        RegexCache cache = new RegexCache(100, 3);
+        for (String pattern : new String[]{"a", "b", "c", "d", "e"}) {
+            cache.get(source(pattern), s -> new Object());
+        }
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.getTotalWeight());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testExceptionsAreNotCached() {
+        RegexCache cache = new RegexCache(10, 100);
+        try {
+            cache.get(source("("), s -> {
+                throw new IllegalArgumentException();
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0, cache.size());
+    }
+}
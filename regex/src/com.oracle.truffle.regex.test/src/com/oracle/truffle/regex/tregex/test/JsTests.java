@@ -99,4 +99,57 @@ public class JsTests extends RegexTestBase {
     public void gr29388() {
         test(".+(?=bar)|.+", "", "foobar", 0, true, 0, 3);
     }
+
+    @Test
+    public void dfaBailout() {
+        // the fully expanded DFA of this expression exceeds TRegexMaxDFASize
+        String pattern = "([ab]*)a([ab][ab][ab][ab][ab][ab][ab][ab][ab][ab][ab][ab])";
+        test(pattern, "", "xxbabbabababababaabbx", 0, true, 2, 19, 2, 6, 7, 19);
+        test(pattern, "", "xxbabbabababababaabbx", 5, true, 5, 19, 5, 6, 7, 19);
+        test(pattern, "", "ab\u00e4aaaaaaaaaaaaa", 0, true, 3, 16, 3, 3, 4, 16);
+        test(pattern, "", "abababab", 0, false);
+    }
+
+    @Test
+    public void loopOptimizationLeadingChars() {
+        // the DFA state of the loop searches for the high surrogate shared by both excluded code
+        // points, which also stops at other astral code points that loop back to the state
+        String pattern = "[^\\u{1F600}\\u{1F601}]*\\u{1F601}";
+        test(pattern, "u", "ab\ud83d\ude00c\ud83d\ude01", 0, true, 4, 7);
+        test(pattern, "u", "x\ud83d\ude02y\ud83d\ude01", 0, true, 0, 6);
+        test(pattern, "u", "x\ud83d\ude02y\ud83d\ude00", 0, false);
+        test("[^a\\u{1F600}]*b", "u", "xx\ud83d\ude02\u00e4b", 0, true, 0, 6);
+    }
+
+    @Test
+    public void innerLiteralMaxIndex() {
+        test("a.*foo", "", "xafo", 0, false);
+        test("a.*foo", "", "xafoofoo", 0, true, 1, 8);
+    }
+
+    @Test
+    public void regexSet() {
+        String[] patterns = {"foo", "ba[rz]", "^qu+x", "\\d+$", "(?=a)b", "", "y\\n"};
+        testRegexSet(patterns, "", "xxbazyyfoo", 0, 0, 1, 5);
+        testRegexSet(patterns, "", "xxbazyyfoo", 5, 0, 5);
+        testRegexSet(patterns, "", "quuux 42", 0, 2, 3, 5);
+        testRegexSet(patterns, "", "x quux 42x", 0, 5);
+        testRegexSet(patterns, "", "y\n", 0, 5, 6);
+        testRegexSet(patterns, "i", "FOOBAR", 0, 0, 1, 5);
+        testRegexSet(patterns, "y", "xfoo", 0, 5);
+        testRegexSet(new String[]{"a", "b"}, "", "ccc", 0);
+        testRegexSet(new String[]{"[\\u{1F600}-\\u{1F64F}]", "^.$"}, "u", "\ud83d\ude00", 0, 0, 1);
+    }
+
+    @Test
+    public void stream() {
+        testStream("ab|a", "", new String[]{"xa", "cab", "a"}, 1, 2, 3, 5, 5, 6);
+        testStream("a+b", "", new String[]{"aa", "ab", "xa"}, 0, 4);
+        testStream("x*", "", new String[]{"ab"}, 0, 0, 1, 1, 2, 2);
+        testStream("^a", "", new String[]{"a", "a"}, 0, 1);
+        testStream("a", "y", new String[]{"aa", "ba"}, 0, 1, 1, 2);
+        testStream("\\u{1F600}", "u", new String[]{"x\ud83d", "\ude00y"}, 1, 3);
+        testStream("b$", "", new String[]{"ab", "ab"}, 3, 4);
+        testStream("(?:)", "", new String[]{}, 0, 0);
+    }
 }
@@ -42,7 +42,9 @@ package com.oracle.truffle.regex.tregex.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
@@ -76,6 +78,47 @@ public abstract class RegexTestBase {
         return context.eval("regexDummyLang", "RegressionTestMode=true" + (getEngineOptions().isEmpty() ? "" : "," + getEngineOptions()) + '/' + pattern + '/' + flags);
     }
 
+    Value compileRegexSet(String flags, String... patterns) {
+        return context.eval("regexDummyLang", "RegexSet=true" + (getEngineOptions().isEmpty() ? "" : "," + getEngineOptions()) + '/' + String.join("\n", patterns) + '/' + flags);
+    }
+
+    void testRegexSet(String[] patterns, String flags, Object input, int fromIndex, int... expectedMatches) {
+        Value result = compileRegexSet(flags, patterns).invokeMember("exec", input, fromIndex);
+        int[] actualMatches = new int[(int) result.getArraySize()];
+        for (int i = 0; i < actualMatches.length; i++) {
+            actualMatches[i] = result.getArrayElement(i).asInt();
+        }
+        Assert.assertArrayEquals(expectedMatches, actualMatches);
+    }
+
+    Value compileStream(String pattern, String flags) {
+        return context.eval("regexDummyLang", "Stream=true" + (getEngineOptions().isEmpty() ? "" : "," + getEngineOptions()) + '/' + pattern + '/' + flags);
+    }
+
+    /**
+     * Feeds the given chunks into a streaming matcher one by one, and checks that the boundaries
+     * of all matches reported in between and after the end of the stream equal
+     * {@code expectedMatches}.
+     */
+    void testStream(String pattern, String flags, String[] chunks, long... expectedMatches) {
+        Value matcher = compileStream(pattern, flags).invokeMember("createMatcher");
+        List<Long> actualMatches = new ArrayList<>();
+        for (int i = 0; i <= chunks.length; i++) {
+            if (i < chunks.length) {
+                matcher.invokeMember("feed", chunks[i]);
+            } else {
+                matcher.invokeMember("end");
+            }
+            Value result = matcher.invokeMember("next");
+            while (result.getMember("isMatch").asBoolean()) {
+                actualMatches.add(result.invokeMember("getStart", 0).asLong());
+                actualMatches.add(result.invokeMember("getEnd", 0).asLong());
+                result = matcher.invokeMember("next");
+            }
+        }
+        Assert.assertArrayEquals(expectedMatches, actualMatches.stream().mapToLong(Long::longValue).toArray());
+    }
+
     Value execRegex(Value compiledRegex, Object input, int fromIndex) {
         return compiledRegex.invokeMember("exec", input, fromIndex);
     }
@@ -76,6 +76,15 @@ public abstract class RegexBodyNode extends ExecutableNode implements Instrument
         return language;
     }
 
+    /**
+     * Returns an object that is replaced whenever this node replaces its matcher, e.g. when it
+     * switches from the NFA to a DFA executor. {@link RegexCache} measures the weight of a cached
+     * regex again only if this object changed.
+     */
+    public Object getSpecialization() {
+        return this;
+    }
+
     @CompilerDirectives.TruffleBoundary
     @Override
     public SourceSection getSourceSection() {
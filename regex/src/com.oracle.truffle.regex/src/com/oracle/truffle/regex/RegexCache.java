@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.regex.tregex.TRegexOptions;
+
+/**
+ * Engine-wide cache of compiled regular expressions, owned by {@link RegexLanguage}. Since the
+ * language is shared between all contexts of an engine, every pattern is compiled only once per
+ * engine, even if it is requested by different languages or with different {@link
+ * com.oracle.truffle.api.source.Source} objects. Entries are keyed by {@link RegexSource}, i.e. by
+ * pattern, flags and {@link RegexOptions} (including flavor and encoding).
+ * <p>
+ * Every entry is weighted by the number of Truffle nodes of its matcher. The weight is measured
+ * when the entry is added, and again when a request finds that the matcher was replaced since, e.g.
+ * by a lazily compiled DFA (see {@link RegexRootNode#getSpecialization()}). The least recently used
+ * entries are evicted when the total weight exceeds {@link TRegexOptions#RegexMaxCacheWeight} or
+ * the number of entries exceeds {@link TRegexOptions#RegexMaxCacheSize}.
+ * <p>
+ * These bounds only cover the entries of this map. Truffle additionally caches the call target of
+ * every parsed {@link com.oracle.truffle.api.source.Source} that is marked as cached, so an evicted
+ * regex stays reachable through the parse caches of the requesting languages until their sources
+ * are collected.
+ */
+public final class RegexCache {
+
+    /**
+     * Number of buckets in the compilation time histogram. Bucket {@code i} counts compilations
+     * that took at least {@code 2^(i-1)} and less than {@code 2^i} microseconds, the last bucket
+     * counts all slower compilations.
+     */
+    public static final int COMPILATION_TIME_HISTOGRAM_SIZE = 24;
+
+    private final int maxSize;
+    private final long maxWeight;
+    private final LinkedHashMap<RegexSource, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private final long[] compilationTimeHistogram = new long[COMPILATION_TIME_HISTOGRAM_SIZE];
+
+    public RegexCache() {
+        this(TRegexOptions.RegexMaxCacheSize, TRegexOptions.RegexMaxCacheWeight);
+    }
+
+    public RegexCache(int maxSize, long maxWeight) {
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached regex object for {@code source}, or compiles it with {@code compiler} and
+     * adds it to the cache. Exceptions thrown by {@code compiler}, e.g. syntax errors, are not
+     * cached.
+     */
+    @TruffleBoundary
+    public Object get(RegexSource source, Function<RegexSource, Object> compiler) {
+        Entry entry;
+        boolean respecialized = false;
+        synchronized (this) {
+            entry = entries.get(source);
+            if (entry != null) {
+                hits++;
+                Object specialization = getSpecialization(entry.value);
+                if (specialization != entry.specialization) {
+                    entry.specialization = specialization;
+                    respecialized = true;
+                }
+            } else {
+                misses++;
+            }
+        }
+        if (entry != null) {
+            if (respecialized) {
+                updateWeight(source, entry);
+            }
+            return entry.value;
+        }
+        long start = System.nanoTime();
+        Object value = compiler.apply(source);
+        long elapsedNanos = System.nanoTime() - start;
+        Entry newEntry = new Entry(value, getSpecialization(value), weigh(value));
+        synchronized (this) {
+            compilationTimeHistogram[histogramBucket(elapsedNanos / 1000)]++;
+            Entry existing = entries.putIfAbsent(source, newEntry);
+            if (existing != null) {
+                // compiled concurrently by another thread
+                return existing.value;
+            }
+            totalWeight += newEntry.weight;
+            evict();
+        }
+        return value;
+    }
+
+    private void updateWeight(RegexSource source, Entry entry) {
+        int weight = weigh(entry.value);
+        synchronized (this) {
+            if (entries.get(source) == entry && entry.weight != weight) {
+                totalWeight += weight - entry.weight;
+                entry.weight = weight;
+                evict();
+            }
+        }
+    }
+
+    private void evict() {
+        assert Thread.holdsLock(this);
+        Iterator<Map.Entry<RegexSource, Entry>> it = entries.entrySet().iterator();
+        // always keep the most recently used entry
+        while ((totalWeight > maxWeight || entries.size() > maxSize) && entries.size() > 1) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            totalWeight -= eldest.weight;
+            evictions++;
+        }
+    }
+
+    private static RegexRootNode getRootNode(Object value) {
+        CallTarget callTarget;
+        if (value instanceof RegexObject) {
+            callTarget = ((RegexObject) value).getExecCallTarget();
+        } else if (value instanceof RegexSetObject) {
+            callTarget = ((RegexSetObject) value).getExecCallTarget();
+        } else {
+            return null;
+        }
+        if (callTarget instanceof RootCallTarget && ((RootCallTarget) callTarget).getRootNode() instanceof RegexRootNode) {
+            return (RegexRootNode) ((RootCallTarget) callTarget).getRootNode();
+        }
+        return null;
+    }
+
+    private static Object getSpecialization(Object value) {
+        RegexRootNode rootNode = getRootNode(value);
+        return rootNode == null ? null : rootNode.getSpecialization();
+    }
+
+    private static int weigh(Object value) {
+        RegexRootNode rootNode = getRootNode(value);
+        return rootNode == null ? 1 : NodeUtil.countNodes(rootNode);
+    }
+
+    static int histogramBucket(long micros) {
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, COMPILATION_TIME_HISTOGRAM_SIZE - 1);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the ratio of cache hits to all requests, or {@code 0} if there were no requests.
+     */
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns a copy of the compilation time histogram, see
+     * {@link #COMPILATION_TIME_HISTOGRAM_SIZE}.
+     */
+    public synchronized long[] getCompilationTimeHistogram() {
+        return compilationTimeHistogram.clone();
+    }
+
+    @TruffleBoundary
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("regex cache: %d entries, total weight %d, %d hits, %d misses (hit rate %.1f%%), %d evictions%ncompilation times:",
+                        entries.size(), totalWeight, hits, misses, getHitRate() * 100, evictions));
+        for (int i = 0; i < COMPILATION_TIME_HISTOGRAM_SIZE; i++) {
+            if (compilationTimeHistogram[i] > 0) {
+                sb.append(String.format("%n  %s %dus: %d", i == COMPILATION_TIME_HISTOGRAM_SIZE - 1 ? ">=" : "< ",
+                                i == COMPILATION_TIME_HISTOGRAM_SIZE - 1 ? 1L << (i - 1) : 1L << i, compilationTimeHistogram[i]));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private Object specialization;
+        private int weight;
+
+        Entry(Object value, Object specialization, int weight) {
+            this.value = value;
+            this.specialization = specialization;
+            this.weight = weight;
+        }
+    }
+}
@@ -40,6 +40,9 @@
  */
 package com.oracle.truffle.regex;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -59,6 +62,7 @@ import com.oracle.truffle.regex.tregex.parser.ast.GroupBoundaries;
 import com.oracle.truffle.regex.tregex.parser.flavors.RegexFlavor;
 import com.oracle.truffle.regex.tregex.parser.flavors.RegexFlavorProcessor;
 import com.oracle.truffle.regex.tregex.string.Encodings;
+import com.oracle.truffle.regex.tregex.util.Loggers;
 import com.oracle.truffle.regex.util.TruffleNull;
 
 /**
@@ -75,6 +79,10 @@ import com.oracle.truffle.regex.util.TruffleNull;
  * <ul>
  * <li>a {@link TruffleNull} object, indicating that TRegex cannot handle the given regex</li>
  * <li>a {@link RegexObject}, which can be used to match the given regex</li>
+ * <li>a {@link RegexSetObject}, if the option {@code RegexSet} was set (see
+ * {@link RegexOptions#isRegexSet()})</li>
+ * <li>a {@link RegexStreamObject}, if the option {@code Stream} was set (see
+ * {@link RegexOptions#isStream()})</li>
  * <li>a {@link RegexSyntaxException} may be thrown to indicate a syntax error. This exception is an
  * {@link AbstractTruffleException} with exception type {@link ExceptionType#PARSE_ERROR}.</li>
  * </ul>
@@ -132,6 +140,8 @@ public final class RegexLanguage extends TruffleLanguage<RegexLanguage.RegexCont
     private final GroupBoundaries[] cachedGroupBoundaries;
     public final RegexParserGlobals parserGlobals;
     public final PureNFAIndex emptyNFAIndex;
+    private final RegexCache cache = new RegexCache();
+    private final AtomicInteger liveContexts = new AtomicInteger();
 
     public RegexLanguage() {
         this.cachedGroupBoundaries = GroupBoundaries.createCachedGroupBoundaries();
@@ -143,9 +153,15 @@ public final class RegexLanguage extends TruffleLanguage<RegexLanguage.RegexCont
         return cachedGroupBoundaries;
     }
 
+    public RegexCache getCache() {
+        return cache;
+    }
+
     @Override
     protected CallTarget parse(ParsingRequest parsingRequest) {
-        return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(createRegexObject(createRegexSource(parsingRequest.getSource()))));
+        RegexSource source = createRegexSource(parsingRequest.getSource());
+        Object regex = source.getOptions().isValidate() ? createRegexObject(source) : cache.get(source, this::createRegexObject);
+        return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(regex));
     }
 
     private static RegexSource createRegexSource(Source source) {
@@ -171,28 +187,53 @@ public final class RegexLanguage extends TruffleLanguage<RegexLanguage.RegexCont
 
     private Object createRegexObject(RegexSource source) {
         if (source.getOptions().isValidate()) {
-            RegexFlavor flavor = source.getOptions().getFlavor();
-            if (flavor != null) {
-                RegexFlavorProcessor flavorProcessor = flavor.forRegex(source);
-                flavorProcessor.validate();
+            if (source.getOptions().isRegexSet()) {
+                for (String pattern : source.getPattern().split("\n", -1)) {
+                    validate(new RegexSource(pattern, source.getFlags(), source.getOptions(), source.getSource()));
+                }
             } else {
-                RegexValidator validator = new RegexValidator(source);
-                validator.validate();
+                validate(source);
             }
             return TruffleNull.INSTANCE;
         }
         try {
+            if (source.getOptions().isRegexSet()) {
+                return TRegexCompiler.compileRegexSet(this, source);
+            }
+            if (source.getOptions().isStream()) {
+                return TRegexCompiler.compileStream(this, source);
+            }
             return TRegexCompiler.compile(this, source);
         } catch (UnsupportedRegexException e) {
             return TruffleNull.INSTANCE;
         }
     }
 
+    private static void validate(RegexSource source) {
+        RegexFlavor flavor = source.getOptions().getFlavor();
+        if (flavor != null) {
+            RegexFlavorProcessor flavorProcessor = flavor.forRegex(source);
+            flavorProcessor.validate();
+        } else {
+            RegexValidator validator = new RegexValidator(source);
+            validator.validate();
+        }
+    }
+
     @Override
     protected RegexContext createContext(Env env) {
+        liveContexts.incrementAndGet();
         return new RegexContext(env);
     }
 
+    @Override
+    protected void disposeContext(RegexContext context) {
+        // the cache is shared by all contexts, log its statistics once the last one is disposed
+        if (liveContexts.decrementAndGet() == 0 && Loggers.LOG_CACHE_STATISTICS.isLoggable(Level.FINE)) {
+            Loggers.LOG_CACHE_STATISTICS.fine(cache.toString());
+        }
+    }
+
     @Override
     protected boolean patchContext(RegexContext context, Env newEnv) {
         context.patchContext(newEnv);
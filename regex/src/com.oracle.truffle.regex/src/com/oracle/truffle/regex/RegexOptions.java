@@ -88,6 +88,14 @@ import com.oracle.truffle.regex.tregex.string.Encodings;
  * generate debugging dumps of most relevant data structures in JSON, GraphViz and LaTex
  * format.</li>
  * <li><b>StepExecution</b>: dump tracing information about all DFA matcher runs.</li>
+ * <li><b>RegexSet</b>: interpret the pattern as a list of patterns separated by line feeds
+ * ({@code '\n'}), which are all matched simultaneously in a single pass over the input string.
+ * The resulting {@link RegexSetObject} reports which of the patterns match, but no match
+ * positions. Literal line feeds in the patterns must be escaped.</li>
+ * <li><b>Stream</b>: generate a matcher that searches a stream of input chunks without
+ * concatenating them, see {@link RegexStreamObject}. The matcher's {@code feed} and {@code next}
+ * methods run behind a {@code TruffleBoundary} on the lazily cached DFA of the caching NFA executor,
+ * so streaming searches do not reach the speed of a compiled DFA.</li>
  * </ul>
  * All options except {@code Flavor} and {@code Encoding} are boolean and {@code false} by default.
  */
@@ -107,6 +115,10 @@ public final class RegexOptions {
     public static final String UTF_16_EXPLODE_ASTRAL_SYMBOLS_NAME = "UTF16ExplodeAstralSymbols";
     private static final int VALIDATE = 1 << 6;
     public static final String VALIDATE_NAME = "Validate";
+    private static final int REGEX_SET = 1 << 7;
+    public static final String REGEX_SET_NAME = "RegexSet";
+    private static final int STREAM = 1 << 8;
+    public static final String STREAM_NAME = "Stream";
 
     public static final String FLAVOR_NAME = "Flavor";
     public static final String FLAVOR_PYTHON = "Python";
@@ -183,6 +195,23 @@ public final class RegexOptions {
         return isBitSet(VALIDATE);
     }
 
+    /**
+     * Interpret the pattern as a list of patterns separated by line feeds and match all of them in
+     * one pass, see {@link RegexSetObject}.
+     */
+    public boolean isRegexSet() {
+        return isBitSet(REGEX_SET);
+    }
+
+    /**
+     * Generate a matcher that consumes its input in successive chunks, see
+     * {@link RegexStreamObject}. Streaming searches always run in the interpreter on the caching
+     * NFA executor, not on a compiled DFA.
+     */
+    public boolean isStream() {
+        return isBitSet(STREAM);
+    }
+
     public RegexFlavor getFlavor() {
         return flavor;
     }
@@ -234,6 +263,12 @@ public final class RegexOptions {
         if (isAlwaysEager()) {
             sb.append(ALWAYS_EAGER_NAME + "=true,");
         }
+        if (isRegexSet()) {
+            sb.append(REGEX_SET_NAME + "=true,");
+        }
+        if (isStream()) {
+            sb.append(STREAM_NAME + "=true,");
+        }
         if (flavor == PythonFlavor.STR_INSTANCE) {
             sb.append(FLAVOR_NAME + "=" + FLAVOR_PYTHON_STR + ",");
         } else if (flavor == PythonFlavor.BYTES_INSTANCE) {
@@ -277,10 +312,18 @@ public final class RegexOptions {
                         i = parseFlavor(i);
                         break;
                     case 'R':
-                        i = parseBooleanOption(i, REGRESSION_TEST_MODE_NAME, REGRESSION_TEST_MODE);
+                        if (src.startsWith(REGEX_SET_NAME, i)) {
+                            i = parseBooleanOption(i, REGEX_SET_NAME, REGEX_SET);
+                        } else {
+                            i = parseBooleanOption(i, REGRESSION_TEST_MODE_NAME, REGRESSION_TEST_MODE);
+                        }
                         break;
                     case 'S':
-                        i = parseBooleanOption(i, STEP_EXECUTION_NAME, STEP_EXECUTION);
+                        if (src.startsWith(STREAM_NAME, i)) {
+                            i = parseBooleanOption(i, STREAM_NAME, STREAM);
+                        } else {
+                            i = parseBooleanOption(i, STEP_EXECUTION_NAME, STEP_EXECUTION);
+                        }
                         break;
                     case 'U':
                         if (i + 1 >= src.length()) {
@@ -73,6 +73,16 @@ public final class RegexRootNode extends RootNode {
         return body.execute(frame);
     }
 
+    /**
+     * See {@link RegexBodyNode#getSpecialization()}.
+     */
+    public Object getSpecialization() {
+        if (body instanceof InstrumentableNode.WrapperNode) {
+            return ((RegexBodyNode) ((InstrumentableNode.WrapperNode) body).getDelegateNode()).getSpecialization();
+        }
+        return body.getSpecialization();
+    }
+
     @TruffleBoundary
     @Override
     public String toString() {
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.regex.RegexObject.ExecCompiledRegexNode;
+import com.oracle.truffle.regex.result.RegexSetResult;
+import com.oracle.truffle.regex.runtime.nodes.ExpectStringOrTruffleObjectNode;
+import com.oracle.truffle.regex.runtime.nodes.ToLongNode;
+import com.oracle.truffle.regex.tregex.nodes.TRegexSetExecNode;
+import com.oracle.truffle.regex.util.TruffleReadOnlyKeysArray;
+
+/**
+ * {@link RegexSetObject} represents a compiled set of regular expressions (see
+ * {@link RegexOptions#isRegexSet()}), which are all matched against an input string in a single
+ * pass. It exposes the following properties:
+ * <ol>
+ * <li>{@link String} {@code pattern}: the source of the compiled regex set, i.e. all patterns
+ * separated by line feeds.</li>
+ * <li>{@code int patternCount}: the number of patterns in the set.</li>
+ * <li>{@code exec}: an invocable method that matches all patterns against a string. The method
+ * accepts the same parameters as the {@code exec} method of {@link RegexObject}, and returns a
+ * {@link RegexSetResult}, i.e. the indices of all patterns that match anywhere in the input string
+ * after {@code fromIndex}, in ascending order.</li>
+ * </ol>
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class RegexSetObject extends AbstractConstantKeysObject {
+
+    private static final String PROP_EXEC = "exec";
+    private static final String PROP_PATTERN = "pattern";
+    private static final String PROP_PATTERN_COUNT = "patternCount";
+    private static final TruffleReadOnlyKeysArray KEYS = new TruffleReadOnlyKeysArray(PROP_EXEC, PROP_PATTERN, PROP_PATTERN_COUNT);
+
+    private final RegexSource source;
+    private final int patternCount;
+    private final CallTarget execCallTarget;
+
+    public RegexSetObject(TRegexSetExecNode execNode, RegexSource source, int patternCount) {
+        this.source = source;
+        this.patternCount = patternCount;
+        this.execCallTarget = Truffle.getRuntime().createCallTarget(new RegexRootNode(execNode.getRegexLanguage(), execNode));
+    }
+
+    public RegexSource getSource() {
+        return source;
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    public CallTarget getExecCallTarget() {
+        return execCallTarget;
+    }
+
+    @Override
+    public TruffleReadOnlyKeysArray getKeys() {
+        return KEYS;
+    }
+
+    @Override
+    public Object readMemberImpl(String symbol) throws UnknownIdentifierException {
+        switch (symbol) {
+            case PROP_EXEC:
+                return new RegexSetObjectExecMethod(this);
+            case PROP_PATTERN:
+                return getSource().getPattern();
+            case PROP_PATTERN_COUNT:
+                return getPatternCount();
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(symbol);
+        }
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isMemberInvocable(String member) {
+        return PROP_EXEC.equals(member);
+    }
+
+    @ExportMessage
+    Object invokeMember(String member, Object[] args,
+                    @Cached ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode,
+                    @Cached ToLongNode toLongNode,
+                    @Cached ExecCompiledRegexNode execNode)
+                    throws UnknownIdentifierException, ArityException, UnsupportedTypeException, UnsupportedMessageException {
+        if (!PROP_EXEC.equals(member)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw UnknownIdentifierException.create(member);
+        }
+        return exec(args, expectStringOrTruffleObjectNode, toLongNode, execNode);
+    }
+
+    private Object exec(Object[] args, ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode, ToLongNode toLongNode, ExecCompiledRegexNode execNode)
+                    throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
+        if (args.length != 2) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw ArityException.create(2, args.length);
+        }
+        Object input = expectStringOrTruffleObjectNode.execute(args[0]);
+        long fromIndex = toLongNode.execute(args[1]);
+        if (fromIndex > Integer.MAX_VALUE) {
+            return RegexSetResult.create(new int[0]);
+        }
+        return execNode.execute(getExecCallTarget(), input, (int) fromIndex);
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    public static final class RegexSetObjectExecMethod extends AbstractRegexObject {
+
+        private final RegexSetObject regexSet;
+
+        public RegexSetObjectExecMethod(RegexSetObject regexSet) {
+            this.regexSet = regexSet;
+        }
+
+        public RegexSetObject getRegexSetObject() {
+            return regexSet;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @ExportMessage
+        Object execute(Object[] args,
+                        @Cached ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode,
+                        @Cached ToLongNode toLongNode,
+                        @Cached ExecCompiledRegexNode execNode) throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
+            return regexSet.exec(args, expectStringOrTruffleObjectNode, toLongNode, execNode);
+        }
+
+        @TruffleBoundary
+        @Override
+        public String toString() {
+            return "TRegexSetObjectExecMethod{" + "regexSet=" + regexSet + '}';
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return "TRegexSetObject{source=" + source + '}';
+    }
+}
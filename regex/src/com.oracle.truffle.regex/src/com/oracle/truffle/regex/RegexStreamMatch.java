@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.regex.result.RegexResult;
+import com.oracle.truffle.regex.runtime.nodes.ToIntNode;
+import com.oracle.truffle.regex.util.TruffleReadOnlyKeysArray;
+
+/**
+ * {@link RegexStreamMatch} is the result of the {@code next()} method of
+ * {@link RegexStreamMatcher}. It has the same properties as a {@link RegexResult}, but
+ * {@code getStart(int groupNumber)} and {@code getEnd(int groupNumber)} return {@code long} code
+ * unit offsets from the start of the stream, since a stream may be longer than
+ * {@link Integer#MAX_VALUE} code units.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class RegexStreamMatch extends AbstractConstantKeysObject {
+
+    private static final String PROP_IS_MATCH = "isMatch";
+    private static final String PROP_GET_START = "getStart";
+    private static final String PROP_GET_END = "getEnd";
+    private static final TruffleReadOnlyKeysArray KEYS = new TruffleReadOnlyKeysArray(PROP_IS_MATCH, PROP_GET_START, PROP_GET_END);
+
+    private static final RegexStreamMatch NO_MATCH = new RegexStreamMatch(null);
+
+    @CompilationFinal(dimensions = 1) private final long[] indices;
+
+    public RegexStreamMatch(long[] indices) {
+        this.indices = indices;
+    }
+
+    public static RegexStreamMatch getNoMatchInstance() {
+        return NO_MATCH;
+    }
+
+    public boolean isMatch() {
+        return indices != null;
+    }
+
+    public long getStart(int groupNumber) {
+        return indices[groupNumber * 2];
+    }
+
+    public long getEnd(int groupNumber) {
+        return indices[groupNumber * 2 + 1];
+    }
+
+    @Override
+    public TruffleReadOnlyKeysArray getKeys() {
+        return KEYS;
+    }
+
+    @Override
+    public Object readMemberImpl(String symbol) throws UnknownIdentifierException {
+        switch (symbol) {
+            case PROP_IS_MATCH:
+                return isMatch();
+            case PROP_GET_START:
+            case PROP_GET_END:
+                return new RegexStreamMatchMethod(this, symbol);
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(symbol);
+        }
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isMemberInvocable(String member) {
+        return PROP_GET_START.equals(member) || PROP_GET_END.equals(member);
+    }
+
+    @ExportMessage
+    Object invokeMember(String member, Object[] args,
+                    @Cached ToIntNode toIntNode) throws UnknownIdentifierException, ArityException, UnsupportedTypeException {
+        return invoke(member, args, toIntNode);
+    }
+
+    private Object invoke(String member, Object[] args, ToIntNode toIntNode) throws UnknownIdentifierException, ArityException, UnsupportedTypeException {
+        if (args.length != 1) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw ArityException.create(1, args.length);
+        }
+        int groupNumber = toIntNode.execute(args[0]);
+        if (!isMatch() || groupNumber < 0 || groupNumber * 2 >= indices.length) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw UnsupportedTypeException.create(args);
+        }
+        switch (member) {
+            case PROP_GET_START:
+                return getStart(groupNumber);
+            case PROP_GET_END:
+                return getEnd(groupNumber);
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(member);
+        }
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    public static final class RegexStreamMatchMethod extends AbstractRegexObject {
+
+        private final RegexStreamMatch match;
+        private final String member;
+
+        RegexStreamMatchMethod(RegexStreamMatch match, String member) {
+            this.match = match;
+            this.member = member;
+        }
+
+        public RegexStreamMatch getRegexStreamMatch() {
+            return match;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @ExportMessage
+        Object execute(Object[] args,
+                        @Cached ToIntNode toIntNode) throws ArityException, UnsupportedTypeException {
+            try {
+                return match.invoke(member, args, toIntNode);
+            } catch (UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        @TruffleBoundary
+        @Override
+        public String toString() {
+            return "TRegexStreamMatchMethod{" + "member=" + member + ", match=" + match + '}';
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return "TRegexStreamMatch" + (isMatch() ? Arrays.toString(indices) : "{NO_MATCH}");
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.regex.runtime.nodes.ExpectStringOrTruffleObjectNode;
+import com.oracle.truffle.regex.tregex.nodes.input.InputLengthNode;
+import com.oracle.truffle.regex.tregex.nodes.input.InputReadNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.string.Encodings;
+import com.oracle.truffle.regex.util.TruffleNull;
+import com.oracle.truffle.regex.util.TruffleReadOnlyKeysArray;
+
+/**
+ * {@link RegexStreamMatcher} holds the state of a search in a stream of input chunks, see
+ * {@link RegexStreamObject}. It exposes the following invocable methods:
+ * <ol>
+ * <li>{@code feed(chunk)}: appends a chunk of input to the stream. A chunk may be a {@link String}
+ * or an array of code units, like the input of the {@code exec} method of {@link RegexObject}. In
+ * the {@code UTF-8} and {@code LATIN-1} encodings, a chunk may also be an interop buffer.</li>
+ * <li>{@code end()}: marks the end of the stream. No more chunks may be fed afterwards.</li>
+ * <li>{@code next()}: returns a {@link RegexStreamMatch} describing the next match, or one whose
+ * {@code isMatch} property is {@code false} if the input fed so far is not sufficient to determine
+ * the next match, or if there are no more matches after {@code end()} was called. Matches do not
+ * overlap, and all capture group boundaries are {@code long} code unit offsets from the start of
+ * the stream.</li>
+ * </ol>
+ * All methods run behind a {@link TruffleBoundary} on the lazily cached DFA of
+ * {@link TRegexCachingNFAExecutorNode}, so they are not as fast as the compiled DFA executor used by
+ * {@link RegexObject}.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class RegexStreamMatcher extends AbstractConstantKeysObject {
+
+    private static final String PROP_FEED = "feed";
+    private static final String PROP_NEXT = "next";
+    private static final String PROP_END = "end";
+    private static final TruffleReadOnlyKeysArray KEYS = new TruffleReadOnlyKeysArray(PROP_FEED, PROP_NEXT, PROP_END);
+
+    private final RegexStreamObject regexStream;
+    private final TRegexCachingNFAExecutorNode.Stream stream;
+    private boolean ended = false;
+
+    /**
+     * @param stream the search state, or {@code null} if the regular expression can never match.
+     */
+    RegexStreamMatcher(RegexStreamObject regexStream, TRegexCachingNFAExecutorNode.Stream stream) {
+        this.regexStream = regexStream;
+        this.stream = stream;
+    }
+
+    public RegexStreamObject getRegexStreamObject() {
+        return regexStream;
+    }
+
+    @Override
+    public TruffleReadOnlyKeysArray getKeys() {
+        return KEYS;
+    }
+
+    @Override
+    public Object readMemberImpl(String symbol) throws UnknownIdentifierException {
+        switch (symbol) {
+            case PROP_FEED:
+            case PROP_NEXT:
+            case PROP_END:
+                return new RegexStreamMatcherMethod(this, symbol);
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(symbol);
+        }
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isMemberInvocable(String member) {
+        return KEYS.contains(member);
+    }
+
+    @ExportMessage
+    Object invokeMember(String member, Object[] args,
+                    @CachedLibrary(limit = "2") InteropLibrary chunks,
+                    @Cached ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode,
+                    @Cached InputLengthNode lengthNode,
+                    @Cached InputReadNode readNode)
+                    throws UnknownIdentifierException, ArityException, UnsupportedTypeException, UnsupportedMessageException {
+        return invoke(member, args, chunks, expectStringOrTruffleObjectNode, lengthNode, readNode);
+    }
+
+    private Object invoke(String member, Object[] args, InteropLibrary chunks, ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode, InputLengthNode lengthNode, InputReadNode readNode)
+                    throws UnknownIdentifierException, ArityException, UnsupportedTypeException, UnsupportedMessageException {
+        switch (member) {
+            case PROP_FEED:
+                checkArity(args, 1);
+                feed(args[0], chunks, expectStringOrTruffleObjectNode, lengthNode, readNode);
+                return TruffleNull.INSTANCE;
+            case PROP_NEXT:
+                checkArity(args, 0);
+                return next();
+            case PROP_END:
+                checkArity(args, 0);
+                end();
+                return TruffleNull.INSTANCE;
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(member);
+        }
+    }
+
+    private static void checkArity(Object[] args, int expected) throws ArityException {
+        if (args.length != expected) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw ArityException.create(expected, args.length);
+        }
+    }
+
+    private void feed(Object chunk, InteropLibrary chunks, ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode, InputLengthNode lengthNode, InputReadNode readNode)
+                    throws UnsupportedTypeException, UnsupportedMessageException {
+        if (ended) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw UnsupportedMessageException.create();
+        }
+        int[] codeUnits;
+        if (chunks.hasBufferElements(chunk)) {
+            if (regexStream.getEncoding() != Encodings.UTF_8 && regexStream.getEncoding() != Encodings.LATIN_1) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnsupportedTypeException.create(new Object[]{chunk});
+            }
+            long size = chunks.getBufferSize(chunk);
+            if (size > Integer.MAX_VALUE) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnsupportedTypeException.create(new Object[]{chunk});
+            }
+            codeUnits = new int[(int) size];
+            try {
+                for (int i = 0; i < codeUnits.length; i++) {
+                    codeUnits[i] = Byte.toUnsignedInt(chunks.readBufferByte(chunk, i));
+                }
+            } catch (InvalidBufferOffsetException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        } else {
+            Object input = expectStringOrTruffleObjectNode.execute(chunk);
+            codeUnits = new int[lengthNode.execute(input)];
+            for (int i = 0; i < codeUnits.length; i++) {
+                codeUnits[i] = readNode.execute(input, i);
+            }
+        }
+        if (stream != null) {
+            stream.feed(codeUnits);
+        }
+    }
+
+    private RegexStreamMatch next() {
+        long[] indices = stream == null ? null : stream.next();
+        return indices == null ? RegexStreamMatch.getNoMatchInstance() : new RegexStreamMatch(indices);
+    }
+
+    private void end() {
+        ended = true;
+        if (stream != null) {
+            stream.end();
+        }
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    public static final class RegexStreamMatcherMethod extends AbstractRegexObject {
+
+        private final RegexStreamMatcher matcher;
+        private final String member;
+
+        RegexStreamMatcherMethod(RegexStreamMatcher matcher, String member) {
+            this.matcher = matcher;
+            this.member = member;
+        }
+
+        public RegexStreamMatcher getRegexStreamMatcher() {
+            return matcher;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @ExportMessage
+        Object execute(Object[] args,
+                        @CachedLibrary(limit = "2") InteropLibrary chunks,
+                        @Cached ExpectStringOrTruffleObjectNode expectStringOrTruffleObjectNode,
+                        @Cached InputLengthNode lengthNode,
+                        @Cached InputReadNode readNode) throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
+            try {
+                return matcher.invoke(member, args, chunks, expectStringOrTruffleObjectNode, lengthNode, readNode);
+            } catch (UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        @TruffleBoundary
+        @Override
+        public String toString() {
+            return "TRegexStreamMatcherMethod{" + "member=" + member + ", matcher=" + matcher + '}';
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return "TRegexStreamMatcher{regexStream=" + regexStream + '}';
+    }
+}
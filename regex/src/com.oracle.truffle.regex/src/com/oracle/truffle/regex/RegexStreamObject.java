@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
+import com.oracle.truffle.regex.util.TruffleReadOnlyKeysArray;
+
+/**
+ * {@link RegexStreamObject} represents a regular expression compiled in streaming mode (see
+ * {@link RegexOptions#isStream()}), which searches input that is supplied in successive chunks.
+ * It exposes the following properties:
+ * <ol>
+ * <li>{@link String} {@code pattern}: the source of the compiled regular expression.</li>
+ * <li>{@code int groupCount}: number of capture groups present in the regular expression,
+ * including group 0.</li>
+ * <li>{@code createMatcher}: an invocable method without parameters that returns a new
+ * {@link RegexStreamMatcher}, which holds the state of the search in one stream.</li>
+ * </ol>
+ * Regular expressions that contain look-behind assertions or back-references cannot be compiled
+ * in streaming mode.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class RegexStreamObject extends AbstractConstantKeysObject {
+
+    private static final String PROP_CREATE_MATCHER = "createMatcher";
+    private static final String PROP_PATTERN = "pattern";
+    private static final String PROP_GROUP_COUNT = "groupCount";
+    private static final TruffleReadOnlyKeysArray KEYS = new TruffleReadOnlyKeysArray(PROP_CREATE_MATCHER, PROP_PATTERN, PROP_GROUP_COUNT);
+
+    private final TRegexCachingNFAExecutorNode executor;
+    private final RegexSource source;
+    private final Encoding encoding;
+    private final int groupCount;
+
+    /**
+     * @param executor the executor to search with, or {@code null} if the regular expression can
+     *            never match.
+     */
+    public RegexStreamObject(TRegexCachingNFAExecutorNode executor, RegexSource source, Encoding encoding, int groupCount) {
+        this.executor = executor;
+        this.source = source;
+        this.encoding = encoding;
+        this.groupCount = groupCount;
+    }
+
+    public RegexSource getSource() {
+        return source;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    @TruffleBoundary
+    public RegexStreamMatcher createMatcher() {
+        return new RegexStreamMatcher(this, executor == null ? null : executor.createStream(encoding));
+    }
+
+    @Override
+    public TruffleReadOnlyKeysArray getKeys() {
+        return KEYS;
+    }
+
+    @Override
+    public Object readMemberImpl(String symbol) throws UnknownIdentifierException {
+        switch (symbol) {
+            case PROP_CREATE_MATCHER:
+                return new RegexStreamObjectCreateMatcherMethod(this);
+            case PROP_PATTERN:
+                return getSource().getPattern();
+            case PROP_GROUP_COUNT:
+                return getGroupCount();
+            default:
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw UnknownIdentifierException.create(symbol);
+        }
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isMemberInvocable(String member) {
+        return PROP_CREATE_MATCHER.equals(member);
+    }
+
+    @ExportMessage
+    Object invokeMember(String member, Object[] args) throws UnknownIdentifierException, ArityException {
+        if (!PROP_CREATE_MATCHER.equals(member)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw UnknownIdentifierException.create(member);
+        }
+        return createMatcher(args);
+    }
+
+    private RegexStreamMatcher createMatcher(Object[] args) throws ArityException {
+        if (args.length != 0) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw ArityException.create(0, args.length);
+        }
+        return createMatcher();
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    public static final class RegexStreamObjectCreateMatcherMethod extends AbstractRegexObject {
+
+        private final RegexStreamObject stream;
+
+        public RegexStreamObjectCreateMatcherMethod(RegexStreamObject stream) {
+            this.stream = stream;
+        }
+
+        public RegexStreamObject getRegexStreamObject() {
+            return stream;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @ExportMessage
+        Object execute(Object[] args) throws ArityException {
+            return stream.createMatcher(args);
+        }
+
+        @TruffleBoundary
+        @Override
+        public String toString() {
+            return "TRegexStreamObjectCreateMatcherMethod{" + "stream=" + stream + '}';
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        return "TRegexStreamObject{source=" + source + '}';
+    }
+}
@@ -68,8 +68,10 @@ import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorProperties;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexBacktrackingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexLiteralLookAroundExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexSetExecutorNode;
 import com.oracle.truffle.regex.tregex.parser.RegexParser;
 import com.oracle.truffle.regex.tregex.parser.RegexProperties;
 import com.oracle.truffle.regex.tregex.parser.ast.RegexAST;
@@ -245,6 +247,47 @@ public final class TRegexCompilationRequest {
         return createDFAExecutor(nfa, true, true, true, false);
     }
 
+    /**
+     * Creates the NFA of a single pattern of a regex set, which is matched by
+     * {@link TRegexSetExecutorNode}. Returns {@code null} if the pattern can never match.
+     */
+    @TruffleBoundary
+    NFA compileRegexSetNFA() {
+        return compileForwardOnlyNFA("regex sets");
+    }
+
+    /**
+     * Creates the NFA of a regex in streaming mode, which is matched by
+     * {@link TRegexCachingNFAExecutorNode.Stream}. Returns {@code null} if the regex can never
+     * match.
+     */
+    @TruffleBoundary
+    NFA compileStreamNFA() {
+        return compileForwardOnlyNFA("streaming mode");
+    }
+
+    /**
+     * Creates an NFA that can be matched in a single forward pass, without looking at any
+     * characters before the start index.
+     */
+    private NFA compileForwardOnlyNFA(String mode) {
+        createAST();
+        if (ast.getRoot().isDead()) {
+            return null;
+        }
+        if (!canTransformToDFA(ast)) {
+            throw new UnsupportedRegexException("TRegex: pattern not supported by the NFA executor in " + mode, source);
+        }
+        createNFA();
+        if (nfa.isDead()) {
+            return null;
+        }
+        if (nfa.getAnchoredEntry().length > 1) {
+            throw new UnsupportedRegexException("TRegex: look-behind assertions are not supported in " + mode, source);
+        }
+        return nfa;
+    }
+
     private static boolean canTransformToDFA(RegexAST ast) throws UnsupportedRegexException {
         RegexProperties p = ast.getProperties();
         return ast.getNumberOfNodes() <= TRegexOptions.TRegexMaxParseTreeSizeForDFA &&
@@ -46,15 +46,21 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.regex.RegexExecNode;
 import com.oracle.truffle.regex.RegexLanguage;
 import com.oracle.truffle.regex.RegexObject;
+import com.oracle.truffle.regex.RegexOptions;
+import com.oracle.truffle.regex.RegexSetObject;
 import com.oracle.truffle.regex.RegexSource;
+import com.oracle.truffle.regex.RegexStreamObject;
 import com.oracle.truffle.regex.RegexSyntaxException;
 import com.oracle.truffle.regex.UnsupportedRegexException;
 import com.oracle.truffle.regex.tregex.nfa.NFA;
 import com.oracle.truffle.regex.tregex.nodes.TRegexExecNode;
 import com.oracle.truffle.regex.tregex.nodes.TRegexExecNode.LazyCaptureGroupRegexSearchNode;
+import com.oracle.truffle.regex.tregex.nodes.TRegexSetExecNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexBacktrackingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
 import com.oracle.truffle.regex.tregex.parser.flavors.RegexFlavorProcessor;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
 import com.oracle.truffle.regex.tregex.util.DebugUtil;
 import com.oracle.truffle.regex.tregex.util.Loggers;
 
@@ -100,6 +106,78 @@ public final class TRegexCompiler {
         }
     }
 
+    /**
+     * Try and compile the regex set described in {@code source}, see
+     * {@link RegexOptions#isRegexSet()}.
+     *
+     * @throws RegexSyntaxException if the engine discovers a syntax error in any of the patterns
+     * @throws UnsupportedRegexException if any of the patterns is not supported in regex sets
+     */
+    @TruffleBoundary
+    public static RegexSetObject compileRegexSet(RegexLanguage language, RegexSource source) throws RegexSyntaxException {
+        DebugUtil.Timer timer = shouldLogCompilationTime() ? new DebugUtil.Timer() : null;
+        if (timer != null) {
+            timer.start();
+        }
+        try {
+            RegexSetObject regexSet = doCompileRegexSet(language, source);
+            logCompilationTime(source, timer);
+            Loggers.LOG_COMPILER_FALLBACK.finer(() -> "TRegex compiled regex set: " + source);
+            return regexSet;
+        } catch (UnsupportedRegexException bailout) {
+            logCompilationTime(source, timer);
+            Loggers.LOG_BAILOUT_MESSAGES.fine(() -> bailout.getReason() + ": " + source);
+            throw bailout;
+        }
+    }
+
+    @TruffleBoundary
+    private static RegexSetObject doCompileRegexSet(RegexLanguage language, RegexSource source) throws RegexSyntaxException {
+        String[] patterns = source.getPattern().split("\n", -1);
+        if (patterns.length > TRegexOptions.TRegexMaxRegexSetSize) {
+            throw new UnsupportedRegexException("TRegex: too many patterns in regex set", source);
+        }
+        NFA[] nfas = new NFA[patterns.length];
+        Encoding encoding = source.getEncoding();
+        for (int i = 0; i < patterns.length; i++) {
+            RegexSource patternSource = new RegexSource(patterns[i], source.getFlags(), source.getOptions(), source.getSource());
+            RegexFlavorProcessor flavorProcessor = source.getOptions().getFlavor() == null ? null : source.getOptions().getFlavor().forRegex(patternSource);
+            if (flavorProcessor != null) {
+                patternSource = flavorProcessor.toECMAScriptRegex();
+            }
+            TRegexCompilationRequest compReq = new TRegexCompilationRequest(language, patternSource);
+            nfas[i] = compReq.compileRegexSetNFA();
+            encoding = compReq.getAst().getEncoding();
+        }
+        return new RegexSetObject(new TRegexSetExecNode(language, source, encoding, nfas), source, patterns.length);
+    }
+
+    @TruffleBoundary
+    public static RegexStreamObject compileStream(RegexLanguage language, RegexSource source) throws RegexSyntaxException {
+        DebugUtil.Timer timer = shouldLogCompilationTime() ? new DebugUtil.Timer() : null;
+        if (timer != null) {
+            timer.start();
+        }
+        try {
+            RegexSource ecmascriptSource = source;
+            RegexFlavorProcessor flavorProcessor = source.getOptions().getFlavor() == null ? null : source.getOptions().getFlavor().forRegex(source);
+            if (flavorProcessor != null) {
+                ecmascriptSource = flavorProcessor.toECMAScriptRegex();
+            }
+            TRegexCompilationRequest compReq = new TRegexCompilationRequest(language, ecmascriptSource);
+            NFA nfa = compReq.compileStreamNFA();
+            RegexStreamObject stream = new RegexStreamObject(nfa == null ? null : new TRegexCachingNFAExecutorNode(nfa), source,
+                            compReq.getAst().getEncoding(), compReq.getAst().getNumberOfCaptureGroups());
+            logCompilationTime(source, timer);
+            Loggers.LOG_COMPILER_FALLBACK.finer(() -> "TRegex compiled stream matcher: " + source);
+            return stream;
+        } catch (UnsupportedRegexException bailout) {
+            logCompilationTime(source, timer);
+            Loggers.LOG_BAILOUT_MESSAGES.fine(() -> bailout.getReason() + ": " + source);
+            throw bailout;
+        }
+    }
+
     @TruffleBoundary
     public static TRegexDFAExecutorNode compileEagerDFAExecutor(RegexLanguage language, RegexSource source) {
         return new TRegexCompilationRequest(language, source).compileEagerDFAExecutor();
@@ -48,6 +48,8 @@ import com.oracle.truffle.regex.tregex.nfa.NFATraceFinderGenerator;
 import com.oracle.truffle.regex.tregex.nodes.dfa.DFACaptureGroupPartialTransition;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TraceFinderDFAStateNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexSetExecutorNode;
 import com.oracle.truffle.regex.tregex.nodesplitter.DFANodeSplit;
 import com.oracle.truffle.regex.tregex.parser.RegexParser;
 import com.oracle.truffle.regex.tregex.parser.ast.Group;
@@ -164,11 +166,55 @@ public class TRegexOptions {
     public static final int TRegexMaxDFASize = 2_400;
 
     /**
-     * Maximum number of entries in the global compilation cache in
-     * {@link com.oracle.truffle.regex.RegexLanguage}.
+     * Maximum number of entries in the state cache of {@link TRegexCachingNFAExecutorNode}, which
+     * is used instead of a fully expanded DFA if the DFA generator bails out. Every cached DFA
+     * state and every cached transition on a non-ASCII character counts as one entry. When the
+     * cache is full, it is discarded and rebuilt on demand.
+     */
+    public static final int TRegexCachingNFAMaxCacheSize = 10_000;
+
+    /**
+     * If the state cache of {@link TRegexCachingNFAExecutorNode} fills up before this number of
+     * characters per cache entry were processed since the last reset, the cache is considered to
+     * be thrashing and caching is disabled for the given regular expression.
+     */
+    public static final int TRegexCachingNFAMinCharactersPerCacheEntry = 10;
+
+    /**
+     * Bailout threshold for the number of patterns in a regex set (see
+     * {@link com.oracle.truffle.regex.RegexOptions#isRegexSet()}).
+     */
+    public static final int TRegexMaxRegexSetSize = 1_000;
+
+    /**
+     * Maximum number of entries in the state cache of {@link TRegexSetExecutorNode}. Every cached
+     * DFA state and every cached transition on a non-ASCII character counts as one entry. When the
+     * cache is full, it is discarded and rebuilt on demand.
+     */
+    public static final int TRegexSetMaxCacheSize = 10_000;
+
+    /**
+     * Maximum number of code points a streaming search (see
+     * {@link TRegexCachingNFAExecutorNode.Stream}) may consume after the end of a match while
+     * checking for a longer, higher-priority match. These code points must be retained, because the
+     * next search starts at the end of the match.
+     */
+    public static final int TRegexStreamMaxRetainedWindow = 1 << 20;
+
+    /**
+     * Maximum number of entries in the engine-wide compilation cache in
+     * {@link com.oracle.truffle.regex.RegexLanguage}, see {@link com.oracle.truffle.regex.RegexCache}.
      */
     public static final int RegexMaxCacheSize = 1_000;
 
+    /**
+     * Maximum total weight of all entries in the engine-wide compilation cache, where the weight of
+     * an entry is the number of Truffle nodes of its matcher, including lazily compiled DFAs. This
+     * does not bound the matchers retained by Truffle's per-source parse caches, see
+     * {@link com.oracle.truffle.regex.RegexCache}.
+     */
+    public static final long RegexMaxCacheWeight = 500_000;
+
     /**
      * The parser will try to unroll bounded quantifiers on single character classes up to this
      * limit.
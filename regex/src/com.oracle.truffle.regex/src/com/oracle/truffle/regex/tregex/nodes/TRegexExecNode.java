@@ -67,6 +67,7 @@ import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexLazyCaptureGroupsRootNode;
 import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexLazyFindStartRootNode;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexBacktrackingNFAExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexCachingNFAExecutorNode;
 import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexNFAExecutorNode;
 import com.oracle.truffle.regex.tregex.parser.ast.RegexAST;
 import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
@@ -265,6 +266,11 @@ public class TRegexExecNode extends RegexExecNode implements RegexProfile.Tracks
         return true;
     }
 
+    @Override
+    public Object getSpecialization() {
+        return runnerNode;
+    }
+
     @Override
     public RegexProfile getRegexProfile() {
         if (regexProfile == null) {
@@ -286,8 +292,9 @@ public class TRegexExecNode extends RegexExecNode implements RegexProfile.Tracks
                 }
             }
         } else if (!backtrackingMode) {
+            // keep DFA matching speed by building the DFA states on demand in a bounded cache
             TRegexNFAExecutorNode nfaExecutorNode = (TRegexNFAExecutorNode) ((NFARegexSearchNode) runnerNode).getExecutor();
-            nfaExecutorNode.notifyDfaGeneratorBailedOut();
+            runnerNode = insert(new NFARegexSearchNode(createEntryNode(new TRegexCachingNFAExecutorNode(nfaExecutorNode.getNFA()))));
         }
     }
 
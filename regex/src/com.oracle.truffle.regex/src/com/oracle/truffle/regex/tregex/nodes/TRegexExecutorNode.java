@@ -124,7 +124,6 @@ public abstract class TRegexExecutorNode extends Node {
 
     @ExplodeLoop
     public int inputReadAndDecode(TRegexExecutorLocals locals, int index) {
-        assert root != null;
         if (getEncoding() == Encodings.UTF_16) {
             locals.setNextIndex(inputIncRaw(index));
             int c = inputReadRaw(locals);
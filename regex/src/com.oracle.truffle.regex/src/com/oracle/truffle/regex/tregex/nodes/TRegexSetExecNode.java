@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex.tregex.nodes;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.regex.RegexBodyNode;
+import com.oracle.truffle.regex.RegexLanguage;
+import com.oracle.truffle.regex.RegexSetObject;
+import com.oracle.truffle.regex.RegexSource;
+import com.oracle.truffle.regex.tregex.nfa.NFA;
+import com.oracle.truffle.regex.tregex.nodes.input.InputLengthNode;
+import com.oracle.truffle.regex.tregex.nodes.input.InputReadNode;
+import com.oracle.truffle.regex.tregex.nodes.nfa.TRegexSetExecutorNode;
+import com.oracle.truffle.regex.tregex.string.Encodings;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
+
+/**
+ * Root of the matcher of a {@link RegexSetObject}. Matches all patterns of the regex set with a
+ * single {@link TRegexSetExecutorNode} and returns a
+ * {@link com.oracle.truffle.regex.result.RegexSetResult}.
+ */
+public final class TRegexSetExecNode extends RegexBodyNode {
+
+    private final Encoding encoding;
+    private final ConditionProfile inputProfile = ConditionProfile.createBinaryProfile();
+    @Child private TRegexExecutorEntryNode entryNode;
+    @Child private InputLengthNode lengthNode;
+    @Child private InputReadNode charAtNode;
+
+    public TRegexSetExecNode(RegexLanguage language, RegexSource source, Encoding encoding, NFA[] nfas) {
+        super(language, source);
+        this.encoding = encoding;
+        TRegexSetExecutorNode executor = new TRegexSetExecutorNode(nfas);
+        executor.setRegexSetRoot(this);
+        this.entryNode = TRegexExecutorEntryNode.create(executor);
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    public ConditionProfile getInputProfile() {
+        return inputProfile;
+    }
+
+    public int inputLength(Object input) {
+        if (lengthNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            lengthNode = insert(InputLengthNode.create());
+        }
+        return lengthNode.execute(input);
+    }
+
+    public int inputRead(Object input, int i) {
+        if (charAtNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            charAtNode = insert(InputReadNode.create());
+        }
+        return charAtNode.execute(input, i);
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        Object[] args = frame.getArguments();
+        assert args.length == 2;
+        Object input = args[0];
+        int fromIndex = (int) args[1];
+        int inputLength = inputLength(input);
+        if (fromIndex < 0 || fromIndex > inputLength) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw new IllegalArgumentException(String.format("got illegal fromIndex value: %d. fromIndex must be >= 0 and <= input length (%d)", fromIndex, inputLength));
+        }
+        if (encoding == Encodings.UTF_16 && fromIndex > 0 && fromIndex < inputLength &&
+                        Character.isLowSurrogate((char) inputRead(input, fromIndex)) && Character.isHighSurrogate((char) inputRead(input, fromIndex - 1))) {
+            fromIndex--;
+        }
+        return entryNode.execute(input, fromIndex, fromIndex, inputLength);
+    }
+
+    @Override
+    protected String getEngineLabel() {
+        return "TRegex set";
+    }
+}
@@ -71,18 +71,38 @@ public class DFAStateNode extends DFAAbstractStateNode {
 
         public abstract int encodedLength();
 
+        /**
+         * Returns {@code true} if {@link #execute(Object, int, int)} stops only at code points that
+         * don't loop back to the current state. Otherwise, the search may also stop at some code
+         * points that loop back to the current state, which are then handled by the regular
+         * transition matchers.
+         */
+        public boolean isExact() {
+            return true;
+        }
+
         abstract LoopOptimizationNode nodeSplitCopy();
     }
 
     public abstract static class LoopOptIndexOfAnyNode extends LoopOptimizationNode {
 
+        private final boolean exact;
         @Child private InputIndexOfNode indexOfNode;
 
+        LoopOptIndexOfAnyNode(boolean exact) {
+            this.exact = exact;
+        }
+
         @Override
         public int encodedLength() {
             return 1;
         }
 
+        @Override
+        public boolean isExact() {
+            return exact;
+        }
+
         InputIndexOfNode getIndexOfNode() {
             if (indexOfNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -93,17 +113,25 @@ public class DFAStateNode extends DFAAbstractStateNode {
     }
 
     /**
-     * Optimized search for a set of up to 4 {@code char} values.
+     * Optimized search for a set of up to 4 {@code char} values. If the search is not
+     * {@link #isExact() exact}, the values are the first {@code char}s of the code points to
+     * search for.
      */
     public static final class LoopOptIndexOfAnyCharNode extends LoopOptIndexOfAnyNode {
 
         @CompilationFinal(dimensions = 1) private final char[] chars;
 
         public LoopOptIndexOfAnyCharNode(char[] chars) {
+            this(chars, true);
+        }
+
+        public LoopOptIndexOfAnyCharNode(char[] chars, boolean exact) {
+            super(exact);
             this.chars = chars;
         }
 
         private LoopOptIndexOfAnyCharNode(LoopOptIndexOfAnyCharNode copy) {
+            super(copy.isExact());
             this.chars = copy.chars;
         }
 
@@ -119,17 +147,25 @@ public class DFAStateNode extends DFAAbstractStateNode {
     }
 
     /**
-     * Optimized search for a set of up to 4 {@code byte} values.
+     * Optimized search for a set of up to 4 {@code byte} values. If the search is not
+     * {@link #isExact() exact}, the values are the first {@code byte}s of the code points to
+     * search for.
      */
     public static final class LoopOptIndexOfAnyByteNode extends LoopOptIndexOfAnyNode {
 
         @CompilationFinal(dimensions = 1) private final byte[] bytes;
 
         public LoopOptIndexOfAnyByteNode(byte[] bytes) {
+            this(bytes, true);
+        }
+
+        public LoopOptIndexOfAnyByteNode(byte[] bytes, boolean exact) {
+            super(exact);
             this.bytes = bytes;
         }
 
         private LoopOptIndexOfAnyByteNode(LoopOptIndexOfAnyByteNode copy) {
+            super(copy.isExact());
             this.bytes = copy.bytes;
         }
 
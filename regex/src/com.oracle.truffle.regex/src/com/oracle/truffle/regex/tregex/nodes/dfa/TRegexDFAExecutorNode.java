@@ -290,7 +290,7 @@ public final class TRegexDFAExecutorNode extends TRegexExecutorNode {
                         int postLoopIndex = indexOfResult < 0 ? getMaxIndex(locals) : indexOfResult;
                         state.afterIndexOf(locals, this, locals.getIndex(), postLoopIndex);
                         assert locals.getIndex() == postLoopIndex;
-                        if (successors.length == 2 && indexOfResult >= 0) {
+                        if (successors.length == 2 && indexOfResult >= 0 && state.loopOptimizationNode.isExact()) {
                             int successor = (state.getLoopToSelf() + 1) & 1;
                             CompilerAsserts.partialEvaluationConstant(successor);
                             inputIncNextIndexRaw(locals, state.loopOptimizationNode.encodedLength());
@@ -68,8 +68,9 @@ public abstract class InputIndexOfStringNode extends Node {
 
     @Specialization(guards = "mask == null")
     public int doString(String input, int fromIndex, int maxIndex, String match, @SuppressWarnings("unused") Object mask) {
-        int result = input.indexOf(match, fromIndex);
-        return result >= maxIndex ? -1 : result;
+        // unlike String#indexOf, this stops at maxIndex and is intrinsified with a vectorized
+        // search for the first two characters of the literal
+        return ArrayUtils.indexOfWithOrMask(input, fromIndex, maxIndex - fromIndex, match, null);
     }
 
     @Specialization(guards = "mask != null")
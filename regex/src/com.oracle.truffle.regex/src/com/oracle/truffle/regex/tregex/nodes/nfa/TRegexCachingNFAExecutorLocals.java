@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex.tregex.nodes.nfa;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.regex.tregex.nfa.NFAStateTransition;
+import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorLocals;
+
+public final class TRegexCachingNFAExecutorLocals extends TRegexExecutorLocals {
+
+    /**
+     * Frame size = 2 * nCaptureGroups (start and end indices). In contrast to
+     * {@link TRegexNFAExecutorLocals}, the state IDs are not part of the frames, they are stored in
+     * the cached DFA state instead.
+     */
+    private final int frameSize;
+    private final int maxSize;
+    /**
+     * The capture group indices of all paths in the current DFA state, in the same order as the
+     * NFA states of the DFA state. Only maintained if {@link #isTrackCaptureGroups()} is true.
+     */
+    private int[] curFrames;
+    private int[] nextFrames;
+    private int[] result;
+    private boolean hasResult = false;
+    private boolean trackCaptureGroups = false;
+    private int processedCharacters = 0;
+
+    public TRegexCachingNFAExecutorLocals(Object input, int fromIndex, int index, int maxIndex, int nCaptureGroups, int nStates) {
+        super(input, fromIndex, maxIndex, index);
+        this.frameSize = nCaptureGroups * 2;
+        this.maxSize = nStates * frameSize;
+        this.curFrames = new int[frameSize * 8];
+        this.nextFrames = new int[frameSize * 8];
+    }
+
+    public boolean isTrackCaptureGroups() {
+        return trackCaptureGroups;
+    }
+
+    /**
+     * Prepares a second pass over the input that tracks capture groups. The first pass only
+     * determines whether there is a match at all.
+     */
+    public void startTrackingCaptureGroups(int startIndex) {
+        setIndex(startIndex);
+        trackCaptureGroups = true;
+        hasResult = false;
+    }
+
+    public void initFrames(int nPaths) {
+        if (nPaths * frameSize > curFrames.length) {
+            curFrames = new int[nPaths * frameSize];
+        }
+        Arrays.fill(curFrames, 0, nPaths * frameSize, -1);
+    }
+
+    /**
+     * Calculates the capture group indices of the successor DFA state by following the cached
+     * {@code transitions} from the paths identified by {@code sourcePaths}. A source path of
+     * {@code -1} denotes a path starting at the current index.
+     */
+    public void applyTransitions(NFAStateTransition[] transitions, int[] sourcePaths) {
+        int length = transitions.length * frameSize;
+        if (length > nextFrames.length) {
+            nextFrames = Arrays.copyOf(nextFrames, Math.min(Math.max(nextFrames.length * 2, length), maxSize));
+        }
+        for (int i = 0; i < transitions.length; i++) {
+            int offset = i * frameSize;
+            if (sourcePaths[i] >= 0) {
+                System.arraycopy(curFrames, sourcePaths[i] * frameSize, nextFrames, offset, frameSize);
+            } else {
+                Arrays.fill(nextFrames, offset, offset + frameSize, -1);
+            }
+            transitions[i].getGroupBoundaries().apply(nextFrames, offset, getIndex());
+        }
+        int[] tmp = curFrames;
+        curFrames = nextFrames;
+        nextFrames = tmp;
+    }
+
+    /**
+     * Returns the smallest capture group index referenced by the first {@code nPaths} paths or the
+     * current result, or {@code bound} if it is smaller.
+     */
+    public int getMinIndex(int nPaths, int bound) {
+        int min = bound;
+        if (trackCaptureGroups) {
+            for (int i = 0; i < nPaths * frameSize; i++) {
+                if (curFrames[i] >= 0) {
+                    min = Math.min(min, curFrames[i]);
+                }
+            }
+            if (hasResult) {
+                for (int index : result) {
+                    if (index >= 0) {
+                        min = Math.min(min, index);
+                    }
+                }
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Subtracts {@code shift} from all capture group indices of the first {@code nPaths} paths and
+     * of the current result. The current index must be set again afterwards.
+     */
+    public void rebase(int nPaths, int shift) {
+        if (trackCaptureGroups) {
+            for (int i = 0; i < nPaths * frameSize; i++) {
+                if (curFrames[i] >= 0) {
+                    curFrames[i] -= shift;
+                }
+            }
+            if (hasResult) {
+                for (int i = 0; i < result.length; i++) {
+                    if (result[i] >= 0) {
+                        result[i] -= shift;
+                    }
+                }
+            }
+        }
+    }
+
+    public void pushResult(NFAStateTransition t, int sourcePath) {
+        hasResult = true;
+        if (!trackCaptureGroups) {
+            return;
+        }
+        if (result == null) {
+            result = new int[frameSize];
+        }
+        if (sourcePath >= 0) {
+            System.arraycopy(curFrames, sourcePath * frameSize, result, 0, frameSize);
+        } else {
+            Arrays.fill(result, -1);
+        }
+        t.getGroupBoundaries().apply(result, 0, getIndex());
+    }
+
+    public boolean hasResult() {
+        return hasResult;
+    }
+
+    public int[] getResult() {
+        return result;
+    }
+
+    public void incProcessedCharacters() {
+        processedCharacters++;
+    }
+
+    public int getProcessedCharacters() {
+        return processedCharacters;
+    }
+}
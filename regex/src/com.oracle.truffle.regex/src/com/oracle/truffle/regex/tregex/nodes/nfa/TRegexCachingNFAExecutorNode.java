@@ -0,0 +1,800 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex.tregex.nodes.nfa;
+
+import java.util.Arrays;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.Equivalence;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.regex.RegexRootNode;
+import com.oracle.truffle.regex.UnsupportedRegexException;
+import com.oracle.truffle.regex.tregex.TRegexOptions;
+import com.oracle.truffle.regex.tregex.buffer.IntArrayBuffer;
+import com.oracle.truffle.regex.tregex.buffer.ObjectArrayBuffer;
+import com.oracle.truffle.regex.tregex.nfa.NFA;
+import com.oracle.truffle.regex.tregex.nfa.NFAState;
+import com.oracle.truffle.regex.tregex.nfa.NFAStateTransition;
+import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorLocals;
+import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorNode;
+import com.oracle.truffle.regex.tregex.string.Encodings;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding.UTF16;
+import com.oracle.truffle.regex.tregex.util.Loggers;
+
+/**
+ * This regex executor is used instead of {@link TRegexNFAExecutorNode} when the DFA generator
+ * bailed out, e.g. because the fully expanded DFA would exceed {@link TRegexOptions#TRegexMaxDFASize}
+ * states. Like {@link TRegexNFAExecutorNode}, it calculates DFA states from the NFA on the fly, but
+ * it caches the resulting states and transitions, so that repeated transitions cost a single table
+ * lookup instead of a full expansion of all active NFA states.
+ * <p>
+ * A cached DFA state consists of the priority-ordered list of NFA states that are active after
+ * consuming a prefix of the input, exactly as in {@link TRegexNFAExecutorNode}. A cached transition
+ * additionally records which path of the source state each path of the target state is derived
+ * from, which allows us to replay the capture group updates without re-expanding the NFA states.
+ * Every search is done in two passes: the first pass only determines whether there is a match,
+ * the second pass is done only if there is a match and tracks the capture groups.
+ * <p>
+ * The cache is bounded by {@link TRegexOptions#TRegexCachingNFAMaxCacheSize} entries. When it is
+ * full, it is discarded and rebuilt on demand. If the cache is discarded too often in relation to
+ * the number of processed characters, caching is disabled and the DFA states are calculated on the
+ * fly without caching, like in {@link TRegexNFAExecutorNode}.
+ */
+public final class TRegexCachingNFAExecutorNode extends TRegexExecutorNode {
+
+    /**
+     * Relative index at which {@link Stream} moves the base of its executor locals forward.
+     */
+    private static final int STREAM_REBASE_THRESHOLD = 1 << 30;
+
+    private static final Equivalence STATE_SET_EQUIVALENCE = new Equivalence() {
+
+        @Override
+        public boolean equals(Object a, Object b) {
+            return Arrays.equals((int[]) a, (int[]) b);
+        }
+
+        @Override
+        public int hashCode(Object o) {
+            return Arrays.hashCode((int[]) o);
+        }
+    };
+
+    private final NFA nfa;
+    private final boolean searching;
+    /**
+     * The current generation of the state cache. Replaced as a whole on reset, so concurrent
+     * searches may continue to use states of the previous generation.
+     */
+    private volatile StateCache cache = new StateCache();
+    private volatile boolean cachingDisabled;
+    private long processedCharacters;
+    private long processedCharactersAtLastReset;
+
+    public TRegexCachingNFAExecutorNode(NFA nfa) {
+        this.nfa = nfa;
+        nfa.setInitialLoopBack(false);
+        this.searching = !nfa.getAst().getFlags().isSticky() && !nfa.getAst().getRoot().startsWithCaret();
+        for (int i = 0; i < nfa.getNumberOfTransitions(); i++) {
+            if (nfa.getTransitions()[i] != null) {
+                nfa.getTransitions()[i].getGroupBoundaries().materializeArrays();
+            }
+        }
+    }
+
+    public NFA getNFA() {
+        return nfa;
+    }
+
+    @Override
+    public boolean isForward() {
+        return true;
+    }
+
+    @Override
+    public boolean writesCaptureGroups() {
+        return true;
+    }
+
+    @Override
+    public TRegexExecutorLocals createLocals(Object input, int fromIndex, int index, int maxIndex) {
+        return new TRegexCachingNFAExecutorLocals(input, fromIndex, index, maxIndex, getNumberOfCaptureGroups(), nfa.getNumberOfStates());
+    }
+
+    @Override
+    public Object execute(TRegexExecutorLocals abstractLocals, boolean compactString) {
+        TRegexCachingNFAExecutorLocals locals = (TRegexCachingNFAExecutorLocals) abstractLocals;
+        CompilerDirectives.ensureVirtualized(locals);
+        final int startIndex = locals.getIndex();
+        boolean match = run(locals);
+        if (match) {
+            locals.startTrackingCaptureGroups(startIndex);
+            run(locals);
+            assert locals.hasResult();
+        }
+        addProcessedCharacters(locals.getProcessedCharacters());
+        return locals.getResult();
+    }
+
+    private boolean run(TRegexCachingNFAExecutorLocals locals) {
+        final int offset = rewindUpTo(locals, 0, nfa.getAnchoredEntry().length - 1);
+        CachedState state = getInitialState(offset, inputAtBegin(locals));
+        if (state.isEmpty()) {
+            return false;
+        }
+        if (locals.isTrackCaptureGroups()) {
+            locals.initFrames(state.size());
+        }
+        while (true) {
+            LoopNode.reportLoopCount(this, 1);
+            if (CompilerDirectives.inInterpreter()) {
+                RegexRootNode.checkThreadInterrupted();
+            }
+            if (inputHasNext(locals)) {
+                boolean loopBack = searching && !locals.hasResult() && locals.getIndex() >= locals.getFromIndex();
+                int c = inputReadAndDecode(locals);
+                locals.incProcessedCharacters();
+                CachedTransition transition = state.getTransition(c, loopBack);
+                if (transition == null) {
+                    transition = computeTransition(state, c, loopBack, locals.getProcessedCharacters());
+                }
+                applyTransition(locals, transition);
+                state = transition.target;
+                // See TRegexNFAExecutorNode: if there are no paths left, we can stop the search
+                // if we found a match or are interested only in matches at the very start.
+                if (state.isEmpty() && (!searching || locals.hasResult())) {
+                    return locals.hasResult();
+                }
+            } else {
+                boolean loopBack = searching && !locals.hasResult();
+                CachedTransition transition = state.getTransitionAtEnd(loopBack);
+                if (transition == null) {
+                    transition = computeTransitionAtEnd(state, loopBack);
+                }
+                applyTransition(locals, transition);
+                return locals.hasResult();
+            }
+            inputAdvance(locals);
+        }
+    }
+
+    private static void applyTransition(TRegexCachingNFAExecutorLocals locals, CachedTransition transition) {
+        if (transition.result != null) {
+            locals.pushResult(transition.result, transition.resultSourcePath);
+        }
+        if (locals.isTrackCaptureGroups() && transition.target != null) {
+            locals.applyTransitions(transition.transitions, transition.sourcePaths);
+        }
+    }
+
+    @TruffleBoundary
+    private void addProcessedCharacters(int n) {
+        // races are benign, this counter is only used to detect cache thrashing
+        processedCharacters += n;
+    }
+
+    @TruffleBoundary
+    private CachedState getInitialState(int offset, boolean atBegin) {
+        StateCache c = cachingDisabled ? null : cache;
+        int key = (offset << 1) | (atBegin ? 1 : 0);
+        if (c != null) {
+            synchronized (c) {
+                CachedState state = c.initialStates.get(key);
+                if (state != null) {
+                    return state;
+                }
+            }
+        }
+        int anchoredInitialState = nfa.getAnchoredEntry()[offset].getTarget().getId();
+        int unAnchoredInitialState = nfa.getUnAnchoredEntry()[offset].getTarget().getId();
+        IntArrayBuffer nfaStates = new IntArrayBuffer(2);
+        if (unAnchoredInitialState != anchoredInitialState && atBegin) {
+            nfaStates.add(anchoredInitialState);
+        }
+        if (nfa.getState(unAnchoredInitialState) != null) {
+            nfaStates.add(unAnchoredInitialState);
+        }
+        CachedState state = intern(c, nfaStates.toArray(), 0);
+        if (state.cache != null) {
+            synchronized (state.cache) {
+                state.cache.initialStates.put(key, state);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Calculates the successor of {@code state} on character {@code c} in the same way as
+     * {@link TRegexNFAExecutorNode} does, and stores the result in the cache.
+     */
+    @TruffleBoundary
+    private CachedTransition computeTransition(CachedState state, int c, boolean loopBack, int processedCharactersOfCurrentSearch) {
+        long[] marks = new long[((nfa.getNumberOfStates() - 1) >> 6) + 1];
+        ObjectArrayBuffer<NFAStateTransition> transitions = new ObjectArrayBuffer<>();
+        IntArrayBuffer sourcePaths = new IntArrayBuffer();
+        NFAStateTransition result = null;
+        int resultSourcePath = -1;
+        for (int i = 0; i < state.nfaStates.length; i++) {
+            result = expandState(nfa.getState(state.nfaStates[i]), i, c, marks, transitions, sourcePaths);
+            // If we have found a path to a final state, all remaining paths have lower priority.
+            if (result != null) {
+                resultSourcePath = i;
+                break;
+            }
+        }
+        if (result == null && loopBack) {
+            result = expandState(nfa.getInitialLoopBackTransition().getTarget(), -1, c, marks, transitions, sourcePaths);
+        }
+        int[] targetStates = new int[transitions.length()];
+        for (int i = 0; i < targetStates.length; i++) {
+            targetStates[i] = transitions.get(i).getTarget().getId();
+        }
+        // If the source state belongs to a discarded cache generation, the target state is created
+        // in the current generation, which moves the search over to it.
+        CachedState target = intern(cachingDisabled ? null : cache, targetStates, processedCharactersOfCurrentSearch);
+        CachedTransition transition = new CachedTransition(target, transitions.toArray(new NFAStateTransition[transitions.length()]), sourcePaths.toArray(), result, resultSourcePath);
+        state.putTransition(target.cache, c, loopBack, transition);
+        return transition;
+    }
+
+    private static NFAStateTransition expandState(NFAState state, int sourcePath, int c, long[] marks, ObjectArrayBuffer<NFAStateTransition> transitions, IntArrayBuffer sourcePaths) {
+        NFAStateTransition result = null;
+        for (int i = 0; i < maxTransitionIndex(state); i++) {
+            NFAStateTransition t = state.getSuccessors()[i];
+            int targetId = t.getTarget().getId();
+            int markIndex = targetId >> 6;
+            long markBit = 1L << targetId;
+            if (!t.getTarget().isAnchoredFinalState(true) && (marks[markIndex] & markBit) == 0) {
+                marks[markIndex] |= markBit;
+                if (t.getTarget().isUnAnchoredFinalState(true)) {
+                    result = t;
+                } else if (t.getCodePointSet().contains(c)) {
+                    transitions.add(t);
+                    sourcePaths.add(sourcePath);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int maxTransitionIndex(NFAState state) {
+        return state.hasTransitionToUnAnchoredFinalState(true) ? state.getTransitionToUnAnchoredFinalStateId(true) + 1 : state.getSuccessors().length;
+    }
+
+    @TruffleBoundary
+    private CachedTransition computeTransitionAtEnd(CachedState state, boolean loopBack) {
+        NFAStateTransition result = null;
+        int resultSourcePath = -1;
+        for (int i = 0; i < state.nfaStates.length; i++) {
+            NFAState nfaState = nfa.getState(state.nfaStates[i]);
+            if (nfaState.hasTransitionToFinalState(true)) {
+                result = nfaState.getFirstTransitionToFinalState(true);
+                resultSourcePath = i;
+                break;
+            }
+        }
+        if (result == null && loopBack) {
+            NFAState loopBackState = nfa.getInitialLoopBackTransition().getTarget();
+            if (loopBackState.hasTransitionToFinalState(true)) {
+                result = loopBackState.getFirstTransitionToFinalState(true);
+            }
+        }
+        CachedTransition transition = new CachedTransition(null, null, null, result, resultSourcePath);
+        state.putTransitionAtEnd(loopBack, transition);
+        return transition;
+    }
+
+    /**
+     * Returns the cached DFA state consisting of the given NFA states, creating it if necessary. If
+     * {@code c} is {@code null} or caching gets disabled, the returned state is not cached.
+     */
+    private CachedState intern(StateCache c, int[] nfaStates, int processedCharactersOfCurrentSearch) {
+        if (c == null) {
+            return new CachedState(null, nfaStates);
+        }
+        synchronized (c) {
+            CachedState state = c.states.get(nfaStates);
+            if (state != null) {
+                return state;
+            }
+            if (c.size >= TRegexOptions.TRegexCachingNFAMaxCacheSize) {
+                StateCache current = reset(c, processedCharactersOfCurrentSearch);
+                if (current == null) {
+                    return new CachedState(null, nfaStates);
+                }
+                return intern(current, nfaStates, processedCharactersOfCurrentSearch);
+            }
+            state = new CachedState(c, nfaStates);
+            c.states.put(nfaStates, state);
+            c.size++;
+            return state;
+        }
+    }
+
+    /**
+     * Discards the full state cache {@code full}. Returns the new cache generation, or
+     * {@code null} if the cache was thrashing and caching has been disabled.
+     */
+    private synchronized StateCache reset(StateCache full, int processedCharactersOfCurrentSearch) {
+        if (cache != full) {
+            // another thread already replaced the cache
+            return cachingDisabled ? null : cache;
+        }
+        long processed = processedCharacters + processedCharactersOfCurrentSearch - processedCharactersAtLastReset;
+        if (processed < (long) TRegexOptions.TRegexCachingNFAMinCharactersPerCacheEntry * TRegexOptions.TRegexCachingNFAMaxCacheSize) {
+            Loggers.LOG_BAILOUT_MESSAGES.fine(() -> "caching NFA executor: state cache thrashing, disabling cache: " + nfa.getAst().getSource());
+            cachingDisabled = true;
+            cache = null;
+            return null;
+        }
+        processedCharactersAtLastReset = processedCharacters + processedCharactersOfCurrentSearch;
+        StateCache newCache = new StateCache();
+        cache = newCache;
+        return newCache;
+    }
+
+    /**
+     * Creates a new {@link Stream}, which searches for successive matches in input that is
+     * supplied in chunks.
+     */
+    public Stream createStream(Encoding encoding) {
+        return new Stream(encoding);
+    }
+
+    /**
+     * Searches for successive, non-overlapping matches of this executor's regex in a stream of
+     * input chunks, without concatenating the chunks. The cached DFA state of the current search
+     * is carried over from one chunk to the next, and the capture groups of all paths are tracked
+     * in the same pass, so the start of a match is known as soon as its end is found.
+     * <p>
+     * After a match was found, the search may have to look further ahead to see if a longer,
+     * higher-priority match exists. The code points consumed in this look-ahead are retained, since
+     * the next search starts at the end of the current match. The retained window is bounded by
+     * {@link TRegexOptions#TRegexStreamMaxRetainedWindow} code points.
+     * <p>
+     * Input chunks consist of code units in the executor's encoding. Code points that are split
+     * across chunk boundaries are joined, and all reported indices are {@code long} code unit
+     * offsets from the start of the stream. The executor locals track {@code int} indices relative
+     * to {@link #base}, which is moved forward whenever they grow beyond
+     * {@link #STREAM_REBASE_THRESHOLD}, so only a single match is limited to
+     * {@link Integer#MAX_VALUE} code units, not the stream.
+     */
+    public final class Stream {
+
+        private final Encoding encoding;
+        private final int nCaptureGroups;
+        /**
+         * Decoded code points not yet discarded, and the code unit offset of each of them.
+         */
+        private int[] codePoints = new int[64];
+        private long[] offsets = new long[64];
+        private int length = 0;
+        /**
+         * Code unit offset of the first code unit that has not been fed yet.
+         */
+        private long unitOffset = 0;
+        /**
+         * Code point that is still missing code units, its offset, and the number of missing code
+         * units. Only valid if {@code partialMissing > 0}.
+         */
+        private int partialCodePoint = 0;
+        private long partialOffset = 0;
+        private int partialMissing = 0;
+        private boolean ended = false;
+        private boolean finished = false;
+        /**
+         * State of the current search, {@code null} if the next search has not started yet.
+         */
+        private CachedState state;
+        private TRegexCachingNFAExecutorLocals locals;
+        /**
+         * Code unit offset that the indices in {@link #locals} are relative to.
+         */
+        private long base = 0;
+        private int searchStart = 0;
+        private int pos = 0;
+        private int resultPos = -1;
+
+        private Stream(Encoding encoding) {
+            this.encoding = encoding;
+            this.nCaptureGroups = nfa.getAst().getNumberOfCaptureGroups();
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * Appends a chunk of code units to the stream.
+         */
+        @TruffleBoundary
+        public void feed(int[] codeUnits) {
+            assert !ended;
+            for (int c : codeUnits) {
+                decode(c);
+                unitOffset++;
+            }
+        }
+
+        /**
+         * Marks the end of the stream.
+         */
+        @TruffleBoundary
+        public void end() {
+            if (partialMissing > 0) {
+                // incomplete code point at the end of the stream
+                append(partialCodePoint, partialOffset);
+                partialMissing = 0;
+            }
+            ended = true;
+        }
+
+        private void decode(int c) {
+            if (encoding == Encodings.UTF_16) {
+                if (partialMissing > 0) {
+                    partialMissing = 0;
+                    if (UTF16.isLowSurrogate(c)) {
+                        append(Character.toCodePoint((char) partialCodePoint, (char) c), partialOffset);
+                        return;
+                    }
+                    append(partialCodePoint, partialOffset);
+                }
+                if (UTF16.isHighSurrogate(c)) {
+                    partialCodePoint = c;
+                    partialOffset = unitOffset;
+                    partialMissing = 1;
+                } else {
+                    append(c, unitOffset);
+                }
+            } else if (encoding == Encodings.UTF_8) {
+                if (partialMissing > 0) {
+                    if (c >> 6 == 2) {
+                        partialCodePoint = partialCodePoint << 6 | (c & 0x3f);
+                        if (--partialMissing == 0) {
+                            append(partialCodePoint, partialOffset);
+                        }
+                        return;
+                    }
+                    // invalid sequence, pass through the incomplete code point
+                    append(partialCodePoint, partialOffset);
+                    partialMissing = 0;
+                }
+                int nBytes = Integer.numberOfLeadingZeros(~(c << 24));
+                if (nBytes < 2 || nBytes > 4) {
+                    append(c, unitOffset);
+                } else {
+                    partialCodePoint = c & (0xff >>> nBytes);
+                    partialOffset = unitOffset;
+                    partialMissing = nBytes - 1;
+                }
+            } else {
+                append(c, unitOffset);
+            }
+        }
+
+        private void append(int codePoint, long offset) {
+            if (length == codePoints.length) {
+                int retainFrom = Math.min(retainFrom(), length);
+                if (retainFrom > length / 2) {
+                    discard(retainFrom);
+                } else {
+                    codePoints = Arrays.copyOf(codePoints, length * 2);
+                    offsets = Arrays.copyOf(offsets, length * 2);
+                }
+            }
+            codePoints[length] = codePoint;
+            offsets[length] = offset;
+            length++;
+        }
+
+        /**
+         * Returns the position of the first code point that may still be needed: the end of the
+         * current match, if there is one, or the next code point to consume otherwise.
+         */
+        private int retainFrom() {
+            if (state == null) {
+                return searchStart;
+            }
+            return resultPos >= 0 ? resultPos : pos;
+        }
+
+        private void discard(int n) {
+            System.arraycopy(codePoints, n, codePoints, 0, length - n);
+            System.arraycopy(offsets, n, offsets, 0, length - n);
+            length -= n;
+            searchStart -= n;
+            pos -= n;
+            if (resultPos >= 0) {
+                resultPos -= n;
+            }
+        }
+
+        private long offsetAt(int i) {
+            return i < length ? offsets[i] : (partialMissing > 0 ? partialOffset : unitOffset);
+        }
+
+        /**
+         * Returns the capture group boundaries of the next match that is fully determined by the
+         * input fed so far, or {@code null} if more input is needed or, after {@link #end()}, if
+         * there are no more matches.
+         */
+        @TruffleBoundary
+        public long[] next() {
+            while (!finished) {
+                if (state == null && !startSearch()) {
+                    return null;
+                }
+                if (!run()) {
+                    return null;
+                }
+                int[] result = locals.hasResult() ? locals.getResult() : null;
+                addProcessedCharacters(locals.getProcessedCharacters());
+                state = null;
+                locals = null;
+                if (result == null) {
+                    finished = true;
+                    return null;
+                }
+                // the next search starts at the end of the match, or one code point later if the
+                // match was empty
+                searchStart = result[0] == result[1] ? resultPos + 1 : resultPos;
+                resultPos = -1;
+                long[] indices = new long[result.length];
+                for (int i = 0; i < result.length; i++) {
+                    indices[i] = result[i] < 0 ? -1 : base + result[i];
+                }
+                return indices;
+            }
+            return null;
+        }
+
+        private boolean startSearch() {
+            if (searchStart > length || (searchStart == length && !ended)) {
+                // we need more input to know where the next search starts
+                return false;
+            }
+            base = offsetAt(searchStart);
+            CachedState initialState = getInitialState(0, base == 0);
+            if (initialState.isEmpty()) {
+                finished = true;
+                return false;
+            }
+            state = initialState;
+            locals = new TRegexCachingNFAExecutorLocals(null, 0, 0, Integer.MAX_VALUE, nCaptureGroups, nfa.getNumberOfStates());
+            locals.startTrackingCaptureGroups(0);
+            locals.initFrames(state.size());
+            pos = searchStart;
+            resultPos = -1;
+            return true;
+        }
+
+        /**
+         * Converts the given code unit offset to an index relative to {@link #base}. If the index
+         * grows too large, the base is moved forward to the smallest index still referenced by the
+         * current search.
+         */
+        private int toLocalIndex(long offset) {
+            if (offset - base > STREAM_REBASE_THRESHOLD) {
+                int shift = locals.getMinIndex(state.size(), (int) Math.min(offset - base, Integer.MAX_VALUE));
+                locals.rebase(state.size(), shift);
+                base += shift;
+                if (offset - base > Integer.MAX_VALUE) {
+                    throw new UnsupportedRegexException("TRegex: match in a stream exceeds maximum length", nfa.getAst().getSource());
+                }
+            }
+            return (int) (offset - base);
+        }
+
+        /**
+         * Continues the current search. Returns {@code false} if more input is needed to complete
+         * it.
+         */
+        private boolean run() {
+            while (true) {
+                if (CompilerDirectives.inInterpreter()) {
+                    RegexRootNode.checkThreadInterrupted();
+                }
+                if (pos < length) {
+                    if (resultPos >= 0 && pos - resultPos >= TRegexOptions.TRegexStreamMaxRetainedWindow) {
+                        throw new UnsupportedRegexException("TRegex: look-ahead after a match in a stream exceeds the retained window", nfa.getAst().getSource());
+                    }
+                    boolean loopBack = searching && !locals.hasResult();
+                    int c = codePoints[pos];
+                    locals.setIndex(toLocalIndex(offsets[pos]));
+                    locals.incProcessedCharacters();
+                    CachedTransition transition = state.getTransition(c, loopBack);
+                    if (transition == null) {
+                        transition = computeTransition(state, c, loopBack, locals.getProcessedCharacters());
+                    }
+                    applyTransition(locals, transition);
+                    if (transition.result != null) {
+                        resultPos = pos;
+                    }
+                    state = transition.target;
+                    pos++;
+                    if (state.isEmpty() && (!searching || locals.hasResult())) {
+                        return true;
+                    }
+                } else if (ended) {
+                    boolean loopBack = searching && !locals.hasResult();
+                    locals.setIndex(toLocalIndex(unitOffset));
+                    CachedTransition transition = state.getTransitionAtEnd(loopBack);
+                    if (transition == null) {
+                        transition = computeTransitionAtEnd(state, loopBack);
+                    }
+                    applyTransition(locals, transition);
+                    if (transition.result != null) {
+                        resultPos = pos;
+                    }
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private static final class StateCache {
+
+        private final EconomicMap<int[], CachedState> states = EconomicMap.create(STATE_SET_EQUIVALENCE);
+        private final EconomicMap<Integer, CachedState> initialStates = EconomicMap.create();
+        /**
+         * Number of cached states plus the number of cached transitions on non-ASCII characters.
+         */
+        private int size;
+    }
+
+    /**
+     * A DFA state, i.e. a priority-ordered list of NFA states.
+     */
+    private static final class CachedState {
+
+        private static final int ASCII_TRANSITIONS = 128;
+
+        /**
+         * The cache generation this state belongs to, or {@code null} if the state is not cached.
+         */
+        private final StateCache cache;
+        private final int[] nfaStates;
+        /**
+         * Transitions on ASCII characters, indexed by {@code c << 1 | loopBack}.
+         */
+        private volatile CachedTransition[] asciiTransitions;
+        private EconomicMap<Integer, CachedTransition> otherTransitions;
+        private volatile CachedTransition transitionAtEnd;
+        private volatile CachedTransition transitionAtEndLoopBack;
+
+        CachedState(StateCache cache, int[] nfaStates) {
+            this.cache = cache;
+            this.nfaStates = nfaStates;
+        }
+
+        boolean isEmpty() {
+            return nfaStates.length == 0;
+        }
+
+        int size() {
+            return nfaStates.length;
+        }
+
+        CachedTransition getTransition(int c, boolean loopBack) {
+            CachedTransition[] ascii = asciiTransitions;
+            if (c < ASCII_TRANSITIONS && ascii != null) {
+                return ascii[c << 1 | (loopBack ? 1 : 0)];
+            }
+            if (c >= ASCII_TRANSITIONS) {
+                return getOtherTransition(c, loopBack);
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private CachedTransition getOtherTransition(int c, boolean loopBack) {
+            if (cache == null) {
+                return null;
+            }
+            synchronized (cache) {
+                return otherTransitions == null ? null : otherTransitions.get(c << 1 | (loopBack ? 1 : 0));
+            }
+        }
+
+        void putTransition(StateCache targetCache, int c, boolean loopBack, CachedTransition transition) {
+            if (cache == null || cache != targetCache) {
+                return;
+            }
+            synchronized (cache) {
+                if (c < ASCII_TRANSITIONS) {
+                    if (asciiTransitions == null) {
+                        asciiTransitions = new CachedTransition[ASCII_TRANSITIONS << 1];
+                    }
+                    asciiTransitions[c << 1 | (loopBack ? 1 : 0)] = transition;
+                } else {
+                    if (otherTransitions == null) {
+                        otherTransitions = EconomicMap.create();
+                    }
+                    otherTransitions.put(c << 1 | (loopBack ? 1 : 0), transition);
+                    cache.size++;
+                }
+            }
+        }
+
+        CachedTransition getTransitionAtEnd(boolean loopBack) {
+            return loopBack ? transitionAtEndLoopBack : transitionAtEnd;
+        }
+
+        void putTransitionAtEnd(boolean loopBack, CachedTransition transition) {
+            if (cache == null) {
+                return;
+            }
+            if (loopBack) {
+                transitionAtEndLoopBack = transition;
+            } else {
+                transitionAtEnd = transition;
+            }
+        }
+    }
+
+    /**
+     * A transition between two DFA states. Path {@code i} of the {@link #target} state is derived
+     * from path {@code sourcePaths[i]} of the source state by following {@code transitions[i]}, a
+     * source path of {@code -1} denotes a new path starting at the initial loop back state.
+     */
+    private static final class CachedTransition {
+
+        private final CachedState target;
+        private final NFAStateTransition[] transitions;
+        private final int[] sourcePaths;
+        private final NFAStateTransition result;
+        private final int resultSourcePath;
+
+        CachedTransition(CachedState target, NFAStateTransition[] transitions, int[] sourcePaths, NFAStateTransition result, int resultSourcePath) {
+            this.target = target;
+            this.transitions = transitions;
+            this.sourcePaths = sourcePaths;
+            this.result = result;
+            this.resultSourcePath = resultSourcePath;
+        }
+    }
+}
@@ -42,7 +42,6 @@
 package com.oracle.truffle.regex.tregex.nodes.nfa;
 
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.regex.RegexRootNode;
 import com.oracle.truffle.regex.tregex.TRegexOptions;
 import com.oracle.truffle.regex.tregex.nfa.NFA;
@@ -56,13 +55,13 @@ import com.oracle.truffle.regex.tregex.nodes.dfa.TRegexDFAExecutorNode;
  * This regex executor matches a given expression by calculating DFA states from the NFA on the fly,
  * without any caching. It is used as a placeholder for {@link TRegexDFAExecutorNode} until the
  * expression is executed {@link TRegexOptions#TRegexGenerateDFAThresholdCalls} times, in order to
- * avoid the costly DFA generation on all expressions that are not on any hot code paths.
+ * avoid the costly DFA generation on all expressions that are not on any hot code paths. If the
+ * DFA generator bails out, it is replaced by {@link TRegexCachingNFAExecutorNode}.
  */
 public final class TRegexNFAExecutorNode extends TRegexExecutorNode {
 
     private final NFA nfa;
     private final boolean searching;
-    private boolean dfaGeneratorBailedOut;
 
     public TRegexNFAExecutorNode(NFA nfa) {
         this.nfa = nfa;
@@ -79,10 +78,6 @@ public final class TRegexNFAExecutorNode extends TRegexExecutorNode {
         return nfa;
     }
 
-    public void notifyDfaGeneratorBailedOut() {
-        dfaGeneratorBailedOut = true;
-    }
-
     @Override
     public boolean isForward() {
         return true;
@@ -116,9 +111,6 @@ public final class TRegexNFAExecutorNode extends TRegexExecutorNode {
             return null;
         }
         while (true) {
-            if (dfaGeneratorBailedOut) {
-                LoopNode.reportLoopCount(this, 1);
-            }
             if (CompilerDirectives.inInterpreter()) {
                 RegexRootNode.checkThreadInterrupted();
             }
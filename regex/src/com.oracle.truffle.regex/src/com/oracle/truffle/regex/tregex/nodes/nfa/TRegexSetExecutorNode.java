@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.regex.tregex.nodes.nfa;
+
+import java.util.Arrays;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.Equivalence;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.regex.RegexRootNode;
+import com.oracle.truffle.regex.result.RegexSetResult;
+import com.oracle.truffle.regex.tregex.TRegexOptions;
+import com.oracle.truffle.regex.tregex.buffer.IntArrayBuffer;
+import com.oracle.truffle.regex.tregex.nfa.NFA;
+import com.oracle.truffle.regex.tregex.nfa.NFAState;
+import com.oracle.truffle.regex.tregex.nfa.NFAStateTransition;
+import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorLocals;
+import com.oracle.truffle.regex.tregex.nodes.TRegexExecutorNode;
+import com.oracle.truffle.regex.tregex.nodes.TRegexSetExecNode;
+import com.oracle.truffle.regex.tregex.string.Encodings.Encoding;
+
+/**
+ * Matches all patterns of a regex set in a single pass over the input string, and reports which
+ * of the patterns match.
+ * <p>
+ * Every pattern is compiled to its own NFA. The NFA states of all patterns are mapped into a single
+ * ID space, and a DFA state consists of the sorted set of active NFA states of all patterns,
+ * together with the set of patterns that already matched. We don't have to maintain the priority
+ * order of NFA states or track capture groups, since we only need to know whether a pattern
+ * matches at all. NFA states of a pattern are dropped as soon as the pattern has matched, and the
+ * search ends as soon as no more new matches are possible. Like in
+ * {@link TRegexCachingNFAExecutorNode}, the DFA states are calculated lazily and cached in a cache
+ * bounded by {@link TRegexOptions#TRegexSetMaxCacheSize} entries, which is discarded when it is
+ * full.
+ */
+public final class TRegexSetExecutorNode extends TRegexExecutorNode {
+
+    private static final Equivalence STATE_SET_EQUIVALENCE = new Equivalence() {
+
+        @Override
+        public boolean equals(Object a, Object b) {
+            return Arrays.equals((int[]) a, (int[]) b);
+        }
+
+        @Override
+        public int hashCode(Object o) {
+            return Arrays.hashCode((int[]) o);
+        }
+    };
+
+    private static final int[] NO_STATES = {};
+
+    @CompilationFinal private TRegexSetExecNode regexSetRoot;
+    private final int nPatterns;
+    /**
+     * Offset of every pattern's NFA state IDs in the global state ID space.
+     */
+    private final int[] stateIdOffsets;
+    /**
+     * NFA states and pattern indices by global state ID.
+     */
+    private final NFAState[] states;
+    private final int[] statePatterns;
+    private final NFAState[] anchoredInitialStates;
+    private final NFAState[] unAnchoredInitialStates;
+    /**
+     * The initial loop back state of every pattern that is searched for in the entire input
+     * string, {@code null} for sticky patterns, patterns starting with {@code ^}, and patterns
+     * that can never match.
+     */
+    private final NFAState[] loopBackStates;
+    private volatile StateCache cache = new StateCache();
+
+    public TRegexSetExecutorNode(NFA[] nfas) {
+        this.nPatterns = nfas.length;
+        this.stateIdOffsets = new int[nfas.length];
+        this.anchoredInitialStates = new NFAState[nfas.length];
+        this.unAnchoredInitialStates = new NFAState[nfas.length];
+        this.loopBackStates = new NFAState[nfas.length];
+        int nStates = 0;
+        for (int p = 0; p < nfas.length; p++) {
+            stateIdOffsets[p] = nStates;
+            if (nfas[p] != null) {
+                nStates += nfas[p].getNumberOfStates();
+            }
+        }
+        this.states = new NFAState[nStates];
+        this.statePatterns = new int[nStates];
+        for (int p = 0; p < nfas.length; p++) {
+            NFA nfa = nfas[p];
+            if (nfa == null) {
+                continue;
+            }
+            nfa.setInitialLoopBack(false);
+            for (int i = 0; i < nfa.getNumberOfStates(); i++) {
+                states[stateIdOffsets[p] + i] = nfa.getState(i);
+                statePatterns[stateIdOffsets[p] + i] = p;
+            }
+            anchoredInitialStates[p] = nfa.getAnchoredEntry()[0].getTarget();
+            unAnchoredInitialStates[p] = nfa.getState(nfa.getUnAnchoredEntry()[0].getTarget().getId());
+            boolean searching = !nfa.getAst().getFlags().isSticky() && !nfa.getAst().getRoot().startsWithCaret();
+            if (searching && unAnchoredInitialStates[p] != null) {
+                loopBackStates[p] = nfa.getInitialLoopBackTransition().getTarget();
+            }
+        }
+    }
+
+    public void setRegexSetRoot(TRegexSetExecNode regexSetRoot) {
+        this.regexSetRoot = regexSetRoot;
+    }
+
+    @Override
+    public Encoding getEncoding() {
+        return regexSetRoot.getEncoding();
+    }
+
+    @Override
+    public ConditionProfile getInputProfile() {
+        return regexSetRoot.getInputProfile();
+    }
+
+    @Override
+    public int getInputLength(TRegexExecutorLocals locals) {
+        return regexSetRoot.inputLength(locals.getInput());
+    }
+
+    @Override
+    public int inputReadRaw(TRegexExecutorLocals locals, int index, boolean forward) {
+        return regexSetRoot.inputRead(locals.getInput(), forward ? index : index - 1);
+    }
+
+    @Override
+    protected int getNumberOfCaptureGroups() {
+        return 0;
+    }
+
+    @Override
+    public boolean isForward() {
+        return true;
+    }
+
+    @Override
+    public boolean writesCaptureGroups() {
+        return false;
+    }
+
+    @Override
+    public TRegexExecutorLocals createLocals(Object input, int fromIndex, int index, int maxIndex) {
+        return new TRegexSetExecutorLocals(input, fromIndex, index, maxIndex);
+    }
+
+    @Override
+    public Object execute(TRegexExecutorLocals locals, boolean compactString) {
+        CompilerDirectives.ensureVirtualized(locals);
+        CachedState state = getInitialState(inputAtBegin(locals));
+        while (!state.isFinal) {
+            LoopNode.reportLoopCount(this, 1);
+            if (CompilerDirectives.inInterpreter()) {
+                RegexRootNode.checkThreadInterrupted();
+            }
+            if (!inputHasNext(locals)) {
+                CachedState stateAtEnd = state.stateAtEnd;
+                if (stateAtEnd == null) {
+                    stateAtEnd = computeStateAtEnd(state);
+                }
+                return stateAtEnd.result;
+            }
+            int c = inputReadAndDecode(locals);
+            CachedState successor = state.getTransition(c);
+            if (successor == null) {
+                successor = computeTransition(state, c);
+            }
+            state = successor;
+            inputAdvance(locals);
+        }
+        return state.result;
+    }
+
+    @TruffleBoundary
+    private CachedState getInitialState(boolean atBegin) {
+        StateCache c = cache;
+        int key = atBegin ? 1 : 0;
+        synchronized (c) {
+            if (c.initialStates[key] != null) {
+                return c.initialStates[key];
+            }
+        }
+        IntArrayBuffer initialStates = new IntArrayBuffer(nPatterns * 2);
+        for (int p = 0; p < nPatterns; p++) {
+            if (atBegin && anchoredInitialStates[p] != null && anchoredInitialStates[p] != unAnchoredInitialStates[p]) {
+                initialStates.add(stateIdOffsets[p] + anchoredInitialStates[p].getId());
+            }
+            if (unAnchoredInitialStates[p] != null) {
+                initialStates.add(stateIdOffsets[p] + unAnchoredInitialStates[p].getId());
+            }
+        }
+        int[] nfaStates = initialStates.toArray();
+        Arrays.sort(nfaStates);
+        CachedState state = intern(c, nfaStates, new long[matchedSetSize()]);
+        synchronized (state.cache) {
+            state.cache.initialStates[key] = state;
+        }
+        return state;
+    }
+
+    /**
+     * Calculates the successor of {@code state} on character {@code c}. An NFA state that has a
+     * transition to an unanchored final state marks its pattern as matched <i>before</i>
+     * {@code c} is consumed; transitions to anchored final states are only relevant at the end
+     * of the input, see {@link #computeStateAtEnd(CachedState)}.
+     */
+    @TruffleBoundary
+    private CachedState computeTransition(CachedState state, int c) {
+        long[] matched = state.matched.clone();
+        long[] marks = new long[((states.length - 1) >> 6) + 1];
+        IntArrayBuffer targets = new IntArrayBuffer();
+        for (int id : state.nfaStates) {
+            expandState(states[id], statePatterns[id], c, matched, marks, targets);
+        }
+        for (int p = 0; p < nPatterns; p++) {
+            if (loopBackStates[p] != null && !isMatched(state.matched, p)) {
+                expandState(loopBackStates[p], p, c, matched, marks, targets);
+            }
+        }
+        // drop all NFA states of patterns that matched in this step
+        IntArrayBuffer nfaStates = new IntArrayBuffer(targets.length());
+        for (int i = 0; i < targets.length(); i++) {
+            if (!isMatched(matched, statePatterns[targets.get(i)])) {
+                nfaStates.add(targets.get(i));
+            }
+        }
+        int[] targetStates = nfaStates.toArray();
+        Arrays.sort(targetStates);
+        // If the source state belongs to a discarded cache generation, the target state is created
+        // in the current generation, which moves the search over to it.
+        CachedState target = intern(cache, targetStates, matched);
+        state.putTransition(target.cache, c, target);
+        return target;
+    }
+
+    private void expandState(NFAState state, int pattern, int c, long[] matched, long[] marks, IntArrayBuffer targets) {
+        if (isMatched(matched, pattern)) {
+            return;
+        }
+        for (NFAStateTransition t : state.getSuccessors()) {
+            NFAState target = t.getTarget();
+            if (target.isAnchoredFinalState(true)) {
+                continue;
+            }
+            if (target.isUnAnchoredFinalState(true)) {
+                setMatched(matched, pattern);
+                return;
+            }
+            int targetId = stateIdOffsets[pattern] + target.getId();
+            int markIndex = targetId >> 6;
+            long markBit = 1L << targetId;
+            if ((marks[markIndex] & markBit) == 0 && t.getCodePointSet().contains(c)) {
+                marks[markIndex] |= markBit;
+                targets.add(targetId);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private CachedState computeStateAtEnd(CachedState state) {
+        long[] matched = state.matched.clone();
+        for (int id : state.nfaStates) {
+            if (states[id].hasTransitionToFinalState(true)) {
+                setMatched(matched, statePatterns[id]);
+            }
+        }
+        for (int p = 0; p < nPatterns; p++) {
+            if (loopBackStates[p] != null && !isMatched(state.matched, p) && loopBackStates[p].hasTransitionToFinalState(true)) {
+                setMatched(matched, p);
+            }
+        }
+        CachedState stateAtEnd = new CachedState(null, NO_STATES, matched, true, createResult(matched));
+        state.stateAtEnd = stateAtEnd;
+        return stateAtEnd;
+    }
+
+    private int matchedSetSize() {
+        return ((nPatterns - 1) >> 6) + 1;
+    }
+
+    private static boolean isMatched(long[] matched, int pattern) {
+        return (matched[pattern >> 6] & (1L << pattern)) != 0;
+    }
+
+    private static void setMatched(long[] matched, int pattern) {
+        matched[pattern >> 6] |= 1L << pattern;
+    }
+
+    private boolean isFinal(int[] nfaStates, long[] matched) {
+        boolean allMatched = true;
+        boolean moreMatchesPossible = nfaStates.length > 0;
+        for (int p = 0; p < nPatterns; p++) {
+            if (!isMatched(matched, p)) {
+                allMatched = false;
+                moreMatchesPossible |= loopBackStates[p] != null;
+            }
+        }
+        return allMatched || !moreMatchesPossible;
+    }
+
+    private RegexSetResult createResult(long[] matched) {
+        IntArrayBuffer matchedPatterns = new IntArrayBuffer();
+        for (int p = 0; p < nPatterns; p++) {
+            if (isMatched(matched, p)) {
+                matchedPatterns.add(p);
+            }
+        }
+        return RegexSetResult.create(matchedPatterns.toArray());
+    }
+
+    /**
+     * Returns the cached DFA state consisting of the given NFA states and matched patterns,
+     * creating it if necessary.
+     */
+    private CachedState intern(StateCache c, int[] nfaStates, long[] matched) {
+        int[] key = Arrays.copyOf(nfaStates, nfaStates.length + matched.length * 2);
+        for (int i = 0; i < matched.length; i++) {
+            key[nfaStates.length + i * 2] = (int) matched[i];
+            key[nfaStates.length + i * 2 + 1] = (int) (matched[i] >>> 32);
+        }
+        synchronized (c) {
+            CachedState state = c.states.get(key);
+            if (state != null) {
+                return state;
+            }
+            if (c.size >= TRegexOptions.TRegexSetMaxCacheSize) {
+                return intern(reset(c), nfaStates, matched);
+            }
+            state = new CachedState(c, nfaStates, matched, isFinal(nfaStates, matched), createResult(matched));
+            c.states.put(key, state);
+            c.size++;
+            return state;
+        }
+    }
+
+    /**
+     * Discards the full state cache {@code full} and returns the new cache generation.
+     */
+    private synchronized StateCache reset(StateCache full) {
+        if (cache == full) {
+            cache = new StateCache();
+        }
+        return cache;
+    }
+
+    private static final class StateCache {
+
+        private final EconomicMap<int[], CachedState> states = EconomicMap.create(STATE_SET_EQUIVALENCE);
+        private final CachedState[] initialStates = new CachedState[2];
+        /**
+         * Number of cached states plus the number of cached transitions on non-ASCII characters.
+         */
+        private int size;
+    }
+
+    /**
+     * A DFA state, i.e. a set of NFA states of all patterns and the set of patterns that already
+     * matched.
+     */
+    private static final class CachedState {
+
+        private static final int ASCII_TRANSITIONS = 128;
+
+        /**
+         * The cache generation this state belongs to, or {@code null} if the state is not cached.
+         */
+        private final StateCache cache;
+        private final int[] nfaStates;
+        private final long[] matched;
+        /**
+         * {@code true} if no more patterns can match from this state on.
+         */
+        private final boolean isFinal;
+        private final RegexSetResult result;
+        private volatile CachedState[] asciiTransitions;
+        private EconomicMap<Integer, CachedState> otherTransitions;
+        private volatile CachedState stateAtEnd;
+
+        CachedState(StateCache cache, int[] nfaStates, long[] matched, boolean isFinal, RegexSetResult result) {
+            this.cache = cache;
+            this.nfaStates = nfaStates;
+            this.matched = matched;
+            this.isFinal = isFinal;
+            this.result = result;
+        }
+
+        CachedState getTransition(int c) {
+            CachedState[] ascii = asciiTransitions;
+            if (c < ASCII_TRANSITIONS && ascii != null) {
+                return ascii[c];
+            }
+            if (c >= ASCII_TRANSITIONS) {
+                return getOtherTransition(c);
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private CachedState getOtherTransition(int c) {
+            synchronized (cache) {
+                return otherTransitions == null ? null : otherTransitions.get(c);
+            }
+        }
+
+        void putTransition(StateCache targetCache, int c, CachedState target) {
+            if (cache != targetCache) {
+                return;
+            }
+            synchronized (cache) {
+                if (c < ASCII_TRANSITIONS) {
+                    if (asciiTransitions == null) {
+                        asciiTransitions = new CachedState[ASCII_TRANSITIONS];
+                    }
+                    asciiTransitions[c] = target;
+                } else {
+                    if (otherTransitions == null) {
+                        otherTransitions = EconomicMap.create();
+                    }
+                    otherTransitions.put(c, target);
+                    cache.size++;
+                }
+            }
+        }
+    }
+}
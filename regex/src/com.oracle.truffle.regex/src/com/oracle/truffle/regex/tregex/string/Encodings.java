@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.regex.tregex.string;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.regex.charset.CharMatchers;
 import com.oracle.truffle.regex.charset.CodePointSet;
@@ -224,19 +226,53 @@ public final class Encodings {
             public LoopOptimizationNode extractLoopOptNode(CodePointSet cps) {
                 if (cps.inverseGetMax(this) <= 0xffff) {
                     char[] indexOfChars = cps.inverseToCharArray(this);
-                    for (char c : indexOfChars) {
-                        if (Constants.SURROGATES.contains(c)) {
-                            return null;
-                        }
+                    if (!containsSurrogates(indexOfChars)) {
+                        return new LoopOptIndexOfAnyCharNode(indexOfChars);
                     }
-                    return new LoopOptIndexOfAnyCharNode(indexOfChars);
                 } else if (cps.inverseValueCount(this) == 1) {
                     StringBufferUTF16 sb = createStringBuffer(2);
                     sb.append(cps.inverseGetMin(this));
                     return new LoopOptIndexOfStringNode(sb.materialize(), null);
-                } else {
-                    return null;
                 }
+                return extractLeadingCharsLoopOptNode(cps);
+            }
+
+            private static boolean containsSurrogates(char[] chars) {
+                for (char c : chars) {
+                    if (Constants.SURROGATES.contains(c)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Creates a non-exact loop optimization node that searches for the first {@code char}
+             * of every code point not contained in {@code cps}, i.e. the high surrogate of astral
+             * code points. Returns {@code null} if {@code cps} does not contain all low
+             * surrogates, since a search for a low surrogate could stop in the middle of a
+             * surrogate pair.
+             */
+            private LoopOptimizationNode extractLeadingCharsLoopOptNode(CodePointSet cps) {
+                char[] leadingChars = new char[cps.inverseValueCount(this)];
+                int n = 0;
+                for (int c : cps.inverseToIntArray(this)) {
+                    if (c <= 0xffff && Character.isLowSurrogate((char) c)) {
+                        return null;
+                    }
+                    n = addIfAbsent(leadingChars, n, c > 0xffff ? Character.highSurrogate(c) : (char) c);
+                }
+                return new LoopOptIndexOfAnyCharNode(Arrays.copyOf(leadingChars, n), false);
+            }
+
+            private static int addIfAbsent(char[] chars, int n, char c) {
+                for (int i = 0; i < n; i++) {
+                    if (chars[i] == c) {
+                        return n;
+                    }
+                }
+                chars[n] = c;
+                return n + 1;
             }
 
             public static boolean isHighSurrogate(int c, boolean forward) {
@@ -414,8 +450,33 @@ public final class Encodings {
                     sb.append(cps.inverseGetMin(this));
                     return new LoopOptIndexOfStringNode(sb.materialize(), new StringUTF8(new byte[sb.length()]));
                 } else {
-                    return null;
+                    return extractLeadingBytesLoopOptNode(cps);
+                }
+            }
+
+            /**
+             * Creates a non-exact loop optimization node that searches for the leading byte of
+             * every code point not contained in {@code cps}. Leading bytes never occur inside a
+             * multi-byte sequence, so the search always stops at the start of a code point.
+             */
+            private LoopOptimizationNode extractLeadingBytesLoopOptNode(CodePointSet cps) {
+                byte[] leadingBytes = new byte[cps.inverseValueCount(this)];
+                int n = 0;
+                for (int c : cps.inverseToIntArray(this)) {
+                    byte leadingByte = (byte) (c < 0x80 ? c : c < 0x800 ? 0xc0 | (c >> 6) : c < 0x10000 ? 0xe0 | (c >> 12) : 0xf0 | (c >> 18));
+                    n = addIfAbsent(leadingBytes, n, leadingByte);
+                }
+                return new LoopOptIndexOfAnyByteNode(Arrays.copyOf(leadingBytes, n), false);
+            }
+
+            private static int addIfAbsent(byte[] bytes, int n, byte b) {
+                for (int i = 0; i < n; i++) {
+                    if (bytes[i] == b) {
+                        return n;
+                    }
                 }
+                bytes[n] = b;
+                return n + 1;
             }
 
             @Override
@@ -1598,6 +1598,10 @@ public final class Context implements AutoCloseable {
             return this;
         }
 
+        String[] getPermittedLanguages() {
+            return onlyLanguages;
+        }
+
         /**
          * Creates a new context instance from the configuration provided in the builder. The same
          * context builder can be used to create multiple context instances.
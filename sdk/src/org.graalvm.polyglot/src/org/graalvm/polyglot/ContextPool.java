@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.polyglot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of pre-initialized contexts that share an {@link Engine engine}. Creating and initializing
+ * a context for every short-lived request, like an HTTP request, is expensive even if the engine is
+ * shared. A context pool hands out contexts whose languages are already initialized and resets
+ * them when they are released, so that the next user observes a clean context.
+ * <p>
+ * Contexts are reset by every initialized language using its <code>TruffleLanguage</code> reset
+ * hook. The polyglot bindings are restored to the state they had after the context was created by
+ * the pool. If a language does not support reset the released context is closed instead and a new
+ * context is created when one is needed. A context that was partially reset, because one of its
+ * languages refused to reset, is never reused.
+ * <p>
+ * Usage example:
+ *
+ * <pre>
+ * try (Engine engine = Engine.create();
+ *                 ContextPool pool = engine.createContextPool(Context.newBuilder("js"), 8)) {
+ *     Context context = pool.acquire();
+ *     try {
+ *         context.eval("js", "42");
+ *     } finally {
+ *         pool.release(context);
+ *     }
+ * }
+ * </pre>
+ *
+ * The pool takes ownership of the context builder it is created from: it sets the engine of the
+ * builder and builds new contexts from it whenever needed. The builder must not be modified or used
+ * otherwise after the pool was created.
+ * <p>
+ * A context pool is thread-safe. The contexts it hands out may be used by one thread at a time, as
+ * with any other context.
+ *
+ * @see Engine#createContextPool(Context.Builder, int)
+ * @since 21.2
+ */
+public final class ContextPool implements AutoCloseable {
+
+    private final Engine engine;
+    private final Context.Builder contextBuilder;
+    private final int size;
+    private final ConcurrentLinkedDeque<Context> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Set<Context> acquired = ConcurrentHashMap.newKeySet();
+    private volatile boolean resettable = true;
+    private volatile boolean closed;
+
+    ContextPool(Engine engine, Context.Builder contextBuilder, int size) {
+        this.engine = engine;
+        this.contextBuilder = contextBuilder.engine(engine);
+        this.size = size;
+        for (int i = 0; i < size; i++) {
+            Context context = createContext();
+            if (!resettable) {
+                // contexts cannot be reused, do not retain them.
+                context.close();
+                break;
+            }
+            idle.addLast(context);
+            idleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the engine shared by all contexts of this pool.
+     *
+     * @since 21.2
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns an idle context of this pool. If no idle context is available a new context is
+     * created and initialized. The returned context must be {@link #release(Context) released}
+     * after use.
+     *
+     * @throws IllegalStateException if the pool is closed.
+     * @since 21.2
+     */
+    public Context acquire() {
+        checkClosed();
+        Context context = idle.pollFirst();
+        if (context != null) {
+            idleCount.decrementAndGet();
+        } else {
+            context = createContext();
+        }
+        acquired.add(context);
+        return context;
+    }
+
+    /**
+     * Returns a context that was {@link #acquire() acquired} from this pool. The context is reset
+     * and becomes available to other users of the pool. The context must no longer be used by the
+     * caller after it was released. If the context cannot be reset, or the pool already retains
+     * the maximum number of idle contexts or is closed, the context is closed instead.
+     *
+     * @throws IllegalArgumentException if the context was not acquired from this pool or was
+     *             already released.
+     * @throws IllegalStateException if the context is currently entered on any thread. The context
+     *             remains acquired and may be released again after it was left.
+     * @since 21.2
+     */
+    public void release(Context context) {
+        Objects.requireNonNull(context);
+        if (!acquired.remove(context)) {
+            throw new IllegalArgumentException("The context was not acquired from this pool or was already released.");
+        }
+        boolean reset;
+        try {
+            reset = !closed && resettable && context.impl.resetForReuse();
+        } catch (IllegalStateException e) {
+            // still entered, the caller keeps ownership
+            acquired.add(context);
+            throw e;
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        if (!reset) {
+            context.close();
+            return;
+        }
+        if (idleCount.incrementAndGet() > size) {
+            idleCount.decrementAndGet();
+            context.close();
+            return;
+        }
+        idle.addFirst(context);
+        if (closed && idle.remove(context)) {
+            // raced with close
+            idleCount.decrementAndGet();
+            context.close();
+        }
+    }
+
+    /**
+     * Closes all idle contexts of this pool. Contexts that are currently acquired are closed when
+     * they are released. The engine is not closed.
+     *
+     * @since 21.2
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<RuntimeException> errors = new ArrayList<>();
+        Context context;
+        while ((context = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            try {
+                context.close();
+            } catch (RuntimeException e) {
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            RuntimeException first = errors.get(0);
+            for (int i = 1; i < errors.size(); i++) {
+                first.addSuppressed(errors.get(i));
+            }
+            throw first;
+        }
+    }
+
+    private void checkClosed() {
+        if (closed) {
+            throw new IllegalStateException("The context pool is already closed.");
+        }
+    }
+
+    /*
+     * Creates and initializes a context and records the state it is reset to. If one of the
+     * initialized languages does not support reset, contexts of this pool are no longer reused.
+     */
+    private Context createContext() {
+        Context context = contextBuilder.build();
+        try {
+            for (String languageId : contextBuilder.getPermittedLanguages()) {
+                context.initialize(languageId);
+            }
+            if (resettable && !context.impl.resetForReuse()) {
+                resettable = false;
+            }
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        return context;
+    }
+
+}
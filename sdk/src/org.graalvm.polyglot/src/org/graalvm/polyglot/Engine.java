@@ -58,7 +58,9 @@ import org.graalvm.polyglot.impl.AbstractPolyglotImpl.AbstractValueImpl;
 import org.graalvm.polyglot.io.ByteSequence;
 import org.graalvm.polyglot.io.FileSystem;
 import org.graalvm.polyglot.io.MessageTransport;
+import org.graalvm.polyglot.management.ContextResourceUsage;
 import org.graalvm.polyglot.management.ExecutionEvent;
+import org.graalvm.polyglot.management.SourceCacheStatistics;
 
 import java.io.File;
 import java.io.IOException;
@@ -300,6 +302,32 @@ public final class Engine implements AutoCloseable {
         return impl.getCachedSources();
     }
 
+    /**
+     * Creates a pool of contexts that share this engine. The contexts are created from the given
+     * context builder, the {@link Context.Builder#engine(Engine) engine} of the builder is set to
+     * this engine. All languages {@link Context#newBuilder(String...) permitted} by the builder
+     * are {@link Context#initialize(String) initialized} before a context is handed out. See
+     * {@link ContextPool} for details.
+     *
+     * @param contextBuilder the builder used to create the contexts of the pool. The pool takes
+     *            ownership of the builder, it must not be modified or used after this call.
+     * @param size the maximum number of idle contexts retained by the pool. This many contexts are
+     *            created eagerly.
+     * @throws IllegalArgumentException if the size is negative or if the builder does not permit
+     *             specific languages, because the pool would not initialize any language.
+     * @since 21.2
+     */
+    public ContextPool createContextPool(Context.Builder contextBuilder, int size) {
+        Objects.requireNonNull(contextBuilder);
+        if (size < 0) {
+            throw new IllegalArgumentException("The context pool size must not be negative but was " + size + ".");
+        }
+        if (contextBuilder.getPermittedLanguages().length == 0) {
+            throw new IllegalArgumentException("The context builder of a context pool must permit the languages to initialize, e.g. Context.newBuilder(\"js\").");
+        }
+        return new ContextPool(this, contextBuilder, size);
+    }
+
     static AbstractPolyglotImpl getImpl() {
         return ImplHolder.IMPL;
     }
@@ -880,6 +908,16 @@ public final class Engine implements AutoCloseable {
                     throw noPolyglotImplementationFound();
                 }
 
+                @Override
+                public SourceCacheStatistics getSourceCacheStatistics(Engine engine) {
+                    throw noPolyglotImplementationFound();
+                }
+
+                @Override
+                public ContextResourceUsage getContextResourceUsage(Context context) {
+                    throw noPolyglotImplementationFound();
+                }
+
             };
         }
 
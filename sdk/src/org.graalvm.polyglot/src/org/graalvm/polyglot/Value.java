@@ -438,6 +438,75 @@ public final class Value {
         impl.writeBufferByte(receiver, byteOffset, value);
     }
 
+    /**
+     * Reads <code>length</code> bytes starting at the given byte offset from the start of the
+     * buffer into <code>destination</code>, starting at <code>destinationOffset</code>. Host
+     * {@link java.nio.ByteBuffer byte buffers} and buffers of languages that support it are copied
+     * in bulk instead of byte by byte.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this method does not cause any observable side-effects.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer from which the bytes
+     *            will be read.
+     * @param destination the array the bytes are copied to.
+     * @param destinationOffset the index of <code>destination</code> at which the first byte is
+     *            stored.
+     * @param length the number of bytes to read.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset > </code>{@link #getBufferSize()}
+     *             <code> - length</code>, or if <code>destinationOffset</code> and
+     *             <code>length</code> do not denote a range of <code>destination</code>.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        Objects.requireNonNull(destination);
+        checkArrayRange(destination, destinationOffset, length);
+        impl.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+    }
+
+    /**
+     * Writes <code>length</code> bytes of <code>source</code>, starting at
+     * <code>sourceOffset</code>, at the given byte offset from the start of the buffer. Host
+     * {@link java.nio.ByteBuffer byte buffers} and buffers of languages that support it are copied
+     * in bulk instead of byte by byte.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer at which the bytes will
+     *            be written.
+     * @param source the array the bytes are copied from.
+     * @param sourceOffset the index of the first byte of <code>source</code> to write.
+     * @param length the number of bytes to write.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset > </code>{@link #getBufferSize()}
+     *             <code> - length</code>, or if <code>sourceOffset</code> and <code>length</code>
+     *             do not denote a range of <code>source</code>.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements} or is not {@link #isBufferWritable() modifiable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        Objects.requireNonNull(source);
+        checkArrayRange(source, sourceOffset, length);
+        impl.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+    }
+
+    private static void checkArrayRange(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException(String.format("Range [%d, %d + %d) out of bounds for length %d.", offset, offset, length, array.length));
+        }
+    }
+
     /**
      * Reads the short at the given byte offset from the start of the buffer in the given byte
      * order.
@@ -62,7 +62,9 @@ import org.graalvm.polyglot.io.ByteSequence;
 import org.graalvm.polyglot.io.FileSystem;
 import org.graalvm.polyglot.io.MessageTransport;
 import org.graalvm.polyglot.io.ProcessHandler;
+import org.graalvm.polyglot.management.ContextResourceUsage;
 import org.graalvm.polyglot.management.ExecutionEvent;
+import org.graalvm.polyglot.management.SourceCacheStatistics;
 
 import java.io.File;
 import java.io.IOException;
@@ -109,6 +111,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract ExecutionEvent newExecutionEvent(Object event);
 
+        public abstract SourceCacheStatistics newSourceCacheStatistics(long hitCount, long missCount, long evictionCount, long cachedSourceCount, long cachedWeight);
+
+        public abstract ContextResourceUsage newContextResourceUsage(long cpuTime, long allocatedBytes);
+
     }
 
     public abstract static class IOAccess {
@@ -289,6 +295,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract PolyglotException getExecutionEventException(Object impl);
 
+        public abstract SourceCacheStatistics getSourceCacheStatistics(Engine engine);
+
+        public abstract ContextResourceUsage getContextResourceUsage(Context context);
+
     }
 
     public abstract static class AbstractSourceImpl {
@@ -435,6 +445,8 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract void safepoint();
 
+        public abstract boolean resetForReuse();
+
     }
 
     public abstract static class AbstractEngineImpl {
@@ -608,6 +620,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract void writeBufferByte(Object receiver, long byteOffset, byte value);
 
+        public abstract void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length);
+
+        public abstract void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length);
+
         public abstract short readBufferShort(Object receiver, ByteOrder order, long byteOffset);
 
         public abstract void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value);
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.polyglot.management;
+
+import static org.graalvm.polyglot.management.Management.IMPL;
+
+import java.util.Objects;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * A snapshot of the resources consumed by the threads that entered a {@link Context context}. The
+ * CPU time and the allocated heap memory of a thread are accounted to a context while the thread
+ * is entered in it, this includes the time spent in inner contexts entered from the same thread.
+ * Threads that are entered while the snapshot is taken contribute their consumption up to that
+ * point, so the values are approximate while the context is running.
+ * <p>
+ * Resource usage is only tracked if the <code>engine.ResourceUsageTracking</code> option is
+ * enabled, otherwise all values are <code>0</code>. If the host virtual machine does not support
+ * measuring the CPU time or the allocated memory of threads, the respective value is
+ * <code>-1</code>.
+ *
+ * <pre>
+ * Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.ResourceUsageTracking", "true").build();
+ * try (Context context = Context.newBuilder().engine(engine).build()) {
+ *     context.eval("js", "...");
+ *     ContextResourceUsage usage = ContextResourceUsage.get(context);
+ *     long cpuTimeNanos = usage.getCPUTime();
+ * }
+ * </pre>
+ *
+ * @since 21.2
+ */
+public final class ContextResourceUsage {
+
+    private final long cpuTime;
+    private final long allocatedBytes;
+
+    ContextResourceUsage(long cpuTime, long allocatedBytes) {
+        this.cpuTime = cpuTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the current resource usage of a context. The returned object is not updated when the
+     * context continues to run. The context may be used concurrently on other threads.
+     *
+     * @since 21.2
+     */
+    public static ContextResourceUsage get(Context context) {
+        Objects.requireNonNull(context);
+        return IMPL.getContextResourceUsage(context);
+    }
+
+    /**
+     * Returns the CPU time in nanoseconds that threads spent while being entered in the context, or
+     * <code>-1</code> if the thread CPU time cannot be measured.
+     *
+     * @since 21.2
+     */
+    public long getCPUTime() {
+        return cpuTime;
+    }
+
+    /**
+     * Returns the number of bytes that threads allocated on the heap while being entered in the
+     * context, or <code>-1</code> if the allocated memory of threads cannot be measured.
+     *
+     * @since 21.2
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 21.2
+     */
+    @Override
+    public String toString() {
+        return "ContextResourceUsage[cpuTime=" + cpuTime + "ns, allocatedBytes=" + allocatedBytes + "]";
+    }
+}
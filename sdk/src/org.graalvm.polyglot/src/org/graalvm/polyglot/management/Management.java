@@ -75,6 +75,16 @@ final class Management {
             return new ExecutionEvent(event);
         }
 
+        @Override
+        public SourceCacheStatistics newSourceCacheStatistics(long hitCount, long missCount, long evictionCount, long cachedSourceCount, long cachedWeight) {
+            return new SourceCacheStatistics(hitCount, missCount, evictionCount, cachedSourceCount, cachedWeight);
+        }
+
+        @Override
+        public ContextResourceUsage newContextResourceUsage(long cpuTime, long allocatedBytes) {
+            return new ContextResourceUsage(cpuTime, allocatedBytes);
+        }
+
     }
 
 }
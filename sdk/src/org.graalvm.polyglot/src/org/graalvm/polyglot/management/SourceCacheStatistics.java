@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.polyglot.management;
+
+import static org.graalvm.polyglot.management.Management.IMPL;
+
+import java.util.Objects;
+
+import org.graalvm.polyglot.Engine;
+
+/**
+ * A snapshot of the statistics of the source cache of an {@link Engine engine}. The source cache
+ * stores the parse result of {@link org.graalvm.polyglot.Source#isCached() cached} sources so that
+ * evaluating the same source again does not parse it again.
+ * <p>
+ * The number of cached sources and their weight are only tracked if the size of the source cache
+ * is limited with the <code>engine.SourceCacheSize</code> option. Otherwise they are always
+ * <code>0</code>.
+ *
+ * @since 21.2
+ */
+public final class SourceCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long cachedSourceCount;
+    private final long cachedWeight;
+
+    SourceCacheStatistics(long hitCount, long missCount, long evictionCount, long cachedSourceCount, long cachedWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.cachedSourceCount = cachedSourceCount;
+        this.cachedWeight = cachedWeight;
+    }
+
+    /**
+     * Returns the current source cache statistics of an engine. The returned object is not updated
+     * when the cache changes.
+     *
+     * @since 21.2
+     */
+    public static SourceCacheStatistics get(Engine engine) {
+        Objects.requireNonNull(engine);
+        return IMPL.getSourceCacheStatistics(engine);
+    }
+
+    /**
+     * Returns the number of evaluations of cached sources that reused a previous parse result.
+     *
+     * @since 21.2
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of evaluations of cached sources that had to parse the source.
+     *
+     * @since 21.2
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of parse results that were removed from a size limited source cache to
+     * stay within its limit, or that were not admitted to it because they were used less
+     * frequently than the entries already cached. Parse results that are heavier than the limit
+     * allows are never cached and not counted.
+     *
+     * @since 21.2
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of parse results currently held by a size limited source cache.
+     *
+     * @since 21.2
+     */
+    public long getCachedSourceCount() {
+        return cachedSourceCount;
+    }
+
+    /**
+     * Returns the total weight of the parse results currently held by a size limited source cache.
+     * The weight of a parse result is the number of AST nodes of its root node.
+     *
+     * @since 21.2
+     */
+    public long getCachedWeight() {
+        return cachedWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 21.2
+     */
+    @Override
+    public String toString() {
+        return "SourceCacheStatistics[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", sources=" + cachedSourceCount + ", weight=" + cachedWeight + "]";
+    }
+}
@@ -37,6 +37,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
@@ -110,6 +111,8 @@ public abstract class BigBang {
 
     protected final boolean trackTypeFlowInputs;
     protected final boolean reportAnalysisStatistics;
+    private final int typeFlowUpdateBatchSize;
+    private final int deferredTypeFlowUpdateThreshold;
 
     /**
      * Processing queue.
@@ -157,6 +160,8 @@ public abstract class BigBang {
 
         trackTypeFlowInputs = PointstoOptions.TrackInputFlows.getValue(options);
         reportAnalysisStatistics = PointstoOptions.PrintPointsToStatistics.getValue(options);
+        typeFlowUpdateBatchSize = Math.max(1, PointstoOptions.TypeFlowUpdateBatchSize.getValue(options));
+        deferredTypeFlowUpdateThreshold = PointstoOptions.DeferredTypeFlowUpdateThreshold.getValue(options);
         if (reportAnalysisStatistics) {
             PointsToStats.init(this);
         }
@@ -531,38 +536,172 @@ public abstract class BigBang {
         TypeFlow<?> getTypeFlow();
     }
 
+    /**
+     * Schedules an update of the given type flow. A flow that is already scheduled is not
+     * scheduled again, i.e., all updates posted before the flow is processed are coalesced into a
+     * single update. Flows posted while a {@link TypeFlowBatch} is processed are collected in that
+     * batch's pending lists and submitted as new batches, instead of paying the task overhead for
+     * each individual update. Flows with a large type state are only scheduled once all other
+     * updates have been processed, see {@link #completeTypeFlows}.
+     */
     public void postFlow(final TypeFlow<?> operation) {
         if (operation.inQueue) {
             return;
         }
         operation.inQueue = true;
 
-        executor.execute(new TypeFlowRunnable() {
+        PendingTypeFlows pending = pendingTypeFlows.get();
+        if (pending != null) {
+            pending.add(operation);
+        } else {
+            executor.execute(new TypeFlowBatch(new TypeFlow<?>[]{operation}, 1));
+        }
+    }
 
-            @Override
-            public void run(DebugContext ignored) {
-                PointsToStats.registerTypeFlowQueuedUpdate(BigBang.this, operation);
+    /** The flows posted by the {@link TypeFlowBatch} that is currently processed by a thread. */
+    private final ThreadLocal<PendingTypeFlows> pendingTypeFlows = new ThreadLocal<>();
 
-                operation.inQueue = false;
-                operation.update(BigBang.this);
+    /**
+     * Flows with a large type state are expensive to update since each update propagates the whole
+     * state to the uses and observers. They are held back until the executor has no other work, so
+     * that all updates produced by the other flows are coalesced into a single update of the large
+     * flow.
+     */
+    private final ConcurrentLinkedQueue<TypeFlow<?>> deferredTypeFlows = new ConcurrentLinkedQueue<>();
+
+    private final class PendingTypeFlows {
+        private TypeFlow<?>[] flows = new TypeFlow<?>[typeFlowUpdateBatchSize];
+        private int flowsCount;
+
+        void add(TypeFlow<?> flow) {
+            if (isDeferred(flow)) {
+                deferredTypeFlows.add(flow);
+            } else {
+                flows[flowsCount++] = flow;
+                if (flowsCount == flows.length) {
+                    executor.execute(new TypeFlowBatch(flows, flowsCount));
+                    flows = new TypeFlow<?>[typeFlowUpdateBatchSize];
+                    flowsCount = 0;
+                }
             }
+        }
 
-            @Override
-            public String toString() {
-                return "Operation: " + operation.toString();
+        private boolean isDeferred(TypeFlow<?> flow) {
+            if (deferredTypeFlowUpdateThreshold < 0) {
+                return false;
             }
+            TypeState state = flow.getState();
+            return !state.isUnknown() && state.typesCount() >= deferredTypeFlowUpdateThreshold;
+        }
 
-            @Override
-            public TypeFlow<?> getTypeFlow() {
-                return operation;
+        void flush() {
+            if (flowsCount > 0) {
+                executor.execute(new TypeFlowBatch(flows, flowsCount));
+            }
+        }
+
+        /** Called when the batch failed, the pending flows are not scheduled anymore. */
+        void discard() {
+            for (int i = 0; i < flowsCount; i++) {
+                flows[i].inQueue = false;
             }
+            flowsCount = 0;
+        }
+    }
 
-            @Override
-            public DebugContext getDebug(OptionValues opts, List<DebugHandlersFactory> factories) {
-                assert opts == getOptions();
-                return DebugContext.disabled(opts);
+    private void postDeferredTypeFlows() {
+        TypeFlow<?>[] flows = new TypeFlow<?>[typeFlowUpdateBatchSize];
+        int flowsCount = 0;
+        for (TypeFlow<?> flow = deferredTypeFlows.poll(); flow != null; flow = deferredTypeFlows.poll()) {
+            flows[flowsCount++] = flow;
+            if (flowsCount == flows.length) {
+                executor.execute(new TypeFlowBatch(flows, flowsCount));
+                flows = new TypeFlow<?>[typeFlowUpdateBatchSize];
+                flowsCount = 0;
             }
-        });
+        }
+        if (flowsCount > 0) {
+            executor.execute(new TypeFlowBatch(flows, flowsCount));
+        }
+    }
+
+    /**
+     * Waits until all type flow updates are processed. The deferred flows are scheduled whenever
+     * the executor runs out of other work, until no flow is left.
+     */
+    private void completeTypeFlows() throws InterruptedException {
+        try {
+            executor.complete();
+            while (!deferredTypeFlows.isEmpty()) {
+                postDeferredTypeFlows();
+                executor.complete();
+            }
+        } catch (Throwable ex) {
+            for (TypeFlow<?> flow = deferredTypeFlows.poll(); flow != null; flow = deferredTypeFlows.poll()) {
+                flow.inQueue = false;
+            }
+            throw ex;
+        }
+    }
+
+    /** A task that updates a group of type flows. */
+    private final class TypeFlowBatch implements TypeFlowRunnable {
+        private final TypeFlow<?>[] flows;
+        private final int flowsCount;
+
+        TypeFlowBatch(TypeFlow<?>[] flows, int flowsCount) {
+            this.flows = flows;
+            this.flowsCount = flowsCount;
+        }
+
+        @Override
+        public void run(DebugContext ignored) {
+            PointsToStats.registerTypeFlowBatch(BigBang.this, flowsCount);
+
+            /*
+             * The sequential executor runs tasks directly from execute(), so batches can be nested
+             * and the pending flows of the enclosing batch must be restored afterwards.
+             */
+            PendingTypeFlows enclosing = pendingTypeFlows.get();
+            PendingTypeFlows pending = new PendingTypeFlows();
+            pendingTypeFlows.set(pending);
+            int processed = 0;
+            try {
+                for (; processed < flowsCount; processed++) {
+                    TypeFlow<?> operation = flows[processed];
+                    PointsToStats.registerTypeFlowQueuedUpdate(BigBang.this, operation);
+
+                    operation.inQueue = false;
+                    operation.update(BigBang.this);
+                }
+            } catch (Throwable ex) {
+                /* No flow must stay marked as queued, otherwise it could never be posted again. */
+                for (int i = processed + 1; i < flowsCount; i++) {
+                    flows[i].inQueue = false;
+                }
+                pending.discard();
+                throw ex;
+            } finally {
+                pendingTypeFlows.set(enclosing);
+            }
+            pending.flush();
+        }
+
+        @Override
+        public String toString() {
+            return "Operation: " + (flowsCount == 1 ? flows[0].toString() : flowsCount + " type flows starting with " + flows[0].toString());
+        }
+
+        @Override
+        public TypeFlow<?> getTypeFlow() {
+            return flows[0];
+        }
+
+        @Override
+        public DebugContext getDebug(OptionValues opts, List<DebugHandlersFactory> factories) {
+            assert opts == getOptions();
+            return DebugContext.disabled(opts);
+        }
     }
 
     public void postTask(final DebugContextRunnable task) {
@@ -607,7 +746,7 @@ public abstract class BigBang {
         boolean didSomeWork;
         try (StopTimer ignored = typeFlowTimer.start()) {
             executor.start();
-            executor.complete();
+            completeTypeFlows();
             didSomeWork = (executor.getPostedOperations() > 0);
             executor.shutdown();
         }
@@ -628,7 +767,7 @@ public abstract class BigBang {
         if (isParallel) {
             executor.start();
             objectScanner.scanBootImageHeapRoots(null, null);
-            executor.complete();
+            completeTypeFlows();
             executor.shutdown();
             executor.init(timing);
         } else {
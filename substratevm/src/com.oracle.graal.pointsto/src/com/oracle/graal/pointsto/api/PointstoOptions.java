@@ -128,6 +128,12 @@ public class PointstoOptions {
     @Option(help = "Scan all objects reachable from roots for analysis. By default false.")//
     public static final OptionKey<Boolean> ExhaustiveHeapScan = new OptionKey<>(false);
 
+    @Option(help = "The maximum number of type flow updates processed by a single analysis task.")//
+    public static final OptionKey<Integer> TypeFlowUpdateBatchSize = new OptionKey<>(64);
+
+    @Option(help = "Type flows whose state holds at least this many types are only updated once all other pending updates are processed, so that more updates can be coalesced into them. -1 disables the deferral.")//
+    public static final OptionKey<Integer> DeferredTypeFlowUpdateThreshold = new OptionKey<>(16);
+
     /**
      * Controls the static analysis context sensitivity. Available values:
      * <p/>
@@ -55,6 +55,11 @@ public final class AnalysisParsedGraph {
         this.isIntrinsic = isIntrinsic;
     }
 
+    /** Wraps a graph that was not created by {@link #parseBytecode}, e.g., a cached graph. */
+    public static AnalysisParsedGraph forGraph(StructuredGraph graph) {
+        return new AnalysisParsedGraph(graph, false);
+    }
+
     public StructuredGraph getGraph() {
         return graph;
     }
@@ -39,6 +39,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -117,6 +118,7 @@ public class PointsToStats {
             doReport(statsDirectory, reportNameRoot, "union operation stats", timeStamp, PointsToStats::reportUnionOpertationsStats);
             doReport(statsDirectory, reportNameRoot, "type flow stats", timeStamp, PointsToStats::reportTypeFlowStats);
             doReport(statsDirectory, reportNameRoot, "pruned type flow stats", timeStamp, PointsToStats::reportPrunedTypeFlows);
+            doReport(statsDirectory, reportNameRoot, "type flow batch stats", timeStamp, PointsToStats::reportTypeFlowBatchStats);
 
         } catch (IOException e) {
             throw JVMCIError.shouldNotReachHere(e);
@@ -308,6 +310,33 @@ public class PointsToStats {
         stats.registerQueuedUpdate();
     }
 
+    private static final AtomicLong typeFlowBatches = new AtomicLong();
+    private static final AtomicLong singleTypeFlowBatches = new AtomicLong();
+    private static final AtomicLong batchedTypeFlowUpdates = new AtomicLong();
+
+    public static void registerTypeFlowBatch(BigBang bb, int flowsCount) {
+        if (!bb.reportAnalysisStatistics()) {
+            return;
+        }
+
+        typeFlowBatches.incrementAndGet();
+        batchedTypeFlowUpdates.addAndGet(flowsCount);
+        if (flowsCount == 1) {
+            singleTypeFlowBatches.incrementAndGet();
+        }
+    }
+
+    private static void reportTypeFlowBatchStats(BufferedWriter out) {
+        long batches = typeFlowBatches.get();
+        long updates = batchedTypeFlowUpdates.get();
+
+        doWrite(out, String.format("%-35s\t%-10s\n", "Statistic", "Value"));
+        doWrite(out, String.format("%-35s\t%-10d\n", "Batches", batches));
+        doWrite(out, String.format("%-35s\t%-10d\n", "Single Flow Batches", singleTypeFlowBatches.get()));
+        doWrite(out, String.format("%-35s\t%-10d\n", "Type Flow Updates", updates));
+        doWrite(out, String.format("%-35s\t%-10.2f\n", "Average Batch Size", batches == 0 ? 0d : (double) updates / batches));
+    }
+
     static final Comparator<Long> longComparator = Comparator.naturalOrder();
 
     private static void reportTypeFlowStats(BufferedWriter out) {
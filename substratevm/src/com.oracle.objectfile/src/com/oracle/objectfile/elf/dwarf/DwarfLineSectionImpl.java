@@ -37,7 +37,12 @@ import com.oracle.objectfile.debugentry.Range;
 import com.oracle.objectfile.debuginfo.DebugInfoProvider.DebugFrameSizeChange;
 import org.graalvm.compiler.debug.DebugContext;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Section generator for debug_line section.
@@ -145,28 +150,53 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
          * We need to create a header, dir table, file table and line number table encoding for each
          * CU.
          */
+        List<ClassEntry> classEntries = getLineClasses();
+        int count = classEntries.size();
+        int[] prologueSizes = new int[count];
+        int[] totalSizes = new int[count];
+
+        /*
+         * Sizing a CU requires a dummy write of its line number table, which is where most of the
+         * time goes. Each CU is independent so the sizes can be computed in parallel.
+         */
+        IntStream indices = IntStream.range(0, count);
+        if (inBuilderPool()) {
+            indices = indices.parallel();
+        }
+        indices.forEach(idx -> {
+            ClassEntry classEntry = classEntries.get(idx);
+            LineState state = new LineState();
+            int prologueSize = headerSize() + computeDirTableSize(classEntry) + computeFileTableSize(state, classEntry);
+            prologueSizes[idx] = prologueSize;
+            totalSizes[idx] = prologueSize + computeLineNUmberTableSize(state, classEntry);
+        });
 
         /*
          * Write entries for each file listed in the primary list.
          */
         int pos = 0;
+        for (int idx = 0; idx < count; idx++) {
+            ClassEntry classEntry = classEntries.get(idx);
+            setLineIndex(classEntry, pos);
+            setLinePrologueSize(classEntry, prologueSizes[idx]);
+            setLineSectionSize(classEntry, totalSizes[idx]);
+            pos += totalSizes[idx];
+        }
+        byte[] buffer = new byte[pos];
+        super.setContent(buffer);
+    }
+
+    /**
+     * Retrieves the primary classes for which a CU needs to be written, in section order.
+     */
+    private List<ClassEntry> getLineClasses() {
+        List<ClassEntry> classEntries = new ArrayList<>();
         for (ClassEntry classEntry : getPrimaryClasses()) {
             if (classEntry.getFileName().length() != 0) {
-                int startPos = pos;
-                setLineIndex(classEntry, startPos);
-                int headerSize = headerSize();
-                int dirTableSize = computeDirTableSize(classEntry);
-                int fileTableSize = computeFileTableSize(classEntry);
-                int prologueSize = headerSize + dirTableSize + fileTableSize;
-                setLinePrologueSize(classEntry, prologueSize);
-                int lineNumberTableSize = computeLineNUmberTableSize(classEntry);
-                int totalSize = prologueSize + lineNumberTableSize;
-                setLineSectionSize(classEntry, totalSize);
-                pos += totalSize;
+                classEntries.add(classEntry);
             }
         }
-        byte[] buffer = new byte[pos];
-        super.setContent(buffer);
+        return classEntries;
     }
 
     private static int headerSize() {
@@ -219,7 +249,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         return dirSize;
     }
 
-    private int computeFileTableSize(ClassEntry classEntry) {
+    private int computeFileTableSize(LineState state, ClassEntry classEntry) {
         /*
          * Table contains a sequence of 'nul'-terminated dir name bytes followed by an extra 'nul'
          * and then a sequence of 'nul'-terminated file name bytes followed by an extra 'nul'.
@@ -238,7 +268,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
             fileSize += length + 1;
             DirEntry dirEntry = localEntry.getDirEntry();
             int idx = classEntry.localDirsIdx(dirEntry);
-            fileSize += putULEB(idx, scratch, 0);
+            fileSize += putULEB(idx, state.scratch, 0);
             /*
              * The two zero timestamps require 1 byte each.
              */
@@ -251,12 +281,12 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         return fileSize;
     }
 
-    private int computeLineNUmberTableSize(ClassEntry classEntry) {
+    private int computeLineNUmberTableSize(LineState state, ClassEntry classEntry) {
         /*
          * Sigh -- we have to do this by generating the content even though we cannot write it into
          * a byte[].
          */
-        return writeLineNumberTable(null, classEntry, null, 0);
+        return writeLineNumberTable(null, state, classEntry, null, 0);
     }
 
     @Override
@@ -286,28 +316,58 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         enableLog(context, pos);
         log(context, "  [0x%08x] DEBUG_LINE", pos);
 
-        for (ClassEntry classEntry : getPrimaryClasses()) {
-            if (classEntry.getFileName().length() != 0) {
-                int startPos = pos;
-                assert getLineIndex(classEntry) == startPos;
-                log(context, "  [0x%08x] Compile Unit for %s", pos, classEntry.getFileName());
-                pos = writeHeader(classEntry, buffer, pos);
-                log(context, "  [0x%08x] headerSize = 0x%08x", pos, pos - startPos);
-                int dirTablePos = pos;
-                pos = writeDirTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] dirTableSize = 0x%08x", pos, pos - dirTablePos);
-                int fileTablePos = pos;
-                pos = writeFileTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] fileTableSize = 0x%08x", pos, pos - fileTablePos);
-                int lineNumberTablePos = pos;
-                pos = writeLineNumberTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] lineNumberTableSize = 0x%x", pos, pos - lineNumberTablePos);
-                log(context, "  [0x%08x] size = 0x%x", pos, pos - startPos);
+        List<ClassEntry> classEntries = getLineClasses();
+        if (debug) {
+            /*
+             * Log output needs to appear in section order so write the CUs one at a time.
+             */
+            for (ClassEntry classEntry : classEntries) {
+                pos = writeCompileUnit(context, classEntry, buffer, pos);
             }
+        } else {
+            /*
+             * Each CU occupies its own precomputed range of the buffer so they can be written in
+             * parallel.
+             */
+            Stream<ClassEntry> entries = inBuilderPool() ? classEntries.parallelStream() : classEntries.stream();
+            entries.forEach(classEntry -> writeCompileUnit(context, classEntry, buffer, getLineIndex(classEntry)));
+            pos = buffer.length;
         }
         assert pos == buffer.length;
     }
 
+    /**
+     * Compile units are only processed in parallel if the section is written from a fork join pool
+     * worker, i.e., by the executor of the image builder, whose parallelism respects
+     * -H:NumberOfThreads. Parallel streams run their tasks in the pool of the worker that starts
+     * them, so the common pool is not used. Otherwise they are processed sequentially.
+     */
+    private static boolean inBuilderPool() {
+        return ForkJoinTask.inForkJoinPool();
+    }
+
+    private int writeCompileUnit(DebugContext context, ClassEntry classEntry, byte[] buffer, int p) {
+        int pos = p;
+        int startPos = pos;
+        assert getLineIndex(classEntry) == startPos;
+        LineState state = new LineState();
+        log(context, "  [0x%08x] Compile Unit for %s", pos, classEntry.getFileName());
+        pos = writeHeader(classEntry, buffer, pos);
+        log(context, "  [0x%08x] headerSize = 0x%08x", pos, pos - startPos);
+        int dirTablePos = pos;
+        pos = writeDirTable(context, classEntry, buffer, pos);
+        log(context, "  [0x%08x] dirTableSize = 0x%08x", pos, pos - dirTablePos);
+        int fileTablePos = pos;
+        pos = writeFileTable(context, classEntry, buffer, pos);
+        log(context, "  [0x%08x] fileTableSize = 0x%08x", pos, pos - fileTablePos);
+        int lineNumberTablePos = pos;
+        pos = writeLineNumberTable(context, state, classEntry, buffer, pos);
+        log(context, "  [0x%08x] lineNumberTableSize = 0x%x", pos, pos - lineNumberTablePos);
+        log(context, "  [0x%08x] size = 0x%x", pos, pos - startPos);
+        assert pos == startPos + getLineSectionSize(classEntry);
+        return pos;
+    }
+
     private int writeHeader(ClassEntry classEntry, byte[] buffer, int p) {
         int pos = p;
         /*
@@ -420,10 +480,19 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         return pos;
     }
 
-    private int debugLine = 1;
-    private int debugCopyCount = 0;
+    /**
+     * State of the line number program of one compile unit. Compile units are sized and written in
+     * parallel, so the state machine registers tracked for logging and the scratch buffer used for
+     * sizing must not be shared between them.
+     */
+    private final class LineState {
+        private final byte[] scratch = new byte[10];
+        private long address = debugTextBase;
+        private int line = 1;
+        private int copyCount = 0;
+    }
 
-    private int writeLineNumberTable(DebugContext context, ClassEntry classEntry, byte[] buffer, int p) {
+    private int writeLineNumberTable(DebugContext context, LineState state, ClassEntry classEntry, byte[] buffer, int p) {
         int pos = p;
         FileEntry fileEntry = classEntry.getFileEntry();
         if (fileEntry == null) {
@@ -464,19 +533,19 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
             /*
              * Initialize and write a row for the start of the primary method.
              */
-            pos = writeSetFileOp(context, file, fileIdx, buffer, pos);
-            pos = writeSetBasicBlockOp(context, buffer, pos);
+            pos = writeSetFileOp(context, state, file, fileIdx, buffer, pos);
+            pos = writeSetBasicBlockOp(context, state, buffer, pos);
             /*
              * Address is currently 0.
              */
-            pos = writeSetAddressOp(context, address, buffer, pos);
+            pos = writeSetAddressOp(context, state, address, buffer, pos);
             /*
              * State machine value of line is currently 1 increment to desired line.
              */
             if (line != 1) {
-                pos = writeAdvanceLineOp(context, line - 1, buffer, pos);
+                pos = writeAdvanceLineOp(context, state, line - 1, buffer, pos);
             }
-            pos = writeCopyOp(context, buffer, pos);
+            pos = writeCopyOp(context, state, buffer, pos);
 
             /*
              * On AArch64 gdb expects to see a line record at the start of the method and a second
@@ -499,8 +568,8 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                      */
                     byte opcode = isSpecialOpcode(addressDelta, 0);
                     assert opcode != DW_LNS_undefined;
-                    pos = writeSpecialOpcode(context, opcode, buffer, pos);
-                    pos = writeCopyOp(context, buffer, pos);
+                    pos = writeSpecialOpcode(context, state, opcode, buffer, pos);
+                    pos = writeCopyOp(context, state, buffer, pos);
                     address += addressDelta;
                 }
             }
@@ -543,7 +612,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                     /*
                      * Update the current file.
                      */
-                    pos = writeSetFileOp(context, subfile, subFileIdx, buffer, pos);
+                    pos = writeSetFileOp(context, state, subfile, subFileIdx, buffer, pos);
                     file = subfile;
                     fileIdx = subFileIdx;
                 }
@@ -558,7 +627,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                      * Ignore pointless write when addressDelta == lineDelta == 0.
                      */
                     if (addressDelta != 0 || lineDelta != 0) {
-                        pos = writeSpecialOpcode(context, opcode, buffer, pos);
+                        pos = writeSpecialOpcode(context, state, opcode, buffer, pos);
                     }
                 } else {
                     /*
@@ -566,7 +635,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                      */
                     int remainder = isConstAddPC(addressDelta);
                     if (remainder > 0) {
-                        pos = writeConstAddPCOp(context, buffer, pos);
+                        pos = writeConstAddPCOp(context, state, buffer, pos);
                         /*
                          * The remaining address can be handled with a special opcode but what about
                          * the line delta.
@@ -576,7 +645,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                             /*
                              * Address remainder and line now fit.
                              */
-                            pos = writeSpecialOpcode(context, opcode, buffer, pos);
+                            pos = writeSpecialOpcode(context, state, opcode, buffer, pos);
                         } else {
                             /*
                              * Ok, bump the line separately then use a special opcode for the
@@ -584,15 +653,15 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                              */
                             opcode = isSpecialOpcode(remainder, 0);
                             assert opcode != DW_LNS_undefined;
-                            pos = writeAdvanceLineOp(context, lineDelta, buffer, pos);
-                            pos = writeSpecialOpcode(context, opcode, buffer, pos);
+                            pos = writeAdvanceLineOp(context, state, lineDelta, buffer, pos);
+                            pos = writeSpecialOpcode(context, state, opcode, buffer, pos);
                         }
                     } else {
                         /*
                          * Increment line and pc separately.
                          */
                         if (lineDelta != 0) {
-                            pos = writeAdvanceLineOp(context, lineDelta, buffer, pos);
+                            pos = writeAdvanceLineOp(context, state, lineDelta, buffer, pos);
                         }
                         /*
                          * n.b. we might just have had an out of range line increment with a zero
@@ -603,12 +672,12 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                              * See if we can use a ushort for the increment.
                              */
                             if (isFixedAdvancePC(addressDelta)) {
-                                pos = writeFixedAdvancePCOp(context, (short) addressDelta, buffer, pos);
+                                pos = writeFixedAdvancePCOp(context, state, (short) addressDelta, buffer, pos);
                             } else {
-                                pos = writeAdvancePCOp(context, addressDelta, buffer, pos);
+                                pos = writeAdvancePCOp(context, state, addressDelta, buffer, pos);
                             }
                         }
-                        pos = writeCopyOp(context, buffer, pos);
+                        pos = writeCopyOp(context, state, buffer, pos);
                     }
                 }
                 /*
@@ -625,61 +694,61 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
                 /*
                  * Increment address before we write the end sequence.
                  */
-                pos = writeAdvancePCOp(context, addressDelta, buffer, pos);
+                pos = writeAdvancePCOp(context, state, addressDelta, buffer, pos);
             }
-            pos = writeEndSequenceOp(context, buffer, pos);
+            pos = writeEndSequenceOp(context, state, buffer, pos);
         }
         log(context, "  [0x%08x] primary file processed %s", pos, primaryFileName);
 
         return pos;
     }
 
-    private int writeCopyOp(DebugContext context, byte[] buffer, int p) {
+    private int writeCopyOp(DebugContext context, LineState state, byte[] buffer, int p) {
         byte opcode = DW_LNS_copy;
         int pos = p;
         if (buffer == null) {
-            return pos + putByte(opcode, scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
-            debugCopyCount++;
-            verboseLog(context, "  [0x%08x] Copy %d", pos, debugCopyCount);
+            state.copyCount++;
+            verboseLog(context, "  [0x%08x] Copy %d", pos, state.copyCount);
             return putByte(opcode, buffer, pos);
         }
     }
 
-    private int writeAdvancePCOp(DebugContext context, long uleb, byte[] buffer, int p) {
+    private int writeAdvancePCOp(DebugContext context, LineState state, long uleb, byte[] buffer, int p) {
         byte opcode = DW_LNS_advance_pc;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putULEB(uleb, scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putULEB(uleb, state.scratch, 0);
         } else {
-            debugAddress += uleb;
-            verboseLog(context, "  [0x%08x] Advance PC by %d to 0x%08x", pos, uleb, debugAddress);
+            state.address += uleb;
+            verboseLog(context, "  [0x%08x] Advance PC by %d to 0x%08x", pos, uleb, state.address);
             pos = putByte(opcode, buffer, pos);
             return putULEB(uleb, buffer, pos);
         }
     }
 
-    private int writeAdvanceLineOp(DebugContext context, long sleb, byte[] buffer, int p) {
+    private int writeAdvanceLineOp(DebugContext context, LineState state, long sleb, byte[] buffer, int p) {
         byte opcode = DW_LNS_advance_line;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putSLEB(sleb, scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putSLEB(sleb, state.scratch, 0);
         } else {
-            debugLine += sleb;
-            verboseLog(context, "  [0x%08x] Advance Line by %d to %d", pos, sleb, debugLine);
+            state.line += sleb;
+            verboseLog(context, "  [0x%08x] Advance Line by %d to %d", pos, sleb, state.line);
             pos = putByte(opcode, buffer, pos);
             return putSLEB(sleb, buffer, pos);
         }
     }
 
-    private int writeSetFileOp(DebugContext context, String file, long uleb, byte[] buffer, int p) {
+    private int writeSetFileOp(DebugContext context, LineState state, String file, long uleb, byte[] buffer, int p) {
         byte opcode = DW_LNS_set_file;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putULEB(uleb, scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putULEB(uleb, state.scratch, 0);
         } else {
             verboseLog(context, "  [0x%08x] Set File Name to entry %d in the File Name Table (%s)", pos, uleb, file);
             pos = putByte(opcode, buffer, pos);
@@ -688,12 +757,12 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
     }
 
     @SuppressWarnings("unused")
-    private int writeSetColumnOp(DebugContext context, long uleb, byte[] buffer, int p) {
+    private int writeSetColumnOp(DebugContext context, LineState state, long uleb, byte[] buffer, int p) {
         byte opcode = DW_LNS_set_column;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putULEB(uleb, scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putULEB(uleb, state.scratch, 0);
         } else {
             pos = putByte(opcode, buffer, pos);
             return putULEB(uleb, buffer, pos);
@@ -701,69 +770,69 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
     }
 
     @SuppressWarnings("unused")
-    private int writeNegateStmtOp(DebugContext context, byte[] buffer, int p) {
+    private int writeNegateStmtOp(DebugContext context, LineState state, byte[] buffer, int p) {
         byte opcode = DW_LNS_negate_stmt;
         int pos = p;
         if (buffer == null) {
-            return pos + putByte(opcode, scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
             return putByte(opcode, buffer, pos);
         }
     }
 
-    private int writeSetBasicBlockOp(DebugContext context, byte[] buffer, int p) {
+    private int writeSetBasicBlockOp(DebugContext context, LineState state, byte[] buffer, int p) {
         byte opcode = DW_LNS_set_basic_block;
         int pos = p;
         if (buffer == null) {
-            return pos + putByte(opcode, scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
             verboseLog(context, "  [0x%08x] Set basic block", pos);
             return putByte(opcode, buffer, pos);
         }
     }
 
-    private int writeConstAddPCOp(DebugContext context, byte[] buffer, int p) {
+    private int writeConstAddPCOp(DebugContext context, LineState state, byte[] buffer, int p) {
         byte opcode = DW_LNS_const_add_pc;
         int pos = p;
         if (buffer == null) {
-            return pos + putByte(opcode, scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
             int advance = opcodeAddress((byte) 255);
-            debugAddress += advance;
-            verboseLog(context, "  [0x%08x] Advance PC by constant %d to 0x%08x", pos, advance, debugAddress);
+            state.address += advance;
+            verboseLog(context, "  [0x%08x] Advance PC by constant %d to 0x%08x", pos, advance, state.address);
             return putByte(opcode, buffer, pos);
         }
     }
 
-    private int writeFixedAdvancePCOp(DebugContext context, short arg, byte[] buffer, int p) {
+    private int writeFixedAdvancePCOp(DebugContext context, LineState state, short arg, byte[] buffer, int p) {
         byte opcode = DW_LNS_fixed_advance_pc;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putShort(arg, scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putShort(arg, state.scratch, 0);
         } else {
-            debugAddress += arg;
-            verboseLog(context, "  [0x%08x] Fixed advance Address by %d to 0x%08x", pos, arg, debugAddress);
+            state.address += arg;
+            verboseLog(context, "  [0x%08x] Fixed advance Address by %d to 0x%08x", pos, arg, state.address);
             pos = putByte(opcode, buffer, pos);
             return putShort(arg, buffer, pos);
         }
     }
 
-    private int writeEndSequenceOp(DebugContext context, byte[] buffer, int p) {
+    private int writeEndSequenceOp(DebugContext context, LineState state, byte[] buffer, int p) {
         byte opcode = DW_LNE_end_sequence;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(DW_LNS_extended_prefix, scratch, 0);
+            pos = pos + putByte(DW_LNS_extended_prefix, state.scratch, 0);
             /*
              * Insert extended insn byte count as ULEB.
              */
-            pos = pos + putULEB(1, scratch, 0);
-            return pos + putByte(opcode, scratch, 0);
+            pos = pos + putULEB(1, state.scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
             verboseLog(context, "  [0x%08x] Extended opcode 1: End sequence", pos);
-            debugAddress = debugTextBase;
-            debugLine = 1;
-            debugCopyCount = 0;
+            state.address = debugTextBase;
+            state.line = 1;
+            state.copyCount = 0;
             pos = putByte(DW_LNS_extended_prefix, buffer, pos);
             /*
              * Insert extended insn byte count as ULEB.
@@ -773,20 +842,20 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         }
     }
 
-    private int writeSetAddressOp(DebugContext context, long arg, byte[] buffer, int p) {
+    private int writeSetAddressOp(DebugContext context, LineState state, long arg, byte[] buffer, int p) {
         byte opcode = DW_LNE_set_address;
         int pos = p;
         if (buffer == null) {
-            pos = pos + putByte(DW_LNS_extended_prefix, scratch, 0);
+            pos = pos + putByte(DW_LNS_extended_prefix, state.scratch, 0);
             /*
              * Insert extended insn byte count as ULEB.
              */
-            pos = pos + putULEB(9, scratch, 0);
-            pos = pos + putByte(opcode, scratch, 0);
-            return pos + putLong(arg, scratch, 0);
+            pos = pos + putULEB(9, state.scratch, 0);
+            pos = pos + putByte(opcode, state.scratch, 0);
+            return pos + putLong(arg, state.scratch, 0);
         } else {
-            debugAddress = debugTextBase + (int) arg;
-            verboseLog(context, "  [0x%08x] Extended opcode 2: Set Address to 0x%08x", pos, debugAddress);
+            state.address = debugTextBase + (int) arg;
+            verboseLog(context, "  [0x%08x] Extended opcode 2: Set Address to 0x%08x", pos, state.address);
             pos = putByte(DW_LNS_extended_prefix, buffer, pos);
             /*
              * Insert extended insn byte count as ULEB.
@@ -798,7 +867,7 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
     }
 
     @SuppressWarnings("unused")
-    private int writeDefineFileOp(DebugContext context, String file, long uleb1, long uleb2, long uleb3, byte[] buffer, int p) {
+    private int writeDefineFileOp(DebugContext context, LineState state, String file, long uleb1, long uleb2, long uleb3, byte[] buffer, int p) {
         byte opcode = DW_LNE_define_file;
         int pos = p;
         /*
@@ -807,15 +876,15 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         int fileBytes = file.length() + 1;
         long insnBytes = 1;
         insnBytes += fileBytes;
-        insnBytes += putULEB(uleb1, scratch, 0);
-        insnBytes += putULEB(uleb2, scratch, 0);
-        insnBytes += putULEB(uleb3, scratch, 0);
+        insnBytes += putULEB(uleb1, state.scratch, 0);
+        insnBytes += putULEB(uleb2, state.scratch, 0);
+        insnBytes += putULEB(uleb3, state.scratch, 0);
         if (buffer == null) {
-            pos = pos + putByte(DW_LNS_extended_prefix, scratch, 0);
+            pos = pos + putByte(DW_LNS_extended_prefix, state.scratch, 0);
             /*
              * Write insnBytes as a ULEB.
              */
-            pos += putULEB(insnBytes, scratch, 0);
+            pos += putULEB(insnBytes, state.scratch, 0);
             return pos + (int) insnBytes;
         } else {
             verboseLog(context, "  [0x%08x] Extended opcode 3: Define File %s idx %d ts1 %d ts2 %d", pos, file, uleb1, uleb2, uleb3);
@@ -850,18 +919,18 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         return ((iopcode - DW_LN_OPCODE_BASE) % DW_LN_LINE_RANGE) + DW_LN_LINE_BASE;
     }
 
-    private int writeSpecialOpcode(DebugContext context, byte opcode, byte[] buffer, int p) {
+    private int writeSpecialOpcode(DebugContext context, LineState state, byte opcode, byte[] buffer, int p) {
         int pos = p;
         if (buffer == null) {
-            return pos + putByte(opcode, scratch, 0);
+            return pos + putByte(opcode, state.scratch, 0);
         } else {
             if (debug && opcode == 0) {
-                verboseLog(context, "  [0x%08x] ERROR Special Opcode %d: Address 0x%08x Line %d", debugAddress, debugLine);
+                verboseLog(context, "  [0x%08x] ERROR Special Opcode %d: Address 0x%08x Line %d", state.address, state.line);
             }
-            debugAddress += opcodeAddress(opcode);
-            debugLine += opcodeLine(opcode);
+            state.address += opcodeAddress(opcode);
+            state.line += opcodeLine(opcode);
             verboseLog(context, "  [0x%08x] Special Opcode %d: advance Address by %d to 0x%08x and Line by %d to %d",
-                            pos, opcodeId(opcode), opcodeAddress(opcode), debugAddress, opcodeLine(opcode), debugLine);
+                            pos, opcodeId(opcode), opcodeAddress(opcode), state.address, opcodeLine(opcode), state.line);
             return putByte(opcode, buffer, pos);
         }
     }
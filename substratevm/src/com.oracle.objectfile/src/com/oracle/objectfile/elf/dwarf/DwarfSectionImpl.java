@@ -205,7 +205,7 @@ public abstract class DwarfSectionImpl extends BasicProgbitsSectionImpl {
         /*
          * Mark address so it is relocated relative to the start of the text segment.
          */
-        markRelocationSite(pos, ObjectFile.RelocationKind.DIRECT_8, DwarfDebugInfo.TEXT_SECTION_NAME, false, Long.valueOf(l));
+        markRelocationSiteSynchronized(pos, DwarfDebugInfo.TEXT_SECTION_NAME, l);
         pos = putLong(0, buffer, pos);
         return pos;
     }
@@ -215,11 +215,19 @@ public abstract class DwarfSectionImpl extends BasicProgbitsSectionImpl {
         /*
          * Mark address so it is relocated relative to the start of the heap.
          */
-        markRelocationSite(pos, ObjectFile.RelocationKind.DIRECT_8, DwarfDebugInfo.HEAP_BEGIN_NAME, false, Long.valueOf(l));
+        markRelocationSiteSynchronized(pos, DwarfDebugInfo.HEAP_BEGIN_NAME, l);
         pos = putLong(0, buffer, pos);
         return pos;
     }
 
+    /*
+     * Relocation records are accumulated in a shared relocation section which is not thread-safe,
+     * so serialize access for sections whose content is written in parallel.
+     */
+    private synchronized void markRelocationSiteSynchronized(int pos, String symbolName, long addend) {
+        markRelocationSite(pos, ObjectFile.RelocationKind.DIRECT_8, symbolName, false, Long.valueOf(addend));
+    }
+
     protected int putULEB(long val, byte[] buffer, int p) {
         long l = val;
         int pos = p;
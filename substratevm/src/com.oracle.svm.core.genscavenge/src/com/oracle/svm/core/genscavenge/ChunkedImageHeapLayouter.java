@@ -35,18 +35,31 @@ import com.oracle.svm.core.genscavenge.ChunkedImageHeapAllocator.Chunk;
 import com.oracle.svm.core.genscavenge.ChunkedImageHeapAllocator.UnalignedChunk;
 import com.oracle.svm.core.image.ImageHeap;
 import com.oracle.svm.core.image.ImageHeapLayoutInfo;
+import com.oracle.svm.core.image.ImageHeapObject;
+import com.oracle.svm.core.image.ImageHeapPartition;
 
 public class ChunkedImageHeapLayouter extends AbstractImageHeapLayouter<ChunkedImageHeapPartition> {
     private final ImageHeapInfo heapInfo;
     private final long startOffset;
     private final boolean compressedNullPadding;
+    /**
+     * Whether the writable partitions start in a new aligned chunk. Otherwise, the first writable
+     * chunk can also contain read-only objects, which then are in the writable part of the image
+     * heap because the chunk needs a writable card table.
+     */
+    private final boolean strictReadOnlyChunks;
     private final long hugeObjectThreshold;
     private ChunkedImageHeapAllocator allocator;
 
     public ChunkedImageHeapLayouter(ImageHeapInfo heapInfo, long startOffset, boolean compressedNullPadding) {
+        this(heapInfo, startOffset, compressedNullPadding, false);
+    }
+
+    public ChunkedImageHeapLayouter(ImageHeapInfo heapInfo, long startOffset, boolean compressedNullPadding, boolean strictReadOnlyChunks) {
         this.heapInfo = heapInfo;
         this.startOffset = startOffset;
         this.compressedNullPadding = compressedNullPadding;
+        this.strictReadOnlyChunks = strictReadOnlyChunks;
         this.hugeObjectThreshold = HeapPolicy.getLargeArrayThreshold().rawValue();
     }
 
@@ -70,11 +83,29 @@ public class ChunkedImageHeapLayouter extends AbstractImageHeapLayouter<ChunkedI
         assert !compressedNullPadding || AlignedHeapChunk.getObjectsStartOffset().aboveThan(0) : "Expecting header to pad start so object offsets are strictly greater than 0";
         allocator = new ChunkedImageHeapAllocator(imageHeap, startOffset);
         for (ChunkedImageHeapPartition partition : getPartitions()) {
+            if (strictReadOnlyChunks && partition == getWritablePrimitive()) {
+                // Do not place writable objects in the same chunk as the read-only objects
+                allocator.finishAlignedChunk();
+            }
             partition.layout(allocator);
         }
+        assert !strictReadOnlyChunks || verifyStrictReadOnlyChunks();
         return populateInfoObjects(imageHeap.countDynamicHubs());
     }
 
+    private boolean verifyStrictReadOnlyChunks() {
+        for (AlignedChunk chunk : allocator.getAlignedChunks()) {
+            if (chunk.isWritable()) {
+                for (ImageHeapObject obj : chunk.getObjects()) {
+                    ImageHeapPartition partition = obj.getPartition();
+                    assert !(partition instanceof ChunkedImageHeapPartition) || ((ChunkedImageHeapPartition) partition).isWritable() : "Writable chunk at " + chunk.getBegin() +
+                                    " contains read-only object of partition " + partition.getName();
+                }
+            }
+        }
+        return true;
+    }
+
     private ImageHeapLayoutInfo populateInfoObjects(int dynamicHubCount) {
         // Determine writable start boundary from chunks: a chunk that contains writable objects
         // must also have a writable card table
@@ -56,6 +56,10 @@ public final class HeapOptions {
     @Option(help = "Enables card marking for image heap objects, which arranges them in chunks. Automatically enabled when supported.", type = OptionType.Expert) //
     public static final HostedOptionKey<Boolean> ImageHeapCardMarking = new HostedOptionKey<>(null);
 
+    @Option(help = "Lay out the image heap so that no chunk contains both read-only and writable objects. All read-only objects are then on pages " +
+                    "that are never written or relocated at run time and can be shared between processes mapping the same image. Requires SpawnIsolates.", type = OptionType.Expert) //
+    public static final HostedOptionKey<Boolean> ImageHeapStrictReadOnlyChunks = new HostedOptionKey<>(false);
+
     private HeapOptions() {
     }
 }
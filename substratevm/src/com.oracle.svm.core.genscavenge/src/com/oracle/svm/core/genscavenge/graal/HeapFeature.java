@@ -42,6 +42,7 @@ import com.oracle.svm.core.genscavenge.ChunkedImageHeapLayouter;
 import com.oracle.svm.core.genscavenge.CompleteGarbageCollectorMXBean;
 import com.oracle.svm.core.genscavenge.HeapImpl;
 import com.oracle.svm.core.genscavenge.HeapImplMemoryMXBean;
+import com.oracle.svm.core.genscavenge.HeapOptions;
 import com.oracle.svm.core.genscavenge.ImageHeapInfo;
 import com.oracle.svm.core.genscavenge.IncrementalGarbageCollectorMXBean;
 import com.oracle.svm.core.genscavenge.LinearImageHeapLayouter;
@@ -58,6 +59,7 @@ import com.oracle.svm.core.image.ImageHeapLayouter;
 import com.oracle.svm.core.jdk.RuntimeFeature;
 import com.oracle.svm.core.jdk.management.ManagementFeature;
 import com.oracle.svm.core.jdk.management.ManagementSupport;
+import com.oracle.svm.core.util.UserError;
 
 @AutomaticFeature
 class HeapFeature implements GraalFeature {
@@ -106,7 +108,10 @@ class HeapFeature implements GraalFeature {
     public void afterAnalysis(AfterAnalysisAccess access) {
         ImageHeapLayouter heapLayouter;
         if (HeapImpl.usesImageHeapChunks()) { // needs CommittedMemoryProvider: registered late
-            heapLayouter = new ChunkedImageHeapLayouter(HeapImpl.getImageHeapInfo(), 0, true);
+            boolean strictReadOnlyChunks = HeapOptions.ImageHeapStrictReadOnlyChunks.getValue();
+            UserError.guarantee(!strictReadOnlyChunks || SubstrateOptions.SpawnIsolates.getValue(),
+                            "Option %s requires SpawnIsolates because otherwise references in read-only objects are relocated at image load time.", HeapOptions.ImageHeapStrictReadOnlyChunks.getName());
+            heapLayouter = new ChunkedImageHeapLayouter(HeapImpl.getImageHeapInfo(), 0, true, strictReadOnlyChunks);
         } else {
             heapLayouter = new LinearImageHeapLayouter(HeapImpl.getImageHeapInfo(), 0, true);
         }
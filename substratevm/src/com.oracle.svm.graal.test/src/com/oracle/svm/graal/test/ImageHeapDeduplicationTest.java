@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.graal.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.svm.hosted.image.ImageHeapDeduplication;
+
+public class ImageHeapDeduplicationTest {
+
+    @Test
+    public void testEqualImmutableArraysAreMerged() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(true, false);
+        byte[] bytes = {1, 2, 3};
+        int[] ints = {1, 2, 3};
+        long[] longs = {1, 2, 3};
+        Assert.assertSame(bytes, deduplication.canonicalize(bytes, true, true));
+        Assert.assertSame(ints, deduplication.canonicalize(ints, true, true));
+        Assert.assertSame(longs, deduplication.canonicalize(longs, true, true));
+
+        Assert.assertSame(bytes, deduplication.canonicalize(new byte[]{1, 2, 3}, true, true));
+        Assert.assertSame(ints, deduplication.canonicalize(new int[]{1, 2, 3}, true, true));
+        Assert.assertSame(longs, deduplication.canonicalize(new long[]{1, 2, 3}, true, true));
+
+        int[] different = {1, 2, 4};
+        Assert.assertSame(different, deduplication.canonicalize(different, true, true));
+    }
+
+    @Test
+    public void testRegisteredImmutableArraysKeepIdentity() {
+        for (boolean deduplicateArrays : new boolean[]{true, false}) {
+            ImageHeapDeduplication deduplication = new ImageHeapDeduplication(deduplicateArrays, false);
+            // immutable arrays that are not the backing array of a string, e.g. registered ones
+            int[] registered = {1, 2, 3};
+            Assert.assertSame(registered, deduplication.canonicalize(registered, true, false));
+            int[] otherRegistered = {1, 2, 3};
+            Assert.assertSame(otherRegistered, deduplication.canonicalize(otherRegistered, true, false));
+            // and they never become the canonical instance for string backing arrays
+            byte[] bytes = {1, 2, 3};
+            deduplication.canonicalize(bytes, true, false);
+            byte[] stringValue = {1, 2, 3};
+            Assert.assertSame(stringValue, deduplication.canonicalize(stringValue, true, true));
+        }
+    }
+
+    @Test
+    public void testMutableArraysAreNotMerged() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(true, false);
+        char[] chars = {'a', 'b'};
+        Assert.assertSame(chars, deduplication.canonicalize(chars, true, true));
+
+        char[] mutable = {'a', 'b'};
+        Assert.assertSame(mutable, deduplication.canonicalize(mutable, false, true));
+        // a mutable array never becomes the canonical instance either
+        char[] otherMutable = {'x'};
+        Assert.assertSame(otherMutable, deduplication.canonicalize(otherMutable, false, true));
+        char[] immutable = {'x'};
+        Assert.assertSame(immutable, deduplication.canonicalize(immutable, true, true));
+    }
+
+    @Test
+    public void testObjectArraysAreNotMerged() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(true, false);
+        Object[] objects = {"a"};
+        Assert.assertSame(objects, deduplication.canonicalize(objects, true, true));
+        Object[] equal = {"a"};
+        Assert.assertSame(equal, deduplication.canonicalize(equal, true, true));
+    }
+
+    @Test
+    public void testFloatingPointArraysAreComparedByBits() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(true, false);
+        double[] positiveZero = {0.0};
+        Assert.assertSame(positiveZero, deduplication.canonicalize(positiveZero, true, true));
+        double[] negativeZero = {-0.0};
+        Assert.assertSame(negativeZero, deduplication.canonicalize(negativeZero, true, true));
+        Assert.assertSame(positiveZero, deduplication.canonicalize(new double[]{0.0}, true, true));
+
+        float[] nan = {Float.intBitsToFloat(0x7fc00000)};
+        Assert.assertSame(nan, deduplication.canonicalize(nan, true, true));
+        float[] otherNaN = {Float.intBitsToFloat(0x7fc00001)};
+        Assert.assertSame(otherNaN, deduplication.canonicalize(otherNaN, true, true));
+    }
+
+    @Test
+    public void testArraysOfDifferentTypesAreNotMerged() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(true, false);
+        int[] ints = {};
+        long[] longs = {};
+        Assert.assertSame(ints, deduplication.canonicalize(ints, true, true));
+        Assert.assertSame(longs, deduplication.canonicalize(longs, true, true));
+    }
+
+    @Test
+    public void testDisabled() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(false, false);
+        byte[] bytes = {1};
+        deduplication.canonicalize(bytes, true, true);
+        byte[] equal = {1};
+        Assert.assertSame(equal, deduplication.canonicalize(equal, true, true));
+        String str = new String("not interned");
+        deduplication.canonicalize(str, true, false);
+        String equalStr = new String("not interned");
+        Assert.assertSame(equalStr, deduplication.canonicalize(equalStr, true, false));
+    }
+
+    @Test
+    public void testStrings() {
+        ImageHeapDeduplication deduplication = new ImageHeapDeduplication(false, true);
+        String str = new String("not interned");
+        Assert.assertSame(str, deduplication.canonicalize(str, true, false));
+        Assert.assertSame(str, deduplication.canonicalize(new String("not interned"), true, false));
+
+        String interned = "interned";
+        Assert.assertSame(interned, deduplication.canonicalize(interned, true, false));
+        String copy = new String(interned);
+        Assert.assertSame(copy, deduplication.canonicalize(copy, true, false));
+        // interned strings are never replaced by a non-interned copy
+        Assert.assertSame(interned, deduplication.canonicalize(interned, true, false));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.graal.test;
+
+// Checkstyle: allow reflection
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodes.EncodedGraph;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.NodePlugin;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.svm.core.SubstrateOptions;
+import com.oracle.svm.hosted.server.ParsedGraphCache;
+import com.oracle.svm.hosted.server.ParsedGraphCache.PluginApplication;
+
+import jdk.vm.ci.meta.ResolvedJavaField;
+
+public class ParsedGraphCacheTest {
+
+    private static final OptionValues OPTIONS = new OptionValues(EconomicMap.create());
+
+    private static Method lookupMethod(Class<?> declaringClass, String name, Class<?>... parameterTypes) throws ReflectiveOperationException {
+        Method method = declaringClass.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return method;
+    }
+
+    private static String fingerprint(OptionValues options) throws ReflectiveOperationException {
+        return (String) lookupMethod(ParsedGraphCache.class, "computeFingerprint", OptionValues.class).invoke(null, options);
+    }
+
+    private static String originFingerprint(Path origin) throws ReflectiveOperationException {
+        return (String) lookupMethod(ParsedGraphCache.class, "computeOriginFingerprint", Path.class).invoke(null, origin);
+    }
+
+    private static OptionValues withOption(OptionKey<?> key, Object value) {
+        EconomicMap<OptionKey<?>, Object> values = EconomicMap.create();
+        values.put(key, value);
+        return new OptionValues(values);
+    }
+
+    private static void delete(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testFingerprintOnlyCoversParsingOptions() throws Exception {
+        String fingerprint = fingerprint(OPTIONS);
+        Assert.assertEquals(fingerprint, fingerprint(withOption(SubstrateOptions.Name, "otherimage")));
+        Assert.assertNotEquals(fingerprint, fingerprint(withOption(SubstrateOptions.Optimize, 0)));
+    }
+
+    @Test
+    public void testOriginFingerprintIsPerFile() throws Exception {
+        Path dir = Files.createTempDirectory("parsedGraphCache");
+        try {
+            Path first = dir.resolve("first.jar");
+            Path second = dir.resolve("second.jar");
+            for (Path jar : Arrays.asList(first, second)) {
+                Files.write(jar, jar.getFileName().toString().getBytes());
+                Files.setLastModifiedTime(jar, FileTime.fromMillis(1000000L));
+            }
+            String firstFingerprint = originFingerprint(first);
+            String secondFingerprint = originFingerprint(second);
+            Assert.assertEquals(firstFingerprint, originFingerprint(first));
+
+            Files.write(first, "changed".getBytes());
+            Assert.assertNotEquals(firstFingerprint, originFingerprint(first));
+            Assert.assertEquals(secondFingerprint, originFingerprint(second));
+
+            Assert.assertEquals("", originFingerprint(dir.resolve("missing.jar")));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static Object newEntry(byte[] encoding, Object[] objects) throws ReflectiveOperationException {
+        Class<?> entryClass = Class.forName(ParsedGraphCache.class.getName() + "$Entry");
+        Constructor<?> constructor = entryClass.getDeclaredConstructor(EncodedGraph.class, Object[].class, List.class, List.class, List.class, Map.class);
+        constructor.setAccessible(true);
+        EncodedGraph graph = new EncodedGraph(encoding, 0, objects, new NodeClass<?>[0], null, null, null, false, false);
+        return constructor.newInstance(graph, objects, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+    }
+
+    private static long size(Object entry) throws ReflectiveOperationException {
+        return (long) lookupMethod(entry.getClass(), "size").invoke(entry);
+    }
+
+    @Test
+    public void testEntrySizeIncludesObjects() throws Exception {
+        long empty = size(newEntry(new byte[1000], new Object[0]));
+        Assert.assertTrue(empty > 1000);
+
+        char[] chars = new char[10000];
+        Arrays.fill(chars, 'x');
+        long withString = size(newEntry(new byte[1000], new Object[]{new String(chars)}));
+        Assert.assertTrue(withString >= empty + 2 * chars.length);
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        Constructor<ParsedGraphCache> constructor = ParsedGraphCache.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        ParsedGraphCache cache = constructor.newInstance();
+        Class<?> keyClass = Class.forName(ParsedGraphCache.class.getName() + "$Key");
+        Class<?> entryClass = Class.forName(ParsedGraphCache.class.getName() + "$Entry");
+        Constructor<?> keyConstructor = keyClass.getDeclaredConstructor(String.class, Object.class);
+        keyConstructor.setAccessible(true);
+        Method setMaxBytes = lookupMethod(ParsedGraphCache.class, "setMaxBytes", long.class);
+        Method put = lookupMethod(ParsedGraphCache.class, "put", keyClass, entryClass);
+        Method get = lookupMethod(ParsedGraphCache.class, "get", keyClass);
+
+        Object entry = newEntry(new byte[1000], new Object[0]);
+        setMaxBytes.invoke(cache, 2 * size(entry) + size(entry) / 2);
+        Object first = keyConstructor.newInstance("first", null);
+        Object second = keyConstructor.newInstance("second", null);
+        Object third = keyConstructor.newInstance("third", null);
+        put.invoke(cache, first, entry);
+        put.invoke(cache, second, newEntry(new byte[1000], new Object[0]));
+        // makes second the least recently used entry
+        Assert.assertSame(entry, get.invoke(cache, first));
+        put.invoke(cache, third, newEntry(new byte[1000], new Object[0]));
+        Assert.assertNull(get.invoke(cache, second));
+        Assert.assertSame(entry, get.invoke(cache, first));
+        Assert.assertNotNull(get.invoke(cache, third));
+    }
+
+    @Test
+    public void testPluginApplications() throws Exception {
+        lookupMethod(ParsedGraphCache.class, "enable").invoke(null);
+        ParsedGraphCache.Session session = ParsedGraphCache.beginSession(OPTIONS, getClass().getClassLoader());
+        Assert.assertNotNull(session);
+
+        InvocationPlugin standardPlugin = new InvocationPlugin() {
+        };
+        InvocationPlugin featurePlugin = new InvocationPlugin() {
+        };
+        NodePlugin loadFieldPlugin = new NodePlugin() {
+            @Override
+            public boolean handleLoadStaticField(GraphBuilderContext b, ResolvedJavaField field) {
+                return true;
+            }
+        };
+        Plugins plugins = new Plugins(new InvocationPlugins());
+        plugins.appendNodePlugin(loadFieldPlugin);
+        session.instrumentPlugins(plugins, Collections.singleton(standardPlugin));
+        Assert.assertEquals(1, plugins.getNodePlugins().length);
+        NodePlugin recordingPlugin = plugins.getNodePlugins()[0];
+
+        StructuredGraph graph = new StructuredGraph.Builder(OPTIONS, DebugContext.disabled(OPTIONS)).build();
+        GraphBuilderContext b = (GraphBuilderContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{GraphBuilderContext.class}, (proxy, method, args) -> {
+            Assert.assertEquals("getGraph", method.getName());
+            return graph;
+        });
+
+        Assert.assertFalse(ParsedGraphCache.isRecordingPluginApplications());
+        session.beginParsing();
+        Assert.assertTrue(ParsedGraphCache.isRecordingPluginApplications());
+        Assert.assertTrue(recordingPlugin.handleLoadStaticField(b, null));
+        Assert.assertFalse(recordingPlugin.handleLoadField(b, null, null));
+        List<PluginApplication> applications = session.endParsing();
+        Assert.assertFalse(ParsedGraphCache.isRecordingPluginApplications());
+        Assert.assertEquals(1, applications.size());
+        Field plugin = PluginApplication.class.getDeclaredField("plugin");
+        plugin.setAccessible(true);
+        Assert.assertSame(loadFieldPlugin, plugin.get(applications.get(0)));
+
+        Method isBuildIndependent = lookupMethod(ParsedGraphCache.Session.class, "isBuildIndependent", Object.class);
+        Assert.assertTrue((boolean) isBuildIndependent.invoke(session, standardPlugin));
+        Assert.assertFalse((boolean) isBuildIndependent.invoke(session, featurePlugin));
+        Assert.assertFalse((boolean) isBuildIndependent.invoke(session, loadFieldPlugin));
+    }
+}
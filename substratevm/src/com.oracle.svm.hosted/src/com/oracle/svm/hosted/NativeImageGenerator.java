@@ -43,6 +43,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -272,6 +273,7 @@ import com.oracle.svm.hosted.phases.IntrinsifyMethodHandlesInvocationPlugin;
 import com.oracle.svm.hosted.phases.SubstrateClassInitializationPlugin;
 import com.oracle.svm.hosted.phases.VerifyDeoptFrameStatesLIRPhase;
 import com.oracle.svm.hosted.phases.VerifyNoGuardsPhase;
+import com.oracle.svm.hosted.server.ParsedGraphCache;
 import com.oracle.svm.hosted.snippets.SubstrateGraphBuilderPlugins;
 import com.oracle.svm.hosted.substitute.AnnotationSubstitutionProcessor;
 import com.oracle.svm.hosted.substitute.DeclarativeSubstitutionProcessor;
@@ -939,7 +941,8 @@ public class NativeImageGenerator {
         SubstitutionProcessor aSubstitutions = createAnalysisSubstitutionProcessor(originalMetaAccess, originalSnippetReflection, cEnumProcessor, automaticSubstitutions,
                         annotationSubstitutions, additionalSubstitutions);
 
-        SVMHost hostVM = new SVMHost(options, buildExecutor, loader.getClassLoader(), classInitializationSupport, automaticSubstitutions);
+        SVMHost hostVM = new SVMHost(options, buildExecutor, loader.getClassLoader(), classInitializationSupport, automaticSubstitutions,
+                        ParsedGraphCache.beginSession(options, loader.getClassLoader()));
         automaticSubstitutions.init(loader, originalMetaAccess);
         AnalysisPolicy analysisPolicy = PointstoOptions.AllocationSiteSensitiveHeap.getValue(options) ? new BytecodeSensitiveAnalysisPolicy(options)
                         : new DefaultAnalysisPolicy(options);
@@ -1142,11 +1145,27 @@ public class NativeImageGenerator {
     static class SubstitutionInvocationPlugins extends InvocationPlugins {
 
         private AnnotationSubstitutionProcessor annotationSubstitutionProcessor;
+        private Set<InvocationPlugin> collectedPlugins;
 
         SubstitutionInvocationPlugins(AnnotationSubstitutionProcessor annotationSubstitutionProcessor) {
             this.annotationSubstitutionProcessor = annotationSubstitutionProcessor;
         }
 
+        /**
+         * Runs the given registration and returns the plugins it registered. Deferred registrations
+         * are not included.
+         */
+        Set<InvocationPlugin> collectRegisteredPlugins(Runnable registration) {
+            assert collectedPlugins == null;
+            collectedPlugins = new HashSet<>();
+            try {
+                registration.run();
+                return collectedPlugins;
+            } finally {
+                collectedPlugins = null;
+            }
+        }
+
         @Override
         protected void register(InvocationPlugin plugin, boolean isOptional, boolean allowOverwrite, Type declaringClass, String name, Type... argumentTypes) {
             Type targetClass;
@@ -1156,6 +1175,9 @@ public class NativeImageGenerator {
                 targetClass = declaringClass;
             }
             super.register(plugin, isOptional, allowOverwrite, targetClass, name, argumentTypes);
+            if (collectedPlugins != null) {
+                collectedPlugins.add(plugin);
+            }
         }
     }
 
@@ -1233,8 +1255,9 @@ public class NativeImageGenerator {
         }
 
         final boolean arrayEqualsSubstitution = !SubstrateOptions.useLLVMBackend();
-        registerInvocationPlugins(providers.getMetaAccess(), providers.getSnippetReflection(), plugins.getInvocationPlugins(), replacements,
-                        reason == ParsingReason.JITCompilation, true, arrayEqualsSubstitution, providers.getLowerer());
+        Set<InvocationPlugin> standardPlugins = ((SubstitutionInvocationPlugins) plugins.getInvocationPlugins()).collectRegisteredPlugins(
+                        () -> registerInvocationPlugins(providers.getMetaAccess(), providers.getSnippetReflection(), plugins.getInvocationPlugins(), replacements,
+                                        reason == ParsingReason.JITCompilation, true, arrayEqualsSubstitution, providers.getLowerer()));
 
         Architecture architecture = ConfigurationValues.getTarget().arch;
         OptionValues options = aUniverse.hostVM().options();
@@ -1259,6 +1282,13 @@ public class NativeImageGenerator {
 
         featureHandler.forEachGraalFeature(feature -> feature.registerInvocationPlugins(providers, hostedSnippetReflection, plugins, reason));
 
+        if (reason == ParsingReason.PointsToAnalysis) {
+            ParsedGraphCache.Session parsedGraphCache = ((SVMHost) aUniverse.hostVM()).getParsedGraphCache();
+            if (parsedGraphCache != null) {
+                parsedGraphCache.instrumentPlugins(plugins, standardPlugins);
+            }
+        }
+
         providers.setGraphBuilderPlugins(plugins);
         replacements.setGraphBuilderPlugins(plugins);
         if (runtimeConfig != null && runtimeConfig.getProviders() instanceof HostedProviders) {
@@ -72,6 +72,15 @@ public class NativeImageOptions {
     @Option(help = "Print class statistics of native image heap")//
     public static final HostedOptionKey<Boolean> PrintHeapHistogram = new HostedOptionKey<>(false);
 
+    @Option(help = "Share the backing arrays of strings with equal contents in the native image heap")//
+    public static final HostedOptionKey<Boolean> DeduplicateImageHeapArrays = new HostedOptionKey<>(true);
+
+    @Option(help = "Replace equal non-interned strings in the native image heap with a single instance. Only safe if the application does not depend on the identity of such strings")//
+    public static final HostedOptionKey<Boolean> DeduplicateImageHeapStrings = new HostedOptionKey<>(false);
+
+    @Option(help = "Maximum size in MB of the parsed JDK method graphs that an image build server keeps for later builds. 0 disables the cache.")//
+    public static final HostedOptionKey<Integer> BuildServerParsedGraphCacheSize = new HostedOptionKey<>(256);
+
     @Option(help = "Print statistics of methods in native image heap")//
     public static final HostedOptionKey<Boolean> PrintMethodHistogram = new HostedOptionKey<>(false);
 
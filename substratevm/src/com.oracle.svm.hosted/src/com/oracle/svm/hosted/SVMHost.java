@@ -99,6 +99,8 @@ import com.oracle.svm.hosted.code.InliningUtilities;
 import com.oracle.svm.hosted.meta.HostedType;
 import com.oracle.svm.hosted.phases.AnalysisGraphBuilderPhase;
 import com.oracle.svm.hosted.phases.IntrinsifyMethodHandlesInvocationPlugin.IntrinsificationRegistry;
+import com.oracle.svm.hosted.server.ParsedGraphCache;
+import com.oracle.svm.hosted.server.ParsedGraphCache.PluginApplication;
 import com.oracle.svm.hosted.snippets.ReflectionPlugins.ReflectionPluginRegistry;
 import com.oracle.svm.hosted.substitute.UnsafeAutomaticSubstitutionProcessor;
 import com.oracle.svm.util.ReflectionUtil;
@@ -121,6 +123,7 @@ public final class SVMHost implements HostVM {
     private final HostedStringDeduplication stringTable;
     private final UnsafeAutomaticSubstitutionProcessor automaticSubstitutions;
     private final List<BiConsumer<DuringAnalysisAccess, Class<?>>> classReachabilityListeners;
+    private final ParsedGraphCache.Session parsedGraphCache;
 
     /**
      * Optionally keep the Graal graphs alive during analysis. This increases the memory footprint
@@ -140,7 +143,7 @@ public final class SVMHost implements HostVM {
     private static final Method getNestHostMethod = JavaVersionUtil.JAVA_SPEC >= 11 ? ReflectionUtil.lookupMethod(Class.class, "getNestHost") : null;
 
     public SVMHost(OptionValues options, ForkJoinPool executor, ClassLoader classLoader, ClassInitializationSupport classInitializationSupport,
-                    UnsafeAutomaticSubstitutionProcessor automaticSubstitutions) {
+                    UnsafeAutomaticSubstitutionProcessor automaticSubstitutions, ParsedGraphCache.Session parsedGraphCache) {
         this.options = options;
         this.executor = executor;
         this.classLoader = classLoader;
@@ -149,6 +152,7 @@ public final class SVMHost implements HostVM {
         this.classReachabilityListeners = new ArrayList<>();
         this.forbiddenTypes = setupForbiddenTypes(options);
         this.automaticSubstitutions = automaticSubstitutions;
+        this.parsedGraphCache = parsedGraphCache;
     }
 
     private static Map<String, EnumSet<AnalysisType.UsageKind>> setupForbiddenTypes(OptionValues options) {
@@ -451,6 +455,11 @@ public final class SVMHost implements HostVM {
         return classInitializationSupport;
     }
 
+    /** Returns the parsed graph cache session of this build, or {@code null} if not cached. */
+    public ParsedGraphCache.Session getParsedGraphCache() {
+        return parsedGraphCache;
+    }
+
     public UnsafeAutomaticSubstitutionProcessor getAutomaticSubstitutionProcessor() {
         return automaticSubstitutions;
     }
@@ -653,7 +662,24 @@ public final class SVMHost implements HostVM {
          */
         try (AutoCloseable ignored1 = ReflectionPluginRegistry.pauseThreadLocalRegistry();
                         AutoCloseable ignored2 = IntrinsificationRegistry.pauseThreadLocalRegistry()) {
-            return AnalysisParsedGraph.parseBytecode(bb, analysisMethod);
+            if (parsedGraphCache == null) {
+                return AnalysisParsedGraph.parseBytecode(bb, analysisMethod);
+            }
+
+            AnalysisParsedGraph cachedGraph = parsedGraphCache.lookup(bb, analysisMethod);
+            if (cachedGraph != null) {
+                return cachedGraph;
+            }
+            AnalysisParsedGraph graph;
+            List<PluginApplication> pluginApplications;
+            parsedGraphCache.beginParsing();
+            try {
+                graph = AnalysisParsedGraph.parseBytecode(bb, analysisMethod);
+            } finally {
+                pluginApplications = parsedGraphCache.endParsing();
+            }
+            parsedGraphCache.record(bb, analysisMethod, graph, pluginApplications);
+            return graph;
         } catch (Throwable e) {
             throw bb.getDebug().handle(e);
         }
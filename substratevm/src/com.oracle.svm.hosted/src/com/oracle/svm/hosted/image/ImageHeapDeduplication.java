@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted.image;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.oracle.svm.core.util.HostedStringDeduplication;
+
+/**
+ * Finds objects of the native image heap that have equal contents and can share a single instance.
+ *
+ * The backing arrays of immutable strings are never written and never exposed to application code,
+ * so arrays with the same type and contents are interchangeable. Other arrays are never merged, even
+ * if they are immutable, e.g., arrays registered with {@link NativeImageHeap#registerAsImmutable}:
+ * code that has a reference to them can depend on their identity. Object arrays are not merged
+ * either, because that would also require their elements to be canonical.
+ *
+ * Strings are only canonicalized when explicitly enabled because code can depend on their identity.
+ * Interned strings are already canonical and must not be merged with non-interned strings.
+ */
+public final class ImageHeapDeduplication {
+
+    private final boolean deduplicateArrays;
+    private final boolean deduplicateStrings;
+
+    /**
+     * Canonical instances, keyed by their contents: a {@link PrimitiveArrayContents} or the
+     * {@link String} itself.
+     */
+    private final Map<Object, Object> canonicalObjects = new HashMap<>();
+
+    public ImageHeapDeduplication(boolean deduplicateArrays, boolean deduplicateStrings) {
+        this.deduplicateArrays = deduplicateArrays;
+        this.deduplicateStrings = deduplicateStrings;
+    }
+
+    /**
+     * Returns an earlier object with contents equal to the provided object that can be written to
+     * the image heap in its place, or the object itself if there is none or if deduplication is not
+     * safe for it. In the former case the provided object becomes the canonical instance for later
+     * objects with equal contents.
+     *
+     * @param immutable whether the object is known to be immutable in the image heap
+     * @param stringValue whether the object is the backing array of an immutable string
+     */
+    public Object canonicalize(Object object, boolean immutable, boolean stringValue) {
+        if (!immutable) {
+            return object;
+        }
+        Object key = null;
+        if (deduplicateArrays && stringValue && object.getClass().isArray() && object.getClass().getComponentType().isPrimitive()) {
+            key = new PrimitiveArrayContents(object);
+        } else if (deduplicateStrings && object instanceof String && !HostedStringDeduplication.isInternedString((String) object)) {
+            key = object;
+        }
+        if (key == null) {
+            return object;
+        }
+        Object canonical = canonicalObjects.putIfAbsent(key, object);
+        return canonical != null ? canonical : object;
+    }
+
+    /**
+     * Compares primitive arrays by type and contents. Floating point elements are compared by their
+     * raw bits, so arrays are only equal if they are written to the image heap identically.
+     */
+    private static final class PrimitiveArrayContents {
+        private final Object array;
+        private final int hashCode;
+
+        PrimitiveArrayContents(Object array) {
+            this.array = array;
+            this.hashCode = 31 * array.getClass().hashCode() + contentsHashCode(array);
+        }
+
+        private static int contentsHashCode(Object array) {
+            if (array instanceof byte[]) {
+                return Arrays.hashCode((byte[]) array);
+            } else if (array instanceof char[]) {
+                return Arrays.hashCode((char[]) array);
+            } else if (array instanceof short[]) {
+                return Arrays.hashCode((short[]) array);
+            } else if (array instanceof int[]) {
+                return Arrays.hashCode((int[]) array);
+            } else if (array instanceof long[]) {
+                return Arrays.hashCode((long[]) array);
+            } else if (array instanceof float[]) {
+                return Arrays.hashCode((float[]) array);
+            } else if (array instanceof double[]) {
+                return Arrays.hashCode((double[]) array);
+            } else {
+                return Arrays.hashCode((boolean[]) array);
+            }
+        }
+
+        private static boolean contentsEqual(Object a, Object b) {
+            if (a instanceof byte[]) {
+                return Arrays.equals((byte[]) a, (byte[]) b);
+            } else if (a instanceof char[]) {
+                return Arrays.equals((char[]) a, (char[]) b);
+            } else if (a instanceof short[]) {
+                return Arrays.equals((short[]) a, (short[]) b);
+            } else if (a instanceof int[]) {
+                return Arrays.equals((int[]) a, (int[]) b);
+            } else if (a instanceof long[]) {
+                return Arrays.equals((long[]) a, (long[]) b);
+            } else if (a instanceof float[]) {
+                float[] x = (float[]) a;
+                float[] y = (float[]) b;
+                if (x.length != y.length) {
+                    return false;
+                }
+                for (int i = 0; i < x.length; i++) {
+                    if (Float.floatToRawIntBits(x[i]) != Float.floatToRawIntBits(y[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (a instanceof double[]) {
+                double[] x = (double[]) a;
+                double[] y = (double[]) b;
+                if (x.length != y.length) {
+                    return false;
+                }
+                for (int i = 0; i < x.length; i++) {
+                    if (Double.doubleToRawLongBits(x[i]) != Double.doubleToRawLongBits(y[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return Arrays.equals((boolean[]) a, (boolean[]) b);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PrimitiveArrayContents)) {
+                return false;
+            }
+            Object other = ((PrimitiveArrayContents) obj).array;
+            return array.getClass() == other.getClass() && contentsEqual(array, other);
+        }
+    }
+}
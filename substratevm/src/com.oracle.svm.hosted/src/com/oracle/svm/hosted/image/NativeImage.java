@@ -765,6 +765,8 @@ public abstract class NativeImage extends AbstractImage {
             ObjectGroupHistogram.print(heap);
             // Histograms for each partition.
             printHistogram(partitions);
+            // Histogram of the objects replaced by an equal canonical object.
+            printDeduplicationHistogram();
         }
         if (NativeImageOptions.PrintImageHeapPartitionSizes.getValue()) {
             printSizes(partitions);
@@ -777,6 +779,15 @@ public abstract class NativeImage extends AbstractImage {
         }
     }
 
+    private void printDeduplicationHistogram() {
+        HeapHistogram histogram = new HeapHistogram();
+        for (ObjectInfo info : heap.getDeduplicatedObjects()) {
+            histogram.add(info, info.getSize());
+        }
+        histogram.printHeadings(String.format("=== Deduplicated objects   count: %d  size saved: %d ===", histogram.getTotalCount(), histogram.getTotalSize()));
+        histogram.print();
+    }
+
     private static void printSizes(ImageHeapPartition[] partitions) {
         for (ImageHeapPartition partition : partitions) {
             printSize(partition);
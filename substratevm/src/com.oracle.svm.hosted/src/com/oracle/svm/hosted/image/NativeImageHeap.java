@@ -67,6 +67,7 @@ import com.oracle.svm.core.meta.SubstrateObjectConstant;
 import com.oracle.svm.core.util.HostedStringDeduplication;
 import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.core.util.VMError;
+import com.oracle.svm.hosted.NativeImageOptions;
 import com.oracle.svm.hosted.config.HybridLayout;
 import com.oracle.svm.hosted.meta.HostedArrayClass;
 import com.oracle.svm.hosted.meta.HostedClass;
@@ -102,6 +103,14 @@ public final class NativeImageHeap implements ImageHeap {
      */
     protected final IdentityHashMap<Object, ObjectInfo> objects = new IdentityHashMap<>();
 
+    /**
+     * Objects that are not written to the native image heap themselves because an equal canonical
+     * object is written instead. The value is the {@link ObjectInfo} of the canonical object.
+     */
+    private final IdentityHashMap<Object, ObjectInfo> deduplicatedObjects = new IdentityHashMap<>();
+
+    private final ImageHeapDeduplication deduplication;
+
     /** Objects that must not be written to the native image heap. */
     private final Set<Object> blacklist = Collections.newSetFromMap(new IdentityHashMap<>());
 
@@ -128,6 +137,7 @@ public final class NativeImageHeap implements ImageHeap {
 
         this.objectLayout = ConfigurationValues.getObjectLayout();
         this.heapLayouter = heapLayouter;
+        this.deduplication = new ImageHeapDeduplication(NativeImageOptions.DeduplicateImageHeapArrays.getValue(), NativeImageOptions.DeduplicateImageHeapStrings.getValue());
 
         this.minInstanceSize = objectLayout.getMinimumInstanceObjectSize();
         this.minArraySize = objectLayout.getMinimumArraySize();
@@ -144,7 +154,19 @@ public final class NativeImageHeap implements ImageHeap {
     }
 
     public ObjectInfo getObjectInfo(Object obj) {
-        return objects.get(obj);
+        ObjectInfo info = objects.get(obj);
+        if (info == null) {
+            info = deduplicatedObjects.get(obj);
+        }
+        return info;
+    }
+
+    /**
+     * Returns the {@link ObjectInfo} of the canonical object for every object that was replaced by
+     * an equal canonical object, i.e., one entry per deduplicated object.
+     */
+    public Collection<ObjectInfo> getDeduplicatedObjects() {
+        return deduplicatedObjects.values();
     }
 
     protected HostedUniverse getUniverse() {
@@ -290,9 +312,17 @@ public final class NativeImageHeap implements ImageHeap {
             handleImageString((String) original);
         }
 
-        final ObjectInfo existing = objects.get(original);
+        final ObjectInfo existing = getObjectInfo(original);
         if (existing == null) {
-            addObjectToImageHeap(original, immutableFromParent, identityHashCode, reason);
+            boolean stringValue = immutableFromParent && reason instanceof ObjectInfo && ((ObjectInfo) reason).getObject() instanceof String;
+            Object canonical = deduplication.canonicalize(original, immutableFromParent || isKnownImmutable(original), stringValue);
+            if (canonical != original) {
+                ObjectInfo canonicalInfo = objects.get(canonical);
+                assert canonicalInfo != null : "canonical object must already be in the image heap";
+                deduplicatedObjects.put(original, canonicalInfo);
+            } else {
+                addObjectToImageHeap(original, immutableFromParent, identityHashCode, reason);
+            }
         }
     }
 
@@ -40,6 +40,7 @@ import org.graalvm.compiler.phases.OptimisticOptimizations;
 import org.graalvm.compiler.word.WordTypes;
 
 import com.oracle.graal.pointsto.meta.AnalysisMethod;
+import com.oracle.svm.hosted.server.ParsedGraphCache;
 
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
@@ -67,6 +68,9 @@ public class AnalysisGraphBuilderPhase extends SharedGraphBuilderPhase {
             boolean result = super.tryInvocationPlugin(invokeKind, args, targetMethod, resultType);
             if (result) {
                 ((AnalysisMethod) targetMethod).registerAsIntrinsicMethod();
+                if (ParsedGraphCache.isRecordingPluginApplications()) {
+                    ParsedGraphCache.registerPluginApplication(graph, targetMethod, graphBuilderConfig.getPlugins().getInvocationPlugins().lookupInvocation(targetMethod));
+                }
             }
             return result;
         }
@@ -189,6 +189,7 @@ public final class NativeImageBuildServer {
                     }
                     output = new PrintStream(new FileOutputStream(file));
                 }
+                ParsedGraphCache.enable();
                 new NativeImageBuildServer(port.get(), output).serve();
             } catch (IOException e) {
                 System.err.println("Starting server failed with an exception: " + e);
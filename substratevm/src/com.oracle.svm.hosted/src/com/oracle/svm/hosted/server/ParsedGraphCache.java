@@ -0,0 +1,1120 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted.server;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.graalvm.collections.UnmodifiableMapCursor;
+import org.graalvm.compiler.bytecode.Bytecode;
+import org.graalvm.compiler.bytecode.ResolvedJavaMethodBytecode;
+import org.graalvm.compiler.bytecode.ResolvedJavaMethodBytecodeProvider;
+import org.graalvm.compiler.core.common.type.AbstractObjectStamp;
+import org.graalvm.compiler.core.common.type.IllegalStamp;
+import org.graalvm.compiler.core.common.type.ObjectStamp;
+import org.graalvm.compiler.core.common.type.PrimitiveStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.core.common.type.StampPair;
+import org.graalvm.compiler.core.common.type.VoidStamp;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.DebugContext.Builder;
+import org.graalvm.compiler.debug.DebugContext.Description;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.graph.NodeSourcePosition;
+import org.graalvm.compiler.nodes.EncodedGraph;
+import org.graalvm.compiler.nodes.FieldLocationIdentity;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.GraphDecoder;
+import org.graalvm.compiler.nodes.GraphEncoder;
+import org.graalvm.compiler.nodes.NamedLocationIdentity;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.extended.GuardingNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.ClassInitializationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.NodePlugin;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.printer.GraalDebugHandlersFactory;
+import org.graalvm.word.LocationIdentity;
+
+import com.oracle.graal.pointsto.BigBang;
+import com.oracle.graal.pointsto.flow.AnalysisParsedGraph;
+import com.oracle.graal.pointsto.infrastructure.OriginalClassProvider;
+import com.oracle.graal.pointsto.meta.AnalysisField;
+import com.oracle.graal.pointsto.meta.AnalysisMethod;
+import com.oracle.graal.pointsto.meta.AnalysisType;
+import com.oracle.graal.pointsto.meta.AnalysisUniverse;
+import com.oracle.svm.core.SubstrateOptions;
+import com.oracle.svm.core.config.ConfigurationValues;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.util.VMError;
+import com.oracle.svm.hosted.NativeImageOptions;
+import com.oracle.svm.hosted.c.GraalAccess;
+
+import jdk.vm.ci.meta.ConstantPool;
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaTypeProfile;
+import jdk.vm.ci.meta.ResolvedJavaField;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.ResolvedJavaType;
+import jdk.vm.ci.meta.SpeculationLog;
+
+/**
+ * Keeps the analysis graphs of methods alive across the builds of a {@link NativeImageBuildServer},
+ * so that later builds can skip bytecode parsing for them.
+ *
+ * Parsed graphs reference the {@link AnalysisUniverse} of the build that created them. They are
+ * therefore stored in encoded form, with all universe-specific objects replaced by a portable
+ * representation, and are translated into the universe of the requesting build when they are
+ * decoded. Elements whose class is loaded outside of the image class loader, i.e., by the JDK or
+ * the image builder, are canonical within the server VM and are referenced directly. Elements of
+ * the image class path are loaded again by every build, so they are referenced by name and are
+ * only resolved again if the file they were loaded from is unchanged, see {@link Session#origin}.
+ * A graph that references anything else, e.g., an element that is replaced by a substitution, is
+ * not cached.
+ *
+ * Graphs of JDK and builder methods are reused by all builds with the same
+ * {@link #computeFingerprint fingerprint}, which covers the JDK and the hosted options that can
+ * influence parsing. Graphs of methods of the image class path are additionally keyed by the file
+ * their class was loaded from, so that rebuilding one jar file does not invalidate the graphs of
+ * all others. Class initialization checks that were omitted because a class is initialized at
+ * image build time are recorded with the graph and are checked again when the graph is reused.
+ * Graphs for which a node plugin or an invocation plugin of the image builder had an effect are
+ * never cached, since such plugins can depend on and modify the state of a particular build. Only
+ * the invocation plugins registered by the compiler's standard plugin registration are trusted,
+ * see {@link Session#instrumentPlugins}.
+ */
+public final class ParsedGraphCache {
+
+    private static volatile ParsedGraphCache singleton;
+
+    /** Enables the cache. Called once by the build server before the first build is started. */
+    static void enable() {
+        singleton = new ParsedGraphCache();
+    }
+
+    /**
+     * Starts using the cache for a new image build.
+     *
+     * @return the session for the build, or {@code null} if graphs are not cached because the
+     *         builder does not run in a build server or the cache is disabled by an option
+     */
+    public static Session beginSession(OptionValues options, ClassLoader imageClassLoader) {
+        ParsedGraphCache cache = singleton;
+        long maxBytes = NativeImageOptions.BuildServerParsedGraphCacheSize.getValue(options) * 1024L * 1024L;
+        if (cache == null || maxBytes <= 0) {
+            return null;
+        }
+        cache.setMaxBytes(maxBytes);
+        return cache.new Session(computeFingerprint(options), imageClassLoader);
+    }
+
+    /**
+     * The method is either a shared {@link ResolvedJavaMethod}, which is compared by identity, or
+     * the {@link PortableMethod#toString() name} of a method of the image class path.
+     */
+    private static final class Key {
+        final String fingerprint;
+        final Object method;
+
+        Key(String fingerprint, Object method) {
+            this.fingerprint = fingerprint;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return fingerprint.equals(other.fingerprint) && (method == other.method || (method instanceof String && method.equals(other.method)));
+        }
+
+        @Override
+        public int hashCode() {
+            return fingerprint.hashCode() * 31 + (method instanceof String ? method.hashCode() : System.identityHashCode(method));
+        }
+    }
+
+    /*
+     * Estimates of the retained heap size of an entry, assuming 16 byte object headers and 8 byte
+     * references so that they are not too low on any VM configuration.
+     */
+    private static final long OBJECT_HEADER_SIZE = 16;
+    private static final long REFERENCE_SIZE = 8;
+    /** The key, the hash map node and the entry itself. */
+    private static final long ENTRY_OVERHEAD = 3 * OBJECT_HEADER_SIZE + 16 * REFERENCE_SIZE;
+
+    private static final class Entry {
+        final byte[] encoding;
+        final int startOffset;
+        final Object[] objects;
+        final NodeClass<?>[] nodeClasses;
+        final List<PortableMethod> inlinedMethods;
+        final List<PortableMethod> intrinsifiedMethods;
+        /** Types whose class initialization check was omitted while parsing. */
+        final List<PortableType> initializedTypes;
+        /** The fingerprints of the files that the referenced image class path elements come from. */
+        final Map<Path, String> origins;
+        final boolean hasUnsafeAccess;
+        final long size;
+
+        Entry(EncodedGraph encodedGraph, Object[] objects, List<PortableMethod> inlinedMethods, List<PortableMethod> intrinsifiedMethods, List<PortableType> initializedTypes,
+                        Map<Path, String> origins) {
+            this.encoding = encodedGraph.getEncoding();
+            this.startOffset = encodedGraph.getStartOffset();
+            this.objects = objects;
+            this.nodeClasses = encodedGraph.getNodeClasses();
+            this.inlinedMethods = inlinedMethods;
+            this.intrinsifiedMethods = intrinsifiedMethods;
+            this.initializedTypes = initializedTypes;
+            this.origins = origins;
+            this.hasUnsafeAccess = encodedGraph.hasUnsafeAccess();
+            this.size = computeSize();
+        }
+
+        long size() {
+            return size;
+        }
+
+        private long computeSize() {
+            long result = ENTRY_OVERHEAD;
+            result += OBJECT_HEADER_SIZE + encoding.length;
+            /* The node classes themselves are shared with the compiler. */
+            result += 2 * OBJECT_HEADER_SIZE + REFERENCE_SIZE * (objects.length + nodeClasses.length);
+            for (Object object : objects) {
+                result += portableSize(object);
+            }
+            for (List<PortableMethod> methods : Arrays.asList(inlinedMethods, intrinsifiedMethods)) {
+                result += 2 * OBJECT_HEADER_SIZE + REFERENCE_SIZE * methods.size();
+                for (PortableMethod method : methods) {
+                    result += portableSize(method);
+                }
+            }
+            result += 2 * OBJECT_HEADER_SIZE + REFERENCE_SIZE * initializedTypes.size();
+            for (PortableType type : initializedTypes) {
+                result += portableSize(type);
+            }
+            for (Map.Entry<Path, String> origin : origins.entrySet()) {
+                result += OBJECT_HEADER_SIZE + 3 * REFERENCE_SIZE + portableSize(origin.getKey().toString()) + portableSize(origin.getValue());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The size of the objects that are only reachable from the cache because they were created by
+     * {@link #toPortable}. Strings are counted as well since the cache can keep them alive.
+     */
+    private static long portableSize(Object object) {
+        if (object instanceof PortableType) {
+            return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + portableSize(((PortableType) object).name);
+        } else if (object instanceof PortableMethod) {
+            PortableMethod method = (PortableMethod) object;
+            return OBJECT_HEADER_SIZE + 4 * REFERENCE_SIZE + portableSize(method.declaringClass) + portableSize(method.name) + portableSize(method.descriptor);
+        } else if (object instanceof PortableField) {
+            PortableField field = (PortableField) object;
+            return OBJECT_HEADER_SIZE + 3 * REFERENCE_SIZE + portableSize(field.declaringClass) + portableSize(field.name);
+        } else if (object instanceof PortableObjectStamp) {
+            return OBJECT_HEADER_SIZE + REFERENCE_SIZE + 4 + portableSize(((PortableObjectStamp) object).type);
+        } else if (object instanceof PortableStampPair) {
+            PortableStampPair pair = (PortableStampPair) object;
+            return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + portableSize(pair.trustedStamp) + portableSize(pair.uncheckedStamp);
+        } else if (object instanceof PortablePosition) {
+            PortablePosition position = (PortablePosition) object;
+            return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + 4 + portableSize(position.method) + portableSize(position.caller);
+        } else if (object instanceof PortableBytecode) {
+            return OBJECT_HEADER_SIZE + REFERENCE_SIZE + portableSize(((PortableBytecode) object).method);
+        } else if (object instanceof PortableFieldLocation) {
+            return OBJECT_HEADER_SIZE + REFERENCE_SIZE + portableSize(((PortableFieldLocation) object).field);
+        } else if (object instanceof String) {
+            return 2 * OBJECT_HEADER_SIZE + 8 + 2L * ((String) object).length();
+        } else if (object instanceof JavaConstant || object instanceof Number) {
+            return OBJECT_HEADER_SIZE + 8;
+        }
+        return 0;
+    }
+
+    /** Least recently used entries first. Guarded by {@code this}. */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long currentBytes;
+    private long maxBytes;
+
+    private synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    private synchronized Entry get(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            currentBytes -= previous.size();
+        }
+        currentBytes += entry.size();
+        evict();
+    }
+
+    private void evict() {
+        assert Thread.holdsLock(this);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /** The cache state of a single image build. */
+    public final class Session {
+        private final String fingerprint;
+        private final ClassLoader imageClassLoader;
+        /** The origin fingerprints, computed at most once per build. */
+        private final Map<Path, String> originFingerprints = new ConcurrentHashMap<>();
+        private Set<InvocationPlugin> buildIndependentPlugins = Collections.emptySet();
+
+        Session(String fingerprint, ClassLoader imageClassLoader) {
+            this.fingerprint = fingerprint;
+            this.imageClassLoader = imageClassLoader;
+        }
+
+        /**
+         * Prepares the analysis graph builder plugins of this build for recording their effects.
+         * All node plugins are replaced by wrappers that record when a plugin handles a bytecode.
+         *
+         * @param standardPlugins the invocation plugins registered by the standard plugin
+         *            registration of the compiler. Their effect only depends on the method they are
+         *            applied to, so graphs they were applied to can be cached. All other invocation
+         *            plugins, e.g., those registered by features, can depend on the state of the
+         *            build.
+         */
+        public void instrumentPlugins(Plugins plugins, Set<InvocationPlugin> standardPlugins) {
+            Set<InvocationPlugin> trusted = Collections.newSetFromMap(new IdentityHashMap<>());
+            trusted.addAll(standardPlugins);
+            buildIndependentPlugins = trusted;
+
+            NodePlugin[] nodePlugins = plugins.getNodePlugins();
+            plugins.clearNodePlugin();
+            for (NodePlugin nodePlugin : nodePlugins) {
+                plugins.appendNodePlugin(new RecordingNodePlugin(nodePlugin));
+            }
+            if (plugins.getClassInitializationPlugin() != null) {
+                plugins.setClassInitializationPlugin(new RecordingClassInitializationPlugin(plugins.getClassInitializationPlugin()));
+            }
+        }
+
+        /**
+         * Must be called before the bytecode of a method is parsed. The plugins that are applied
+         * until {@link #endParsing} are recorded.
+         */
+        public void beginParsing() {
+            assert pluginApplications.get() == null : "Parsing must not be nested";
+            pluginApplications.set(new ArrayList<>());
+        }
+
+        public List<PluginApplication> endParsing() {
+            List<PluginApplication> result = pluginApplications.get();
+            pluginApplications.remove();
+            return result;
+        }
+
+        /**
+         * Returns a copy of the cached graph of the method that is bound to the universe of this
+         * build, or {@code null} if there is no usable cached graph.
+         */
+        @SuppressWarnings("try")
+        public AnalysisParsedGraph lookup(BigBang bb, AnalysisMethod method) {
+            Key key = createKey(method);
+            Entry entry = key == null ? null : get(key);
+            if (entry == null) {
+                return null;
+            }
+            for (Map.Entry<Path, String> origin : entry.origins.entrySet()) {
+                if (!origin.getValue().equals(originFingerprint(origin.getKey()))) {
+                    return null;
+                }
+            }
+
+            AnalysisUniverse universe = bb.getUniverse();
+            Object[] objects = new Object[entry.objects.length];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = fromPortable(universe, entry.objects[i]);
+                if (objects[i] == UNSUPPORTED) {
+                    return null;
+                }
+            }
+            List<AnalysisMethod> inlinedMethods = fromPortable(universe, entry.inlinedMethods);
+            List<AnalysisMethod> intrinsifiedMethods = fromPortable(universe, entry.intrinsifiedMethods);
+            if (inlinedMethods == null || intrinsifiedMethods == null) {
+                return null;
+            }
+            for (PortableType initializedType : entry.initializedTypes) {
+                Object type = fromPortable(universe, initializedType);
+                if (type == UNSUPPORTED || !((AnalysisType) type).isInitialized()) {
+                    return null;
+                }
+            }
+
+            OptionValues options = bb.getOptions();
+            Description description = new Description(method, method.getClass().getSimpleName() + ":" + method.getId());
+            DebugContext debug = new Builder(options, new GraalDebugHandlersFactory(bb.getProviders().getSnippetReflection())).description(description).build();
+            StructuredGraph graph = new StructuredGraph.Builder(options, debug).method(method).trackNodeSourcePosition(true).build();
+            try (DebugContext.Scope s = debug.scope("ClosedWorldAnalysis", graph, method)) {
+                EncodedGraph encodedGraph = new EncodedGraph(entry.encoding, entry.startOffset, objects, entry.nodeClasses, null, null, null, entry.hasUnsafeAccess, true);
+                new GraphDecoder(ConfigurationValues.getTarget().arch, graph).decode(encodedGraph);
+            } catch (Throwable ex) {
+                throw debug.handle(ex);
+            }
+            inlinedMethods.forEach(graph::recordMethod);
+            if (entry.hasUnsafeAccess) {
+                graph.markUnsafeAccess();
+            }
+            /* Replay the side effect of the invocation plugins, see AnalysisBytecodeParser. */
+            intrinsifiedMethods.forEach(AnalysisMethod::registerAsIntrinsicMethod);
+            return AnalysisParsedGraph.forGraph(graph);
+        }
+
+        /** Caches the freshly parsed graph of the method if it can be used by later builds. */
+        public void record(BigBang bb, AnalysisMethod method, AnalysisParsedGraph parsedGraph, List<PluginApplication> applications) {
+            StructuredGraph graph = parsedGraph.getGraph();
+            Key key = createKey(method);
+            if (graph == null || parsedGraph.isIntrinsic() || key == null) {
+                return;
+            }
+            Map<Path, String> origins = new HashMap<>();
+            List<PortableMethod> intrinsifiedMethods = new ArrayList<>();
+            List<PortableType> initializedTypes = new ArrayList<>();
+            for (PluginApplication application : applications) {
+                if (application.graph != graph) {
+                    continue;
+                }
+                if (application.initializedType != null) {
+                    Object type = toPortable(bb, application.initializedType, origins);
+                    if (type == UNSUPPORTED) {
+                        return;
+                    }
+                    initializedTypes.add((PortableType) type);
+                    continue;
+                }
+                if (!isBuildIndependent(application.plugin)) {
+                    return;
+                }
+                Object target = toPortable(bb, application.targetMethod, origins);
+                if (target == UNSUPPORTED) {
+                    return;
+                }
+                intrinsifiedMethods.add((PortableMethod) target);
+            }
+            if ((graph.getAssumptions() != null && !graph.getAssumptions().isEmpty()) || graph.getFields() != null) {
+                return;
+            }
+
+            EncodedGraph encodedGraph = GraphEncoder.encodeSingleGraph(graph, ConfigurationValues.getTarget().arch);
+            Object[] objects = new Object[encodedGraph.getNumObjects()];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = toPortable(bb, encodedGraph.getObject(i), origins);
+                if (objects[i] == UNSUPPORTED) {
+                    return;
+                }
+            }
+            List<PortableMethod> inlinedMethods = new ArrayList<>();
+            for (ResolvedJavaMethod inlinedMethod : graph.getMethods()) {
+                Object portable = toPortable(bb, inlinedMethod, origins);
+                if (portable == UNSUPPORTED) {
+                    return;
+                }
+                inlinedMethods.add((PortableMethod) portable);
+            }
+            put(key, new Entry(encodedGraph, objects, inlinedMethods, intrinsifiedMethods, initializedTypes, origins));
+        }
+
+        private boolean isBuildIndependent(Object plugin) {
+            return plugin instanceof InvocationPlugin && buildIndependentPlugins.contains(plugin);
+        }
+
+        /**
+         * Graphs of shared methods are keyed by the method itself, graphs of methods of the image
+         * class path by their name and the file their class was loaded from.
+         */
+        private Key createKey(AnalysisMethod method) {
+            Object portable = toPortable(null, method, new HashMap<>());
+            if (portable == UNSUPPORTED) {
+                return null;
+            }
+            PortableMethod portableMethod = (PortableMethod) portable;
+            if (portableMethod.method != null) {
+                return new Key(fingerprint, portableMethod.method);
+            }
+            String origin = originFingerprint(origin(OriginalClassProvider.getJavaClass(GraalAccess.getOriginalSnippetReflection(), method.getWrapped().getDeclaringClass())));
+            return origin == null ? null : new Key(fingerprint + ":" + origin, portableMethod.toString());
+        }
+
+        /**
+         * Returns whether the class is loaded again by every build, i.e., by the image class loader
+         * or one of its descendants.
+         */
+        private boolean isImageClass(Class<?> clazz) {
+            for (ClassLoader loader = clazz.getClassLoader(); loader != null; loader = loader.getParent()) {
+                if (loader == imageClassLoader) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The file that a class of the image class path is loaded from: the jar file, or the class
+         * file if it is loaded from a directory. Returns {@code null} if the class is not loaded
+         * from a file.
+         */
+        private Path origin(Class<?> clazz) {
+            try {
+                CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+                if (clazz.isSynthetic() || codeSource == null || codeSource.getLocation() == null || !"file".equals(codeSource.getLocation().getProtocol())) {
+                    return null;
+                }
+                Path location = Paths.get(codeSource.getLocation().toURI());
+                if (Files.isDirectory(location)) {
+                    location = location.resolve(clazz.getName().replace('.', '/') + ".class");
+                }
+                return location;
+            } catch (URISyntaxException | SecurityException ex) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the fingerprint of the file in this build, or {@code null} if the file cannot be
+         * read.
+         */
+        private String originFingerprint(Path origin) {
+            if (origin == null) {
+                return null;
+            }
+            String result = originFingerprints.computeIfAbsent(origin, ParsedGraphCache::computeOriginFingerprint);
+            return result.isEmpty() ? null : result;
+        }
+
+        /**
+         * Replaces an object of the encoded graph with a representation that does not reference
+         * the analysis universe, or returns {@link #UNSUPPORTED}. The files that referenced
+         * elements of the image class path come from are added to {@code origins}.
+         */
+        private Object toPortable(BigBang bb, Object object, Map<Path, String> origins) {
+            if (object == null || object instanceof String || object instanceof Number || object instanceof Boolean || object instanceof Character || object instanceof Enum) {
+                return object;
+            } else if (object instanceof AnalysisType) {
+                return toPortableType(((AnalysisType) object).getWrappedWithoutResolve(), origins);
+            } else if (object instanceof AnalysisMethod) {
+                ResolvedJavaMethod wrapped = ((AnalysisMethod) object).getWrapped();
+                if (!isJVMCIElement(wrapped)) {
+                    return UNSUPPORTED;
+                }
+                Object declaringClass = toPortableType(wrapped.getDeclaringClass(), origins);
+                if (declaringClass == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                PortableType type = (PortableType) declaringClass;
+                return type.type != null ? new PortableMethod(wrapped) : new PortableMethod(type, wrapped.getName(), wrapped.getSignature().toMethodDescriptor());
+            } else if (object instanceof AnalysisField) {
+                ResolvedJavaField wrapped = ((AnalysisField) object).wrapped;
+                if (!isJVMCIElement(wrapped)) {
+                    return UNSUPPORTED;
+                }
+                Object declaringClass = toPortableType(wrapped.getDeclaringClass(), origins);
+                if (declaringClass == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                PortableType type = (PortableType) declaringClass;
+                return type.type != null ? new PortableField(wrapped) : new PortableField(type, wrapped.getName());
+            } else if (object instanceof PrimitiveStamp || object instanceof VoidStamp || object instanceof IllegalStamp) {
+                return object;
+            } else if (object.getClass() == ObjectStamp.class) {
+                ObjectStamp stamp = (ObjectStamp) object;
+                Object type = toPortable(bb, stamp.type(), origins);
+                return type == UNSUPPORTED ? UNSUPPORTED : new PortableObjectStamp((PortableType) type, stamp);
+            } else if (object instanceof AbstractObjectStamp) {
+                return UNSUPPORTED;
+            } else if (object instanceof StampPair) {
+                StampPair pair = (StampPair) object;
+                Object trusted = toPortable(bb, pair.getTrustedStamp(), origins);
+                Object unchecked = toPortable(bb, pair.getUncheckedStamp(), origins);
+                return trusted == UNSUPPORTED || unchecked == UNSUPPORTED ? UNSUPPORTED : new PortableStampPair(trusted, unchecked);
+            } else if (object instanceof JavaConstant) {
+                JavaConstant constant = (JavaConstant) object;
+                if (constant.getJavaKind().isPrimitive() || constant.isNull()) {
+                    return constant;
+                }
+                /* Strings are immutable and shared between builds, all other objects are not. */
+                Object value = bb.getProviders().getSnippetReflection().asObject(Object.class, constant);
+                return value instanceof String ? constant : UNSUPPORTED;
+            } else if (object instanceof NodeSourcePosition) {
+                NodeSourcePosition position = (NodeSourcePosition) object;
+                if (position.isPlaceholder() || position.isSubstitution() || position.getSourceLanguage() != null) {
+                    return UNSUPPORTED;
+                }
+                Object caller = toPortable(bb, position.getCaller(), origins);
+                Object method = toPortable(bb, position.getMethod(), origins);
+                if (caller == UNSUPPORTED || method == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                return new PortablePosition((PortablePosition) caller, (PortableMethod) method, position.getBCI());
+            } else if (object instanceof Bytecode) {
+                if (object.getClass() != ResolvedJavaMethodBytecode.class || !(((Bytecode) object).getOrigin() instanceof ResolvedJavaMethodBytecodeProvider)) {
+                    return UNSUPPORTED;
+                }
+                Object method = toPortable(bb, ((Bytecode) object).getMethod(), origins);
+                return method == UNSUPPORTED ? UNSUPPORTED : new PortableBytecode((PortableMethod) method);
+            } else if (object instanceof FieldLocationIdentity) {
+                Object field = toPortable(bb, ((FieldLocationIdentity) object).getField(), origins);
+                return field == UNSUPPORTED ? UNSUPPORTED : new PortableFieldLocation((PortableField) field);
+            } else if (object instanceof NamedLocationIdentity || object == LocationIdentity.any() || object == LocationIdentity.init() || object == SpeculationLog.NO_SPECULATION) {
+                return object;
+            }
+            return UNSUPPORTED;
+        }
+
+        private Object toPortableType(ResolvedJavaType type, Map<Path, String> origins) {
+            if (!isJVMCIElement(type)) {
+                return UNSUPPORTED;
+            }
+            Class<?> clazz = OriginalClassProvider.getJavaClass(GraalAccess.getOriginalSnippetReflection(), type);
+            if (clazz == null) {
+                return UNSUPPORTED;
+            }
+            Class<?> elementClass = clazz;
+            while (elementClass.isArray()) {
+                elementClass = elementClass.getComponentType();
+            }
+            if (!isImageClass(elementClass)) {
+                return new PortableType(type);
+            }
+            Path origin = origin(elementClass);
+            String originFingerprint = originFingerprint(origin);
+            if (originFingerprint == null) {
+                return UNSUPPORTED;
+            }
+            origins.put(origin, originFingerprint);
+            return new PortableType(clazz.getName());
+        }
+
+        /**
+         * The inverse of {@link #toPortable}. Returns {@link #UNSUPPORTED} if an element is
+         * represented differently in the universe of this build, e.g., because it is substituted.
+         */
+        private Object fromPortable(AnalysisUniverse universe, Object object) {
+            if (object instanceof PortableType) {
+                ResolvedJavaType type = resolve((PortableType) object);
+                AnalysisType result = type == null ? null : universe.lookup(type);
+                return result != null && result.getWrappedWithoutResolve() == type ? result : UNSUPPORTED;
+            } else if (object instanceof PortableMethod) {
+                ResolvedJavaMethod method = resolve((PortableMethod) object);
+                AnalysisMethod result = method == null ? null : universe.lookup(method);
+                return result != null && result.getWrapped() == method ? result : UNSUPPORTED;
+            } else if (object instanceof PortableField) {
+                ResolvedJavaField field = resolve((PortableField) object);
+                AnalysisField result = field == null ? null : universe.lookup(field);
+                return result != null && result.wrapped == field ? result : UNSUPPORTED;
+            } else if (object instanceof PortableObjectStamp) {
+                PortableObjectStamp stamp = (PortableObjectStamp) object;
+                Object type = fromPortable(universe, stamp.type);
+                return type == UNSUPPORTED ? UNSUPPORTED : new ObjectStamp((ResolvedJavaType) type, stamp.exactType, stamp.nonNull, stamp.alwaysNull, stamp.alwaysArray);
+            } else if (object instanceof PortableStampPair) {
+                PortableStampPair pair = (PortableStampPair) object;
+                Object trusted = fromPortable(universe, pair.trustedStamp);
+                Object unchecked = fromPortable(universe, pair.uncheckedStamp);
+                if (trusted == UNSUPPORTED || unchecked == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                return StampPair.create((Stamp) trusted, (Stamp) unchecked);
+            } else if (object instanceof PortablePosition) {
+                PortablePosition position = (PortablePosition) object;
+                Object caller = fromPortable(universe, position.caller);
+                Object method = fromPortable(universe, position.method);
+                if (caller == UNSUPPORTED || method == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                return new NodeSourcePosition((NodeSourcePosition) caller, (ResolvedJavaMethod) method, position.bci);
+            } else if (object instanceof PortableBytecode) {
+                Object method = fromPortable(universe, ((PortableBytecode) object).method);
+                return method == UNSUPPORTED ? UNSUPPORTED : new ResolvedJavaMethodBytecode((ResolvedJavaMethod) method, ResolvedJavaMethodBytecodeProvider.INSTANCE);
+            } else if (object instanceof PortableFieldLocation) {
+                Object field = fromPortable(universe, ((PortableFieldLocation) object).field);
+                return field == UNSUPPORTED ? UNSUPPORTED : new FieldLocationIdentity((ResolvedJavaField) field);
+            }
+            return object;
+        }
+
+        private List<AnalysisMethod> fromPortable(AnalysisUniverse universe, List<PortableMethod> methods) {
+            List<AnalysisMethod> result = new ArrayList<>(methods.size());
+            for (PortableMethod method : methods) {
+                Object analysisMethod = fromPortable(universe, method);
+                if (analysisMethod == UNSUPPORTED) {
+                    return null;
+                }
+                result.add((AnalysisMethod) analysisMethod);
+            }
+            return result;
+        }
+
+        /** Looks up the JVMCI type of this build, or returns {@code null}. */
+        private ResolvedJavaType resolve(PortableType type) {
+            if (type.type != null) {
+                return type.type;
+            }
+            try {
+                Class<?> clazz = Class.forName(type.name, false, imageClassLoader);
+                return GraalAccess.getOriginalProviders().getMetaAccess().lookupJavaType(clazz);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                return null;
+            }
+        }
+
+        private ResolvedJavaMethod resolve(PortableMethod method) {
+            if (method.method != null) {
+                return method.method;
+            }
+            ResolvedJavaType declaringClass = resolve(method.declaringClass);
+            if (declaringClass == null) {
+                return null;
+            }
+            List<ResolvedJavaMethod> candidates = new ArrayList<>();
+            candidates.addAll(Arrays.asList(declaringClass.getDeclaredMethods()));
+            candidates.addAll(Arrays.asList(declaringClass.getDeclaredConstructors()));
+            candidates.add(declaringClass.getClassInitializer());
+            for (ResolvedJavaMethod candidate : candidates) {
+                if (candidate != null && candidate.getName().equals(method.name) && candidate.getSignature().toMethodDescriptor().equals(method.descriptor)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private ResolvedJavaField resolve(PortableField field) {
+            if (field.field != null) {
+                return field.field;
+            }
+            ResolvedJavaType declaringClass = resolve(field.declaringClass);
+            if (declaringClass == null) {
+                return null;
+            }
+            for (ResolvedJavaField[] fields : Arrays.asList(declaringClass.getInstanceFields(false), declaringClass.getStaticFields())) {
+                for (ResolvedJavaField candidate : fields) {
+                    if (candidate.getName().equals(field.name)) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A plugin that was applied while parsing a graph. The target method is only known for
+     * invocation plugins. For the class initialization plugin, only omitted class initialization
+     * checks are recorded, with the type that is initialized at image build time.
+     */
+    public static final class PluginApplication {
+        final StructuredGraph graph;
+        final ResolvedJavaMethod targetMethod;
+        final Object plugin;
+        final ResolvedJavaType initializedType;
+
+        PluginApplication(StructuredGraph graph, ResolvedJavaMethod targetMethod, Object plugin) {
+            this(graph, targetMethod, plugin, null);
+        }
+
+        PluginApplication(StructuredGraph graph, ResolvedJavaMethod targetMethod, Object plugin, ResolvedJavaType initializedType) {
+            this.graph = graph;
+            this.targetMethod = targetMethod;
+            this.plugin = plugin;
+            this.initializedType = initializedType;
+        }
+    }
+
+    private static final ThreadLocal<List<PluginApplication>> pluginApplications = new ThreadLocal<>();
+
+    /**
+     * Returns whether plugin applications on the current thread are recorded, i.e., whether
+     * {@link #registerPluginApplication} needs to be called.
+     */
+    public static boolean isRecordingPluginApplications() {
+        return pluginApplications.get() != null;
+    }
+
+    /** Called by the analysis bytecode parser when an invocation plugin was applied. */
+    public static void registerPluginApplication(StructuredGraph graph, ResolvedJavaMethod targetMethod, InvocationPlugin plugin) {
+        List<PluginApplication> applications = pluginApplications.get();
+        if (applications != null) {
+            applications.add(new PluginApplication(graph, targetMethod, plugin));
+        }
+    }
+
+    private static void registerNodePluginApplication(GraphBuilderContext b, NodePlugin plugin) {
+        List<PluginApplication> applications = pluginApplications.get();
+        if (applications != null) {
+            applications.add(new PluginApplication(b.getGraph(), null, plugin));
+        }
+    }
+
+    /**
+     * Records when the wrapped node plugin handles a bytecode. Node plugins are invoked directly
+     * by the bytecode parser, so this is the only way to observe them.
+     */
+    static final class RecordingNodePlugin implements NodePlugin {
+        private final NodePlugin plugin;
+
+        RecordingNodePlugin(NodePlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        private boolean record(GraphBuilderContext b, boolean handled) {
+            if (handled) {
+                registerNodePluginApplication(b, plugin);
+            }
+            return handled;
+        }
+
+        @Override
+        public boolean handleInvoke(GraphBuilderContext b, ResolvedJavaMethod method, ValueNode[] args) {
+            return record(b, plugin.handleInvoke(b, method, args));
+        }
+
+        @Override
+        public boolean handleLoadField(GraphBuilderContext b, ValueNode object, ResolvedJavaField field) {
+            return record(b, plugin.handleLoadField(b, object, field));
+        }
+
+        @Override
+        public boolean handleLoadStaticField(GraphBuilderContext b, ResolvedJavaField field) {
+            return record(b, plugin.handleLoadStaticField(b, field));
+        }
+
+        @Override
+        public boolean handleStoreField(GraphBuilderContext b, ValueNode object, ResolvedJavaField field, ValueNode value) {
+            return record(b, plugin.handleStoreField(b, object, field, value));
+        }
+
+        @Override
+        public boolean handleStoreStaticField(GraphBuilderContext b, ResolvedJavaField field, ValueNode value) {
+            return record(b, plugin.handleStoreStaticField(b, field, value));
+        }
+
+        @Override
+        public boolean handleLoadIndexed(GraphBuilderContext b, ValueNode array, ValueNode index, GuardingNode boundsCheck, JavaKind elementKind) {
+            return record(b, plugin.handleLoadIndexed(b, array, index, boundsCheck, elementKind));
+        }
+
+        @Override
+        public boolean handleStoreIndexed(GraphBuilderContext b, ValueNode array, ValueNode index, GuardingNode boundsCheck, GuardingNode storeCheck, JavaKind elementKind, ValueNode value) {
+            return record(b, plugin.handleStoreIndexed(b, array, index, boundsCheck, storeCheck, elementKind, value));
+        }
+
+        @Override
+        public boolean handleCheckCast(GraphBuilderContext b, ValueNode object, ResolvedJavaType type, JavaTypeProfile profile) {
+            return record(b, plugin.handleCheckCast(b, object, type, profile));
+        }
+
+        @Override
+        public boolean handleInstanceOf(GraphBuilderContext b, ValueNode object, ResolvedJavaType type, JavaTypeProfile profile) {
+            return record(b, plugin.handleInstanceOf(b, object, type, profile));
+        }
+
+        @Override
+        public boolean handleNewInstance(GraphBuilderContext b, ResolvedJavaType type) {
+            return record(b, plugin.handleNewInstance(b, type));
+        }
+
+        @Override
+        public boolean handleNewArray(GraphBuilderContext b, ResolvedJavaType elementType, ValueNode length) {
+            return record(b, plugin.handleNewArray(b, elementType, length));
+        }
+
+        @Override
+        public boolean handleNewMultiArray(GraphBuilderContext b, ResolvedJavaType type, ValueNode[] dimensions) {
+            return record(b, plugin.handleNewMultiArray(b, type, dimensions));
+        }
+
+        @Override
+        public FixedWithNextNode instrumentExceptionDispatch(StructuredGraph graph, FixedWithNextNode afterExceptionLoaded, Supplier<FrameState> frameStateFunction) {
+            FixedWithNextNode result = plugin.instrumentExceptionDispatch(graph, afterExceptionLoaded, frameStateFunction);
+            if (result != afterExceptionLoaded) {
+                List<PluginApplication> applications = pluginApplications.get();
+                if (applications != null) {
+                    applications.add(new PluginApplication(graph, null, plugin));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean canChangeStackKind(GraphBuilderContext b) {
+            return plugin.canChangeStackKind(b);
+        }
+    }
+
+    /**
+     * Records the class initialization checks that are omitted because the type is already
+     * initialized. Emitted checks reference the hub of the type, so such graphs are not cached
+     * anyway.
+     */
+    static final class RecordingClassInitializationPlugin implements ClassInitializationPlugin {
+        private final ClassInitializationPlugin plugin;
+
+        RecordingClassInitializationPlugin(ClassInitializationPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @Override
+        public boolean apply(GraphBuilderContext b, ResolvedJavaType type, Supplier<FrameState> frameState, ValueNode[] classInit) {
+            boolean emitted = plugin.apply(b, type, frameState, classInit);
+            if (!emitted) {
+                List<PluginApplication> applications = pluginApplications.get();
+                if (applications != null) {
+                    applications.add(new PluginApplication(b.getGraph(), null, plugin, type));
+                }
+            }
+            return emitted;
+        }
+
+        @Override
+        public boolean supportsLazyInitialization(ConstantPool cp) {
+            return plugin.supportsLazyInitialization(cp);
+        }
+
+        @Override
+        public void loadReferencedType(GraphBuilderContext b, ConstantPool cp, int cpi, int bytecode) {
+            plugin.loadReferencedType(b, cp, cpi, bytecode);
+        }
+    }
+
+    /**
+     * JVMCI elements are canonical within the server VM, so they can be shared between builds if
+     * their class is. The wrappers created by substitutions are loaded by the image builder and
+     * are not.
+     */
+    private static boolean isJVMCIElement(Object element) {
+        return element != null && element.getClass().getClassLoader() == ResolvedJavaType.class.getClassLoader();
+    }
+
+    private static final Object UNSUPPORTED = new Object();
+
+    /**
+     * Either a shared JVMCI type, or the {@linkplain Class#getName() name} of a type of the image
+     * class path.
+     */
+    private static final class PortableType {
+        final ResolvedJavaType type;
+        final String name;
+
+        PortableType(ResolvedJavaType type) {
+            this.type = type;
+            this.name = null;
+        }
+
+        PortableType(String name) {
+            this.type = null;
+            this.name = name;
+        }
+    }
+
+    private static final class PortableMethod {
+        final ResolvedJavaMethod method;
+        final PortableType declaringClass;
+        final String name;
+        final String descriptor;
+
+        PortableMethod(ResolvedJavaMethod method) {
+            this.method = method;
+            this.declaringClass = null;
+            this.name = null;
+            this.descriptor = null;
+        }
+
+        PortableMethod(PortableType declaringClass, String name, String descriptor) {
+            this.method = null;
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return method != null ? method.format("%H.%n(%p)") : declaringClass.name + "." + name + descriptor;
+        }
+    }
+
+    private static final class PortableField {
+        final ResolvedJavaField field;
+        final PortableType declaringClass;
+        final String name;
+
+        PortableField(ResolvedJavaField field) {
+            this.field = field;
+            this.declaringClass = null;
+            this.name = null;
+        }
+
+        PortableField(PortableType declaringClass, String name) {
+            this.field = null;
+            this.declaringClass = declaringClass;
+            this.name = name;
+        }
+    }
+
+    private static final class PortableObjectStamp {
+        final PortableType type;
+        final boolean exactType;
+        final boolean nonNull;
+        final boolean alwaysNull;
+        final boolean alwaysArray;
+
+        PortableObjectStamp(PortableType type, ObjectStamp stamp) {
+            this.type = type;
+            this.exactType = stamp.isExactType();
+            this.nonNull = stamp.nonNull();
+            this.alwaysNull = stamp.alwaysNull();
+            this.alwaysArray = stamp.isAlwaysArray();
+        }
+    }
+
+    private static final class PortableStampPair {
+        final Object trustedStamp;
+        final Object uncheckedStamp;
+
+        PortableStampPair(Object trustedStamp, Object uncheckedStamp) {
+            this.trustedStamp = trustedStamp;
+            this.uncheckedStamp = uncheckedStamp;
+        }
+    }
+
+    private static final class PortablePosition {
+        final PortablePosition caller;
+        final PortableMethod method;
+        final int bci;
+
+        PortablePosition(PortablePosition caller, PortableMethod method, int bci) {
+            this.caller = caller;
+            this.method = method;
+            this.bci = bci;
+        }
+    }
+
+    private static final class PortableBytecode {
+        final PortableMethod method;
+
+        PortableBytecode(PortableMethod method) {
+            this.method = method;
+        }
+    }
+
+    private static final class PortableFieldLocation {
+        final PortableField field;
+
+        PortableFieldLocation(PortableField field) {
+            this.field = field;
+        }
+    }
+
+    /**
+     * Hosted options that only name the inputs and outputs of a build and do not influence
+     * parsing.
+     */
+    private static final Set<OptionKey<?>> NON_PARSING_OPTIONS = new HashSet<>(Arrays.asList(SubstrateOptions.Name, SubstrateOptions.Class, SubstrateOptions.Path,
+                    NativeImageOptions.BuildServerParsedGraphCacheSize));
+
+    /**
+     * Computes a digest of everything outside of the image class path that can influence the
+     * result of parsing: the JDK that runs the server and the hosted options.
+     */
+    private static String computeFingerprint(OptionValues options) {
+        Map<String, String> sortedOptions = new TreeMap<>();
+        UnmodifiableMapCursor<OptionKey<?>, Object> cursor = options.getMap().getEntries();
+        while (cursor.advance()) {
+            if (cursor.getKey() instanceof HostedOptionKey && !NON_PARSING_OPTIONS.contains(cursor.getKey())) {
+                sortedOptions.put(cursor.getKey().getName(), Objects.toString(cursor.getValue()));
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String property : new String[]{"java.home", "java.vm.version", "java.runtime.version"}) {
+                digest.update((property + "=" + System.getProperty(property) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            sortedOptions.forEach((name, value) -> digest.update((name + "=" + value + "\n").getBytes(StandardCharsets.UTF_8)));
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw VMError.shouldNotReachHere(ex);
+        }
+    }
+
+    /**
+     * Identifies the contents of a jar or class file by its path, size and modification time.
+     * Returns the empty string if the file cannot be read.
+     */
+    private static String computeOriginFingerprint(Path origin) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(origin, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return "";
+            }
+            return origin.toAbsolutePath() + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException ex) {
+            return "";
+        }
+    }
+}
@@ -146,6 +146,42 @@ public class CPUSamplerTest extends AbstractProfilerTest {
         Assert.assertTrue(children.size() == 0);
     }
 
+    @Test
+    public void testCorrectRootStructureAtSafepoints() {
+
+        sampler.setFilter(NO_INTERNAL_ROOT_TAG_FILTER);
+        sampler.setSampleAtSafepoints(true);
+        sampler.setCollecting(true);
+        for (int i = 0; i < executionCount; i++) {
+            eval(defaultSourceForSampling);
+        }
+        sampler.setCollecting(false);
+
+        Assert.assertNotEquals(0, sampler.getSampleCount());
+        Collection<ProfilerNode<CPUSampler.Payload>> children = sampler.getRootNodes();
+        Assert.assertEquals(1, children.size());
+        ProfilerNode<CPUSampler.Payload> program = children.iterator().next();
+        Assert.assertEquals("", program.getRootName());
+        checkTimeline(program.getPayload());
+
+        ProfilerNode<CPUSampler.Payload> baz = findChild(program, "baz");
+        ProfilerNode<CPUSampler.Payload> bar = findChild(baz, "bar");
+        ProfilerNode<CPUSampler.Payload> foo = findChild(bar, "foo");
+        checkTimeline(foo.getPayload());
+        Assert.assertTrue(foo.getChildren().isEmpty());
+        Assert.assertNotEquals(0, foo.getPayload().getSelfHitCount());
+    }
+
+    private static ProfilerNode<CPUSampler.Payload> findChild(ProfilerNode<CPUSampler.Payload> parent, String rootName) {
+        for (ProfilerNode<CPUSampler.Payload> child : parent.getChildren()) {
+            if (rootName.equals(child.getRootName())) {
+                return child;
+            }
+        }
+        Assert.fail("No child " + rootName + " found in " + parent.getRootName());
+        return null;
+    }
+
     final Source defaultRecursiveSourceForSampling = makeSource("ROOT(" +
                     "DEFINE(rfoo,ROOT(BLOCK(RECURSIVE_CALL(foo, 10),SLEEP(1))))," +
                     "DEFINE(rbar,ROOT(BLOCK(STATEMENT,LOOP(10, CALL(foo)))))," +
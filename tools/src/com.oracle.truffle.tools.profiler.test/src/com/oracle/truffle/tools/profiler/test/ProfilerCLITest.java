@@ -25,10 +25,17 @@
 package com.oracle.truffle.tools.profiler.test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
@@ -82,6 +89,72 @@ public class ProfilerCLITest {
         deepCompare(samples, profilerNodes);
     }
 
+    @Test
+    public void testSamplerCollapsed() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Context context = Context.newBuilder().in(System.in).out(out).err(err).option("cpusampler", "true").option("cpusampler.Output", "collapsed").option("cpusampler.SummariseThreads",
+                        "true").build();
+        Source defaultSourceForSampling = makeSource("ROOT(" +
+                        "DEFINE(foo,ROOT(SLEEP(1)))," +
+                        "DEFINE(bar,ROOT(BLOCK(STATEMENT,LOOP(10, CALL(foo)))))," +
+                        "CALL(bar)" +
+                        ")");
+        for (int i = 0; i < 10; i++) {
+            context.eval(defaultSourceForSampling);
+        }
+        context.close();
+        String[] lines = out.toString().split("\n");
+        Assert.assertNotEquals(0, lines.length);
+        boolean foundFoo = false;
+        for (String line : lines) {
+            int countIndex = line.lastIndexOf(' ');
+            Assert.assertTrue(line, Integer.parseInt(line.substring(countIndex + 1)) > 0);
+            String[] frames = line.substring(0, countIndex).split(";");
+            if (frames[frames.length - 1].startsWith("foo ")) {
+                foundFoo = true;
+                Assert.assertTrue(line, frames[frames.length - 2].startsWith("bar "));
+            }
+        }
+        Assert.assertTrue(out.toString(), foundFoo);
+    }
+
+    @Test
+    public void testSamplerPprofFlush() throws IOException {
+        Path directory = Files.createTempDirectory("cpusampler");
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ByteArrayOutputStream err = new ByteArrayOutputStream();
+            Context context = Context.newBuilder().in(System.in).out(out).err(err).option("cpusampler", "true").option("cpusampler.Output", "pprof").option("cpusampler.FlushPeriod",
+                            "5").option("cpusampler.OutputDirectory", directory.toString()).option("cpusampler.OutputMaxFiles", "3").build();
+            Source source = makeSource("ROOT(DEFINE(foo,ROOT(SLEEP(1))),LOOP(100, CALL(foo)))");
+            for (int i = 0; i < 5; i++) {
+                context.eval(source);
+            }
+            context.close();
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.collect(Collectors.toList());
+            }
+            Assert.assertFalse(files.isEmpty());
+            Assert.assertTrue(files.toString(), files.size() <= 3);
+            for (Path file : files) {
+                Assert.assertTrue(file.toString(), file.getFileName().toString().endsWith(".pb.gz"));
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                    // a profile starts with its first sample type, field 1 length delimited
+                    Assert.assertEquals(0x0A, in.read());
+                }
+            }
+        } finally {
+            try (Stream<Path> list = Files.list(directory)) {
+                for (Path file : list.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
     private void deepCompare(JSONArray samples, Collection<ProfilerNode<CPUSampler.Payload>> nodes) {
         for (int i = 0; i < samples.length(); i++) {
             JSONObject sample = (JSONObject) samples.get(i);
@@ -33,8 +33,18 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -43,8 +53,10 @@ import java.util.function.Supplier;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 
+import com.oracle.truffle.api.ThreadLocalAction;
 import com.oracle.truffle.api.TruffleContext;
 import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.instrumentation.ContextsListener;
 import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
@@ -65,6 +77,12 @@ import com.oracle.truffle.tools.profiler.impl.ProfilerToolFactory;
  * intervals, i.e. the state of the stack is copied and saved into trees of {@linkplain ProfilerNode
  * nodes}, which represent the profile of the execution.
  * <p>
+ * Alternatively the sampler can {@link #setSampleAtSafepoints(boolean) capture the stacks at
+ * safepoints}. In this case no shadow stack is maintained and guest calls are not instrumented. A
+ * {@link ThreadLocalAction thread local action} is submitted to all active threads at regular
+ * intervals instead, which walks the stack of the thread when it reaches its next safepoint. The
+ * sampled stacks are queued without locking and merged into the profile on the sampling thread.
+ * <p>
  * Usage example: {@codesnippet CPUSamplerSnippets#example}
  *
  * @since 0.30
@@ -189,6 +207,11 @@ public final class CPUSampler implements Closeable {
 
     private Mode mode = Mode.EXCLUDE_INLINED_ROOTS;
 
+    /*
+     * Time that takeSample() waits for threads to reach a safepoint when sampling at safepoints.
+     */
+    private static final long SAFEPOINT_SAMPLE_TIMEOUT_MILLIS = 1000;
+
     static final SourceSectionFilter DEFAULT_FILTER = SourceSectionFilter.newBuilder().tagIs(RootTag.class).build();
 
     private volatile boolean closed;
@@ -214,6 +237,18 @@ public final class CPUSampler implements Closeable {
     private volatile ShadowStack shadowStack;
     private volatile EventBinding<?> stacksBinding;
 
+    private boolean sampleAtSafepoints = false;
+
+    private volatile SafepointStackSampler safepointStackSampler;
+
+    private final Set<TruffleContext> activeContexts = ConcurrentHashMap.newKeySet();
+
+    /*
+     * Stacks captured by guest threads at safepoints, which are merged into rootNodes by the
+     * sampling thread, or by a thread that reads the profile.
+     */
+    private final Queue<SafepointSample> pendingSafepointSamples = new ConcurrentLinkedQueue<>();
+
     private final Map<Thread, ProfilerNode<Payload>> rootNodes = new HashMap<>();
 
     private final Env env;
@@ -229,7 +264,7 @@ public final class CPUSampler implements Closeable {
         env.getInstrumenter().attachContextsListener(new ContextsListener() {
             @Override
             public void onContextCreated(TruffleContext context) {
-
+                activeContexts.add(context);
             }
 
             @Override
@@ -256,7 +291,7 @@ public final class CPUSampler implements Closeable {
 
             @Override
             public void onContextClosed(TruffleContext context) {
-
+                activeContexts.remove(context);
             }
         }, true);
     }
@@ -386,6 +421,33 @@ public final class CPUSampler implements Closeable {
         this.delaySamplingUntilNonInternalLangInit = delaySamplingUntilNonInternalLangInit;
     }
 
+    /**
+     * Sets whether the stacks are captured at safepoints instead of being tracked by a shadow stack.
+     * Sampling at safepoints does not instrument guest calls, but each sample interrupts every
+     * active thread to walk its stack. The resulting overhead has not been measured. The stack of a
+     * thread is captured when the thread reaches its next {@link TruffleSafepoint safepoint} after
+     * the sample was requested, samples are therefore biased towards safepoint locations. Roots inlined during
+     * compilation are always included, the {@link Mode#EXCLUDE_INLINED_ROOTS} mode samples the
+     * same roots as {@link Mode#ROOTS}. The {@link #setFilter(SourceSectionFilter) filter} is
+     * applied to the root nodes of the sampled frames. Disabled by default.
+     *
+     * @param sampleAtSafepoints <code>true</code> to sample the stacks at safepoints
+     * @since 21.2
+     */
+    public synchronized void setSampleAtSafepoints(boolean sampleAtSafepoints) {
+        enterChangeConfig();
+        this.sampleAtSafepoints = sampleAtSafepoints;
+    }
+
+    /**
+     * @return whether the stacks are captured at safepoints instead of being tracked by a shadow
+     *         stack.
+     * @since 21.2
+     */
+    public synchronized boolean isSampleAtSafepoints() {
+        return sampleAtSafepoints;
+    }
+
     /**
      * @return The filter describing which part of the source code to sample
      * @since 0.30
@@ -417,6 +479,7 @@ public final class CPUSampler implements Closeable {
      * @since 0.30
      */
     public synchronized Collection<ProfilerNode<Payload>> getRootNodes() {
+        mergeSafepointSamples();
         ProfilerNode<Payload> mergedRoot = new ProfilerNode<>();
         for (ProfilerNode<Payload> node : rootNodes.values()) {
             mergedRoot.deepMergeChildrenFrom(node, mergePayload, payloadFactory);
@@ -464,6 +527,7 @@ public final class CPUSampler implements Closeable {
      * @since 19.0
      */
     public synchronized Map<Thread, Collection<ProfilerNode<Payload>>> getThreadToNodesMap() {
+        mergeSafepointSamples();
         Map<Thread, Collection<ProfilerNode<Payload>>> returnValue = new HashMap<>();
         for (Map.Entry<Thread, ProfilerNode<Payload>> entry : rootNodes.entrySet()) {
             ProfilerNode<Payload> copy = new ProfilerNode<>();
@@ -480,6 +544,7 @@ public final class CPUSampler implements Closeable {
      */
     public synchronized void clearData() {
         samplesTaken.set(0);
+        pendingSafepointSamples.clear();
         for (ProfilerNode<Payload> node : rootNodes.values()) {
             Map<StackTraceEntry, ProfilerNode<Payload>> rootChildren = node.children;
             if (rootChildren != null) {
@@ -493,6 +558,7 @@ public final class CPUSampler implements Closeable {
      * @since 0.30
      */
     public synchronized boolean hasData() {
+        mergeSafepointSamples();
         boolean hasData = false;
         for (ProfilerNode<Payload> node : rootNodes.values()) {
             Map<StackTraceEntry, ProfilerNode<Payload>> rootChildren = node.children;
@@ -540,10 +606,17 @@ public final class CPUSampler implements Closeable {
      * invoked. Only active threads are sampled. A thread is active if it has at least one entry on
      * the stack. The sampling is initialized if this method is invoked for the first time or
      * reinitialized if the configuration changes.
+     * <p>
+     * If the sampler {@link #setSampleAtSafepoints(boolean) samples at safepoints}, threads that do
+     * not reach a safepoint within {@value #SAFEPOINT_SAMPLE_TIMEOUT_MILLIS} milliseconds are not
+     * included in the returned map.
      *
      * @since 19.0
      */
     public Map<Thread, List<StackTraceEntry>> takeSample() {
+        if (isSampleAtSafepoints()) {
+            return takeSafepointSample();
+        }
         ShadowStack localShadowStack = shadowStack;
         if (localShadowStack == null) {
             localShadowStack = initializeShadowStack();
@@ -569,6 +642,77 @@ public final class CPUSampler implements Closeable {
         return Collections.unmodifiableMap(stacks);
     }
 
+    private Map<Thread, List<StackTraceEntry>> takeSafepointSample() {
+        SafepointStackSampler localSampler = safepointStackSampler;
+        if (localSampler == null) {
+            localSampler = initializeSafepointStackSampler();
+        }
+        if (delaySamplingUntilNonInternalLangInit && !nonInternalLanguageContextInitialized) {
+            return Collections.emptyMap();
+        }
+        Map<Thread, List<StackTraceEntry>> stacks = new ConcurrentHashMap<>();
+        SafepointStackSampler sampler = localSampler;
+        ThreadLocalAction action = new ThreadLocalAction(false, false) {
+            @Override
+            protected void perform(Access access) {
+                SafepointStackSampler.Sample sample = sampler.sample(access.getLocation());
+                if (sample == null) {
+                    return;
+                }
+                if (sample.overflowed) {
+                    stackOverflowed = true;
+                }
+                List<StackTraceEntry> stackTraceEntries = Arrays.asList(sample.stack);
+                Collections.reverse(stackTraceEntries);
+                stacks.put(access.getThread(), Collections.unmodifiableList(stackTraceEntries));
+            }
+        };
+        List<Future<Void>> futures = new ArrayList<>();
+        for (TruffleContext context : activeContexts) {
+            Future<Void> future = submitSample(context, action);
+            if (future != null) {
+                futures.add(future);
+            }
+        }
+        boolean entered = env.getEnteredContext() != null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SAFEPOINT_SAMPLE_TIMEOUT_MILLIS);
+        for (Future<Void> future : futures) {
+            if (entered) {
+                // the action of this thread is performed while waiting
+                TruffleSafepoint.setBlockedThreadInterruptible(null, (f) -> awaitSample(f, deadline), future);
+            } else {
+                try {
+                    awaitSample(future, deadline);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        for (Future<Void> future : futures) {
+            // threads that did not respond in time are skipped
+            future.cancel(false);
+        }
+        return Collections.unmodifiableMap(new HashMap<>(stacks));
+    }
+
+    private Future<Void> submitSample(TruffleContext context, ThreadLocalAction action) {
+        try {
+            return env.submitThreadLocal(context, null, action);
+        } catch (IllegalStateException e) {
+            // context closed concurrently
+            return null;
+        }
+    }
+
+    private static void awaitSample(Future<Void> future, long deadline) throws InterruptedException {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // sample not taken
+        }
+    }
+
     static Map<Thread, StackTraceElement[]> toStackTraceElement(Map<Thread, List<StackTraceEntry>> sample) {
         Map<Thread, StackTraceElement[]> converted = new HashMap<>();
         for (Entry<Thread, List<StackTraceEntry>> entry : sample.entrySet()) {
@@ -591,6 +735,18 @@ public final class CPUSampler implements Closeable {
         return localShadowStack;
     }
 
+    private synchronized SafepointStackSampler initializeSafepointStackSampler() {
+        SafepointStackSampler localSampler = safepointStackSampler;
+        if (localSampler == null) {
+            SourceSectionFilter f = this.filter;
+            if (f == null) {
+                f = DEFAULT_FILTER;
+            }
+            this.safepointStackSampler = localSampler = new SafepointStackSampler(env.getInstrumenter(), stackLimit, f, mode == Mode.STATEMENTS);
+        }
+        return localSampler;
+    }
+
     private void resetSampling() {
         assert Thread.holdsLock(this);
         cleanup();
@@ -602,8 +758,13 @@ public final class CPUSampler implements Closeable {
             samplerThread = new Timer("Sampling thread", true);
         }
         this.stackOverflowed = false;
-        initializeShadowStack();
-        this.samplerTask = new SamplingTimerTask();
+        if (sampleAtSafepoints) {
+            initializeSafepointStackSampler();
+            this.samplerTask = new SafepointSamplingTimerTask();
+        } else {
+            initializeShadowStack();
+            this.samplerTask = new SamplingTimerTask();
+        }
         this.samplerThread.schedule(samplerTask, delay, period);
     }
 
@@ -640,6 +801,7 @@ public final class CPUSampler implements Closeable {
     }
 
     private void invalidateStack() {
+        safepointStackSampler = null;
         ShadowStack localShadowStack = this.shadowStack;
         if (localShadowStack != null) {
             synchronized (this) {
@@ -657,6 +819,61 @@ public final class CPUSampler implements Closeable {
         }
     }
 
+    private static ProfilerNode<Payload> addOrUpdateChild(ProfilerNode<Payload> treeNode, StackTraceEntry location) {
+        ProfilerNode<Payload> child = treeNode.findChild(location);
+        if (child == null) {
+            Payload payload = new Payload();
+            child = new ProfilerNode<>(treeNode, location, payload);
+            treeNode.addChild(location, child);
+        }
+        return child;
+    }
+
+    private synchronized ProfilerNode<Payload> getThreadNode(Thread thread) {
+        return rootNodes.computeIfAbsent(thread, new Function<Thread, ProfilerNode<Payload>>() {
+            @Override
+            public ProfilerNode<Payload> apply(Thread t) {
+                return new ProfilerNode<>();
+            }
+        });
+    }
+
+    private synchronized void mergeSafepointSamples() {
+        SafepointSample sample;
+        while ((sample = pendingSafepointSamples.poll()) != null) {
+            addSample(getThreadNode(sample.thread), sample.stack, sample.timestamp);
+        }
+    }
+
+    private synchronized void addSample(ProfilerNode<Payload> threadNode, StackTraceEntry[] stackFrames, long timestamp) {
+        // now traverse the stack and insert the path into the tree
+        ProfilerNode<Payload> treeNode = threadNode;
+        for (int i = 0; i < stackFrames.length; i++) {
+            StackTraceEntry location = stackFrames[i];
+            boolean isCompiled = location.isCompiled();
+
+            treeNode = addOrUpdateChild(treeNode, location);
+            Payload payload = treeNode.getPayload();
+            if (i == stackFrames.length - 1) {
+                // last element is counted as self time
+                if (isCompiled) {
+                    payload.selfCompiledHitCount++;
+                } else {
+                    payload.selfInterpretedHitCount++;
+                }
+                if (gatherSelfHitTimes) {
+                    payload.selfHitTimes.add(timestamp);
+                    assert payload.selfHitTimes.size() == payload.getSelfHitCount();
+                }
+            }
+            if (isCompiled) {
+                payload.compiledHitCount++;
+            } else {
+                payload.interpretedHitCount++;
+            }
+        }
+    }
+
     private class SamplingTimerTask extends TimerTask {
 
         @Override
@@ -669,15 +886,7 @@ public final class CPUSampler implements Closeable {
             ShadowStack localShadowStack = shadowStack;
             if (localShadowStack != null) {
                 for (ShadowStack.ThreadLocalStack stack : localShadowStack.getStacks()) {
-                    ProfilerNode<Payload> threadNode;
-                    synchronized (CPUSampler.this) {
-                        threadNode = rootNodes.computeIfAbsent(stack.getThread(), new Function<Thread, ProfilerNode<Payload>>() {
-                            @Override
-                            public ProfilerNode<Payload> apply(Thread thread) {
-                                return new ProfilerNode<>();
-                            }
-                        });
-                    }
+                    ProfilerNode<Payload> threadNode = getThreadNode(stack.getThread());
                     sampleTaken |= sample(stack, timestamp, threadNode);
                 }
             }
@@ -699,45 +908,101 @@ public final class CPUSampler implements Closeable {
             if (stackFrames == null || stackFrames.length == 0) {
                 return false;
             }
-            synchronized (CPUSampler.this) {
-                // now traverse the stack and insert the path into the tree
-                ProfilerNode<Payload> treeNode = threadNode;
-                for (int i = 0; i < stackFrames.length; i++) {
-                    StackTraceEntry location = stackFrames[i];
-                    boolean isCompiled = location.isCompiled();
-
-                    treeNode = addOrUpdateChild(treeNode, location);
-                    Payload payload = treeNode.getPayload();
-                    if (i == stackFrames.length - 1) {
-                        // last element is counted as self time
-                        if (isCompiled) {
-                            payload.selfCompiledHitCount++;
-                        } else {
-                            payload.selfInterpretedHitCount++;
-                        }
-                        if (gatherSelfHitTimes) {
-                            payload.selfHitTimes.add(timestamp);
-                            assert payload.selfHitTimes.size() == payload.getSelfHitCount();
-                        }
-                    }
-                    if (isCompiled) {
-                        payload.compiledHitCount++;
-                    } else {
-                        payload.interpretedHitCount++;
-                    }
+            addSample(threadNode, stackFrames, timestamp);
+            return true;
+        }
+    }
+
+    private class SafepointSamplingTimerTask extends TimerTask {
+
+        /*
+         * Samples that were not yet performed by all threads of a context. No new sample is
+         * requested for such a context to avoid piling up actions for threads that do not reach a
+         * safepoint in time.
+         */
+        private final Map<TruffleContext, Future<Void>> pendingSamples = new ConcurrentHashMap<>();
+
+        @Override
+        public void run() {
+            if (delaySamplingUntilNonInternalLangInit && !nonInternalLanguageContextInitialized) {
+                return;
+            }
+            mergeSafepointSamples();
+            SafepointStackSampler localSampler = safepointStackSampler;
+            if (localSampler == null) {
+                return;
+            }
+            pendingSamples.keySet().retainAll(activeContexts);
+            SafepointSampleAction action = new SafepointSampleAction(localSampler, System.currentTimeMillis());
+            for (TruffleContext context : activeContexts) {
+                Future<Void> pending = pendingSamples.get(context);
+                if (pending != null && !pending.isDone()) {
+                    continue;
+                }
+                Future<Void> future = submitSample(context, action);
+                if (future != null) {
+                    pendingSamples.put(context, future);
+                } else {
+                    pendingSamples.remove(context);
                 }
             }
-            return true;
         }
 
-        private ProfilerNode<Payload> addOrUpdateChild(ProfilerNode<Payload> treeNode, StackTraceEntry location) {
-            ProfilerNode<Payload> child = treeNode.findChild(location);
-            if (child == null) {
-                Payload payload = new Payload();
-                child = new ProfilerNode<>(treeNode, location, payload);
-                treeNode.addChild(location, child);
+        @Override
+        public boolean cancel() {
+            for (Future<Void> pending : pendingSamples.values()) {
+                pending.cancel(false);
+            }
+            return super.cancel();
+        }
+    }
+
+    private final class SafepointSampleAction extends ThreadLocalAction {
+
+        private final SafepointStackSampler sampler;
+        private final long timestamp;
+        /*
+         * A thread may be active in multiple contexts, e.g. in inner contexts, but is sampled only
+         * once per period.
+         */
+        private final Set<Thread> sampledThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean counted = new AtomicBoolean();
+
+        SafepointSampleAction(SafepointStackSampler sampler, long timestamp) {
+            super(false, false);
+            this.sampler = sampler;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        protected void perform(Access access) {
+            if (!collecting || !sampledThreads.add(access.getThread())) {
+                return;
+            }
+            SafepointStackSampler.Sample sample = sampler.sample(access.getLocation());
+            if (sample == null) {
+                return;
+            }
+            if (sample.overflowed) {
+                stackOverflowed = true;
             }
-            return child;
+            pendingSafepointSamples.add(new SafepointSample(access.getThread(), sample.stack, timestamp));
+            if (counted.compareAndSet(false, true)) {
+                samplesTaken.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class SafepointSample {
+
+        final Thread thread;
+        final StackTraceEntry[] stack;
+        final long timestamp;
+
+        SafepointSample(Thread thread, StackTraceEntry[] stack, long timestamp) {
+            this.thread = thread;
+            this.stack = stack;
+            this.timestamp = timestamp;
         }
     }
 
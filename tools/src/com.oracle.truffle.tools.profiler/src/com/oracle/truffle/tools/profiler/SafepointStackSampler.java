@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.instrumentation.Instrumenter;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Captures the guest language stack of the current thread by walking its frames. Unlike the
+ * {@link ShadowStack} no instrumentation is installed, stacks are only captured from
+ * {@link com.oracle.truffle.api.ThreadLocalAction thread local actions} performed at safepoints.
+ * Frames are therefore always attributed to the call target they execute in, roots that are
+ * inlined during compilation are included.
+ */
+final class SafepointStackSampler {
+
+    private static final Set<Class<?>> ROOT_TAGS = Collections.singleton(RootTag.class);
+
+    private final Instrumenter instrumenter;
+    private final int stackLimit;
+    private final SourceSectionFilter rootFilter;
+    private final SourceSectionFilter statementFilter;
+
+    SafepointStackSampler(Instrumenter instrumenter, int stackLimit, SourceSectionFilter filter, boolean sampleStatements) {
+        this.instrumenter = instrumenter;
+        this.stackLimit = stackLimit;
+        this.rootFilter = filter;
+        this.statementFilter = sampleStatements ? SourceSectionFilter.newBuilder().tagIs(StatementTag.class).and(filter).build() : null;
+    }
+
+    /**
+     * Returns the stack of the current thread with the bottom most entry first, or
+     * <code>null</code> if there was no entry matching the filter. Must be called from a thread
+     * local action performed on the sampled thread.
+     */
+    Sample sample(Node location) {
+        StackVisitor visitor = new StackVisitor(location);
+        Truffle.getRuntime().iterateFrames(visitor);
+        if (visitor.entries.isEmpty()) {
+            return null;
+        }
+        Collections.reverse(visitor.entries);
+        return new Sample(visitor.entries.toArray(new StackTraceEntry[0]), visitor.overflowed);
+    }
+
+    static final class Sample {
+
+        final StackTraceEntry[] stack;
+        final boolean overflowed;
+
+        Sample(StackTraceEntry[] stack, boolean overflowed) {
+            this.stack = stack;
+            this.overflowed = overflowed;
+        }
+
+    }
+
+    private final class StackVisitor implements FrameInstanceVisitor<Object> {
+
+        final List<StackTraceEntry> entries = new ArrayList<>();
+        Node topLocation;
+        boolean overflowed;
+
+        StackVisitor(Node topLocation) {
+            this.topLocation = topLocation;
+        }
+
+        @Override
+        public Object visitFrame(FrameInstance frame) {
+            Node frameLocation = topLocation != null ? topLocation : frame.getCallNode();
+            topLocation = null;
+            CallTarget target = frame.getCallTarget();
+            if (!(target instanceof RootCallTarget)) {
+                return null;
+            }
+            RootNode root = ((RootCallTarget) target).getRootNode();
+            SourceSection rootSection = root.getSourceSection();
+            if (rootSection == null || !rootFilter.includes(root, rootSection, ROOT_TAGS)) {
+                return null;
+            }
+            byte state = frame.isVirtualFrame() ? StackTraceEntry.STATE_COMPILED : StackTraceEntry.STATE_INTERPRETED;
+            if (statementFilter != null) {
+                Node statement = findStatement(frameLocation, root);
+                if (statement != null && !add(new StackTraceEntry(instrumenter, statement, state))) {
+                    return entries;
+                }
+            }
+            if (!add(new StackTraceEntry(root, rootSection, ROOT_TAGS, state))) {
+                return entries;
+            }
+            return null;
+        }
+
+        private boolean add(StackTraceEntry entry) {
+            if (entries.size() >= stackLimit) {
+                overflowed = true;
+                return false;
+            }
+            entries.add(entry);
+            return true;
+        }
+
+        private Node findStatement(Node node, RootNode root) {
+            Node current = node;
+            while (current != null && current != root) {
+                if (current.getSourceSection() != null && statementFilter.includes(current)) {
+                    return current;
+                }
+                current = current.getParent();
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -82,6 +82,14 @@ public final class StackTraceEntry {
         this.state = state;
     }
 
+    StackTraceEntry(RootNode root, SourceSection sourceSection, Set<Class<?>> tags, byte state) {
+        this.tags = tags;
+        this.sourceSection = sourceSection;
+        this.instrumentedNode = root;
+        this.rootName = extractRootName(root);
+        this.state = state;
+    }
+
     StackTraceEntry(Instrumenter instrumenter, Node node, byte state) {
         this.tags = instrumenter.queryTags(node);
         this.sourceSection = node.getSourceSection();
@@ -56,6 +56,8 @@ class CPUSamplerCLI extends ProfilerCLI {
         HISTOGRAM,
         CALLTREE,
         JSON,
+        PPROF,
+        COLLAPSED,
     }
 
     static final OptionType<Output> CLI_OUTPUT_TYPE = new OptionType<>("Output",
@@ -65,7 +67,7 @@ class CPUSamplerCLI extends ProfilerCLI {
                             try {
                                 return Output.valueOf(s.toUpperCase());
                             } catch (IllegalArgumentException e) {
-                                throw new IllegalArgumentException("Output can be: histogram, calltree or json");
+                                throw new IllegalArgumentException("Output can be: histogram, calltree, json, pprof or collapsed");
                             }
                         }
                     });
@@ -91,6 +93,9 @@ class CPUSamplerCLI extends ProfilerCLI {
                     "'roots' - sample roots including inlined functions, 'statements' - sample all statements.", category = OptionCategory.USER, stability = OptionStability.STABLE)
     static final OptionKey<CPUSampler.Mode> MODE = new OptionKey<>(CPUSampler.Mode.EXCLUDE_INLINED_ROOTS, CLI_MODE_TYPE);
     // @formatter:om
+    @Option(name = "SampleAtSafepoints", help = "Capture the stacks at safepoints instead of instrumenting guest calls to maintain a shadow stack (default: false).", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<Boolean> SAMPLE_AT_SAFEPOINTS = new OptionKey<>(false);
+
     @Option(name = "Period", help = "Period in milliseconds to sample the stack.", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Long> SAMPLE_PERIOD = new OptionKey<>(1L);
 
@@ -100,9 +105,18 @@ class CPUSamplerCLI extends ProfilerCLI {
     @Option(name = "StackLimit", help = "Maximum number of maximum stack elements.", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Integer> STACK_LIMIT = new OptionKey<>(10000);
 
-    @Option(name = "Output", help = "Print a 'histogram', 'calltree' or 'json' as output (default:HISTOGRAM).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
+    @Option(name = "Output", help = "Print a 'histogram', 'calltree', 'json', 'pprof' (gzipped protocol buffers) or 'collapsed' (collapsed stacks for flame graphs) as output (default:HISTOGRAM).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Output> OUTPUT = new OptionKey<>(Output.HISTOGRAM, CLI_OUTPUT_TYPE);
 
+    @Option(name = "FlushPeriod", help = "Write the 'pprof' or 'collapsed' output every this many milliseconds and discard the written samples (default: 0, write on exit only).", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<Long> FLUSH_PERIOD = new OptionKey<>(0L);
+
+    @Option(name = "OutputDirectory", help = "Write each flush of the 'pprof' or 'collapsed' output to a new file in the given directory.", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<String> OUTPUT_DIRECTORY = new OptionKey<>("");
+
+    @Option(name = "OutputMaxFiles", help = "Maximum number of files kept in the OutputDirectory, older files are deleted (default: 10, 0 keeps all files).", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<Integer> OUTPUT_MAX_FILES = new OptionKey<>(10);
+
     @Option(name = "FilterRootName", help = "Wildcard filter for program roots. (eg. Math.*, default:*).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Object[]> FILTER_ROOT = new OptionKey<>(new Object[0], WILDCARD_FILTER_TYPE);
 
@@ -151,6 +165,9 @@ class CPUSamplerCLI extends ProfilerCLI {
                     break;
                 case JSON:
                     printSamplingJson(out, sampler);
+                    break;
+                default:
+                    throw new AssertionError("Streaming output " + env.getOptions().get(OUTPUT) + " is written by CPUSamplerStreamingOutput.");
             }
         }
     }
@@ -261,7 +278,43 @@ class CPUSamplerCLI extends ProfilerCLI {
         }
     }
 
-    private static Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> makeOneEntryMap(CPUSampler sampler) {
+    static void printSamplingCollapsed(PrintStream out, Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> threadToNodesMap, boolean summariseThreads) {
+        StringBuilder stack = new StringBuilder();
+        for (Map.Entry<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> entry : threadToNodesMap.entrySet()) {
+            stack.setLength(0);
+            if (!summariseThreads) {
+                stack.append(collapsedFrameName(entry.getKey().getName()));
+            }
+            printSamplingCollapsedRec(out, stack, entry.getValue());
+        }
+    }
+
+    private static void printSamplingCollapsedRec(PrintStream out, StringBuilder stack, Collection<ProfilerNode<CPUSampler.Payload>> nodes) {
+        for (ProfilerNode<CPUSampler.Payload> node : nodes) {
+            int length = stack.length();
+            if (length > 0) {
+                stack.append(';');
+            }
+            String name = node.getRootName();
+            if (!node.getTags().contains(StandardTags.RootTag.class)) {
+                name += "~" + formatIndices(node.getSourceSection(), true);
+            }
+            stack.append(collapsedFrameName(name + " (" + getShortDescription(node.getSourceSection()) + ")"));
+            int selfHits = node.getPayload().getSelfHitCount();
+            if (selfHits > 0) {
+                out.append(stack).append(' ').append(String.valueOf(selfHits)).append('\n');
+            }
+            printSamplingCollapsedRec(out, stack, node.getChildren());
+            stack.setLength(length);
+        }
+    }
+
+    private static String collapsedFrameName(String name) {
+        // frames are separated by semicolons and stacks by new lines
+        return name.replace(';', ':').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    static Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> makeOneEntryMap(CPUSampler sampler) {
         Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> oneElementMap = new HashMap<>(1);
         oneElementMap.put(new Thread("Summary"), sampler.getRootNodes());
         return oneElementMap;
@@ -58,6 +58,7 @@ public class CPUSamplerInstrument extends TruffleInstrument {
     public static final String ID = "cpusampler";
     static final String VERSION = "0.4.0";
     private CPUSampler sampler;
+    private CPUSamplerStreamingOutput streamingOutput;
     private static ProfilerToolFactory<CPUSampler> factory;
 
     /**
@@ -113,6 +114,8 @@ public class CPUSamplerInstrument extends TruffleInstrument {
             sampler.setFilter(getSourceSectionFilter(env));
             sampler.setGatherSelfHitTimes(env.getOptions().get(GATHER_HIT_TIMES));
             sampler.setMode(env.getOptions().get(CPUSamplerCLI.MODE));
+            sampler.setSampleAtSafepoints(env.getOptions().get(CPUSamplerCLI.SAMPLE_AT_SAFEPOINTS));
+            streamingOutput = CPUSamplerStreamingOutput.create(env, sampler);
             sampler.setCollecting(true);
         }
         env.registerService(sampler);
@@ -146,7 +149,9 @@ public class CPUSamplerInstrument extends TruffleInstrument {
      */
     @Override
     protected void onDispose(Env env) {
-        if (env.getOptions().get(CPUSamplerCLI.ENABLED)) {
+        if (streamingOutput != null) {
+            streamingOutput.close();
+        } else if (env.getOptions().get(CPUSamplerCLI.ENABLED)) {
             CPUSamplerCLI.handleOutput(env, sampler);
         }
         sampler.close();
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools.profiler.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import com.oracle.truffle.api.instrumentation.TruffleInstrument;
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import com.oracle.truffle.tools.profiler.ProfilerNode;
+
+/**
+ * Writes the {@link CPUSamplerCLI.Output#PPROF pprof} and {@link CPUSamplerCLI.Output#COLLAPSED
+ * collapsed} outputs of the CPU sampler. If a flush period is set, the samples gathered since the
+ * last flush are written periodically while the application runs and are then discarded from the
+ * sampler, so that the profile of a long running application does not grow without bounds.
+ * Collapsed stacks of all flushes are appended to the same output, pprof profiles are written to
+ * one file per flush in the output directory. Only the most recent files are kept in the output
+ * directory.
+ */
+final class CPUSamplerStreamingOutput {
+
+    private final TruffleInstrument.Env env;
+    private final CPUSampler sampler;
+    private final CPUSamplerCLI.Output format;
+    private final boolean summariseThreads;
+    private final Path directory;
+    private final int maxFiles;
+    private final Deque<Path> writtenFiles = new ArrayDeque<>();
+
+    private PrintStream out;
+    private Timer flushTimer;
+    private long lastFlushMillis;
+    private int sequence;
+
+    private CPUSamplerStreamingOutput(TruffleInstrument.Env env, CPUSampler sampler, CPUSamplerCLI.Output format, Path directory) {
+        this.env = env;
+        this.sampler = sampler;
+        this.format = format;
+        this.summariseThreads = env.getOptions().get(CPUSamplerCLI.SUMMARISE_THREADS);
+        this.directory = directory;
+        this.maxFiles = env.getOptions().get(CPUSamplerCLI.OUTPUT_MAX_FILES);
+        this.lastFlushMillis = System.currentTimeMillis();
+    }
+
+    static boolean isStreamingFormat(CPUSamplerCLI.Output format) {
+        return format == CPUSamplerCLI.Output.PPROF || format == CPUSamplerCLI.Output.COLLAPSED;
+    }
+
+    /**
+     * Validates the output options and returns the streaming output for the sampler, or
+     * <code>null</code> if the configured output is printed only when the sampler is disposed.
+     */
+    static CPUSamplerStreamingOutput create(TruffleInstrument.Env env, CPUSampler sampler) {
+        CPUSamplerCLI.Output format = env.getOptions().get(CPUSamplerCLI.OUTPUT);
+        long flushPeriod = env.getOptions().get(CPUSamplerCLI.FLUSH_PERIOD);
+        String outputDirectory = env.getOptions().get(CPUSamplerCLI.OUTPUT_DIRECTORY);
+        boolean hasDirectory = !outputDirectory.isEmpty();
+        if (!isStreamingFormat(format)) {
+            if (flushPeriod > 0 || hasDirectory) {
+                throw new IllegalArgumentException("The FlushPeriod and OutputDirectory options require the 'pprof' or 'collapsed' output.");
+            }
+            return null;
+        }
+        if (flushPeriod < 0) {
+            throw new IllegalArgumentException(String.format("Invalid flush period %s.", flushPeriod));
+        }
+        boolean hasFile = CPUSamplerCLI.OUTPUT_FILE.hasBeenSet(env.getOptions());
+        if (format == CPUSamplerCLI.Output.PPROF && !hasDirectory && (!hasFile || flushPeriod > 0)) {
+            throw new IllegalArgumentException(flushPeriod > 0 ? "Flushing the 'pprof' output requires an OutputDirectory." : "The 'pprof' output requires an OutputFile or OutputDirectory.");
+        }
+        Path directory = null;
+        if (hasDirectory) {
+            directory = Paths.get(outputDirectory);
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(String.format("Cannot create output directory %s: %s", outputDirectory, e.getMessage()));
+            }
+        }
+        CPUSamplerStreamingOutput output = new CPUSamplerStreamingOutput(env, sampler, format, directory);
+        if (flushPeriod > 0) {
+            output.start(flushPeriod);
+        }
+        return output;
+    }
+
+    private void start(long flushPeriod) {
+        flushTimer = new Timer("CPU sampler output flush", true);
+        flushTimer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    env.getLogger("").warning("Cannot write CPU sampler output: " + e.getMessage());
+                }
+            }
+        }, flushPeriod, flushPeriod);
+    }
+
+    synchronized void close() {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+            flushTimer = null;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            env.getLogger("").warning("Cannot write CPU sampler output: " + e.getMessage());
+        } finally {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+
+    synchronized void flush() throws IOException {
+        long startMillis = lastFlushMillis;
+        long endMillis = System.currentTimeMillis();
+        Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> delta;
+        synchronized (sampler) {
+            // no samples can be added between taking and clearing the data
+            if (!sampler.hasData()) {
+                return;
+            }
+            delta = summariseThreads ? CPUSamplerCLI.makeOneEntryMap(sampler) : sampler.getThreadToNodesMap();
+            sampler.clearData();
+        }
+        lastFlushMillis = endMillis;
+        if (directory != null) {
+            String extension = format == CPUSamplerCLI.Output.PPROF ? "pb.gz" : "collapsed";
+            Path file = directory.resolve(String.format("%s-%d-%05d.%s", CPUSamplerInstrument.ID, startMillis, sequence++, extension));
+            try (OutputStream fileOut = Files.newOutputStream(file)) {
+                write(fileOut, delta, startMillis, endMillis);
+            }
+            writtenFiles.addLast(file);
+            while (maxFiles > 0 && writtenFiles.size() > maxFiles) {
+                Files.deleteIfExists(writtenFiles.removeFirst());
+            }
+        } else {
+            if (out == null) {
+                out = CPUSamplerCLI.chooseOutputStream(env, CPUSamplerCLI.OUTPUT_FILE);
+            }
+            write(out, delta, startMillis, endMillis);
+            out.flush();
+        }
+    }
+
+    private void write(OutputStream stream, Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> delta, long startMillis, long endMillis) throws IOException {
+        if (format == CPUSamplerCLI.Output.PPROF) {
+            PprofEncoder.write(stream, delta, sampler.getPeriod(), startMillis, endMillis - startMillis);
+        } else {
+            PrintStream printStream = stream instanceof PrintStream ? (PrintStream) stream : new PrintStream(stream);
+            CPUSamplerCLI.printSamplingCollapsed(printStream, delta, summariseThreads);
+            printStream.flush();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools.profiler.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import com.oracle.truffle.tools.profiler.ProfilerNode;
+
+/**
+ * Encodes sampled call trees in the gzipped protocol buffer format read by the
+ * <a href="https://github.com/google/pprof">pprof</a> tool, as described by its
+ * <code>profile.proto</code>. Every node with self hits becomes a sample with the stack from the
+ * node to the root. Samples are labeled with the name of the thread they were taken on.
+ */
+final class PprofEncoder {
+
+    // Profile
+    private static final int PROFILE_SAMPLE_TYPE = 1;
+    private static final int PROFILE_SAMPLE = 2;
+    private static final int PROFILE_LOCATION = 4;
+    private static final int PROFILE_FUNCTION = 5;
+    private static final int PROFILE_STRING_TABLE = 6;
+    private static final int PROFILE_TIME_NANOS = 9;
+    private static final int PROFILE_DURATION_NANOS = 10;
+    private static final int PROFILE_PERIOD_TYPE = 11;
+    private static final int PROFILE_PERIOD = 12;
+    // ValueType
+    private static final int VALUE_TYPE_TYPE = 1;
+    private static final int VALUE_TYPE_UNIT = 2;
+    // Sample
+    private static final int SAMPLE_LOCATION_ID = 1;
+    private static final int SAMPLE_VALUE = 2;
+    private static final int SAMPLE_LABEL = 3;
+    // Label
+    private static final int LABEL_KEY = 1;
+    private static final int LABEL_STR = 2;
+    // Location
+    private static final int LOCATION_ID = 1;
+    private static final int LOCATION_LINE = 4;
+    // Line
+    private static final int LINE_FUNCTION_ID = 1;
+    private static final int LINE_LINE = 2;
+    // Function
+    private static final int FUNCTION_ID = 1;
+    private static final int FUNCTION_NAME = 2;
+    private static final int FUNCTION_SYSTEM_NAME = 3;
+    private static final int FUNCTION_FILENAME = 4;
+    private static final int FUNCTION_START_LINE = 5;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringTable = new ArrayList<>();
+    private final Map<ProfilerCLI.SourceLocation, Integer> locations = new HashMap<>();
+    private final ProtoWriter functionsAndLocations = new ProtoWriter();
+    private final ProtoWriter samples = new ProtoWriter();
+    private final long periodNanos;
+
+    private PprofEncoder(long periodMillis) {
+        this.periodNanos = periodMillis * 1_000_000L;
+        string("");
+    }
+
+    static void write(OutputStream out, Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> threadToNodes, long periodMillis, long startMillis, long durationMillis) throws IOException {
+        PprofEncoder encoder = new PprofEncoder(periodMillis);
+        for (Map.Entry<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> entry : threadToNodes.entrySet()) {
+            encoder.addSamples(entry.getKey().getName(), entry.getValue(), new ArrayList<>());
+        }
+        ProtoWriter profile = new ProtoWriter();
+        profile.writeMessage(PROFILE_SAMPLE_TYPE, encoder.valueType("samples", "count"));
+        profile.writeMessage(PROFILE_SAMPLE_TYPE, encoder.valueType("cpu", "nanoseconds"));
+        profile.writeRaw(encoder.samples);
+        profile.writeRaw(encoder.functionsAndLocations);
+        profile.writeInt(PROFILE_TIME_NANOS, startMillis * 1_000_000L);
+        profile.writeInt(PROFILE_DURATION_NANOS, durationMillis * 1_000_000L);
+        profile.writeMessage(PROFILE_PERIOD_TYPE, encoder.valueType("cpu", "nanoseconds"));
+        profile.writeInt(PROFILE_PERIOD, encoder.periodNanos);
+        // the string table must be complete, so it is written last
+        for (String s : encoder.stringTable) {
+            profile.writeString(PROFILE_STRING_TABLE, s);
+        }
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        profile.writeTo(gzip);
+        gzip.finish();
+    }
+
+    private void addSamples(String threadName, Collection<ProfilerNode<CPUSampler.Payload>> nodes, List<Long> path) {
+        for (ProfilerNode<CPUSampler.Payload> node : nodes) {
+            path.add(location(node));
+            int selfHits = node.getPayload().getSelfHitCount();
+            if (selfHits > 0) {
+                long[] locationIds = new long[path.size()];
+                for (int i = 0; i < locationIds.length; i++) {
+                    // leaf first
+                    locationIds[i] = path.get(path.size() - 1 - i);
+                }
+                ProtoWriter label = new ProtoWriter();
+                label.writeInt(LABEL_KEY, string("thread"));
+                label.writeInt(LABEL_STR, string(threadName));
+                ProtoWriter sample = new ProtoWriter();
+                sample.writePacked(SAMPLE_LOCATION_ID, locationIds);
+                sample.writePacked(SAMPLE_VALUE, new long[]{selfHits, selfHits * periodNanos});
+                sample.writeMessage(SAMPLE_LABEL, label);
+                samples.writeMessage(PROFILE_SAMPLE, sample);
+            }
+            addSamples(threadName, node.getChildren(), path);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private long location(ProfilerNode<CPUSampler.Payload> node) {
+        SourceSection section = node.getSourceSection();
+        ProfilerCLI.SourceLocation key = new ProfilerCLI.SourceLocation(section, node.getRootName());
+        Integer id = locations.get(key);
+        if (id == null) {
+            id = locations.size() + 1;
+            locations.put(key, id);
+            String name = node.getRootName();
+            if (!node.getTags().contains(StandardTags.RootTag.class) && section != null) {
+                name += "~" + ProfilerCLI.formatIndices(section, true);
+            }
+            String fileName = "";
+            int line = 0;
+            if (section != null && section.getSource() != null) {
+                Source source = section.getSource();
+                fileName = source.getPath() != null ? source.getPath() : source.getName();
+                line = section.getStartLine();
+            }
+            ProtoWriter function = new ProtoWriter();
+            function.writeInt(FUNCTION_ID, id);
+            function.writeInt(FUNCTION_NAME, string(name));
+            function.writeInt(FUNCTION_SYSTEM_NAME, string(name));
+            function.writeInt(FUNCTION_FILENAME, string(fileName));
+            function.writeInt(FUNCTION_START_LINE, line);
+            functionsAndLocations.writeMessage(PROFILE_FUNCTION, function);
+
+            ProtoWriter lineMessage = new ProtoWriter();
+            lineMessage.writeInt(LINE_FUNCTION_ID, id);
+            lineMessage.writeInt(LINE_LINE, line);
+            ProtoWriter location = new ProtoWriter();
+            location.writeInt(LOCATION_ID, id);
+            location.writeMessage(LOCATION_LINE, lineMessage);
+            functionsAndLocations.writeMessage(PROFILE_LOCATION, location);
+        }
+        return id;
+    }
+
+    private ProtoWriter valueType(String type, String unit) {
+        ProtoWriter valueType = new ProtoWriter();
+        valueType.writeInt(VALUE_TYPE_TYPE, string(type));
+        valueType.writeInt(VALUE_TYPE_UNIT, string(unit));
+        return valueType;
+    }
+
+    private long string(String s) {
+        Integer index = strings.get(s);
+        if (index == null) {
+            index = stringTable.size();
+            strings.put(s, index);
+            stringTable.add(s);
+        }
+        return index;
+    }
+
+    /**
+     * Minimal protocol buffer writer supporting the varint and length delimited wire types.
+     */
+    private static final class ProtoWriter {
+
+        private static final int WIRE_TYPE_VARINT = 0;
+        private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void writeInt(int field, long value) {
+            writeVarint(field << 3 | WIRE_TYPE_VARINT);
+            writeVarint(value);
+        }
+
+        void writeString(int field, String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(field << 3 | WIRE_TYPE_LENGTH_DELIMITED);
+            writeVarint(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+        }
+
+        void writeMessage(int field, ProtoWriter message) {
+            writeVarint(field << 3 | WIRE_TYPE_LENGTH_DELIMITED);
+            writeVarint(message.bytes.size());
+            writeRaw(message);
+        }
+
+        void writePacked(int field, long[] values) {
+            ProtoWriter packed = new ProtoWriter();
+            for (long value : values) {
+                packed.writeVarint(value);
+            }
+            writeMessage(field, packed);
+        }
+
+        void writeRaw(ProtoWriter other) {
+            byte[] raw = other.bytes.toByteArray();
+            bytes.write(raw, 0, raw.length);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+
+        private void writeVarint(long value) {
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            bytes.write((int) v);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import static com.oracle.truffle.api.benchmark.EngineBenchmark.TEST_LANGUAGE;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.ContextPool;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the throughput of short-lived requests that each create and close a context with
+ * requests that acquire and release a pooled context.
+ */
+public class ContextPoolBenchmark extends TruffleBenchmark {
+
+    private static final int POOL_SIZE = 16;
+
+    @State(Scope.Benchmark)
+    public static class SharedEngine {
+
+        final Source source = Source.create(TEST_LANGUAGE, "");
+        final Engine engine = Engine.create();
+        final Context.Builder contextBuilder = Context.newBuilder(TEST_LANGUAGE).engine(engine);
+
+        @TearDown
+        public void tearDown() {
+            engine.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedPool {
+
+        final Source source = Source.create(TEST_LANGUAGE, "");
+        final Engine engine = Engine.create();
+        final ContextPool pool = engine.createContextPool(Context.newBuilder(TEST_LANGUAGE), POOL_SIZE);
+
+        @TearDown
+        public void tearDown() {
+            pool.close();
+            engine.close();
+        }
+
+    }
+
+    @Benchmark
+    public boolean createAndClose(SharedEngine state) {
+        try (Context context = state.contextBuilder.build()) {
+            return context.eval(state.source).hasMembers();
+        }
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease(SharedPool state) {
+        Context context = state.pool.acquire();
+        try {
+            return context.eval(state.source).hasMembers();
+        } finally {
+            state.pool.release(context);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean createAndCloseMultiThread(SharedEngine state) {
+        return createAndClose(state);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean acquireAndReleaseMultiThread(SharedPool state) {
+        return acquireAndRelease(state);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Measures the construction of objects of the same shape family from many threads. Every property
+ * added follows a cached shape transition and looks up the property assumption of the new key.
+ */
+public class DynamicObjectBenchmark extends TruffleBenchmark {
+
+    private static final String[] KEYS = {"a", "b", "c", "d", "e", "f", "g", "h"};
+
+    static final class BenchmarkObject extends DynamicObject {
+
+        BenchmarkObject(Shape shape) {
+            super(shape);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedShape {
+
+        final Shape rootShape = Shape.newBuilder().propertyAssumptions(true).build();
+        final DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+
+        DynamicObject createObject() {
+            DynamicObject object = new BenchmarkObject(rootShape);
+            for (int i = 0; i < KEYS.length; i++) {
+                library.put(object, KEYS[i], i);
+            }
+            return object;
+        }
+
+        Assumption lookupAssumptions() {
+            Assumption assumption = null;
+            for (String key : KEYS) {
+                assumption = rootShape.getPropertyAssumption(key);
+            }
+            return assumption;
+        }
+
+    }
+
+    @Benchmark
+    public Object createObject(SharedShape state) {
+        return state.createObject();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object createObjectMaxThreads(SharedShape state) {
+        return state.createObject();
+    }
+
+    @Benchmark
+    public Object lookupPropertyAssumption(SharedShape state) {
+        return state.lookupAssumptions();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object lookupPropertyAssumptionMaxThreads(SharedShape state) {
+        return state.lookupAssumptions();
+    }
+
+}
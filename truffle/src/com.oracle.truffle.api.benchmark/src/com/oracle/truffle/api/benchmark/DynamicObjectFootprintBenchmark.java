@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Measures the allocation footprint of objects that grow beyond their in-object fields into
+ * extension arrays. Run with <code>-prof gc</code> to report the allocated bytes per object
+ * (<code>gc.alloc.rate.norm</code>), which include the reallocations of the extension arrays
+ * while properties are added.
+ */
+public class DynamicObjectFootprintBenchmark extends TruffleBenchmark {
+
+    static final class SmallObject extends DynamicObject {
+
+        SmallObject(Shape shape) {
+            super(shape);
+        }
+
+    }
+
+    static final class LargeObject extends DynamicObject {
+
+        @DynamicField private Object o0;
+        @DynamicField private Object o1;
+        @DynamicField private Object o2;
+        @DynamicField private Object o3;
+        @DynamicField private Object o4;
+        @DynamicField private Object o5;
+        @DynamicField private long p0;
+        @DynamicField private long p1;
+        @DynamicField private long p2;
+        @DynamicField private long p3;
+        @DynamicField private long p4;
+        @DynamicField private long p5;
+
+        LargeObject(Shape shape) {
+            super(shape);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class ObjectState {
+
+        @Param({"4", "8", "16", "32"}) int propertyCount;
+
+        final DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+        final Shape smallShape = Shape.newBuilder().build();
+        final Shape largeShape = Shape.newBuilder().layout(LargeObject.class).build();
+        String[] keys;
+
+        @Setup
+        public void setup() {
+            keys = new String[propertyCount];
+            for (int i = 0; i < propertyCount; i++) {
+                keys[i] = "p" + i;
+            }
+        }
+
+        DynamicObject fillObjects(DynamicObject object) {
+            for (int i = 0; i < keys.length; i++) {
+                library.put(object, keys[i], keys[i]);
+            }
+            return object;
+        }
+
+        DynamicObject fillPrimitives(DynamicObject object) {
+            for (int i = 0; i < keys.length; i++) {
+                library.put(object, keys[i], (long) i);
+            }
+            return object;
+        }
+
+    }
+
+    @Benchmark
+    public Object smallObjectWithObjects(ObjectState state) {
+        return state.fillObjects(new SmallObject(state.smallShape));
+    }
+
+    @Benchmark
+    public Object smallObjectWithPrimitives(ObjectState state) {
+        return state.fillPrimitives(new SmallObject(state.smallShape));
+    }
+
+    @Benchmark
+    public Object largeObjectWithObjects(ObjectState state) {
+        return state.fillObjects(new LargeObject(state.largeShape));
+    }
+
+    @Benchmark
+    public Object largeObjectWithPrimitives(ObjectState state) {
+        return state.fillPrimitives(new LargeObject(state.largeShape));
+    }
+
+}
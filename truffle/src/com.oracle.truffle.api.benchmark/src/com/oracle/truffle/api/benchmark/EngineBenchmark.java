@@ -447,6 +447,11 @@ public class EngineBenchmark extends TruffleBenchmark {
         protected void initializeContext(BenchmarkContext context) throws Exception {
         }
 
+        @Override
+        protected boolean resetContext(BenchmarkContext context) {
+            return true;
+        }
+
         @Override
         protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
             return true;
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark.interop;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.benchmark.TruffleBenchmark;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Measures guest to host calls of public host methods with different parameter counts. Methods
+ * with few parameters are invoked with a fixed arity method handle, methods with more parameters
+ * spread an argument array.
+ */
+public class HostInvokeBenchmark extends TruffleBenchmark {
+
+    static final String HOST_INVOKE_LANGUAGE = "benchmark-host-invoke-language";
+    static final int ITERATIONS = 1000;
+
+    public static class HostTarget {
+
+        public int arity0() {
+            return 42;
+        }
+
+        public int arity1(int a) {
+            return a;
+        }
+
+        public int arity2(int a, int b) {
+            return a + b;
+        }
+
+        public int arity3(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        public int arity5(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class InvokeState {
+
+        @Param({"arity0", "arity1", "arity2", "arity3", "arity5"}) String member;
+
+        final HostTarget receiver = new HostTarget();
+        Context context;
+        Value invokeLoop;
+
+        @Setup
+        public void setup() {
+            context = Context.newBuilder(HOST_INVOKE_LANGUAGE).allowHostAccess(HostAccess.ALL).build();
+            invokeLoop = context.eval(HOST_INVOKE_LANGUAGE, member);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+
+    }
+
+    @Benchmark
+    public Value invoke(InvokeState state) {
+        return state.invokeLoop.execute(state.receiver);
+    }
+
+    /*
+     * Test language that invokes a host method in a loop, so that only the guest to host call is
+     * measured.
+     */
+    @TruffleLanguage.Registration(id = HOST_INVOKE_LANGUAGE, name = "")
+    public static class HostInvokeTestLanguage extends TruffleLanguage<Env> {
+
+        @Override
+        protected Env createContext(Env env) {
+            return env;
+        }
+
+        @Override
+        protected CallTarget parse(ParsingRequest request) throws Exception {
+            String member = request.getSource().getCharacters().toString();
+            int arity = Integer.parseInt(member.substring("arity".length()));
+            CallTarget loop = Truffle.getRuntime().createCallTarget(new InvokeLoopNode(this, member, arity));
+            return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(new InvokeLoop(loop)));
+        }
+
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    @SuppressWarnings("static-method")
+    static final class InvokeLoop implements TruffleObject {
+
+        final CallTarget target;
+
+        InvokeLoop(CallTarget target) {
+            this.target = target;
+        }
+
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @ExportMessage
+        Object execute(Object[] arguments,
+                        @Cached("create(this.target)") DirectCallNode callNode) {
+            return callNode.call(arguments);
+        }
+
+    }
+
+    static final class InvokeLoopNode extends RootNode {
+
+        @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(1);
+        private final String member;
+        @CompilationFinal(dimensions = 1) private final Object[] arguments;
+
+        InvokeLoopNode(TruffleLanguage<?> language, String member, int arity) {
+            super(language);
+            this.member = member;
+            this.arguments = new Object[arity];
+            for (int i = 0; i < arity; i++) {
+                arguments[i] = i;
+            }
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object receiver = frame.getArguments()[0];
+            Object result = null;
+            try {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    result = interop.invokeMember(receiver, member, arguments);
+                }
+            } catch (InteropException e) {
+                CompilerDirectives.transferToInterpreter();
+                throw new AssertionError(e);
+            }
+            return result;
+        }
+
+    }
+
+}
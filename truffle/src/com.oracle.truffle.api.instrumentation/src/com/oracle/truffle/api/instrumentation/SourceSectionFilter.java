@@ -143,6 +143,35 @@ public final class SourceSectionFilter {
         return true;
     }
 
+    /**
+     * Checks if the filter includes the given root node, i.e. do the properties of the root's
+     * source section and the given tags meet the conditions set by the filter. Useful for tools
+     * that observe roots without instrumenting them, e.g. when walking the stack frames. Filter
+     * expressions that can only be decided for individual nodes, like negated expressions, do not
+     * exclude any roots.
+     *
+     * @param rootNode the root node to check
+     * @param rootSourceSection the source section of the root node, or <code>null</code> if not
+     *            available
+     * @param tags the tags the root node should be considered to provide
+     * @return True of the filter includes the root node, false otherwise.
+     * @since 21.2
+     */
+    public boolean includes(RootNode rootNode, SourceSection rootSourceSection, Set<Class<?>> tags) {
+        Objects.requireNonNull(rootNode);
+        Objects.requireNonNull(tags);
+        int rootNodeBits = RootNodeBits.setExecuted(RootNodeBits.getAll());
+        if (rootSourceSection != null) {
+            rootNodeBits = RootNodeBits.setHasSourceSection(rootNodeBits);
+        }
+        for (EventFilterExpression exp : expressions) {
+            if (!exp.isRootIncluded(tags, rootSourceSection, rootNode, rootNodeBits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Set<Class<?>> getProvidedTags(Node node) {
         Objects.requireNonNull(node);
         RootNode root = node.getRootNode();
@@ -1299,7 +1299,7 @@ public abstract class InteropLibrary extends Library {
      * @since 21.1
      */
     @Abstract(ifExported = {"getBufferSize", "isBufferWritable", "readBufferByte", "readBufferShort", "readBufferInt", "readBufferLong", "readBufferFloat", "readBufferDouble", "writeBufferByte",
-                    "writeBufferShort", "writeBufferInt", "writeBufferLong", "writeBufferFloat", "writeBufferDouble"})
+                    "writeBufferShort", "writeBufferInt", "writeBufferLong", "writeBufferFloat", "writeBufferDouble", "readBuffer", "writeBuffer"})
     public boolean hasBufferElements(Object receiver) {
         return false;
     }
@@ -1325,7 +1325,7 @@ public abstract class InteropLibrary extends Library {
      *             {@code false}
      * @since 21.1
      */
-    @Abstract(ifExported = {"writeBufferByte", "writeBufferShort", "writeBufferInt", "writeBufferLong", "writeBufferFloat", "writeBufferDouble"})
+    @Abstract(ifExported = {"writeBufferByte", "writeBufferShort", "writeBufferInt", "writeBufferLong", "writeBufferFloat", "writeBufferDouble", "writeBuffer"})
     public boolean isBufferWritable(Object receiver) throws UnsupportedMessageException {
         if (hasBufferElements(receiver)) {
             return false;
@@ -1602,6 +1602,78 @@ public abstract class InteropLibrary extends Library {
         throw UnsupportedMessageException.create();
     }
 
+    /**
+     * Reads {@code length} bytes from the receiver object, starting at the given byte offset from
+     * the start of the buffer, into {@code destination} starting at {@code destinationOffset}.
+     * <p>
+     * Implementations should override this message if they can copy their contents in bulk, for
+     * example using {@link System#arraycopy(Object, int, Object, int, int)}. By default, the bytes
+     * are read one by one using {@link #readBufferByte(Object, long)}.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this message does not cause any observable side-effects.
+     *
+     * @throws InvalidBufferOffsetException if and only if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset > {@link #getBufferSize(Object)} - length</code>
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             {@code false}
+     * @throws IndexOutOfBoundsException if {@code destinationOffset} and {@code length} do not
+     *             denote a range of {@code destination}
+     * @since 21.2
+     */
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        if (destinationOffset < 0 || destinationOffset > destination.length - length) {
+            throw invalidArrayRange(destination, destinationOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = readBufferByte(receiver, byteOffset + i);
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes of {@code source}, starting at {@code sourceOffset}, to the
+     * receiver object at the given byte offset from the start of the buffer.
+     * <p>
+     * Implementations should override this message if they can copy their contents in bulk, for
+     * example using {@link System#arraycopy(Object, int, Object, int, int)}. By default, the bytes
+     * are written one by one using {@link #writeBufferByte(Object, long, byte)}.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     *
+     * @throws InvalidBufferOffsetException if and only if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset > {@link #getBufferSize(Object)} - length</code>
+     * @throws UnsupportedMessageException if and only if either {@link #hasBufferElements(Object)}
+     *             or {@link #isBufferWritable} returns {@code false}
+     * @throws IndexOutOfBoundsException if {@code sourceOffset} and {@code length} do not denote a
+     *             range of {@code source}
+     * @since 21.2
+     */
+    public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBufferWritable(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        if (sourceOffset < 0 || sourceOffset > source.length - length) {
+            throw invalidArrayRange(source, sourceOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            writeBufferByte(receiver, byteOffset + i, source[sourceOffset + i]);
+        }
+    }
+
+    @TruffleBoundary
+    private static IndexOutOfBoundsException invalidArrayRange(byte[] array, int offset, int length) {
+        return new IndexOutOfBoundsException(String.format("Range [%d, %d + %d) out of bounds for length %d.", offset, offset, length, array.length));
+    }
+
     // endregion
 
     /**
@@ -4104,6 +4176,39 @@ public abstract class InteropLibrary extends Library {
             }
         }
 
+        @Override
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, destination);
+            try {
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (UnsupportedMessageException e) {
+                assert !delegate.hasBufferElements(receiver) : violationPost(receiver, e);
+                throw e;
+            } catch (InteropException e) {
+                assert e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, source);
+            try {
+                delegate.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (UnsupportedMessageException e) {
+                assert !delegate.isBufferWritable(receiver) : violationPost(receiver, e);
+                throw e;
+            } catch (InteropException e) {
+                assert e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
         // endregion
 
         @Override
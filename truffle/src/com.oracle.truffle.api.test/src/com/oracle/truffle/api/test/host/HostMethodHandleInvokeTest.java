@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.host;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+
+/**
+ * Host methods and constructors with few parameters are invoked through method handles that take
+ * their arguments individually, others through a method handle that spreads an argument array.
+ */
+public class HostMethodHandleInvokeTest extends ProxyLanguageEnvTest {
+    private static final InteropLibrary INTEROP = InteropLibrary.getFactory().getUncached();
+
+    public static class Target {
+
+        public int value;
+
+        public Target() {
+            this(0);
+        }
+
+        public Target(int a) {
+            this.value = a;
+        }
+
+        public Target(int a, int b) {
+            this(a + b);
+        }
+
+        public Target(int a, int b, int c) {
+            this(a + b + c);
+        }
+
+        public Target(int a, int b, int c, int d) {
+            this(a + b + c + d);
+        }
+
+        public Target(String prefix, int... values) {
+            this(prefix.length() + values.length);
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public static long negate(long a) {
+            return -a;
+        }
+
+        public boolean isBetween(int low, int high) {
+            return low <= value && value <= high;
+        }
+
+        public double scale(double a, double b, double c) {
+            return value * a * b * c;
+        }
+
+        public void set(int a, int b, int c) {
+            value = a + b + c;
+        }
+
+        public byte sum4(byte a, byte b, byte c, byte d) {
+            return (byte) (a + b + c + d);
+        }
+
+        public static int count(int... values) {
+            return values.length;
+        }
+
+        public static String join(String delimiter, String... values) {
+            return String.join(delimiter, values);
+        }
+    }
+
+    @Test
+    public void testPrimitiveReturns() throws InteropException {
+        Object target = env.asGuestValue(new Target(5));
+        Object targetClass = asTruffleHostSymbol(Target.class);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(5, INTEROP.invokeMember(target, "getValue"));
+            assertEquals(-7L, INTEROP.invokeMember(targetClass, "negate", 7L));
+            assertEquals(true, INTEROP.invokeMember(target, "isBetween", 4, 6));
+            assertEquals(false, INTEROP.invokeMember(target, "isBetween", 6, 7));
+            assertEquals(30.0, INTEROP.invokeMember(target, "scale", 1.0, 2.0, 3.0));
+            assertEquals((byte) 10, INTEROP.invokeMember(target, "sum4", 1, 2, 3, 4));
+        }
+        assertTrue(INTEROP.isNull(INTEROP.invokeMember(target, "set", 1, 2, 3)));
+        assertEquals(6, INTEROP.invokeMember(target, "getValue"));
+    }
+
+    @Test
+    public void testConstructors() throws InteropException {
+        Object targetClass = asTruffleHostSymbol(Target.class);
+        assertEquals(0, INTEROP.readMember(INTEROP.instantiate(targetClass), "value"));
+        assertEquals(1, INTEROP.readMember(INTEROP.instantiate(targetClass, 1), "value"));
+        assertEquals(3, INTEROP.readMember(INTEROP.instantiate(targetClass, 1, 2), "value"));
+        assertEquals(6, INTEROP.readMember(INTEROP.instantiate(targetClass, 1, 2, 3), "value"));
+        assertEquals(10, INTEROP.readMember(INTEROP.instantiate(targetClass, 1, 2, 3, 4), "value"));
+        // varargs constructor
+        assertEquals(3, INTEROP.readMember(INTEROP.instantiate(targetClass, "ab", 1), "value"));
+        assertEquals(5, INTEROP.readMember(INTEROP.instantiate(targetClass, "ab", 1, 2, 3), "value"));
+    }
+
+    @Test
+    public void testArityMismatch() {
+        Object target = env.asGuestValue(new Target(5));
+        Object targetClass = asTruffleHostSymbol(Target.class);
+        assertArityException(() -> INTEROP.invokeMember(target, "getValue", 1));
+        assertArityException(() -> INTEROP.invokeMember(targetClass, "negate"));
+        assertArityException(() -> INTEROP.invokeMember(targetClass, "negate", 1L, 2L));
+        assertArityException(() -> INTEROP.invokeMember(target, "isBetween", 1));
+        assertArityException(() -> INTEROP.invokeMember(target, "scale", 1.0, 2.0));
+        assertArityException(() -> INTEROP.invokeMember(target, "scale", 1.0, 2.0, 3.0, 4.0));
+        assertArityException(() -> INTEROP.invokeMember(target, "sum4", 1, 2, 3));
+        assertArityException(() -> INTEROP.invokeMember(targetClass, "join"));
+    }
+
+    @Test
+    public void testVarArgsFallback() throws InteropException {
+        Object targetClass = asTruffleHostSymbol(Target.class);
+        for (int arity = 0; arity <= 5; arity++) {
+            Object[] arguments = new Object[arity];
+            for (int i = 0; i < arity; i++) {
+                arguments[i] = i;
+            }
+            assertEquals(arity, INTEROP.invokeMember(targetClass, "count", arguments));
+        }
+        assertEquals(3, INTEROP.invokeMember(targetClass, "count", asTruffleObject(new int[]{1, 2, 3})));
+        assertEquals("", INTEROP.invokeMember(targetClass, "join", "-"));
+        assertEquals("a", INTEROP.invokeMember(targetClass, "join", "-", "a"));
+        assertEquals("a-b-c", INTEROP.invokeMember(targetClass, "join", "-", "a", "b", "c"));
+        assertEquals("a-b", INTEROP.invokeMember(targetClass, "join", "-", asTruffleObject(new String[]{"a", "b"})));
+    }
+
+    private interface InteropCall {
+        Object call() throws InteropException;
+    }
+
+    private static void assertArityException(InteropCall call) {
+        try {
+            call.call();
+            fail("Expected ArityException");
+        } catch (ArityException e) {
+            // expected
+        } catch (InteropException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
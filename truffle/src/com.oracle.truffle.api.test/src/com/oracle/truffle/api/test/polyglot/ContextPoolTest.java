@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.ContextPool;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.management.ContextResourceUsage;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ContextPoolTest {
+
+    @After
+    public void tearDown() {
+        ProxyLanguage.setDelegate(new ProxyLanguage());
+    }
+
+    private static AtomicInteger setupResettableLanguage(int refuseAfter) {
+        AtomicInteger resets = new AtomicInteger();
+        ProxyLanguage.setDelegate(new ProxyLanguage() {
+            @Override
+            protected boolean resetContext(LanguageContext context) {
+                // languages are reset while the context is entered on the current thread
+                assertSame(context, ProxyLanguage.getCurrentContext());
+                return resets.incrementAndGet() <= refuseAfter;
+            }
+        });
+        return resets;
+    }
+
+    @Test
+    public void testAcquireReleaseReuse() {
+        AtomicInteger resets = setupResettableLanguage(Integer.MAX_VALUE);
+        try (Engine engine = Engine.create();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1)) {
+            // the first reset records the state of the eagerly created context
+            assertEquals(1, resets.get());
+            Context context = pool.acquire();
+            context.getPolyglotBindings().putMember("a", 42);
+            pool.release(context);
+            assertEquals(2, resets.get());
+
+            assertSame(context, pool.acquire());
+            assertTrue(context.getPolyglotBindings().getMemberKeys().isEmpty());
+            // the pool retains at most one idle context
+            Context other = pool.acquire();
+            assertNotSame(context, other);
+            pool.release(context);
+            pool.release(other);
+            assertClosed(other);
+            assertSame(context, pool.acquire());
+            pool.release(context);
+        }
+    }
+
+    @Test
+    public void testNoPermittedLanguages() {
+        try (Engine engine = Engine.create()) {
+            try {
+                engine.createContextPool(Context.newBuilder(), 1);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testResetRefused() {
+        AtomicInteger resets = setupResettableLanguage(0);
+        try (Engine engine = Engine.create();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1)) {
+            Context context = pool.acquire();
+            pool.release(context);
+            assertClosed(context);
+            Context next = pool.acquire();
+            assertNotSame(context, next);
+            pool.release(next);
+            assertClosed(next);
+            // once a language refused, contexts are no longer reset
+            assertEquals(1, resets.get());
+        }
+    }
+
+    @Test
+    public void testResetRefusedLater() {
+        AtomicInteger resets = setupResettableLanguage(2);
+        try (Engine engine = Engine.create();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1)) {
+            Context context = pool.acquire();
+            pool.release(context);
+            assertSame(context, pool.acquire());
+            pool.release(context);
+            // a context whose reset was refused is not reused
+            assertClosed(context);
+            assertEquals(3, resets.get());
+            Context next = pool.acquire();
+            assertNotSame(context, next);
+            pool.release(next);
+        }
+    }
+
+    @Test
+    public void testReleaseEntered() {
+        setupResettableLanguage(Integer.MAX_VALUE);
+        try (Engine engine = Engine.create();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1)) {
+            Context context = pool.acquire();
+            context.enter();
+            try {
+                pool.release(context);
+                fail();
+            } catch (IllegalStateException e) {
+            } finally {
+                context.leave();
+            }
+            // the context is still acquired and can be released after it was left
+            pool.release(context);
+            assertSame(context, pool.acquire());
+            pool.release(context);
+        }
+    }
+
+    @Test
+    public void testReleaseForeign() {
+        setupResettableLanguage(Integer.MAX_VALUE);
+        try (Engine engine = Engine.create();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1);
+                        ContextPool otherPool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1);
+                        Context foreign = Context.newBuilder().engine(engine).build()) {
+            assertReleaseFails(pool, foreign);
+            Context other = otherPool.acquire();
+            assertReleaseFails(pool, other);
+            otherPool.release(other);
+
+            Context context = pool.acquire();
+            pool.release(context);
+            // released twice
+            assertReleaseFails(pool, context);
+        }
+    }
+
+    @Test
+    public void testResourceUsageIsReset() {
+        setupResettableLanguage(Integer.MAX_VALUE);
+        try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.ResourceUsageTracking", "true").build();
+                        ContextPool pool = engine.createContextPool(Context.newBuilder(ProxyLanguage.ID), 1)) {
+            Context context = pool.acquire();
+            context.enter();
+            ContextResourceUsageTest.consumeResources();
+            context.leave();
+            ContextResourceUsage used = ContextResourceUsage.get(context);
+            Assume.assumeTrue(used.getCPUTime() != -1 && used.getAllocatedBytes() != -1);
+            assertTrue(used.getAllocatedBytes() > 0);
+            pool.release(context);
+
+            // the next user of the context does not see the consumption of the previous one
+            assertSame(context, pool.acquire());
+            ContextResourceUsage reused = ContextResourceUsage.get(context);
+            assertEquals(0L, reused.getCPUTime());
+            assertEquals(0L, reused.getAllocatedBytes());
+            pool.release(context);
+        }
+    }
+
+    private static void assertReleaseFails(ContextPool pool, Context context) {
+        try {
+            pool.release(context);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static void assertClosed(Context context) {
+        try {
+            context.getPolyglotBindings();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.management.ContextResourceUsage;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ContextResourceUsageTest {
+
+    @Test
+    public void testTrackingDisabled() {
+        try (Context context = Context.create()) {
+            context.enter();
+            consumeResources();
+            context.leave();
+            ContextResourceUsage usage = ContextResourceUsage.get(context);
+            assertEquals(0L, usage.getCPUTime());
+            assertEquals(0L, usage.getAllocatedBytes());
+        }
+    }
+
+    @Test
+    public void testTrackingEnabled() {
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.ResourceUsageTracking", "true").build()) {
+            context.enter();
+            consumeResources();
+            // the usage of entered threads is included
+            ContextResourceUsage active = ContextResourceUsage.get(context);
+            context.leave();
+            ContextResourceUsage left = ContextResourceUsage.get(context);
+
+            Assume.assumeTrue(left.getCPUTime() != -1 && left.getAllocatedBytes() != -1);
+            assertTrue(active.getCPUTime() > 0);
+            assertTrue(active.getAllocatedBytes() > 0);
+            assertTrue(left.getCPUTime() >= active.getCPUTime());
+            assertTrue(left.getAllocatedBytes() >= active.getAllocatedBytes());
+
+            // resources consumed outside of the context are not accounted
+            consumeResources();
+            ContextResourceUsage notEntered = ContextResourceUsage.get(context);
+            assertEquals(left.getCPUTime(), notEntered.getCPUTime());
+            assertEquals(left.getAllocatedBytes(), notEntered.getAllocatedBytes());
+        }
+    }
+
+    @Test
+    public void testMonotonicWithConcurrentEnterLeave() throws Exception {
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.ResourceUsageTracking", "true").build()) {
+            ContextResourceUsage initial = ContextResourceUsage.get(context);
+            Assume.assumeTrue(initial.getCPUTime() != -1 && initial.getAllocatedBytes() != -1);
+
+            AtomicBoolean done = new AtomicBoolean();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread thread = new Thread(() -> {
+                    while (!done.get()) {
+                        context.enter();
+                        try {
+                            consumeResources();
+                        } finally {
+                            context.leave();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            try {
+                long cpuTime = 0L;
+                long allocatedBytes = 0L;
+                for (int i = 0; i < 2000; i++) {
+                    ContextResourceUsage usage = ContextResourceUsage.get(context);
+                    assertTrue(usage.getCPUTime() + " < " + cpuTime, usage.getCPUTime() >= cpuTime);
+                    assertTrue(usage.getAllocatedBytes() + " < " + allocatedBytes, usage.getAllocatedBytes() >= allocatedBytes);
+                    cpuTime = usage.getCPUTime();
+                    allocatedBytes = usage.getAllocatedBytes();
+                }
+            } finally {
+                done.set(true);
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            }
+        }
+    }
+
+    static int consumeResources() {
+        List<Object> list = new ArrayList<>();
+        int hash = 0;
+        for (int i = 0; i < 100000; i++) {
+            Object o = new int[16];
+            list.add(o);
+            hash += o.hashCode();
+        }
+        return hash + list.size();
+    }
+
+}
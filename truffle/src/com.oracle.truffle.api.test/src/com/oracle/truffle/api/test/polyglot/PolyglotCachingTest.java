@@ -44,30 +44,45 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.management.SourceCacheStatistics;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Test;
 
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.TruffleLanguage.ContextPolicy;
+import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.TruffleLanguage.ParsingRequest;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.test.GCUtils;
 
@@ -103,6 +118,245 @@ public class PolyglotCachingTest {
         assertEquals(4, parseCalled.get());
     }
 
+    @Test
+    public void testEngineSnapshot() throws Exception {
+        AtomicInteger parseCalled = new AtomicInteger(0);
+        AtomicInteger loadCalled = new AtomicInteger(0);
+        ProxyLanguage.setDelegate(new ProxyLanguage() {
+            @Override
+            protected CallTarget parse(ParsingRequest request) throws Exception {
+                parseCalled.incrementAndGet();
+                return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(request.getSource().getCharacters().toString()));
+            }
+
+            @Override
+            protected byte[] storeParsed(ParsingRequest request, CallTarget target) throws Exception {
+                return ((String) target.call()).getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            protected CallTarget loadParsed(ParsingRequest request, byte[] data) throws Exception {
+                loadCalled.incrementAndGet();
+                return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(new String(data, StandardCharsets.UTF_8)));
+            }
+        });
+        Path snapshotFile = Files.createTempDirectory("engineSnapshot").resolve("engine.snapshot");
+        try {
+            Source source = Source.create(ProxyLanguage.ID, "snapshotSource");
+            Source changedSource = Source.create(ProxyLanguage.ID, "changedSource");
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.SnapshotStore", snapshotFile.toString()).build()) {
+                try (Context c = Context.newBuilder().engine(engine).build()) {
+                    assertEquals("snapshotSource", c.eval(source).asString());
+                }
+            }
+            assertEquals(1, parseCalled.get());
+            assertTrue(Files.exists(snapshotFile));
+
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.SnapshotLoad", snapshotFile.toString()).build()) {
+                try (Context c = Context.newBuilder().engine(engine).build()) {
+                    assertEquals("snapshotSource", c.eval(source).asString());
+                    assertEquals("snapshotSource", c.eval(source).asString());
+                    assertEquals("changedSource", c.eval(changedSource).asString());
+                }
+            }
+            assertEquals(1, loadCalled.get());
+            assertEquals(2, parseCalled.get());
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(snapshotFile.getParent());
+        }
+    }
+
+    @Test
+    public void testEngineSnapshotRoundTrip() throws Exception {
+        SnapshotLanguage.PARSE_COUNT.set(0);
+        SnapshotLanguage.LOAD_COUNT.set(0);
+        Path snapshotFile = Files.createTempDirectory("engineSnapshot").resolve("engine.snapshot");
+        try {
+            Source source = Source.create(SnapshotLanguage.ID, "1+2*3+4*5*6");
+            // same name and length, only the content digest differs
+            Source sameLengthSource = Source.create(SnapshotLanguage.ID, "6*5*4+3*2+1");
+            Source uncachedSource = Source.newBuilder(SnapshotLanguage.ID, "1+2*3+4*5*6", "uncached").cached(false).build();
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.SnapshotStore", snapshotFile.toString()).build()) {
+                try (Context c = Context.newBuilder().engine(engine).build()) {
+                    assertEquals(127, c.eval(source).asLong());
+                    assertEquals(127, c.eval(uncachedSource).asLong());
+                }
+            }
+            assertEquals(2, SnapshotLanguage.PARSE_COUNT.get());
+            assertEquals(0, SnapshotLanguage.LOAD_COUNT.get());
+
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.SnapshotLoad", snapshotFile.toString()).build()) {
+                try (Context c = Context.newBuilder().engine(engine).build()) {
+                    assertEquals(127, c.eval(source).asLong());
+                    assertEquals(1, SnapshotLanguage.LOAD_COUNT.get());
+                    assertEquals(2, SnapshotLanguage.PARSE_COUNT.get());
+
+                    assertEquals(127, c.eval(uncachedSource).asLong());
+                    assertEquals(127, c.eval(sameLengthSource).asLong());
+                    assertEquals(1, SnapshotLanguage.LOAD_COUNT.get());
+                    assertEquals(4, SnapshotLanguage.PARSE_COUNT.get());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(snapshotFile.getParent());
+        }
+    }
+
+    @Test
+    public void testBoundedCacheWeight() {
+        Map<String, AtomicInteger> parses = setupWeightedLanguage();
+        try (Engine engine = createBoundedEngine(100);
+                        Context c = Context.newBuilder().engine(engine).build()) {
+            c.eval(weightedSource("a", 10));
+            c.eval(weightedSource("b", 20));
+            c.eval(weightedSource("a", 10));
+            assertStatistics(engine, 1, 2, 0, 2, 30);
+
+            // heavier than the cache allows, never cached and not counted as eviction
+            c.eval(weightedSource("heavy", 200));
+            c.eval(weightedSource("heavy", 200));
+            assertEquals(2, parses.get("heavy").get());
+            assertStatistics(engine, 1, 4, 0, 2, 30);
+        }
+    }
+
+    @Test
+    public void testBoundedCacheEvictionOrder() {
+        Map<String, AtomicInteger> parses = setupWeightedLanguage();
+        try (Engine engine = createBoundedEngine(100);
+                        Context c = Context.newBuilder().engine(engine).build()) {
+            c.eval(weightedSource("a", 30));
+            c.eval(weightedSource("b", 30));
+            c.eval(weightedSource("c", 30));
+            // a is used more frequently and becomes protected
+            c.eval(weightedSource("a", 30));
+            assertStatistics(engine, 1, 3, 0, 3, 90);
+
+            // d moves c out of the window, c is used as frequently as b, the oldest probation entry,
+            // so it replaces b
+            c.eval(weightedSource("d", 30));
+            assertStatistics(engine, 1, 4, 1, 3, 90);
+            // the window holds a typical entry, so d is still cached when it is used again
+            c.eval(weightedSource("d", 30));
+            assertEquals(1, parses.get("d").get());
+            assertStatistics(engine, 2, 4, 1, 3, 90);
+
+            // b moves d out of the window, d is used more frequently than c and replaces it
+            c.eval(weightedSource("b", 30));
+            assertEquals(2, parses.get("b").get());
+            assertStatistics(engine, 2, 5, 2, 3, 90);
+            c.eval(weightedSource("a", 30));
+            c.eval(weightedSource("d", 30));
+            assertEquals(1, parses.get("a").get());
+            assertEquals(1, parses.get("d").get());
+            assertStatistics(engine, 4, 5, 2, 3, 90);
+            c.eval(weightedSource("c", 30));
+            assertEquals(2, parses.get("c").get());
+        }
+    }
+
+    @Test
+    public void testBoundedCacheChangingWorkingSets() {
+        Map<String, AtomicInteger> parses = setupWeightedLanguage();
+        try (Engine engine = createBoundedEngine(100);
+                        Context c = Context.newBuilder().engine(engine).build()) {
+            // each working set fills the cache
+            for (String workingSet : new String[]{"a", "b", "a", "c"}) {
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < 8; i++) {
+                        c.eval(weightedSource(workingSet + i, 10));
+                    }
+                }
+                // the cache has adapted to the current working set and does not parse anymore
+                int[] parseCounts = new int[8];
+                for (int i = 0; i < 8; i++) {
+                    parseCounts[i] = parses.get(workingSet + i).get();
+                }
+                for (int i = 0; i < 8; i++) {
+                    c.eval(weightedSource(workingSet + i, 10));
+                    assertEquals(workingSet + i, parseCounts[i], parses.get(workingSet + i).get());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBoundedCacheWithSnapshotStore() throws Exception {
+        Map<String, AtomicInteger> parses = setupWeightedLanguage();
+        Path snapshotFile = Files.createTempDirectory("engineSnapshot").resolve("engine.snapshot");
+        try {
+            try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.SourceCacheSize", "1").option("engine.SnapshotStore", snapshotFile.toString()).build();
+                            Context c = Context.newBuilder().engine(engine).build()) {
+                // all parse results of a stored engine are retained, independent of the size
+                c.eval(weightedSource("a", 10));
+                c.eval(weightedSource("a", 10));
+                assertEquals(1, parses.get("a").get());
+                assertStatistics(engine, 1, 1, 0, 0, 0);
+            }
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(snapshotFile.getParent());
+        }
+    }
+
+    private static Engine createBoundedEngine(long size) {
+        return Engine.newBuilder().allowExperimentalOptions(true).option("engine.SourceCacheSize", String.valueOf(size)).build();
+    }
+
+    /*
+     * Sources are named by their first token; the second token is the number of AST nodes of the
+     * parse result.
+     */
+    private static Source weightedSource(String name, int weight) {
+        return Source.create(ProxyLanguage.ID, name + " " + weight);
+    }
+
+    private static Map<String, AtomicInteger> setupWeightedLanguage() {
+        Map<String, AtomicInteger> parses = new ConcurrentHashMap<>();
+        ProxyLanguage.setDelegate(new ProxyLanguage() {
+            @Override
+            protected CallTarget parse(ParsingRequest request) throws Exception {
+                String[] tokens = request.getSource().getCharacters().toString().split(" ");
+                parses.computeIfAbsent(tokens[0], (k) -> new AtomicInteger()).incrementAndGet();
+                return Truffle.getRuntime().createCallTarget(new WeightedRootNode(languageInstance, Integer.parseInt(tokens[1])));
+            }
+        });
+        return parses;
+    }
+
+    private static void assertStatistics(Engine engine, long hits, long misses, long evictions, long sources, long weight) {
+        SourceCacheStatistics statistics = SourceCacheStatistics.get(engine);
+        assertEquals(statistics.toString(), hits, statistics.getHitCount());
+        assertEquals(statistics.toString(), misses, statistics.getMissCount());
+        assertEquals(statistics.toString(), evictions, statistics.getEvictionCount());
+        assertEquals(statistics.toString(), sources, statistics.getCachedSourceCount());
+        assertEquals(statistics.toString(), weight, statistics.getCachedWeight());
+    }
+
+    static final class WeightedRootNode extends RootNode {
+
+        @Children private final WeightNode[] children;
+
+        WeightedRootNode(TruffleLanguage<?> language, int weight) {
+            super(language);
+            this.children = new WeightNode[weight - 1];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = new WeightNode();
+            }
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return children.length;
+        }
+
+    }
+
+    static final class WeightNode extends Node {
+    }
+
     /*
      * Tests that the outer source instance is never the same as the one passed in. That allows the
      * outer source instance to be collected while the inner one is still referenced strongly. The
@@ -287,4 +541,154 @@ public class PolyglotCachingTest {
 
     }
 
+    /*
+     * Sums of products of integer literals, e.g. 1+2*3. Parse results are stored as the pre-order
+     * encoding of their node tree.
+     */
+    @TruffleLanguage.Registration(id = SnapshotLanguage.ID, name = SnapshotLanguage.ID, version = "1.0")
+    public static class SnapshotLanguage extends TruffleLanguage<Env> {
+        public static final String ID = "SnapshotLanguage";
+
+        static final AtomicInteger PARSE_COUNT = new AtomicInteger();
+        static final AtomicInteger LOAD_COUNT = new AtomicInteger();
+
+        private static final byte TAG_CONSTANT = 0;
+        private static final byte TAG_ADD = 1;
+        private static final byte TAG_MULTIPLY = 2;
+
+        @Override
+        protected Env createContext(Env env) {
+            return env;
+        }
+
+        @Override
+        protected CallTarget parse(ParsingRequest request) throws Exception {
+            PARSE_COUNT.incrementAndGet();
+            ExpressionNode sum = null;
+            for (String term : request.getSource().getCharacters().toString().split("\\+")) {
+                ExpressionNode product = null;
+                for (String factor : term.split("\\*")) {
+                    ExpressionNode constant = new ConstantNode(Long.parseLong(factor.trim()));
+                    product = product == null ? constant : new MultiplyNode(product, constant);
+                }
+                sum = sum == null ? product : new AddNode(sum, product);
+            }
+            return Truffle.getRuntime().createCallTarget(new ExpressionRootNode(this, sum));
+        }
+
+        @Override
+        protected byte[] storeParsed(ParsingRequest request, CallTarget target) throws Exception {
+            ExpressionRootNode root = (ExpressionRootNode) ((RootCallTarget) target).getRootNode();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                write(out, root.body);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        protected CallTarget loadParsed(ParsingRequest request, byte[] data) throws Exception {
+            LOAD_COUNT.incrementAndGet();
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                return Truffle.getRuntime().createCallTarget(new ExpressionRootNode(this, read(in)));
+            }
+        }
+
+        private static void write(DataOutputStream out, ExpressionNode node) throws IOException {
+            if (node instanceof ConstantNode) {
+                out.writeByte(TAG_CONSTANT);
+                out.writeLong(((ConstantNode) node).value);
+            } else if (node instanceof AddNode) {
+                out.writeByte(TAG_ADD);
+                write(out, ((AddNode) node).left);
+                write(out, ((AddNode) node).right);
+            } else {
+                out.writeByte(TAG_MULTIPLY);
+                write(out, ((MultiplyNode) node).left);
+                write(out, ((MultiplyNode) node).right);
+            }
+        }
+
+        private static ExpressionNode read(DataInputStream in) throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case TAG_CONSTANT:
+                    return new ConstantNode(in.readLong());
+                case TAG_ADD:
+                    return new AddNode(read(in), read(in));
+                case TAG_MULTIPLY:
+                    return new MultiplyNode(read(in), read(in));
+                default:
+                    throw new IOException("Unknown node tag " + tag);
+            }
+        }
+
+        static final class ExpressionRootNode extends RootNode {
+
+            @Child ExpressionNode body;
+
+            ExpressionRootNode(TruffleLanguage<?> language, ExpressionNode body) {
+                super(language);
+                this.body = body;
+            }
+
+            @Override
+            public Object execute(VirtualFrame frame) {
+                return body.execute(frame);
+            }
+        }
+
+        abstract static class ExpressionNode extends Node {
+
+            abstract long execute(VirtualFrame frame);
+
+        }
+
+        static final class ConstantNode extends ExpressionNode {
+
+            final long value;
+
+            ConstantNode(long value) {
+                this.value = value;
+            }
+
+            @Override
+            long execute(VirtualFrame frame) {
+                return value;
+            }
+        }
+
+        static final class AddNode extends ExpressionNode {
+
+            @Child ExpressionNode left;
+            @Child ExpressionNode right;
+
+            AddNode(ExpressionNode left, ExpressionNode right) {
+                this.left = left;
+                this.right = right;
+            }
+
+            @Override
+            long execute(VirtualFrame frame) {
+                return left.execute(frame) + right.execute(frame);
+            }
+        }
+
+        static final class MultiplyNode extends ExpressionNode {
+
+            @Child ExpressionNode left;
+            @Child ExpressionNode right;
+
+            MultiplyNode(ExpressionNode left, ExpressionNode right) {
+                this.left = left;
+                this.right = right;
+            }
+
+            @Override
+            long execute(VirtualFrame frame) {
+                return left.execute(frame) * right.execute(frame);
+            }
+        }
+    }
+
 }
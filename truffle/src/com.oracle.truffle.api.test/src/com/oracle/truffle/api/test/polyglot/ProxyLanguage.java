@@ -185,6 +185,16 @@ public class ProxyLanguage extends TruffleLanguage<LanguageContext> {
         }
     }
 
+    @Override
+    protected boolean resetContext(LanguageContext context) {
+        if (wrapper) {
+            delegate.languageInstance = this;
+            return delegate.resetContext(context);
+        } else {
+            return super.resetContext(context);
+        }
+    }
+
     @Override
     protected void disposeThread(LanguageContext context, Thread thread) {
 
@@ -321,6 +331,26 @@ public class ProxyLanguage extends TruffleLanguage<LanguageContext> {
         }
     }
 
+    @Override
+    protected byte[] storeParsed(com.oracle.truffle.api.TruffleLanguage.ParsingRequest request, CallTarget target) throws Exception {
+        if (wrapper) {
+            delegate.languageInstance = this;
+            return delegate.storeParsed(request, target);
+        } else {
+            return super.storeParsed(request, target);
+        }
+    }
+
+    @Override
+    protected CallTarget loadParsed(com.oracle.truffle.api.TruffleLanguage.ParsingRequest request, byte[] data) throws Exception {
+        if (wrapper) {
+            delegate.languageInstance = this;
+            return delegate.loadParsed(request, data);
+        } else {
+            return super.loadParsed(request, data);
+        }
+    }
+
     @Override
     @SuppressWarnings("deprecation")
     protected Iterable<com.oracle.truffle.api.Scope> findTopScopes(LanguageContext context) {
@@ -535,6 +535,46 @@ public class ValueAPITest {
 
     }
 
+    @Test
+    public void testBuffersBulkRead() {
+        for (final ByteBuffer buffer : makeTestBuffers()) {
+            final Value value = context.asValue(buffer);
+            final String className = buffer.getClass().getName();
+            final byte[] bytes = new byte[10];
+            value.readBuffer(2, bytes, 1, 6);
+            for (int i = 0; i < 6; ++i) {
+                Assert.assertEquals(buffer.get(2 + i), bytes[1 + i]);
+            }
+            Assert.assertEquals("Side effect: readBuffer should not modify wrapped buffer's position", 0, buffer.position());
+            assertFails(() -> value.readBuffer(4, bytes, 0, 5), IndexOutOfBoundsException.class,
+                            "Invalid buffer access of length 5 at byte offset 4 for buffer '" + className + "[pos=0 lim=8 cap=8]'(language: Java, type: " + className + ").");
+            assertFails(() -> value.readBuffer(0, bytes, 8, 4), IndexOutOfBoundsException.class, null);
+        }
+    }
+
+    @Test
+    public void testBuffersBulkWrite() {
+        final byte[] bytes = {1, 2, 3, 4, 5, 6, 7, 8};
+        for (final ByteBuffer buffer : makeTestBuffers()) {
+            final Value value = context.asValue(buffer);
+            final String className = buffer.getClass().getName();
+            if (value.isBufferWritable()) {
+                value.writeBuffer(1, bytes, 2, 6);
+                for (int i = 0; i < 6; ++i) {
+                    Assert.assertEquals(bytes[2 + i], buffer.get(1 + i));
+                }
+                Assert.assertEquals("Side effect: writeBuffer should not modify wrapped buffer's position", 0, buffer.position());
+                assertFails(() -> value.writeBuffer(-1, bytes, 0, 1), IndexOutOfBoundsException.class,
+                                "Invalid buffer access of length 1 at byte offset -1 for buffer '" + className + "[pos=0 lim=8 cap=8]'(language: Java, type: " + className + ").");
+                assertFails(() -> value.writeBuffer(0, bytes, 4, 5), IndexOutOfBoundsException.class, null);
+            } else {
+                assertFails(() -> value.writeBuffer(0, bytes, 0, 8), UnsupportedOperationException.class,
+                                "Unsupported operation Value.writeBuffer() for '" + className + "[pos=0 lim=8 cap=8]'(language: Java, type: " + className +
+                                                "). You can ensure that the operation is supported using Value.isBufferWritable().");
+            }
+        }
+    }
+
     @Test
     public void testBuffersErrors() {
         for (final ByteBuffer buffer : BUFFERS) {
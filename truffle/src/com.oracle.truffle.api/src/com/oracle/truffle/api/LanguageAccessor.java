@@ -316,6 +316,16 @@ final class LanguageAccessor extends Accessor {
             return env.getSpi().parseInline(code, context, frame);
         }
 
+        @Override
+        public byte[] storeParsed(TruffleLanguage<?> language, Source code, String[] argumentNames, CallTarget target) throws Exception {
+            return language.storeParsed(code, argumentNames, target);
+        }
+
+        @Override
+        public CallTarget loadParsed(TruffleLanguage<?> language, Source code, String[] argumentNames, byte[] data) throws Exception {
+            return language.loadParsed(code, argumentNames, data);
+        }
+
         @Override
         public LanguageInfo getLanguageInfo(TruffleLanguage.Env env) {
             return env.getSpi().languageInfo;
@@ -346,6 +356,11 @@ final class LanguageAccessor extends Accessor {
             env.getSpi().finalizeContext(env.context);
         }
 
+        @Override
+        public boolean resetContext(TruffleLanguage.Env env) {
+            return env.getSpi().resetContext(env.context);
+        }
+
         @Override
         public void disposeThread(TruffleLanguage.Env env, Thread current) {
             env.getSpi().disposeThread(env.context, current);
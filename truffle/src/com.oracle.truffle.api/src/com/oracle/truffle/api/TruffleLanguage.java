@@ -752,6 +752,52 @@ public abstract class TruffleLanguage<C> {
         return null;
     }
 
+    /**
+     * Serializes the result of a previous {@link #parse(ParsingRequest) parse request} so that it
+     * can be stored in an engine snapshot. Engine snapshots are written when an engine with the
+     * <code>engine.SnapshotStore</code> option is closed, for all cached parse results of the
+     * engine. The returned data is passed to {@link #loadParsed(ParsingRequest, byte[])} when the
+     * same source is parsed by an engine that loads the snapshot with the
+     * <code>engine.SnapshotLoad</code> option.
+     * <p>
+     * The data must contain everything needed to recreate the call target, including its
+     * {@link Node} tree and any shapes or other language data it refers to. It must not depend on
+     * the state of a language context. This method may be invoked after all contexts of the engine
+     * were closed. By default <code>null</code> is returned and the source is parsed again when
+     * the snapshot is loaded.
+     *
+     * @param request the request that was used to parse the call target
+     * @param target the call target returned by {@link #parse(ParsingRequest)} for the request
+     * @return the serialized call target or <code>null</code> if it cannot be serialized
+     * @throws Exception if the serialization fails, the call target is not stored
+     * @see #loadParsed(ParsingRequest, byte[])
+     * @since 21.2
+     */
+    protected byte[] storeParsed(ParsingRequest request, CallTarget target) throws Exception {
+        return null;
+    }
+
+    /**
+     * Restores a call target from data previously produced by
+     * {@link #storeParsed(ParsingRequest, CallTarget)}. Invoked instead of
+     * {@link #parse(ParsingRequest)} if the engine snapshot contains data for the requested source.
+     * The engine only passes data that was stored for a source with the same name, MIME type,
+     * content and argument names, by the same language version and with the same language
+     * options. If <code>null</code> is returned the source is parsed instead. By default
+     * <code>null</code> is returned.
+     *
+     * @param request request for parsing
+     * @param data the data stored for the request
+     * @return the restored call target or <code>null</code> to parse the source instead
+     * @throws Exception exception can be thrown when restoring goes wrong, the source is parsed
+     *             instead
+     * @see #storeParsed(ParsingRequest, CallTarget)
+     * @since 21.2
+     */
+    protected CallTarget loadParsed(ParsingRequest request, byte[] data) throws Exception {
+        return null;
+    }
+
     /**
      * Returns a set of option descriptors that are supported by this language. Option values are
      * accessible using the {@link Env#getOptions() environment} when the context is
@@ -800,6 +846,33 @@ public abstract class TruffleLanguage<C> {
         return false;
     }
 
+    /**
+     * Resets a language context so that it can be reused by the next user of a pooled
+     * {@link org.graalvm.polyglot.Context context}. See
+     * {@link org.graalvm.polyglot.Engine#createContextPool(org.graalvm.polyglot.Context.Builder, int)}
+     * for information on how to pool contexts.
+     * <p>
+     * A language that supports reset must bring the context back to the state it had after
+     * {@link #initializeContext(Object) initialization}. All global state created by guest code,
+     * for example global variables, modified builtins or loaded modules, must be discarded.
+     * Caches that do not observably depend on guest code execution, like parsed sources, may be
+     * retained. This method is invoked with the context entered on the current thread while no
+     * other thread is entered in the context. It is invoked for all initialized language contexts
+     * in an unspecified order.
+     *
+     * @param context the context created by
+     *            {@link #createContext(com.oracle.truffle.api.TruffleLanguage.Env)}
+     * @return true in case the context was reset successfully. If any language returns false
+     *         the context is closed instead of being reused. Language contexts that were already
+     *         reset at that point are not restored, they are disposed when the context is closed.
+     *         By default it returns {@code false} to prevent reuse of contexts by languages which
+     *         are not aware of context pooling.
+     * @since 21.2
+     */
+    protected boolean resetContext(C context) {
+        return false;
+    }
+
     /**
      * Request for parsing. Contains information of what to parse and in which context.
      *
@@ -1519,6 +1592,24 @@ public abstract class TruffleLanguage<C> {
         return target;
     }
 
+    byte[] storeParsed(Source source, String[] argumentNames, CallTarget target) throws Exception {
+        ParsingRequest request = new ParsingRequest(source, argumentNames);
+        try {
+            return storeParsed(request, target);
+        } finally {
+            request.dispose();
+        }
+    }
+
+    CallTarget loadParsed(Source source, String[] argumentNames, byte[] data) throws Exception {
+        ParsingRequest request = new ParsingRequest(source, argumentNames);
+        try {
+            return loadParsed(request, data);
+        } finally {
+            request.dispose();
+        }
+    }
+
     ExecutableNode parseInline(Source source, Node context, MaterializedFrame frame) {
         assert context != null;
         InlineParsingRequest request = new InlineParsingRequest(source, context, frame);
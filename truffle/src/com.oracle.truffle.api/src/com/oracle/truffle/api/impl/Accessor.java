@@ -599,6 +599,10 @@ public abstract class Accessor {
 
         public abstract ExecutableNode parseInline(Env env, Source code, Node context, MaterializedFrame frame);
 
+        public abstract byte[] storeParsed(TruffleLanguage<?> language, Source code, String[] argumentNames, CallTarget target) throws Exception;
+
+        public abstract CallTarget loadParsed(TruffleLanguage<?> language, Source code, String[] argumentNames, byte[] data) throws Exception;
+
         public abstract boolean isVisible(Env env, Object value);
 
         public abstract String legacyToString(Env env, Object obj);
@@ -641,6 +645,8 @@ public abstract class Accessor {
 
         public abstract void finalizeContext(Env localEnv);
 
+        public abstract boolean resetContext(Env localEnv);
+
         public abstract Iterable<com.oracle.truffle.api.Scope> findLegacyLocalScopes(Env env, Node node, Frame frame);
 
         public abstract Iterable<com.oracle.truffle.api.Scope> findTopScopes(Env env);
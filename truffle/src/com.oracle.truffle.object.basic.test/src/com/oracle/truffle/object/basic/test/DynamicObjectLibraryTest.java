@@ -554,6 +554,39 @@ public class DynamicObjectLibraryTest extends AbstractParametrizedLibraryTest {
         assertEquals(v2, lib.getOrDefault(o1, "key2", null));
     }
 
+    @Test
+    public void testGrowPresizedExtensionArrays() {
+        int propertyCount = 40;
+        DynamicObjectLibrary lib = createDispatchedLibrary();
+        // the first object creates the shapes, the following ones are presized
+        for (int round = 0; round < 3; round++) {
+            DynamicObject o1 = createEmpty();
+            for (int i = 0; i < propertyCount; i++) {
+                uncachedPut(o1, "key" + i, propertyValue(i), 0);
+                if (round == 2 && i % 7 == 0) {
+                    assertTrue(lib.removeKey(o1, "key" + (i / 2)));
+                    uncachedPut(o1, "key" + (i / 2), propertyValue(i / 2), 0);
+                }
+            }
+            for (int i = 0; i < propertyCount; i++) {
+                assertEquals(propertyValue(i), lib.getOrDefault(o1, "key" + i, null));
+            }
+        }
+    }
+
+    private static Object propertyValue(int i) {
+        switch (i % 4) {
+            case 0:
+                return i;
+            case 1:
+                return (double) i;
+            case 2:
+                return (long) i << 40;
+            default:
+                return "value" + i;
+        }
+    }
+
     @Test
     public void testResetShape() {
         int v1 = 42;
@@ -40,8 +40,24 @@
  */
 package com.oracle.truffle.object.basic.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.object.ObjectType;
 import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
@@ -86,4 +102,124 @@ public class ShapeTest {
                         "\"b\":Object@0",
                         "\"a\":int@0"}, shapeWithExtArray);
     }
+
+    @Test
+    public void testConcurrentTransitions() throws Exception {
+        int threadCount = 16;
+        int propertyCount = 20;
+        Shape rootShape = Shape.newBuilder().propertyAssumptions(true).build();
+        DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Shape>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    DynamicObject object = new TestDynamicObjectMinimal(rootShape);
+                    for (int i = 0; i < propertyCount; i++) {
+                        library.put(object, "p" + i, i);
+                        rootShape.getPropertyAssumption("p" + i);
+                    }
+                    return object.getShape();
+                }));
+            }
+            start.countDown();
+            Shape expected = futures.get(0).get();
+            assertEquals(propertyCount, expected.getPropertyCount());
+            for (Future<Shape> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentInvalidateThenWrite() throws Exception {
+        int threadCount = 8;
+        int rounds = 200;
+        DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                Shape rootShape = Shape.newBuilder().propertyAssumptions(true).build();
+                DynamicObject template = new TestDynamicObjectMinimal(rootShape);
+                library.put(template, "p", 0);
+                Shape shape = template.getShape();
+                Assumption assumption = shape.getPropertyAssumption("p");
+                assertTrue(assumption.isValid());
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threadCount; t++) {
+                    int value = t;
+                    futures.add(executor.submit(() -> {
+                        DynamicObject object = new TestDynamicObjectMinimal(rootShape);
+                        library.put(object, "p", 0);
+                        start.await();
+                        // changing the flags transitions the property and must invalidate it
+                        library.putWithFlags(object, "p", value, 1);
+                        assertFalse(assumption.isValid());
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testManyTransitionsFromOneShape() {
+        int propertyCount = 2000;
+        Shape rootShape = Shape.newBuilder().build();
+        DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < propertyCount; i++) {
+            DynamicObject object = new TestDynamicObjectMinimal(rootShape);
+            library.put(object, "p" + i, i);
+            shapes.add(object.getShape());
+        }
+        for (int i = 0; i < propertyCount; i++) {
+            DynamicObject object = new TestDynamicObjectMinimal(rootShape);
+            library.put(object, "p" + i, i);
+            assertSame(shapes.get(i), object.getShape());
+        }
+    }
+
+    @Test
+    public void testExtensionArrayPresizedPerTransitionPath() throws Exception {
+        Shape rootShape = Shape.newBuilder().build();
+        DynamicObjectLibrary library = DynamicObjectLibrary.getUncached();
+
+        DynamicObject large = new TestDynamicObjectMinimal(rootShape);
+        for (int i = 0; i < 20; i++) {
+            library.put(large, "a" + i, "value");
+        }
+
+        // same transition path as the large object: presized
+        DynamicObject samePath = new TestDynamicObjectMinimal(rootShape);
+        library.put(samePath, "a0", "value");
+        // a different path from the same root shape: not presized
+        DynamicObject otherPath = new TestDynamicObjectMinimal(rootShape);
+        library.put(otherPath, "b0", "value");
+
+        int samePathCapacity = getObjectArray(samePath).length;
+        int otherPathCapacity = getObjectArray(otherPath).length;
+        assertTrue(samePathCapacity + " > " + otherPathCapacity, samePathCapacity > otherPathCapacity);
+    }
+
+    private static Object[] getObjectArray(DynamicObject object) throws ReflectiveOperationException {
+        Field field = DynamicObject.class.getDeclaredField("extRef");
+        field.setAccessible(true);
+        return (Object[]) field.get(object);
+    }
 }
@@ -82,11 +82,18 @@ final class DynamicObjectSupport {
         int sourceCapacity = getObjectArrayCapacity(oldShape);
         int destinationCapacity = getObjectArrayCapacity(newShape);
         if (sourceCapacity < destinationCapacity) {
-            Object[] newObjectStore = new Object[destinationCapacity];
+            Object[] newObjectStore;
             if (sourceCapacity != 0) {
-                int sourceSize = getObjectArraySize(oldShape);
                 Object[] oldObjectStore = ACCESS.getObjectArray(object);
+                if (oldObjectStore.length >= destinationCapacity) {
+                    // presized
+                    return;
+                }
+                newObjectStore = new Object[destinationCapacity];
+                int sourceSize = getObjectArraySize(oldShape);
                 ACCESS.arrayCopy(oldObjectStore, newObjectStore, sourceSize);
+            } else {
+                newObjectStore = new Object[((ShapeImpl) newShape).getInitialObjectArrayCapacity()];
             }
             ACCESS.setObjectArray(object, newObjectStore);
         }
@@ -116,11 +123,18 @@ final class DynamicObjectSupport {
         int sourceCapacity = getPrimitiveArrayCapacity(oldShape);
         int destinationCapacity = getPrimitiveArrayCapacity(newShape);
         if (sourceCapacity < destinationCapacity) {
-            int[] newPrimitiveArray = new int[destinationCapacity];
+            int[] newPrimitiveArray;
             if (sourceCapacity != 0) {
-                int sourceSize = getPrimitiveArraySize(oldShape);
                 int[] oldPrimitiveArray = ACCESS.getPrimitiveArray(object);
+                if (oldPrimitiveArray.length >= destinationCapacity) {
+                    // presized
+                    return;
+                }
+                newPrimitiveArray = new int[destinationCapacity];
+                int sourceSize = getPrimitiveArraySize(oldShape);
                 ACCESS.arrayCopy(oldPrimitiveArray, newPrimitiveArray, sourceSize);
+            } else {
+                newPrimitiveArray = new int[((ShapeImpl) newShape).getInitialPrimitiveArrayCapacity()];
             }
             ACCESS.setPrimitiveArray(object, newPrimitiveArray);
         }
@@ -70,6 +70,12 @@ public final class ObjectStorageOptions {
 
     static final boolean TriePropertyMap = booleanOption(OPTION_PREFIX + "TriePropertyMap", true);
 
+    /**
+     * Upper bound for the capacity of extension arrays that are allocated ahead of time based on
+     * the sizes previously reached along the same transition path. 0 disables presizing.
+     */
+    static final int MaxPresizedArrayCapacity = Integer.getInteger(OPTION_PREFIX + "MaxPresizedArrayCapacity", 16);
+
     // Debug options (should be final)
     /** @since 0.17 or earlier */
     public static final boolean TraceReshape = booleanOption(OPTION_PREFIX + "TraceReshape", false);
@@ -52,14 +52,13 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 
-import org.graalvm.collections.EconomicMap;
-
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -127,6 +126,14 @@ public abstract class ShapeImpl extends Shape {
     /** @since 0.17 or earlier */
     protected final boolean hasPrimitiveArray;
 
+    /*
+     * Largest extension array sizes reached by the shapes derived from this shape, i.e. along the
+     * transition paths that continue from this shape. Updates are racy; a lost update only makes
+     * presizing less effective.
+     */
+    private int descendantObjectArraySize;
+    private int descendantPrimitiveArraySize;
+
     /** @since 0.17 or earlier */
     protected final int depth;
     /** @since 0.17 or earlier */
@@ -142,9 +149,11 @@ public abstract class ShapeImpl extends Shape {
      * <ol>
      * <li>{@code null}: empty map
      * <li>{@link StrongKeyWeakValueEntry}: immutable single entry map
-     * <li>{@link TransitionMap}: mutable multiple entry map
+     * <li>{@link TransitionMap}: immutable multiple entry map
      * </ol>
      *
+     * Updates are published with a compare-and-set, so lookups never block.
+     *
      * @see #queryTransition(Transition)
      * @see #addTransitionInternal(Transition, ShapeImpl)
      */
@@ -201,6 +210,10 @@ public abstract class ShapeImpl extends Shape {
 
         this.validAssumption = createValidAssumption();
 
+        if (parent != null) {
+            parent.recordDescendantArraySizes(objectArraySize, primitiveArraySize);
+        }
+
         int allFlags = flags;
         if ((allFlags & FLAG_HAS_INSTANCE_PROPERTIES) == 0) {
             if (objectFieldSize != 0 || objectArraySize != 0 || primitiveFieldSize != 0 || primitiveArraySize != 0) {
@@ -336,6 +349,52 @@ public abstract class ShapeImpl extends Shape {
         return primitiveArraySize;
     }
 
+    /**
+     * Propagates the extension array sizes of a new child shape to this shape and its ancestors.
+     * Stops at the first ancestor that has already seen larger sizes, since its own ancestors have
+     * seen them too.
+     */
+    private void recordDescendantArraySizes(int objectSize, int primitiveSize) {
+        for (ShapeImpl shape = this; shape != null; shape = shape.parent) {
+            boolean updated = false;
+            if (objectSize > shape.descendantObjectArraySize) {
+                shape.descendantObjectArraySize = objectSize;
+                updated = true;
+            }
+            if (primitiveSize > shape.descendantPrimitiveArraySize) {
+                shape.descendantPrimitiveArraySize = primitiveSize;
+                updated = true;
+            }
+            if (!updated) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Capacity of the object extension array allocated for an object that transitions to this
+     * shape and does not have an extension array yet. Objects that take the same transition path
+     * typically grow to similar sizes, so the array is presized for the largest shape previously
+     * derived from this shape, avoiding repeated reallocation while properties are added.
+     */
+    final int getInitialObjectArrayCapacity() {
+        return Math.max(objectArrayCapacity, presizedCapacity(descendantObjectArraySize));
+    }
+
+    /**
+     * Capacity of the primitive extension array allocated for an object that transitions to this
+     * shape and does not have a primitive extension array yet.
+     *
+     * @see #getInitialObjectArrayCapacity()
+     */
+    final int getInitialPrimitiveArrayCapacity() {
+        return Math.max(primitiveArrayCapacity, presizedCapacity(descendantPrimitiveArraySize));
+    }
+
+    private static int presizedCapacity(int descendantSize) {
+        return Math.min(capacityFromSize(descendantSize), ObjectStorageOptions.MaxPresizedArrayCapacity);
+    }
+
     /** @since 0.17 or earlier */
     public final boolean hasPrimitiveArray() {
         return hasPrimitiveArray;
@@ -401,26 +460,32 @@ public abstract class ShapeImpl extends Shape {
             } else {
                 next = addToTransitionMap(transition, successor, asTransitionMap(prev));
             }
-            if (prev == next) {
-                break;
-            }
         } while (!TRANSITION_MAP_UPDATER.compareAndSet(this, prev, next));
+
+        // count only the published map, not the copies discarded by failed compare-and-sets
+        if (isTransitionMap(next)) {
+            if (transition.hasConstantLocation()) {
+                shapeCacheWeakKeys.inc();
+            }
+            for (int i = asTransitionMap(next).getExpungedCount(); i > 0; i--) {
+                shapeCacheExpunged.inc();
+            }
+        }
     }
 
     private static Object newTransitionMap(Transition firstTransition, ShapeImpl firstShape, Transition secondTransition, ShapeImpl secondShape) {
         TransitionMap<Transition, ShapeImpl> map = newTransitionMap();
-        addToTransitionMap(firstTransition, firstShape, map);
-        addToTransitionMap(secondTransition, secondShape, map);
+        map = addToTransitionMap(firstTransition, firstShape, map);
+        map = addToTransitionMap(secondTransition, secondShape, map);
         return map;
     }
 
-    private static Object addToTransitionMap(Transition transition, ShapeImpl successor, TransitionMap<Transition, ShapeImpl> map) {
+    private static TransitionMap<Transition, ShapeImpl> addToTransitionMap(Transition transition, ShapeImpl successor, TransitionMap<Transition, ShapeImpl> map) {
         if (transition.hasConstantLocation()) {
-            map.putWeakKey(transition, successor);
+            return map.copyAndPutWeakKey(transition, successor);
         } else {
-            map.put(transition, successor);
+            return map.copyAndPut(transition, successor);
         }
-        return map;
     }
 
     private static TransitionMap<Transition, ShapeImpl> newTransitionMap() {
@@ -1504,45 +1569,61 @@ public abstract class ShapeImpl extends Shape {
         }
     }
 
+    /**
+     * Property assumptions shared by all shapes of a shape tree. Lookups and invalidations do not
+     * lock; concurrent updates of the same property are resolved with compare-and-set, such that
+     * an assumption is only created once. An assumption is always invalidated before it is
+     * replaced or removed, so a thread that observes the replacement cannot write the property
+     * while the old assumption is still valid.
+     */
     static final class PropertyAssumptions {
-        private final EconomicMap<Object, Assumption> stablePropertyAssumptions;
+        private final ConcurrentHashMap<Object, Assumption> stablePropertyAssumptions;
         private final Assumption singleContextAssumption;
 
         PropertyAssumptions(Assumption singleContextAssumption) {
             this.singleContextAssumption = singleContextAssumption;
-            this.stablePropertyAssumptions = EconomicMap.create();
+            this.stablePropertyAssumptions = new ConcurrentHashMap<>();
         }
 
-        synchronized Assumption getPropertyAssumption(Object propertyName) {
+        Assumption getPropertyAssumption(Object propertyName) {
             CompilerAsserts.neverPartOfCompilation();
-            EconomicMap<Object, Assumption> map = stablePropertyAssumptions;
+            ConcurrentHashMap<Object, Assumption> map = stablePropertyAssumptions;
             Assumption assumption = map.get(propertyName);
             if (assumption != null) {
                 return assumption;
             }
-            assumption = Truffle.getRuntime().createAssumption(propertyName.toString());
-            map.put(propertyName, assumption);
+            Assumption newAssumption = Truffle.getRuntime().createAssumption(propertyName.toString());
+            assumption = map.putIfAbsent(propertyName, newAssumption);
+            if (assumption != null) {
+                return assumption;
+            }
             propertyAssumptionsCreated.inc();
-            return assumption;
+            return newAssumption;
         }
 
-        synchronized void invalidatePropertyAssumption(Object propertyName) {
+        void invalidatePropertyAssumption(Object propertyName) {
             CompilerAsserts.neverPartOfCompilation();
-            EconomicMap<Object, Assumption> map = stablePropertyAssumptions;
-            Assumption assumption = map.get(propertyName);
-            if (assumption != null && assumption != neverValidAssumption()) {
+            ConcurrentHashMap<Object, Assumption> map = stablePropertyAssumptions;
+            Assumption assumption;
+            do {
+                assumption = map.get(propertyName);
+                if (assumption == null || assumption == neverValidAssumption()) {
+                    return;
+                }
+                // invalidate before publishing neverValid; invalidating twice is harmless
                 assumption.invalidate("invalidatePropertyAssumption");
-                map.put(propertyName, neverValidAssumption());
-                propertyAssumptionsRemoved.inc();
-            }
+            } while (!map.replace(propertyName, assumption, neverValidAssumption()));
+            propertyAssumptionsRemoved.inc();
         }
 
-        synchronized void invalidateAllPropertyAssumptions() {
+        void invalidateAllPropertyAssumptions() {
             CompilerAsserts.neverPartOfCompilation();
-            for (Assumption assumption : stablePropertyAssumptions.getValues()) {
+            ConcurrentHashMap<Object, Assumption> map = stablePropertyAssumptions;
+            for (Map.Entry<Object, Assumption> entry : map.entrySet()) {
+                Assumption assumption = entry.getValue();
                 assumption.invalidate("invalidateAllPropertyAssumptions");
+                map.remove(entry.getKey(), assumption);
             }
-            stablePropertyAssumptions.clear();
         }
 
         Assumption getSingleContextAssumption() {
@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.object;
 
-import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Map;
 
@@ -56,11 +55,6 @@ final class StrongKeyWeakValueEntry<K, V> extends WeakReference<V> implements Ma
         this.key = key;
     }
 
-    StrongKeyWeakValueEntry(K key, V value, ReferenceQueue<? super V> queue) {
-        super(value, queue);
-        this.key = key;
-    }
-
     @Override
     public K getKey() {
         return key;
@@ -40,160 +40,290 @@
  */
 package com.oracle.truffle.object;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 
-import org.graalvm.collections.EconomicMap;
-import org.graalvm.collections.Equivalence;
-import org.graalvm.collections.MapCursor;
-
 /**
- * A synchronized hash map with weakly referenced values. Cleared value references are expunged only
- * when the map is mutated. Keys may be strongly or weakly referenced.
+ * An immutable hash map with weakly referenced values, stored as a hash array mapped trie like
+ * {@link TrieNode}. Insertions return an updated map that shares every node off the insertion path
+ * with this map, so an insertion only copies a few small arrays. The owning shape publishes the
+ * updated map with a compare-and-set, so lookups and iteration never block. Cleared entries are
+ * expunged from the nodes on the insertion path. Keys may be strongly or weakly referenced.
  */
 final class TransitionMap<K, V> {
 
-    /** Key is either {@code K} or {@code WeakKey<K>}. */
-    private final EconomicMap<Object, StrongKeyWeakValueEntry<Object, V>> map;
-    private final ReferenceQueue<V> queue;
+    private final Node root;
 
-    private static final Equivalence WEAK_KEY_EQUIVALENCE = new WeakKeyEquivalence();
+    /** Number of cleared entries that were dropped when this map was created. */
+    private final int expungedCount;
 
     TransitionMap() {
-        this.map = EconomicMap.create(WEAK_KEY_EQUIVALENCE);
-        this.queue = new ReferenceQueue<>();
+        this(new BitmapNode(0, new Object[0]), 0);
+    }
+
+    private TransitionMap(Node root, int expungedCount) {
+        this.root = root;
+        this.expungedCount = expungedCount;
+    }
+
+    int getExpungedCount() {
+        return expungedCount;
     }
 
     public boolean containsKey(Object key) {
         return get(key) != null;
     }
 
-    private V getValue(StrongKeyWeakValueEntry<? super K, V> entry) {
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        StrongKeyWeakValueEntry<Object, V> entry = (StrongKeyWeakValueEntry<Object, V>) root.find(key, key.hashCode(), 0);
         return entry == null ? null : entry.get();
     }
 
+    private TransitionMap<K, V> copyAndPutAnyKey(Object key, V value) {
+        int[] expunged = new int[1];
+        Node newRoot = root.put(key, key.hashCode(), new StrongKeyWeakValueEntry<>(key, value), 0, expunged);
+        return new TransitionMap<>(newRoot, expunged[0]);
+    }
+
+    /**
+     * Returns a copy of this map with an additional entry with a strongly referenced key.
+     */
+    public TransitionMap<K, V> copyAndPut(K key, V value) {
+        return copyAndPutAnyKey(key, value);
+    }
+
+    /**
+     * Returns a copy of this map with an additional entry with a weakly referenced key.
+     */
+    public TransitionMap<K, V> copyAndPutWeakKey(K key, V value) {
+        WeakKey<K> weakKey = new WeakKey<>(key);
+        return copyAndPutAnyKey(weakKey, value);
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> consumer) {
+        iterateEntries(new BiFunction<K, V, Object>() {
+            @Override
+            public Object apply(K key, V value) {
+                consumer.accept(key, value);
+                return null;
+            }
+        });
+    }
+
+    public <R> R iterateEntries(BiFunction<? super K, ? super V, R> consumer) {
+        return iterateEntries(root, consumer);
+    }
+
     @SuppressWarnings("unchecked")
-    public V get(Object key) {
-        synchronized (queue) {
-            return getValue(map.get(key));
+    private <R> R iterateEntries(Node node, BiFunction<? super K, ? super V, R> consumer) {
+        for (Object slot : node.slots) {
+            R result;
+            if (slot instanceof Node) {
+                result = iterateEntries((Node) slot, consumer);
+            } else {
+                StrongKeyWeakValueEntry<Object, V> entry = (StrongKeyWeakValueEntry<Object, V>) slot;
+                V value = entry.get();
+                K key = unwrapKey(entry.getKey());
+                result = (value != null && key != null) ? consumer.apply(key, value) : null;
+            }
+            if (result != null) {
+                return result;
+            }
         }
+        return null;
     }
 
-    private V putAnyKey(Object key, V value) {
-        synchronized (queue) {
-            expungeStaleEntries();
-            return getValue(map.put(key, new StrongKeyWeakValueEntry<>(key, value, queue)));
+    @SuppressWarnings("unchecked")
+    private K unwrapKey(Object key) {
+        if (key instanceof WeakKey<?>) {
+            return ((WeakKey<K>) key).get();
         }
+        return (K) key;
     }
 
     /**
-     * Insert with strongly referenced key.
+     * Compares a stored key with a lookup key; either may be a {@link WeakKey}.
      */
-    public V put(K key, V value) {
-        return putAnyKey(key, value);
+    static boolean keyEquals(Object a, Object b) {
+        boolean aIsWeak = a instanceof WeakKey<?>;
+        boolean bIsWeak = b instanceof WeakKey<?>;
+        if (aIsWeak && !bIsWeak) {
+            return Objects.equals(((WeakKey<?>) a).get(), b);
+        } else if (!aIsWeak && bIsWeak) {
+            return Objects.equals(a, ((WeakKey<?>) b).get());
+        }
+        return a.equals(b);
     }
 
     /**
-     * Insert with weakly referenced key.
+     * Returns {@code true} if the slot is an entry whose value or weak key has been cleared.
      */
-    public V putWeakKey(K key, V value) {
-        ShapeImpl.shapeCacheWeakKeys.inc();
-        WeakKey<K> weakKey = new WeakKey<>(key);
-        return putAnyKey(weakKey, value);
+    static boolean isCleared(Object slot) {
+        if (slot instanceof StrongKeyWeakValueEntry<?, ?>) {
+            StrongKeyWeakValueEntry<?, ?> entry = (StrongKeyWeakValueEntry<?, ?>) slot;
+            Object key = entry.getKey();
+            return entry.get() == null || (key instanceof WeakKey<?> && ((WeakKey<?>) key).get() == null);
+        }
+        return false;
     }
 
-    public V remove(Object key) {
-        synchronized (queue) {
-            expungeStaleEntries();
-            return getValue(map.removeKey(key));
+    private abstract static class Node {
+        /** Entries ({@link StrongKeyWeakValueEntry}) and child nodes. */
+        final Object[] slots;
+
+        Node(Object[] slots) {
+            this.slots = slots;
         }
-    }
 
-    private void expungeStaleEntries() {
-        for (Reference<? extends V> r; (r = queue.poll()) != null;) {
-            if (r instanceof StrongKeyWeakValueEntry<?, ?>) {
-                StrongKeyWeakValueEntry<?, ?> entry = (StrongKeyWeakValueEntry<?, ?>) r;
-                if (map.get(entry.getKey()) == entry) {
-                    map.removeKey(entry.getKey());
-                    ShapeImpl.shapeCacheExpunged.inc();
+        abstract StrongKeyWeakValueEntry<?, ?> find(Object key, int hash, int shift);
+
+        /**
+         * Returns a copy of this node with the entry added, replacing any entry with an equal key.
+         * Cleared entries of the copied nodes are dropped and counted in {@code expunged[0]}.
+         */
+        abstract Node put(Object key, int hash, StrongKeyWeakValueEntry<?, ?> entry, int shift, int[] expunged);
+
+        static Node combine(StrongKeyWeakValueEntry<?, ?> entry1, int hash1, StrongKeyWeakValueEntry<?, ?> entry2, int hash2, int shift) {
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{entry1, entry2});
+            }
+            int pos1 = TrieNode.pos(hash1, shift);
+            int pos2 = TrieNode.pos(hash2, shift);
+            if (pos1 != pos2) {
+                int bitmap = TrieNode.bit(pos1) | TrieNode.bit(pos2);
+                if (pos1 < pos2) {
+                    return new BitmapNode(bitmap, new Object[]{entry1, entry2});
+                } else {
+                    return new BitmapNode(bitmap, new Object[]{entry2, entry1});
                 }
+            } else {
+                return new BitmapNode(TrieNode.bit(pos1), new Object[]{combine(entry1, hash1, entry2, hash2, shift + TrieNode.HASH_SHIFT)});
             }
         }
     }
 
-    public void clear() {
-        synchronized (queue) {
-            while (queue.poll() != null) {
-                // clear out ref queue.
+    private static final class BitmapNode extends Node {
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            super(slots);
+            this.bitmap = bitmap;
+            assert Integer.bitCount(bitmap) == slots.length;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        StrongKeyWeakValueEntry<?, ?> find(Object key, int hash, int shift) {
+            int bit = TrieNode.bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Node) {
+                return ((Node) slot).find(key, hash, shift + TrieNode.HASH_SHIFT);
             }
-            map.clear();
+            StrongKeyWeakValueEntry<?, ?> entry = (StrongKeyWeakValueEntry<?, ?>) slot;
+            return keyEquals(entry.getKey(), key) ? entry : null;
         }
-    }
 
-    public void forEach(BiConsumer<? super K, ? super V> consumer) {
-        synchronized (queue) {
-            MapCursor<Object, StrongKeyWeakValueEntry<Object, V>> cursor = map.getEntries();
-            while (cursor.advance()) {
-                V value = cursor.getValue().get();
-                if (value != null) {
-                    K key = unwrapKey(cursor.getKey());
-                    if (key != null) {
-                        consumer.accept(key, value);
-                    }
+        @Override
+        Node put(Object key, int hash, StrongKeyWeakValueEntry<?, ?> entry, int shift, int[] expunged) {
+            int bit = TrieNode.bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                return expungeCleared(bitmap | bit, TrieNode.copyAndInsert(slots, index, entry), entry, expunged);
+            }
+            Object slot = slots[index];
+            Object newSlot;
+            if (slot instanceof Node) {
+                newSlot = ((Node) slot).put(key, hash, entry, shift + TrieNode.HASH_SHIFT, expunged);
+            } else if (isCleared(slot)) {
+                expunged[0]++;
+                newSlot = entry;
+            } else {
+                StrongKeyWeakValueEntry<?, ?> existing = (StrongKeyWeakValueEntry<?, ?>) slot;
+                if (keyEquals(existing.getKey(), key)) {
+                    newSlot = entry;
+                } else {
+                    newSlot = combine(existing, existing.getKey().hashCode(), entry, hash, shift + TrieNode.HASH_SHIFT);
                 }
             }
+            return expungeCleared(bitmap, TrieNode.copyAndSet(slots, index, newSlot), newSlot, expunged);
         }
-    }
 
-    public <R> R iterateEntries(BiFunction<? super K, ? super V, R> consumer) {
-        synchronized (queue) {
-            MapCursor<Object, StrongKeyWeakValueEntry<Object, V>> cursor = map.getEntries();
-            while (cursor.advance()) {
-                V value = cursor.getValue().get();
-                if (value != null) {
-                    K key = unwrapKey(cursor.getKey());
-                    if (key != null) {
-                        R result = consumer.apply(key, value);
-                        if (result != null) {
-                            return result;
-                        }
+        /**
+         * Creates a node from a copied slot array, dropping cleared entries other than the one that
+         * was just inserted.
+         */
+        private static BitmapNode expungeCleared(int bitmap, Object[] slots, Object inserted, int[] expunged) {
+            Object[] live = null;
+            int liveBitmap = bitmap;
+            int liveCount = 0;
+            int remaining = bitmap;
+            for (int i = 0; i < slots.length; i++) {
+                int bit = Integer.lowestOneBit(remaining);
+                remaining ^= bit;
+                if (slots[i] != inserted && isCleared(slots[i])) {
+                    if (live == null) {
+                        live = Arrays.copyOf(slots, slots.length);
+                        liveCount = i;
                     }
+                    liveBitmap ^= bit;
+                } else if (live != null) {
+                    live[liveCount++] = slots[i];
                 }
             }
+            if (live == null) {
+                return new BitmapNode(bitmap, slots);
+            }
+            expunged[0] += slots.length - liveCount;
+            return new BitmapNode(liveBitmap, Arrays.copyOf(live, liveCount));
         }
-        return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private K unwrapKey(Object key) {
-        if (key instanceof WeakKey<?>) {
-            return ((WeakKey<K>) key).get();
-        }
-        return (K) key;
-    }
+    private static final class CollisionNode extends Node {
+        private final int hash;
 
-    private static final class WeakKeyEquivalence extends Equivalence {
+        CollisionNode(int hash, Object[] slots) {
+            super(slots);
+            this.hash = hash;
+        }
 
         @Override
-        public int hashCode(Object o) {
-            return o.hashCode();
+        StrongKeyWeakValueEntry<?, ?> find(Object key, int lookupHash, int shift) {
+            if (lookupHash == hash) {
+                for (Object slot : slots) {
+                    StrongKeyWeakValueEntry<?, ?> entry = (StrongKeyWeakValueEntry<?, ?>) slot;
+                    if (keyEquals(entry.getKey(), key)) {
+                        return entry;
+                    }
+                }
+            }
+            return null;
         }
 
         @Override
-        public boolean equals(Object a, Object b) {
-            boolean aIsWeak = a instanceof WeakKey<?>;
-            boolean bIsWeak = b instanceof WeakKey<?>;
-            if (aIsWeak && !bIsWeak) {
-                return Objects.equals(((WeakKey<?>) a).get(), b);
-            } else if (!aIsWeak && bIsWeak) {
-                return Objects.equals(a, ((WeakKey<?>) b).get());
+        Node put(Object key, int keyHash, StrongKeyWeakValueEntry<?, ?> entry, int shift, int[] expunged) {
+            if (keyHash != hash) {
+                return new BitmapNode(TrieNode.bit(hash, shift), new Object[]{this}).put(key, keyHash, entry, shift, expunged);
             }
-            return a.equals(b);
+            Object[] newSlots = new Object[slots.length + 1];
+            int count = 0;
+            for (Object slot : slots) {
+                if (isCleared(slot)) {
+                    expunged[0]++;
+                } else if (!keyEquals(((StrongKeyWeakValueEntry<?, ?>) slot).getKey(), key)) {
+                    newSlots[count++] = slot;
+                }
+            }
+            newSlots[count++] = entry;
+            return new CollisionNode(hash, Arrays.copyOf(newSlots, count));
         }
-
     }
-
 }
@@ -253,6 +253,12 @@ final class HostLanguage extends TruffleLanguage<HostContext> {
         });
     }
 
+    @Override
+    protected boolean resetContext(HostContext context) {
+        // host classes and class path entries are not guest state.
+        return true;
+    }
+
     @Override
     protected void disposeContext(HostContext context) {
         HostClassLoader cl = context.classloader;
@@ -263,7 +263,15 @@ abstract class HostMethodDesc {
         }
 
         abstract static class MHBase extends SingleMethod {
+
+            /*
+             * Methods with up to this many parameters are invoked with a method handle that takes
+             * the arguments individually, without spreading an argument array.
+             */
+            static final int MAX_FIXED_ARITY = 3;
+
             @CompilationFinal private MethodHandle methodHandle;
+            @CompilationFinal private MethodHandle fixedArityHandle;
 
             MHBase(Executable executable) {
                 super(executable);
@@ -274,8 +282,7 @@ abstract class HostMethodDesc {
                 MethodHandle handle = methodHandle;
                 if (handle == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
-                    handle = makeMethodHandle();
-                    methodHandle = handle;
+                    handle = initializeHandles();
                 }
                 return invokeHandle(handle, receiver, arguments);
             }
@@ -285,18 +292,52 @@ abstract class HostMethodDesc {
                 return invokeHandle.invokeExact(receiver, arguments);
             }
 
+            @TruffleBoundary(allowInlining = true)
+            static Object invokeHandle0(MethodHandle invokeHandle, Object receiver) throws Throwable {
+                return invokeHandle.invokeExact(receiver);
+            }
+
+            @TruffleBoundary(allowInlining = true)
+            static Object invokeHandle1(MethodHandle invokeHandle, Object receiver, Object arg0) throws Throwable {
+                return invokeHandle.invokeExact(receiver, arg0);
+            }
+
+            @TruffleBoundary(allowInlining = true)
+            static Object invokeHandle2(MethodHandle invokeHandle, Object receiver, Object arg0, Object arg1) throws Throwable {
+                return invokeHandle.invokeExact(receiver, arg0, arg1);
+            }
+
+            @TruffleBoundary(allowInlining = true)
+            static Object invokeHandle3(MethodHandle invokeHandle, Object receiver, Object arg0, Object arg1, Object arg2) throws Throwable {
+                return invokeHandle.invokeExact(receiver, arg0, arg1, arg2);
+            }
+
+            /**
+             * Returns a method handle of type <code>(Object, Object...)Object</code> where the
+             * first argument is the receiver, followed by one argument per parameter.
+             */
             protected abstract MethodHandle makeMethodHandle();
 
-            protected static MethodHandle adaptSignature(MethodHandle originalHandle, boolean isStatic, int parameterCount) {
-                MethodHandle adaptedHandle = originalHandle;
+            private MethodHandle initializeHandles() {
+                MethodHandle handle = makeMethodHandle();
+                int parameterCount = getParameterCount();
+                if (!isVarArgs() && parameterCount <= MAX_FIXED_ARITY) {
+                    fixedArityHandle = handle;
+                }
+                MethodHandle spreadHandle = handle.asSpreader(Object[].class, parameterCount);
+                methodHandle = spreadHandle;
+                return spreadHandle;
+            }
+
+            protected static MethodHandle adaptSignature(MethodHandle originalHandle, boolean isStatic) {
+                MethodHandle adaptedHandle = originalHandle.asFixedArity();
                 adaptedHandle = adaptedHandle.asType(adaptedHandle.type().changeReturnType(Object.class));
                 if (isStatic) {
                     adaptedHandle = MethodHandles.dropArguments(adaptedHandle, 0, Object.class);
                 } else {
                     adaptedHandle = adaptedHandle.asType(adaptedHandle.type().changeParameterType(0, Object.class));
                 }
-                adaptedHandle = adaptedHandle.asSpreader(Object[].class, parameterCount);
-                return adaptedHandle;
+                return adaptedHandle.asType(adaptedHandle.type().generic());
             }
 
             @Override
@@ -309,9 +350,29 @@ abstract class HostMethodDesc {
                         // because it is always initialized to the same value.
                         CompilerDirectives.transferToInterpreterAndInvalidate();
                     }
-                    methodHandle = handle = makeMethodHandle();
+                    handle = initializeHandles();
+                }
+                HostToGuestCodeCache cache = engine.getHostToGuestCodeCache();
+                MethodHandle fixedHandle = fixedArityHandle;
+                if (fixedHandle != null) {
+                    /*
+                     * The arguments are passed individually so that they do not escape if the
+                     * method handle is inlined.
+                     */
+                    switch (getParameterCount()) {
+                        case 0:
+                            return GuestToHostRootNode.guestToHostCall(node, cache.methodHandleHostInvoke0, languageContext, receiver, fixedHandle);
+                        case 1:
+                            return GuestToHostRootNode.guestToHostCall(node, cache.methodHandleHostInvoke1, languageContext, receiver, fixedHandle, arguments[0]);
+                        case 2:
+                            return GuestToHostRootNode.guestToHostCall(node, cache.methodHandleHostInvoke2, languageContext, receiver, fixedHandle, arguments[0], arguments[1]);
+                        case 3:
+                            return GuestToHostRootNode.guestToHostCall(node, cache.methodHandleHostInvoke3, languageContext, receiver, fixedHandle, arguments[0], arguments[1], arguments[2]);
+                        default:
+                            throw CompilerDirectives.shouldNotReachHere();
+                    }
                 }
-                CallTarget target = engine.getHostToGuestCodeCache().methodHandleHostInvoke;
+                CallTarget target = cache.methodHandleHostInvoke;
                 CompilerAsserts.partialEvaluationConstant(target);
                 return GuestToHostRootNode.guestToHostCall(node, target, languageContext, receiver, handle, arguments);
             }
@@ -348,7 +409,7 @@ abstract class HostMethodDesc {
                 try {
                     Method m = reflectionMethod;
                     final MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(m);
-                    return adaptSignature(methodHandle, Modifier.isStatic(m.getModifiers()), m.getParameterCount());
+                    return adaptSignature(methodHandle, Modifier.isStatic(m.getModifiers()));
                 } catch (IllegalAccessException e) {
                     throw new IllegalStateException(e);
                 }
@@ -380,7 +441,7 @@ abstract class HostMethodDesc {
                 CompilerAsserts.neverPartOfCompilation();
                 try {
                     final MethodHandle methodHandle = MethodHandles.publicLookup().unreflectConstructor(reflectionConstructor);
-                    return adaptSignature(methodHandle, true, getParameterCount());
+                    return adaptSignature(methodHandle, true);
                 } catch (IllegalAccessException e) {
                     throw new IllegalStateException(e);
                 }
@@ -1254,6 +1254,71 @@ final class HostObject implements TruffleObject {
         buffer.putDouble(index, value);
     }
 
+    @ExportMessage
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("error") @Cached BranchProfile error,
+                    @Shared("classProfile") @Cached("createClassProfile()") ValueProfile classProfile) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBuffer.execute(this)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        final ByteBuffer buffer = (ByteBuffer) classProfile.profile(obj);
+        final boolean peFriendly = isPEFriendlyBuffer(buffer);
+        final long size = peFriendly ? buffer.limit() : getBufferSizeBoundary(buffer);
+        if (byteOffset < 0 || length < 0 || byteOffset > size - length) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        if (peFriendly && buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + (int) byteOffset, destination, destinationOffset, length);
+        } else {
+            getBufferBoundary(buffer, (int) byteOffset, destination, destinationOffset, length);
+        }
+    }
+
+    @TruffleBoundary
+    private static void getBufferBoundary(ByteBuffer buffer, int index, byte[] destination, int destinationOffset, int length) {
+        // bulk transfers of direct buffers are done with a single memory copy
+        ByteBuffer view = buffer.duplicate();
+        view.position(index);
+        view.get(destination, destinationOffset, length);
+    }
+
+    @ExportMessage
+    public void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("error") @Cached BranchProfile error,
+                    @Shared("classProfile") @Cached("createClassProfile()") ValueProfile classProfile) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBuffer.execute(this)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        final ByteBuffer buffer = (ByteBuffer) classProfile.profile(obj);
+        final boolean peFriendly = isPEFriendlyBuffer(buffer);
+        if (peFriendly ? buffer.isReadOnly() : !isBufferWritableBoundary(buffer)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        final long size = peFriendly ? buffer.limit() : getBufferSizeBoundary(buffer);
+        if (byteOffset < 0 || length < 0 || byteOffset > size - length) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        if (peFriendly && buffer.hasArray()) {
+            System.arraycopy(source, sourceOffset, buffer.array(), buffer.arrayOffset() + (int) byteOffset, length);
+        } else {
+            putBufferBoundary(buffer, (int) byteOffset, source, sourceOffset, length);
+        }
+    }
+
+    @TruffleBoundary
+    private static void putBufferBoundary(ByteBuffer buffer, int index, byte[] source, int sourceOffset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(index);
+        view.put(source, sourceOffset, length);
+    }
+
     // endregion
 
     @ExportMessage
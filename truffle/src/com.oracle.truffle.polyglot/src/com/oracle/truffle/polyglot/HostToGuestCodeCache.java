@@ -97,6 +97,48 @@ final class HostToGuestCodeCache {
         }
     });
 
+    final CallTarget methodHandleHostInvoke0 = createMethodHandleHostInvoke(0);
+    final CallTarget methodHandleHostInvoke1 = createMethodHandleHostInvoke(1);
+    final CallTarget methodHandleHostInvoke2 = createMethodHandleHostInvoke(2);
+    final CallTarget methodHandleHostInvoke3 = createMethodHandleHostInvoke(3);
+
+    private static CallTarget createMethodHandleHostInvoke(int arity) {
+        assert arity <= MHBase.MAX_FIXED_ARITY;
+        return GuestToHostRootNode.createGuestToHost(new GuestToHostRootNode(HostObject.class, "doInvoke") {
+            @Override
+            protected Object executeImpl(Object receiver, Object[] callArguments) {
+                if (TruffleOptions.AOT) {
+                    throw CompilerDirectives.shouldNotReachHere("MHBase.invokeHandle can only be used in non AOT mode.");
+                }
+
+                MethodHandle methodHandle = (MethodHandle) callArguments[ARGUMENT_OFFSET];
+                Object ret;
+                try {
+                    switch (arity) {
+                        case 0:
+                            ret = MHBase.invokeHandle0(methodHandle, receiver);
+                            break;
+                        case 1:
+                            ret = MHBase.invokeHandle1(methodHandle, receiver, callArguments[ARGUMENT_OFFSET + 1]);
+                            break;
+                        case 2:
+                            ret = MHBase.invokeHandle2(methodHandle, receiver, callArguments[ARGUMENT_OFFSET + 1], callArguments[ARGUMENT_OFFSET + 2]);
+                            break;
+                        case 3:
+                            ret = MHBase.invokeHandle3(methodHandle, receiver, callArguments[ARGUMENT_OFFSET + 1], callArguments[ARGUMENT_OFFSET + 2],
+                                            callArguments[ARGUMENT_OFFSET + 3]);
+                            break;
+                        default:
+                            throw CompilerDirectives.shouldNotReachHere();
+                    }
+                } catch (Throwable e) {
+                    throw HostInteropReflect.rethrow(e);
+                }
+                return ret;
+            }
+        });
+    }
+
     final CallTarget reflectionHostInvoke = GuestToHostRootNode.createGuestToHost(new GuestToHostRootNode(HostObject.class, "doInvoke") {
         @Override
         protected Object executeImpl(Object obj, Object[] callArguments) {
@@ -47,6 +47,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import org.graalvm.options.OptionDescriptor;
 import org.graalvm.options.OptionDescriptors;
@@ -227,6 +228,20 @@ final class OptionValuesImpl implements OptionValues {
         return !values.isEmpty();
     }
 
+    /**
+     * Returns the names and values of all options that have been set, sorted by name.
+     */
+    String describeSetValues() {
+        Map<String, String> setValues = new TreeMap<>();
+        for (OptionDescriptor descriptor : descriptors) {
+            OptionKey<?> key = descriptor.getKey();
+            if (hasBeenSet(key)) {
+                setValues.put(descriptor.getName(), String.valueOf(get(key)));
+            }
+        }
+        return setValues.toString();
+    }
+
     String getUnparsedOptionValue(OptionKey<?> key) {
         if (unparsedValues == null) {
             throw new IllegalStateException("Unparsed values are not supported");
@@ -56,6 +56,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -208,6 +209,8 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     final PolyglotContextImpl parent;
     volatile Map<String, Value> polyglotBindings; // for direct legacy access
     volatile Value polyglotHostBindings; // for accesses from the polyglot api
+    private Map<String, Value> polyglotBindingsSnapshot; // restored on resetForReuse
+    private volatile boolean resetRefused; // partially reset, never reused again
     private final PolyglotBindings polyglotBindingsObject = new PolyglotBindings(this);
     final PolyglotLanguage creator; // creator for internal contexts
     final Map<String, Object> creatorArguments; // special arguments for internal contexts
@@ -246,6 +249,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     private ObjectSizeCalculator objectSizeCalculator;
 
     final PolyglotThreadLocalActions threadLocalActions;
+    final PolyglotResourceUsage resourceUsage = new PolyglotResourceUsage();
     private Collection<Closeable> closeables;
 
     /* Constructor for testing. */
@@ -355,6 +359,60 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         }
     }
 
+    /**
+     * Resets all initialized language contexts for reuse by a context pool. The first invocation
+     * records the polyglot bindings that are restored by subsequent invocations. The languages are
+     * reset with the context entered on the current thread only. Returns <code>false</code> if the
+     * context is closed or any language does not support reset; the context must not be reused in
+     * that case. Languages that were reset before a language refused are not restored, so once
+     * reset was refused the context never becomes reusable again.
+     *
+     * @throws IllegalStateException if the context is currently entered on any thread.
+     */
+    @Override
+    public boolean resetForReuse() {
+        synchronized (this) {
+            if (isActive()) {
+                throw PolyglotImpl.guestToHostException(engine, PolyglotEngineException.illegalState("The context is currently entered and cannot be reset."));
+            }
+            if (closed || closingThread != null || cancelling || invalid || resetRefused || !childContexts.isEmpty()) {
+                return false;
+            }
+        }
+        PolyglotLanguageContext hostContext = this.getHostContext();
+        Object prev = hostEnter(hostContext);
+        boolean reset = false;
+        try {
+            for (PolyglotLanguageContext context : contexts) {
+                if (context.isInitialized() && !LANGUAGE.resetContext(context.env)) {
+                    resetRefused = true;
+                    return false;
+                }
+            }
+            Map<String, Value> bindings = getPolyglotGuestBindings();
+            synchronized (this) {
+                if (polyglotBindingsSnapshot == null) {
+                    polyglotBindingsSnapshot = new HashMap<>(bindings);
+                } else {
+                    bindings.clear();
+                    bindings.putAll(polyglotBindingsSnapshot);
+                }
+            }
+            PolyglotLimits.reset(this);
+            reset = true;
+            return true;
+        } catch (Throwable e) {
+            resetRefused = true;
+            throw PolyglotImpl.guestToHostException(hostContext, e, true);
+        } finally {
+            hostLeave(hostContext, prev);
+            if (reset) {
+                // after leaving, so that the reset itself is not accounted to the next user
+                resourceUsage.reset();
+            }
+        }
+    }
+
     @Override
     public void safepoint() {
         PolyglotLanguageContext languageContext = this.getHostContext();
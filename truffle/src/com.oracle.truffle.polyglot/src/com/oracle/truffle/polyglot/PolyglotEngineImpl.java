@@ -183,6 +183,10 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
      * that strong references for source caches should be used.
      */
     boolean storeEngine; // modified on patch
+    long sourceCacheSize; // modified on patch
+    PolyglotEngineSnapshot snapshot; // modified on patch
+    boolean resourceUsageTracking; // modified on patch
+    final PolyglotSourceCache.Statistics sourceCacheStatistics = new PolyglotSourceCache.Statistics();
     Handler logHandler;     // effectively final
     final Exception createdLocation = DEBUG_MISSING_CLOSE ? new Exception() : null;
     private final EconomicSet<ContextWeakReference> contexts = EconomicSet.create(Equivalence.IDENTITY);
@@ -300,6 +304,9 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         parseOptions(options, languagesOptions, instrumentsOptions);
 
         this.conservativeContextReferences = engineOptionValues.get(PolyglotEngineOptions.UseConservativeContextReferences);
+        this.sourceCacheSize = engineOptionValues.get(PolyglotEngineOptions.SourceCacheSize);
+        this.snapshot = PolyglotEngineSnapshot.create(this, engineOptionValues);
+        this.resourceUsageTracking = engineOptionValues.get(PolyglotEngineOptions.ResourceUsageTracking);
 
         for (PolyglotLanguage language : languagesOptions.keySet()) {
             language.getOptionValues().putAll(languagesOptions.get(language), allowExperimentalOptions);
@@ -404,6 +411,9 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
         this.engineOptionValues = prototype.engineOptionValues.copy();
         this.conservativeContextReferences = engineOptionValues.get(PolyglotEngineOptions.UseConservativeContextReferences);
+        this.sourceCacheSize = engineOptionValues.get(PolyglotEngineOptions.SourceCacheSize);
+        this.snapshot = PolyglotEngineSnapshot.create(this, engineOptionValues);
+        this.resourceUsageTracking = engineOptionValues.get(PolyglotEngineOptions.ResourceUsageTracking);
 
         if (!boundEngine) {
             initializeMultiContext(null);
@@ -487,6 +497,9 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         this.logLevels = newLogConfig.logLevels;
         boolean wasStore = this.storeEngine;
         this.storeEngine = RUNTIME.isStoreEnabled(engineOptions);
+        this.sourceCacheSize = engineOptions.get(PolyglotEngineOptions.SourceCacheSize);
+        this.snapshot = PolyglotEngineSnapshot.create(this, engineOptions);
+        this.resourceUsageTracking = engineOptions.get(PolyglotEngineOptions.ResourceUsageTracking);
         this.engineLoggerSupplier = logSupplier;
         this.engineLogger = null;
         logSupplier.setEngine(this);
@@ -1106,6 +1119,10 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
                     contexts.clear();
 
+                    if (snapshot != null) {
+                        snapshot.close();
+                    }
+
                     if (RUNTIME.onEngineClosing(this.runtimeData)) {
                         return;
                     }
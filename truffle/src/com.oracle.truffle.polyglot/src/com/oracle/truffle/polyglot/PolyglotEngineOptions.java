@@ -97,4 +97,26 @@ final class PolyglotEngineOptions {
                     "Use pre-initialized context when it's available.")//
     static final OptionKey<Boolean> UsePreInitializedContext = new OptionKey<>(true);
 
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "" +
+                    "Limits the parse results of cached sources kept by the engine to a total number of AST nodes. " +
+                    "The least valuable parse results are evicted based on the recency and frequency of their use. " +
+                    "By default 0, which keeps parse results for as long as their sources are alive.")//
+    static final OptionKey<Long> SourceCacheSize = new OptionKey<>(0L);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "" +
+                    "Stores the parse results of cached sources to the given file when the engine is closed. " +
+                    "Only parse results of languages that support storing them are included.")//
+    static final OptionKey<String> SnapshotStore = new OptionKey<>("");
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "" +
+                    "Restores the parse results of cached sources from the given file written with --engine.SnapshotStore. " +
+                    "Parse results are restored lazily when their source is parsed. " +
+                    "Results stored by a different language version or with different language options are ignored.")//
+    static final OptionKey<String> SnapshotLoad = new OptionKey<>("");
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "" +
+                    "Tracks the CPU time and the allocated heap memory of threads while they are entered in a context. " +
+                    "The resource usage of a context can be queried with ContextResourceUsage.get(Context).")//
+    static final OptionKey<Boolean> ResourceUsageTracking = new OptionKey<>(false);
+
 }
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.polyglot;
+
+import static com.oracle.truffle.polyglot.EngineAccessor.LANGUAGE;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Stores the parse results of cached sources to a file when the engine is closed and restores
+ * them when the same sources are parsed by a later engine. Parse results are serialized by the
+ * languages using {@link com.oracle.truffle.api.TruffleLanguage#storeParsed} and restored using
+ * {@link com.oracle.truffle.api.TruffleLanguage#loadParsed}.
+ *
+ * A snapshot file starts with the length of its index followed by the index. The index contains
+ * the Truffle version, the versions of all languages with stored entries and for each entry the
+ * key it was stored with and the location of its data. The data of all entries follows the
+ * index. The index is read when the first source is parsed, the data of an entry only when its
+ * source is parsed. Entries are only restored if the Truffle version, the language version and
+ * the language options match. The snapshot file stays open for reading entries until the engine is
+ * closed.
+ *
+ * Parsing a source only computes the digest of its content and the description of the language
+ * options if the index contains an entry with the same language, name, MIME type, flags, argument
+ * names and content length.
+ */
+final class PolyglotEngineSnapshot {
+
+    private static final int MAGIC = 0x54534e50;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int FLAG_INTERNAL = 1;
+    private static final int FLAG_INTERACTIVE = 1 << 1;
+    private static final int FLAG_BYTES = 1 << 2;
+
+    private static final Index EMPTY_INDEX = new Index(null, 0, Collections.emptyMap());
+
+    private final PolyglotEngineImpl engine;
+    private final Path storePath;
+    private final Path loadPath;
+    private volatile Index index;
+
+    // guarded by the engine lock
+    private final List<PolyglotLanguageInstance> instances = new ArrayList<>();
+
+    private PolyglotEngineSnapshot(PolyglotEngineImpl engine, Path storePath, Path loadPath) {
+        this.engine = engine;
+        this.storePath = storePath;
+        this.loadPath = loadPath;
+        if (loadPath == null) {
+            this.index = EMPTY_INDEX;
+        }
+    }
+
+    static PolyglotEngineSnapshot create(PolyglotEngineImpl engine, OptionValuesImpl engineOptions) {
+        String store = engineOptions.get(PolyglotEngineOptions.SnapshotStore);
+        String load = engineOptions.get(PolyglotEngineOptions.SnapshotLoad);
+        if (store.isEmpty() && load.isEmpty()) {
+            return null;
+        }
+        return new PolyglotEngineSnapshot(engine, store.isEmpty() ? null : Paths.get(store), load.isEmpty() ? null : Paths.get(load));
+    }
+
+    boolean isStoring() {
+        return storePath != null;
+    }
+
+    /**
+     * Remembers a language instance whose parse results are stored when the engine is closed.
+     * Instances of exclusive languages are not pooled by the engine, so they are kept alive until
+     * then.
+     */
+    void registerInstance(PolyglotLanguageInstance instance) {
+        assert Thread.holdsLock(engine.lock);
+        if (storePath != null) {
+            instances.add(instance);
+        }
+    }
+
+    /**
+     * Restores the parse result for a source from the loaded snapshot. Returns <code>null</code> if
+     * the snapshot contains no matching entry or the language could not restore it.
+     */
+    CallTarget load(PolyglotLanguageInstance instance, Source source, String[] argumentNames) {
+        if (!source.isCached()) {
+            // only cached sources are stored
+            return null;
+        }
+        Index currentIndex = getIndex();
+        if (!currentIndex.languages.contains(instance.language.getId())) {
+            return null;
+        }
+        EntryKey candidate = EntryKey.createCandidate(instance, source, argumentNames);
+        if (!currentIndex.candidates.contains(candidate)) {
+            return null;
+        }
+        EntryKey key = candidate.complete(instance, source);
+        Location location = currentIndex.entries.get(key);
+        if (location == null) {
+            return null;
+        }
+        try {
+            byte[] data = currentIndex.read(location);
+            return LANGUAGE.loadParsed(instance.spi, source, argumentNames, data);
+        } catch (Exception e) {
+            engine.getEngineLogger().log(Level.WARNING, String.format("Failed to restore %s from engine snapshot %s.", source.getName(), loadPath), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the snapshot if the engine stores one and closes the loaded snapshot file. Called when
+     * the engine is closed.
+     */
+    void close() {
+        assert Thread.holdsLock(engine.lock);
+        try {
+            store();
+        } finally {
+            Index currentIndex = index;
+            if (currentIndex != null) {
+                currentIndex.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the parse results of all cached sources of the engine to the snapshot file. Entries
+     * of the loaded snapshot that were not restored are written again if they are still valid.
+     */
+    private void store() {
+        assert Thread.holdsLock(engine.lock);
+        if (storePath == null) {
+            return;
+        }
+        Map<String, String> languageVersions = new HashMap<>();
+        Map<EntryKey, byte[]> entries = new LinkedHashMap<>();
+        for (PolyglotLanguageInstance instance : instances) {
+            PolyglotLanguage language = instance.language;
+            instance.getSourceCache().listParsed((source, argumentNames, target) -> {
+                EntryKey key = EntryKey.create(instance, source, argumentNames);
+                if (entries.containsKey(key)) {
+                    return;
+                }
+                byte[] data;
+                try {
+                    data = LANGUAGE.storeParsed(instance.spi, source, argumentNames, target);
+                } catch (Exception e) {
+                    engine.getEngineLogger().log(Level.WARNING, String.format("Failed to store %s to engine snapshot %s.", source.getName(), storePath), e);
+                    return;
+                }
+                if (data != null) {
+                    entries.put(key, data);
+                    languageVersions.put(language.getId(), language.getVersion());
+                }
+            });
+        }
+        instances.clear();
+        try {
+            Index loadedIndex = getIndex();
+            for (Map.Entry<EntryKey, Location> loaded : loadedIndex.entries.entrySet()) {
+                EntryKey key = loaded.getKey();
+                if (!entries.containsKey(key)) {
+                    entries.put(key, loadedIndex.read(loaded.getValue()));
+                    languageVersions.put(key.languageId, engine.idToLanguage.get(key.languageId).getVersion());
+                }
+            }
+            write(languageVersions, entries);
+        } catch (IOException e) {
+            engine.getEngineLogger().log(Level.WARNING, String.format("Failed to write engine snapshot %s.", storePath), e);
+        }
+    }
+
+    private void write(Map<String, String> languageVersions, Map<EntryKey, byte[]> entries) throws IOException {
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(indexBytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(engine.creatorApi.getVersion());
+            out.writeInt(languageVersions.size());
+            for (Map.Entry<String, String> language : languageVersions.entrySet()) {
+                out.writeUTF(language.getKey());
+                out.writeUTF(language.getValue());
+            }
+            out.writeInt(entries.size());
+            long offset = 0;
+            for (Map.Entry<EntryKey, byte[]> entry : entries.entrySet()) {
+                entry.getKey().write(out);
+                out.writeLong(offset);
+                out.writeInt(entry.getValue().length);
+                offset += entry.getValue().length;
+            }
+        }
+        Path directory = storePath.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path tempFile = Files.createTempFile(directory, storePath.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                out.writeInt(indexBytes.size());
+                indexBytes.writeTo(out);
+                for (byte[] data : entries.values()) {
+                    out.write(data);
+                }
+            }
+            Files.move(tempFile, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private Index getIndex() {
+        Index result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = readIndex();
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Index readIndex() {
+        if (!Files.exists(loadPath)) {
+            engine.getEngineLogger().log(Level.FINE, String.format("Engine snapshot %s does not exist.", loadPath));
+            return EMPTY_INDEX;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(loadPath, StandardOpenOption.READ);
+            // not closed, the channel stays open for reading entries
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            int indexLength = in.readInt();
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                engine.getEngineLogger().log(Level.WARNING, String.format("Ignoring engine snapshot %s with an unsupported format.", loadPath));
+                closeQuietly(channel);
+                return EMPTY_INDEX;
+            }
+            String version = in.readUTF();
+            if (!version.equals(engine.creatorApi.getVersion())) {
+                engine.getEngineLogger().log(Level.FINE, String.format("Ignoring engine snapshot %s stored by version %s.", loadPath, version));
+                closeQuietly(channel);
+                return EMPTY_INDEX;
+            }
+            Set<String> validLanguages = new HashSet<>();
+            int languageCount = in.readInt();
+            for (int i = 0; i < languageCount; i++) {
+                String languageId = in.readUTF();
+                String languageVersion = in.readUTF();
+                PolyglotLanguage language = engine.idToLanguage.get(languageId);
+                if (language != null && language.getVersion().equals(languageVersion)) {
+                    validLanguages.add(languageId);
+                } else {
+                    engine.getEngineLogger().log(Level.FINE, String.format("Ignoring entries of language %s version %s in engine snapshot %s.", languageId, languageVersion, loadPath));
+                }
+            }
+            Map<EntryKey, Location> entries = new HashMap<>();
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                EntryKey key = EntryKey.read(in);
+                Location location = new Location(in.readLong(), in.readInt());
+                if (validLanguages.contains(key.languageId)) {
+                    entries.put(key, location);
+                }
+            }
+            if (entries.isEmpty()) {
+                closeQuietly(channel);
+                return EMPTY_INDEX;
+            }
+            return new Index(channel, Integer.BYTES + indexLength, entries);
+        } catch (IOException e) {
+            engine.getEngineLogger().log(Level.WARNING, String.format("Failed to read engine snapshot %s.", loadPath), e);
+            closeQuietly(channel);
+            return EMPTY_INDEX;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing left to read
+            }
+        }
+    }
+
+    private static final class Index {
+
+        /*
+         * Positional reads do not change the position of the channel, so entries can be read
+         * concurrently.
+         */
+        final FileChannel channel;
+        final long dataStart;
+        final Map<EntryKey, Location> entries;
+        final Set<String> languages = new HashSet<>();
+        final Set<EntryKey> candidates = new HashSet<>();
+
+        Index(FileChannel channel, long dataStart, Map<EntryKey, Location> entries) {
+            this.channel = channel;
+            this.dataStart = dataStart;
+            this.entries = entries;
+            for (EntryKey key : entries.keySet()) {
+                languages.add(key.languageId);
+                candidates.add(key.withoutContent());
+            }
+        }
+
+        byte[] read(Location location) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length);
+            long position = dataStart + location.offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new IOException("Unexpected end of engine snapshot");
+                }
+            }
+            return buffer.array();
+        }
+
+        void close() {
+            closeQuietly(channel);
+        }
+
+    }
+
+    private static final class Location {
+
+        final long offset;
+        final int length;
+
+        Location(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+    /**
+     * Identifies the parse result of a source. Sources are identified by their content digest, not
+     * their path, such that changed files are parsed again. A candidate key has an empty digest and
+     * options, it is used to look up whether computing them is worthwhile.
+     */
+    private static final class EntryKey {
+
+        final String languageId;
+        final String options;
+        final String name;
+        final String mimeType;
+        final String digest;
+        final int flags;
+        final long length;
+        final String[] argumentNames;
+
+        private EntryKey(String languageId, String options, String name, String mimeType, String digest, int flags, long length, String[] argumentNames) {
+            this.languageId = languageId;
+            this.options = options;
+            this.name = name;
+            this.mimeType = mimeType;
+            this.digest = digest;
+            this.flags = flags;
+            this.length = length;
+            this.argumentNames = argumentNames != null && argumentNames.length == 0 ? null : argumentNames;
+        }
+
+        static EntryKey create(PolyglotLanguageInstance instance, Source source, String[] argumentNames) {
+            return createCandidate(instance, source, argumentNames).complete(instance, source);
+        }
+
+        static EntryKey createCandidate(PolyglotLanguageInstance instance, Source source, String[] argumentNames) {
+            int flags = 0;
+            if (source.isInternal()) {
+                flags |= FLAG_INTERNAL;
+            }
+            if (source.isInteractive()) {
+                flags |= FLAG_INTERACTIVE;
+            }
+            long length;
+            if (source.hasBytes()) {
+                flags |= FLAG_BYTES;
+                length = source.getBytes().length();
+            } else {
+                length = source.getLength();
+            }
+            String mimeType = source.getMimeType();
+            return new EntryKey(instance.language.getId(), "", source.getName(), mimeType == null ? "" : mimeType, "", flags, length, argumentNames);
+        }
+
+        EntryKey complete(PolyglotLanguageInstance instance, Source source) {
+            byte[] content;
+            if (source.hasBytes()) {
+                content = source.getBytes().toByteArray();
+            } else {
+                content = source.getCharacters().toString().getBytes(StandardCharsets.UTF_8);
+            }
+            return new EntryKey(languageId, instance.describeOptions(), name, mimeType, digest(content), flags, length, argumentNames);
+        }
+
+        EntryKey withoutContent() {
+            return new EntryKey(languageId, "", name, mimeType, "", flags, length, argumentNames);
+        }
+
+        private static String digest(byte[] content) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new AssertionError(e);
+            }
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest(content)) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(languageId);
+            out.writeUTF(options);
+            out.writeUTF(name);
+            out.writeUTF(mimeType);
+            out.writeUTF(digest);
+            out.writeInt(flags);
+            out.writeLong(length);
+            if (argumentNames == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(argumentNames.length);
+                for (String argumentName : argumentNames) {
+                    out.writeUTF(argumentName);
+                }
+            }
+        }
+
+        static EntryKey read(DataInputStream in) throws IOException {
+            String languageId = in.readUTF();
+            String options = in.readUTF();
+            String name = in.readUTF();
+            String mimeType = in.readUTF();
+            String digest = in.readUTF();
+            int flags = in.readInt();
+            long length = in.readLong();
+            String[] argumentNames = new String[in.readInt()];
+            for (int i = 0; i < argumentNames.length; i++) {
+                argumentNames[i] = in.readUTF();
+            }
+            return new EntryKey(languageId, options, name, mimeType, digest, flags, length, argumentNames);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(languageId, options, name, mimeType, digest, flags, length);
+            return 31 * result + Arrays.hashCode(argumentNames);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof EntryKey)) {
+                return false;
+            }
+            EntryKey other = (EntryKey) obj;
+            return languageId.equals(other.languageId) && options.equals(other.options) && name.equals(other.name) && mimeType.equals(other.mimeType) && digest.equals(other.digest) &&
+                            flags == other.flags && length == other.length && Arrays.equals(argumentNames, other.argumentNames);
+        }
+
+    }
+
+}
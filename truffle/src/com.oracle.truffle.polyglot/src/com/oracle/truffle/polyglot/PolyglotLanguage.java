@@ -213,6 +213,9 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
         if (instance == null) {
             instance = ensureInitialized(new PolyglotLanguageInstance(this));
         }
+        if (engine.snapshot != null) {
+            engine.snapshot.registerInstance(instance);
+        }
         return instance;
     }
 
@@ -148,6 +148,15 @@ final class PolyglotLanguageInstance implements VMObject {
         claimedCount++;
     }
 
+    /**
+     * Returns a description of the option values this instance was created with. Parse results
+     * stored in an engine snapshot are only restored for instances with the same description.
+     */
+    String describeOptions() {
+        OptionValuesImpl firstOptions = this.firstOptionValues;
+        return firstOptions == null ? "" : firstOptions.describeSetValues();
+    }
+
     void patchFirstOptions(OptionValuesImpl optionValues) {
         this.firstOptionValues = optionValues;
     }
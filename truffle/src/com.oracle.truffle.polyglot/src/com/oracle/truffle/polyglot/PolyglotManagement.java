@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
@@ -53,7 +54,9 @@ import org.graalvm.polyglot.SourceSection;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.impl.AbstractPolyglotImpl.AbstractManagementImpl;
 import org.graalvm.polyglot.impl.AbstractPolyglotImpl.ManagementAccess;
+import org.graalvm.polyglot.management.ContextResourceUsage;
 import org.graalvm.polyglot.management.ExecutionEvent;
+import org.graalvm.polyglot.management.SourceCacheStatistics;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -625,6 +628,29 @@ final class PolyglotManagement extends AbstractManagementImpl {
 
     }
 
+    // implementation for org.graalvm.polyglot.management.SourceCacheStatistics
+
+    @Override
+    public SourceCacheStatistics getSourceCacheStatistics(Engine engineAPI) {
+        PolyglotEngineImpl engine = getEngine(engineAPI);
+        PolyglotSourceCache.Statistics statistics = engine.sourceCacheStatistics;
+        return engine.impl.getManagement().newSourceCacheStatistics(statistics.hits.sum(), statistics.misses.sum(), statistics.evictions.sum(),
+                        statistics.cachedSources.sum(), statistics.cachedWeight.sum());
+    }
+
+    // implementation for org.graalvm.polyglot.management.ContextResourceUsage
+
+    @Override
+    public ContextResourceUsage getContextResourceUsage(Context contextAPI) {
+        PolyglotContextImpl context = (PolyglotContextImpl) engineImpl.getAPIAccess().getImpl(contextAPI);
+        ManagementAccess management = context.engine.impl.getManagement();
+        if (!context.engine.resourceUsageTracking) {
+            return management.newContextResourceUsage(0L, 0L);
+        }
+        long[] usage = context.resourceUsage.collect(context);
+        return management.newContextResourceUsage(usage[0], usage[1]);
+    }
+
     // implementation for org.graalvm.polyglot.management.Limits
 
     private PolyglotEngineImpl getEngine(Engine engineAPI) {
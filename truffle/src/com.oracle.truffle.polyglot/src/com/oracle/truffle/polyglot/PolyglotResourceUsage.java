@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.polyglot;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Accumulates the CPU time and the allocated heap memory of threads while they are entered in a
+ * context. Only used if the engine.ResourceUsageTracking option is enabled. Threads record their
+ * counters when they enter a context for the first time and add the difference when they leave it
+ * for the last time, see {@link PolyglotThreadInfo}.
+ *
+ * A leaving thread moves its consumption from its thread info to the totals while holding the lock
+ * of this object, and {@link #collect} reads both under the same lock. Otherwise a collecting
+ * thread could miss or count twice the consumption of a thread that leaves concurrently, and the
+ * collected values would not be monotonic.
+ */
+final class PolyglotResourceUsage {
+
+    static final long UNSUPPORTED = -1L;
+
+    private static volatile ThreadMXBean threadBean;
+
+    // all fields are guarded by this
+    private long cpuTime;
+    private long allocatedBytes;
+    private boolean cpuTimeUnsupported;
+    private boolean allocatedBytesUnsupported;
+
+    /**
+     * Called by the current thread when it leaves the context for the last time.
+     */
+    synchronized void leave(PolyglotThreadInfo info) {
+        long enterCpuTime = info.enterCpuTime;
+        if (enterCpuTime == UNSUPPORTED) {
+            cpuTimeUnsupported = true;
+        } else {
+            long time = getCurrentThreadCpuTime();
+            if (time != UNSUPPORTED) {
+                cpuTime += time - enterCpuTime;
+            }
+        }
+        long enterAllocatedBytes = info.enterAllocatedBytes;
+        if (enterAllocatedBytes == UNSUPPORTED) {
+            allocatedBytesUnsupported = true;
+        } else {
+            long bytes = getCurrentThreadAllocatedBytes();
+            if (bytes != UNSUPPORTED) {
+                allocatedBytes += bytes - enterAllocatedBytes;
+            }
+        }
+        info.enterCpuTime = UNSUPPORTED;
+        info.enterAllocatedBytes = UNSUPPORTED;
+    }
+
+    /**
+     * Discards the accumulated consumption, e.g., when the context is reset for reuse by another
+     * user.
+     */
+    synchronized void reset() {
+        cpuTime = 0L;
+        allocatedBytes = 0L;
+        cpuTimeUnsupported = false;
+        allocatedBytesUnsupported = false;
+    }
+
+    /**
+     * Returns the accumulated CPU time and allocated bytes including the consumption of threads
+     * that are currently entered.
+     */
+    long[] collect(PolyglotContextImpl context) {
+        ThreadMXBean bean = getThreadBean();
+        synchronized (context) {
+            return collectLocked(context, bean);
+        }
+    }
+
+    private synchronized long[] collectLocked(PolyglotContextImpl context, ThreadMXBean bean) {
+        long time = cpuTime;
+        long bytes = allocatedBytes;
+        for (Map.Entry<Thread, PolyglotThreadInfo> entry : context.getSeenThreads().entrySet()) {
+            PolyglotThreadInfo info = entry.getValue();
+            Thread thread = info.getThread();
+            if (thread == null || !info.isActive()) {
+                continue;
+            }
+            long enterCpuTime = info.enterCpuTime;
+            if (enterCpuTime != UNSUPPORTED) {
+                long current = bean.getThreadCpuTime(thread.getId());
+                if (current != UNSUPPORTED) {
+                    time += Math.max(0L, current - enterCpuTime);
+                }
+            }
+            long enterAllocatedBytes = info.enterAllocatedBytes;
+            if (enterAllocatedBytes != UNSUPPORTED) {
+                long current = bean.getThreadAllocatedBytes(thread.getId());
+                if (current != UNSUPPORTED) {
+                    bytes += Math.max(0L, current - enterAllocatedBytes);
+                }
+            }
+        }
+        return new long[]{cpuTimeUnsupported ? UNSUPPORTED : time, allocatedBytesUnsupported ? UNSUPPORTED : bytes};
+    }
+
+    @TruffleBoundary
+    static long getCurrentThreadCpuTime() {
+        ThreadMXBean bean = getThreadBean();
+        if (!bean.isCurrentThreadCpuTimeSupported()) {
+            return UNSUPPORTED;
+        }
+        return bean.getCurrentThreadCpuTime();
+    }
+
+    @TruffleBoundary
+    static long getCurrentThreadAllocatedBytes() {
+        ThreadMXBean bean = getThreadBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return UNSUPPORTED;
+        }
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static ThreadMXBean getThreadBean() {
+        ThreadMXBean bean = threadBean;
+        if (bean == null) {
+            /*
+             * getThreadMXBean is synchronized so better cache in a local volatile field to avoid
+             * contention.
+             */
+            threadBean = bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        }
+        return bean;
+    }
+
+}
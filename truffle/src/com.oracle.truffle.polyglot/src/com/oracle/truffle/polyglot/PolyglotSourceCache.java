@@ -47,16 +47,22 @@ import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.source.Source;
 
 final class PolyglotSourceCache {
 
     private final Cache strongCache;
     private final Cache weakCache;
+    private volatile BoundedCache boundedCache;
 
     PolyglotSourceCache() {
         this.weakCache = new WeakCache();
@@ -66,17 +72,24 @@ final class PolyglotSourceCache {
     CallTarget parseCached(PolyglotLanguageContext context, Source source, String[] argumentNames) {
         CallTarget target;
         if (source.isCached()) {
+            PolyglotEngineImpl engine = context.getEngine();
             Cache strong = this.strongCache;
-            boolean useStrong = context.getEngine().storeEngine;
+            PolyglotEngineSnapshot snapshot = engine.snapshot;
+            // a stored engine must retain all parse results, independent of the cache size.
+            boolean useStrong = engine.storeEngine || (snapshot != null && snapshot.isStoring());
             if (useStrong || !strong.isEmpty()) {
                 target = strong.lookup(context, source, argumentNames, useStrong);
                 if (target != null) {
                     // target found in strong cache
                     return target;
                 } else {
-                    // fallback to weak cache.
+                    // fallback to bounded or weak cache.
                 }
             }
+            long maximumWeight = engine.sourceCacheSize;
+            if (maximumWeight > 0) {
+                return getBoundedCache(maximumWeight).lookup(context, source, argumentNames, true);
+            }
             target = weakCache.lookup(context, source, argumentNames, true);
         } else {
             target = parseImpl(context, argumentNames, source);
@@ -87,10 +100,45 @@ final class PolyglotSourceCache {
     void listCachedSources(PolyglotLanguageInstance language, Collection<org.graalvm.polyglot.Source> source) {
         strongCache.listSources(language, source);
         weakCache.listSources(language, source);
+        BoundedCache bounded = boundedCache;
+        if (bounded != null) {
+            bounded.listSources(language, source);
+        }
+    }
+
+    void listParsed(ParsedSourceVisitor visitor) {
+        strongCache.listParsed(visitor);
+        weakCache.listParsed(visitor);
+        BoundedCache bounded = boundedCache;
+        if (bounded != null) {
+            bounded.listParsed(visitor);
+        }
+    }
+
+    private BoundedCache getBoundedCache(long maximumWeight) {
+        BoundedCache cache = boundedCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = boundedCache;
+                if (cache == null) {
+                    cache = new BoundedCache();
+                    boundedCache = cache;
+                }
+            }
+        }
+        cache.setMaximumWeight(maximumWeight);
+        return cache;
     }
 
     private static CallTarget parseImpl(PolyglotLanguageContext context, String[] argumentNames, Source source) {
         validateSource(context, source);
+        PolyglotEngineSnapshot snapshot = context.getEngine().snapshot;
+        if (snapshot != null) {
+            CallTarget loadedTarget = snapshot.load(context.getLanguageInstance(), source, argumentNames);
+            if (loadedTarget != null) {
+                return loadedTarget;
+            }
+        }
         CallTarget parsedTarget = LANGUAGE.parse(context.requireEnv(), source, null, argumentNames);
         if (parsedTarget == null) {
             throw new IllegalStateException(String.format("Parsing resulted in a null CallTarget for %s.", source));
@@ -171,6 +219,14 @@ final class PolyglotSourceCache {
         abstract CallTarget lookup(PolyglotLanguageContext context, Source source, String[] argumentNames, boolean parse);
 
         abstract void listSources(PolyglotLanguageInstance language, Collection<org.graalvm.polyglot.Source> source);
+
+        abstract void listParsed(ParsedSourceVisitor visitor);
+    }
+
+    interface ParsedSourceVisitor {
+
+        void visit(Source source, String[] argumentNames, CallTarget target);
+
     }
 
     private static final class StrongCache extends Cache {
@@ -181,7 +237,10 @@ final class PolyglotSourceCache {
         CallTarget lookup(PolyglotLanguageContext context, Source source, String[] argumentNames, boolean parse) {
             SourceKey key = new SourceKey(source, argumentNames);
             CallTarget target = sourceCache.get(key);
-            if (target == null && parse) {
+            if (target != null) {
+                context.getEngine().sourceCacheStatistics.hits.increment();
+            } else if (parse) {
+                context.getEngine().sourceCacheStatistics.misses.increment();
                 target = parseImpl(context, argumentNames, source);
                 CallTarget prevTarget = sourceCache.putIfAbsent(key, target);
                 if (prevTarget != null) {
@@ -204,6 +263,14 @@ final class PolyglotSourceCache {
             }
         }
 
+        @Override
+        void listParsed(ParsedSourceVisitor visitor) {
+            for (Map.Entry<SourceKey, CallTarget> entry : sourceCache.entrySet()) {
+                SourceKey key = entry.getKey();
+                visitor.visit((Source) key.key, key.arguments, entry.getValue());
+            }
+        }
+
     }
 
     private static final class WeakCache extends Cache {
@@ -220,6 +287,7 @@ final class PolyglotSourceCache {
             WeakCacheValue value = sourceCache.get(ref);
             if (value == null) {
                 if (parse) {
+                    context.getEngine().sourceCacheStatistics.misses.increment();
                     value = new WeakCacheValue(parseImpl(context, argumentNames, sourceValue), sourceValue);
                     WeakCacheValue prev = sourceCache.putIfAbsent(ref, value);
                     if (prev != null) {
@@ -231,6 +299,8 @@ final class PolyglotSourceCache {
                 } else {
                     return null;
                 }
+            } else {
+                context.getEngine().sourceCacheStatistics.hits.increment();
             }
             return value.target;
         }
@@ -249,6 +319,15 @@ final class PolyglotSourceCache {
             }
         }
 
+        @Override
+        void listParsed(ParsedSourceVisitor visitor) {
+            cleanupStaleEntries();
+            for (Map.Entry<WeakSourceKey, WeakCacheValue> entry : sourceCache.entrySet()) {
+                WeakCacheValue value = entry.getValue();
+                visitor.visit(value.source, entry.getKey().key.arguments, value.target);
+            }
+        }
+
         private void cleanupStaleEntries() {
             WeakSourceKey sourceRef = null;
             while ((sourceRef = (WeakSourceKey) deadSources.poll()) != null) {
@@ -258,6 +337,377 @@ final class PolyglotSourceCache {
 
     }
 
+    /**
+     * A cache with a maximum total weight, where the weight of an entry is the number of AST nodes
+     * of its call target. Follows the W-TinyLFU policy: new entries are kept in a small LRU window.
+     * Entries evicted from the window are only admitted to the main space, a segmented LRU, if they
+     * were used at least as frequently as the entry the main space would evict for them. Ties are
+     * admitted so that a new working set can replace entries that are not used anymore. Frequencies
+     * are approximated by a {@link FrequencySketch} that is periodically aged.
+     *
+     * The window holds about 1% of the maximum weight, but at least the average weight of the
+     * parsed entries. Otherwise most entries would be heavier than the window and would have to
+     * compete for admission before they could be used a second time.
+     *
+     * Lookups of cached entries do not block. Their effect on the eviction policy is skipped if
+     * another thread is modifying the policy at the same time.
+     */
+    private static final class BoundedCache extends Cache {
+
+        private final ConcurrentHashMap<SourceKey, Entry> sourceCache = new ConcurrentHashMap<>();
+        private final ReentrantLock policyLock = new ReentrantLock();
+
+        // all fields below are guarded by policyLock
+        private final EntryQueue window = new EntryQueue();
+        private final EntryQueue probation = new EntryQueue();
+        private final EntryQueue protectedQueue = new EntryQueue();
+        private final FrequencySketch sketch = new FrequencySketch();
+        private volatile long maximumWeight;
+        private long windowMaximumWeight;
+        private long protectedMaximumWeight;
+        private long parsedWeight;
+        private long parsedCount;
+        private Statistics statistics;
+
+        void setMaximumWeight(long weight) {
+            if (maximumWeight == weight) {
+                return;
+            }
+            policyLock.lock();
+            try {
+                maximumWeight = weight;
+                updateWindowMaximumWeight();
+                if (statistics != null) {
+                    evict();
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+
+        private void updateWindowMaximumWeight() {
+            assert policyLock.isHeldByCurrentThread();
+            long averageWeight = parsedCount == 0 ? 1 : parsedWeight / parsedCount;
+            windowMaximumWeight = Math.max(1, Math.min(maximumWeight / 2, Math.max(maximumWeight / 100, averageWeight)));
+            protectedMaximumWeight = (maximumWeight - windowMaximumWeight) * 4 / 5;
+        }
+
+        @Override
+        CallTarget lookup(PolyglotLanguageContext context, Source source, String[] argumentNames, boolean parse) {
+            Statistics engineStatistics = context.getEngine().sourceCacheStatistics;
+            SourceKey key = new SourceKey(source, argumentNames);
+            Entry entry = sourceCache.get(key);
+            if (entry != null) {
+                engineStatistics.hits.increment();
+                if (policyLock.tryLock()) {
+                    try {
+                        onAccess(entry);
+                    } finally {
+                        policyLock.unlock();
+                    }
+                }
+                return entry.target;
+            } else if (!parse) {
+                return null;
+            }
+
+            engineStatistics.misses.increment();
+            CallTarget target = parseImpl(context, argumentNames, source);
+            int weight = computeWeight(target);
+            policyLock.lock();
+            try {
+                statistics = engineStatistics;
+                sketch.increment(key.hashCode());
+                Entry existing = sourceCache.get(key);
+                if (existing != null) {
+                    // parsed concurrently -> discard the one not in the cache.
+                    return existing.target;
+                }
+                if (weight > maximumWeight - windowMaximumWeight) {
+                    // can never be admitted to the main space, not cached.
+                    return target;
+                }
+                parsedWeight += weight;
+                parsedCount++;
+                updateWindowMaximumWeight();
+                entry = new Entry(key, target, weight);
+                sourceCache.put(key, entry);
+                sketch.ensureCapacity(sourceCache.size());
+                window.addLast(entry);
+                engineStatistics.cachedSources.increment();
+                engineStatistics.cachedWeight.add(weight);
+                evict();
+            } finally {
+                policyLock.unlock();
+            }
+            return target;
+        }
+
+        private static int computeWeight(CallTarget target) {
+            if (target instanceof RootCallTarget) {
+                return Math.max(1, NodeUtil.countNodes(((RootCallTarget) target).getRootNode()));
+            }
+            return 1;
+        }
+
+        private void onAccess(Entry entry) {
+            assert policyLock.isHeldByCurrentThread();
+            sketch.increment(entry.key.hashCode());
+            EntryQueue queue = entry.queue;
+            if (queue == null) {
+                // evicted concurrently
+                return;
+            }
+            queue.remove(entry);
+            if (queue == probation) {
+                protectedQueue.addLast(entry);
+                while (protectedQueue.weight > protectedMaximumWeight && protectedQueue.head != entry) {
+                    Entry demoted = protectedQueue.head;
+                    protectedQueue.remove(demoted);
+                    probation.addLast(demoted);
+                }
+            } else {
+                queue.addLast(entry);
+            }
+        }
+
+        private void evict() {
+            assert policyLock.isHeldByCurrentThread();
+            long mainMaximumWeight = maximumWeight - windowMaximumWeight;
+            while (window.weight > windowMaximumWeight) {
+                Entry candidate = window.head;
+                window.remove(candidate);
+                admit(candidate, mainMaximumWeight);
+            }
+            while (window.weight + probation.weight + protectedQueue.weight > maximumWeight) {
+                Entry victim = probation.head != null ? probation.head : protectedQueue.head != null ? protectedQueue.head : window.head;
+                victim.queue.remove(victim);
+                remove(victim);
+            }
+        }
+
+        private void admit(Entry candidate, long mainMaximumWeight) {
+            if (candidate.weight > mainMaximumWeight) {
+                // the maximum weight was lowered after the candidate was cached.
+                remove(candidate);
+                return;
+            }
+            if (probation.weight + protectedQueue.weight + candidate.weight > mainMaximumWeight) {
+                Entry victim = selectVictim();
+                if (victim != null && sketch.frequency(candidate.key.hashCode()) < sketch.frequency(victim.key.hashCode())) {
+                    remove(candidate);
+                    return;
+                }
+                while (probation.weight + protectedQueue.weight + candidate.weight > mainMaximumWeight) {
+                    victim = selectVictim();
+                    victim.queue.remove(victim);
+                    remove(victim);
+                }
+            }
+            probation.addLast(candidate);
+        }
+
+        /**
+         * Usually the least recently used probation entry. The least recently used protected entry
+         * is evicted instead if it is not used more frequently, otherwise entries that were
+         * protected by an earlier working set would never make room for the current one.
+         */
+        private Entry selectVictim() {
+            Entry victim = probation.head;
+            Entry protectedVictim = protectedQueue.head;
+            if (victim == null || (protectedVictim != null && sketch.frequency(protectedVictim.key.hashCode()) <= sketch.frequency(victim.key.hashCode()))) {
+                return protectedVictim;
+            }
+            return victim;
+        }
+
+        private void remove(Entry entry) {
+            sourceCache.remove(entry.key, entry);
+            statistics.evictions.increment();
+            statistics.cachedSources.decrement();
+            statistics.cachedWeight.add(-entry.weight);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return sourceCache.isEmpty();
+        }
+
+        @Override
+        void listSources(PolyglotLanguageInstance language, Collection<org.graalvm.polyglot.Source> sources) {
+            PolyglotImpl polygot = language.getImpl();
+            for (SourceKey key : sourceCache.keySet()) {
+                sources.add(polygot.getOrCreatePolyglotSource((Source) key.key));
+            }
+        }
+
+        @Override
+        void listParsed(ParsedSourceVisitor visitor) {
+            for (Entry entry : sourceCache.values()) {
+                visitor.visit((Source) entry.key.key, entry.key.arguments, entry.target);
+            }
+        }
+
+    }
+
+    private static final class Entry {
+
+        final SourceKey key;
+        final CallTarget target;
+        final int weight;
+
+        // guarded by the policy lock of the bounded cache
+        EntryQueue queue;
+        Entry prev;
+        Entry next;
+
+        Entry(SourceKey key, CallTarget target, int weight) {
+            this.key = key;
+            this.target = target;
+            this.weight = weight;
+        }
+
+    }
+
+    /**
+     * A doubly linked list of entries ordered from least to most recently used.
+     */
+    private static final class EntryQueue {
+
+        Entry head;
+        Entry tail;
+        long weight;
+
+        void addLast(Entry entry) {
+            assert entry.queue == null;
+            entry.queue = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+            weight += entry.weight;
+        }
+
+        void remove(Entry entry) {
+            assert entry.queue == this;
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.queue = null;
+            entry.prev = null;
+            entry.next = null;
+            weight -= entry.weight;
+        }
+
+    }
+
+    /**
+     * A count-min sketch with four 4-bit counters per entry. All counters are halved after a number
+     * of increments proportional to the table size so that old accesses lose their weight.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+        private static final int MINIMUM_CAPACITY = 64;
+        private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+        private long[] table = new long[MINIMUM_CAPACITY];
+        private int sampleSize = 10 * MINIMUM_CAPACITY;
+        private int size;
+
+        void ensureCapacity(int entries) {
+            if (entries <= table.length || table.length >= MAXIMUM_CAPACITY) {
+                return;
+            }
+            int capacity = Math.min(MAXIMUM_CAPACITY, Integer.highestOneBit(entries - 1) << 1);
+            table = new long[capacity];
+            sampleSize = 10 * capacity;
+            size = 0;
+        }
+
+        int frequency(int item) {
+            int hash = spread(item);
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int item) {
+            int hash = spread(item);
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int oddCounters = 0;
+            for (int i = 0; i < table.length; i++) {
+                oddCounters += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size >>> 1) - (oddCounters >>> 2);
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & (table.length - 1);
+        }
+
+        private static int spread(int item) {
+            int x = ((item >>> 16) ^ item) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+
+    }
+
+    /**
+     * Counters shared by all source caches of an engine.
+     */
+    static final class Statistics {
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder cachedSources = new LongAdder();
+        final LongAdder cachedWeight = new LongAdder();
+
+    }
+
     static class WeakCacheValue {
 
         final CallTarget target;
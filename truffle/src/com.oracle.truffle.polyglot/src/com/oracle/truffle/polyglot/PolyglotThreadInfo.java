@@ -65,6 +65,13 @@ final class PolyglotThreadInfo {
     private ClassLoaderEntry prevContextClassLoader;
     private SpecializationStatisticsEntry executionStatisticsEntry;
 
+    /*
+     * CPU time and allocated bytes of the thread when it entered the context for the first time.
+     * Written by the current thread, read by other threads collecting the resource usage.
+     */
+    volatile long enterCpuTime = PolyglotResourceUsage.UNSUPPORTED;
+    volatile long enterAllocatedBytes = PolyglotResourceUsage.UNSUPPORTED;
+
     private boolean safepointActive; // only accessed from current thread
     private volatile Object[] contextThreadLocals;
 
@@ -137,6 +144,10 @@ final class PolyglotThreadInfo {
         if (engine.specializationStatistics != null) {
             enterStatistics(engine.specializationStatistics);
         }
+
+        if (engine.resourceUsageTracking && enteredCount == 1) {
+            enterResourceUsage();
+        }
     }
 
     boolean isPolyglotThread(PolyglotContextImpl c) {
@@ -163,9 +174,23 @@ final class PolyglotThreadInfo {
             if (engine.specializationStatistics != null) {
                 leaveStatistics(engine.specializationStatistics);
             }
+            if (engine.resourceUsageTracking && enteredCount == 1) {
+                leaveResourceUsage(profiledContext);
+            }
         }
     }
 
+    @TruffleBoundary
+    private void enterResourceUsage() {
+        enterCpuTime = PolyglotResourceUsage.getCurrentThreadCpuTime();
+        enterAllocatedBytes = PolyglotResourceUsage.getCurrentThreadAllocatedBytes();
+    }
+
+    @TruffleBoundary
+    private void leaveResourceUsage(PolyglotContextImpl profiledContext) {
+        profiledContext.resourceUsage.leave(this);
+    }
+
     @TruffleBoundary
     private void enterStatistics(SpecializationStatistics statistics) {
         SpecializationStatistics prev = statistics.enter();
@@ -254,7 +254,7 @@ class WatBuildTask(GraalWasmBuildTask):
             must_rebuild = timestamped_source.isNewerThan(timestamped_output) or not timestamped_output.exists()
 
             if must_rebuild:
-                build_cmd_line = [wat2wasm_cmd] + [source_path, "-o", output_wasm_path]
+                build_cmd_line = [wat2wasm_cmd, "--enable-simd", "--enable-threads"] + [source_path, "-o", output_wasm_path]
                 if mx.run(build_cmd_line, nonZeroIsFatal=False) != 0:
                     mx.abort("Could not build the wasm binary of '" + filename + "' with wat2wasm.")
                 shutil.copyfile(source_path, output_wat_path)
@@ -396,7 +396,7 @@ class EmscriptenBuildTask(GraalWasmBuildTask):
                 elif filename.endswith(".wat"):
                     # Step 1: compile the .wat file to .wasm.
                     wat2wasm_cmd = os.path.join(wabt_dir, "wat2wasm")
-                    build_cmd_line = [wat2wasm_cmd, "-o", output_wasm_path, source_path]
+                    build_cmd_line = [wat2wasm_cmd, "--enable-simd", "--enable-threads", "-o", output_wasm_path, source_path]
                     if mx.run(build_cmd_line, nonZeroIsFatal=False) != 0:
                         mx.abort("Could not translate " + filename + " to binary format.")
                 elif filename.endswith(".wasm"):
@@ -236,6 +236,20 @@ class WasmBenchmarkSuite(JMHDistBenchmarkSuite):
 add_bm_suite(WasmBenchmarkSuite())
 
 
+class WasmInterpreterBenchmarkSuite(WasmBenchmarkSuite):
+    """
+    Runs the wasm benchmarks with Truffle compilation disabled, to measure interpreter throughput.
+    """
+    def name(self):
+        return "wasm-interpreter"
+
+    def vmArgs(self, bmSuiteArgs):
+        return ["-Dwasmbench.disableCompilation=true"] + super(WasmInterpreterBenchmarkSuite, self).vmArgs(bmSuiteArgs)
+
+
+add_bm_suite(WasmInterpreterBenchmarkSuite())
+
+
 _suite = mx.suite("wasm")
 
 
@@ -0,0 +1,97 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Four worker threads sum the stripes of a shared array and add their partial sums to a shared
+;; total. The first worker waits until the others are done and publishes the result.
+;;
+;; Memory layout: the total at 0, the number of finished workers at 4, the result at 8 and the
+;; array of 8192 32-bit integers from 64.
+(module
+  (memory (export "memory") 1 1 shared)
+
+  (func (export "benchmarkSetupOnce")
+    (local $i i32)
+    (loop $fill
+      (i32.store offset=64
+        (i32.shl (local.get $i) (i32.const 2))
+        (i32.and (local.get $i) (i32.const 255)))
+      (local.set $i (i32.add (local.get $i) (i32.const 1)))
+      (br_if $fill (i32.lt_u (local.get $i) (i32.const 8192)))))
+
+  (func (export "benchmarkSetupEach")
+    (i32.atomic.store (i32.const 0) (i32.const 0))
+    (i32.atomic.store (i32.const 4) (i32.const 0))
+    (i32.atomic.store (i32.const 8) (i32.const 0)))
+
+  (func (export "benchmarkTeardownEach") (param i32))
+
+  (func (export "benchmarkWorker") (param $worker i32)
+    (local $iteration i32)
+    (local $address i32)
+    (local $end i32)
+    (local $sum i32)
+    (local $finished i32)
+    ;; Each stripe has 2048 elements, i.e. 8192 bytes.
+    (local.set $end (i32.shl (i32.add (local.get $worker) (i32.const 1)) (i32.const 13)))
+    (loop $outer
+      (local.set $address (i32.shl (local.get $worker) (i32.const 13)))
+      (loop $inner
+        (local.set $sum (i32.add (local.get $sum) (i32.load offset=64 (local.get $address))))
+        (local.set $address (i32.add (local.get $address) (i32.const 4)))
+        (br_if $inner (i32.lt_u (local.get $address) (local.get $end))))
+      (local.set $iteration (i32.add (local.get $iteration) (i32.const 1)))
+      (br_if $outer (i32.lt_u (local.get $iteration) (i32.const 25))))
+    (drop (i32.atomic.rmw.add (i32.const 0) (local.get $sum)))
+    (drop (i32.atomic.rmw.add (i32.const 4) (i32.const 1)))
+    (if (local.get $worker)
+      (then
+        (drop (memory.atomic.notify (i32.const 4) (i32.const 1))))
+      (else
+        (block $done
+          (loop $wait
+            (local.set $finished (i32.atomic.load (i32.const 4)))
+            (br_if $done (i32.eq (local.get $finished) (i32.const 4)))
+            (drop (memory.atomic.wait32 (i32.const 4) (local.get $finished) (i64.const -1)))
+            (br $wait)))
+        (i32.atomic.store (i32.const 8) (i32.atomic.load (i32.const 0))))))
+
+  (func (export "benchmarkRun") (result i32)
+    (i32.atomic.load (i32.const 8)))
+)
@@ -0,0 +1,97 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Computes y = 2 * x + y on arrays of 1024 32-bit floats with f32x4 operations.
+(module
+  (memory (export "memory") 1)
+
+  (func (export "benchmarkSetupOnce")
+    (local $i i32)
+    (loop $fill
+      (f32.store
+        (i32.shl (local.get $i) (i32.const 2))
+        (f32.convert_i32_u (i32.and (local.get $i) (i32.const 15))))
+      (local.set $i (i32.add (local.get $i) (i32.const 1)))
+      (br_if $fill (i32.lt_u (local.get $i) (i32.const 1024)))))
+
+  (func (export "benchmarkSetupEach")
+    (local $address i32)
+    (local.set $address (i32.const 4096))
+    (loop $clear
+      (v128.store (local.get $address) (v128.const i32x4 0 0 0 0))
+      (local.set $address (i32.add (local.get $address) (i32.const 16)))
+      (br_if $clear (i32.lt_u (local.get $address) (i32.const 8192)))))
+
+  (func (export "benchmarkTeardownEach") (param i32))
+
+  (func (export "benchmarkRun") (result i32)
+    (local $iteration i32)
+    (local $address i32)
+    (local $a v128)
+    (local $checksum v128)
+    (local.set $a (f32x4.splat (f32.const 2)))
+    (loop $outer
+      (local.set $address (i32.const 0))
+      (loop $inner
+        (v128.store offset=4096
+          (local.get $address)
+          (f32x4.add
+            (f32x4.mul (local.get $a) (v128.load (local.get $address)))
+            (v128.load offset=4096 (local.get $address))))
+        (local.set $address (i32.add (local.get $address) (i32.const 16)))
+        (br_if $inner (i32.lt_u (local.get $address) (i32.const 4096))))
+      (local.set $iteration (i32.add (local.get $iteration) (i32.const 1)))
+      (br_if $outer (i32.lt_u (local.get $iteration) (i32.const 100))))
+    (local.set $address (i32.const 0))
+    (loop $sum
+      (local.set $checksum
+        (i32x4.add
+          (local.get $checksum)
+          (i32x4.trunc_sat_f32x4_s (v128.load offset=4096 (local.get $address)))))
+      (local.set $address (i32.add (local.get $address) (i32.const 16)))
+      (br_if $sum (i32.lt_u (local.get $address) (i32.const 4096))))
+    (i32.add
+      (i32.add
+        (i32x4.extract_lane 0 (local.get $checksum))
+        (i32x4.extract_lane 1 (local.get $checksum)))
+      (i32.add
+        (i32x4.extract_lane 2 (local.get $checksum))
+        (i32x4.extract_lane 3 (local.get $checksum)))))
+)
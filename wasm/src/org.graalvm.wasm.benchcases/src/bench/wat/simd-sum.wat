@@ -0,0 +1,78 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Sums an array of 4096 32-bit integers with i32x4 additions.
+(module
+  (memory (export "memory") 1)
+
+  (func (export "benchmarkSetupOnce")
+    (local $i i32)
+    (loop $fill
+      (i32.store
+        (i32.shl (local.get $i) (i32.const 2))
+        (i32.and (local.get $i) (i32.const 255)))
+      (local.set $i (i32.add (local.get $i) (i32.const 1)))
+      (br_if $fill (i32.lt_u (local.get $i) (i32.const 4096)))))
+
+  (func (export "benchmarkSetupEach"))
+
+  (func (export "benchmarkTeardownEach") (param i32))
+
+  (func (export "benchmarkRun") (result i32)
+    (local $iteration i32)
+    (local $address i32)
+    (local $acc v128)
+    (loop $outer
+      (local.set $address (i32.const 0))
+      (loop $inner
+        (local.set $acc
+          (i32x4.add (local.get $acc) (v128.load (local.get $address))))
+        (local.set $address (i32.add (local.get $address) (i32.const 16)))
+        (br_if $inner (i32.lt_u (local.get $address) (i32.const 16384))))
+      (local.set $iteration (i32.add (local.get $iteration) (i32.const 1)))
+      (br_if $outer (i32.lt_u (local.get $iteration) (i32.const 100))))
+    (i32.add
+      (i32.add
+        (i32x4.extract_lane 0 (local.get $acc))
+        (i32x4.extract_lane 1 (local.get $acc)))
+      (i32.add
+        (i32x4.extract_lane 2 (local.get $acc))
+        (i32x4.extract_lane 3 (local.get $acc)))))
+)
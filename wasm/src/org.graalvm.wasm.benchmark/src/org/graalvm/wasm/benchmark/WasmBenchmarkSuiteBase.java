@@ -68,6 +68,8 @@ public abstract class WasmBenchmarkSuiteBase {
         private Value benchmarkSetupEach;
         private Value benchmarkTeardownEach;
         private Value benchmarkRun;
+        private Value benchmarkWorker;
+        private int workerThreads;
         private Value result;
 
         /**
@@ -79,14 +81,25 @@ public abstract class WasmBenchmarkSuiteBase {
 
         @Setup(Level.Trial)
         public void setup() throws IOException, InterruptedException {
+            benchmarkCase = WasmCase.loadBenchmarkCase(benchmarkResource());
+            // Multi-threaded benchmarks export a benchmarkWorker function, which is called by
+            // this many threads in each iteration before benchmarkRun computes the result.
+            workerThreads = Integer.parseInt(benchmarkCase.options().getProperty("worker-threads", "0"));
             final Context.Builder contextBuilder = Context.newBuilder("wasm");
             contextBuilder.option("wasm.Builtins", "testutil,env:emscripten,wasi_snapshot_preview1");
             if (!Objects.isNull(DISABLE_COMPILATION_FLAG)) {
                 contextBuilder.allowExperimentalOptions(true);
                 contextBuilder.option("engine.Compilation", "false");
             }
+            if (workerThreads > 0) {
+                contextBuilder.allowExperimentalOptions(true);
+                contextBuilder.option("wasm.Threads", "true");
+            }
+            if (Boolean.parseBoolean(benchmarkCase.options().getProperty("enable-simd"))) {
+                contextBuilder.allowExperimentalOptions(true);
+                contextBuilder.option("wasm.SIMD", "true");
+            }
             context = contextBuilder.build();
-            benchmarkCase = WasmCase.loadBenchmarkCase(benchmarkResource());
             System.out.println("...::: Benchmark " + benchmarkCase.name() + " :::...");
             benchmarkCase.getSources().forEach(context::eval);
 
@@ -100,6 +113,10 @@ public abstract class WasmBenchmarkSuiteBase {
             benchmarkTeardownEach = benchmarkModule.getMember("benchmarkTeardownEach");
             benchmarkRun = benchmarkModule.getMember("benchmarkRun");
             Assert.assertNotNull(String.format("No benchmarkRun method in %s.", benchmarkCase.name()), benchmarkRun);
+            if (workerThreads > 0) {
+                benchmarkWorker = benchmarkModule.getMember("benchmarkWorker");
+                Assert.assertNotNull(String.format("No benchmarkWorker method in %s.", benchmarkCase.name()), benchmarkWorker);
+            }
 
             if (benchmarkSetupOnce != null) {
                 benchmarkSetupOnce.execute();
@@ -139,9 +156,38 @@ public abstract class WasmBenchmarkSuiteBase {
         }
 
         public void run() {
+            if (workerThreads > 0) {
+                runWorkers();
+            }
             this.result = benchmarkRun.execute();
         }
 
+        private void runWorkers() {
+            final Thread[] threads = new Thread[workerThreads];
+            final Throwable[] failures = new Throwable[workerThreads];
+            for (int i = 0; i < workerThreads; i++) {
+                final int workerIndex = i;
+                threads[i] = new Thread(() -> {
+                    try {
+                        benchmarkWorker.execute(workerIndex);
+                    } catch (Throwable t) {
+                        failures[workerIndex] = t;
+                    }
+                });
+                threads[i].start();
+            }
+            for (int i = 0; i < workerThreads; i++) {
+                try {
+                    threads[i].join();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                if (failures[i] != null) {
+                    throw new RuntimeException(String.format("Worker %d of %s failed.", i, benchmarkCase.name()), failures[i]);
+                }
+            }
+        }
+
         public Value benchmarkRun() {
             return benchmarkRun;
         }
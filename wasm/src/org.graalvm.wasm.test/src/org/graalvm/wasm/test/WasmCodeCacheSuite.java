@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm.test;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.io.ByteSequence;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.graalvm.wasm.utils.WasmBinaryTools.compileWat;
+
+/**
+ * Tests the code section cache and the parallel reading of code entries.
+ */
+public class WasmCodeCacheSuite {
+    private static final String TEXT = "(type $binop (func (param i32 i32) (result i32)))" +
+                    "(table 2 funcref)" +
+                    "(elem (i32.const 0) $add $mul)" +
+                    "(memory 1)" +
+                    "(global $g (mut i32) (i32.const 3))" +
+                    "(func $add (type $binop) local.get 0 local.get 1 i32.add)" +
+                    "(func $mul (type $binop) local.get 0 local.get 1 i32.mul)" +
+                    "(func $classify (param i32) (result i32)" +
+                    "  block block block local.get 0 br_table 0 1 2 end i32.const 10 return end i32.const 20 return end" +
+                    "  i32.const 30)" +
+                    "(func (export \"run\") (result i32) (local $i i32) (local $acc i32)" +
+                    "  loop $l" +
+                    "    local.get $acc local.get $i call $classify local.get $i i32.const 1 i32.and call_indirect (type $binop) local.set $acc" +
+                    "    local.get $i i32.const 1 i32.add local.tee $i i32.const 5 i32.lt_s br_if $l" +
+                    "  end" +
+                    "  i32.const 8 local.get $acc i32.store offset=4" +
+                    "  i32.const 12 i32.load global.get $g i32.add)";
+    private static final int EXPECTED = 6933;
+
+    private static final byte[] VALID_BODY = {0x00, 0x41, 0x2a, 0x0b};
+    private static final byte[] MISMATCHED_BODY = {0x00, 0x42, 0x00, 0x0b};
+    private static final byte[] EMPTY_BODY = {0x00, 0x0b};
+
+    private Path cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("wasm-code-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void cacheHitBehavesLikeFreshParse() throws IOException, InterruptedException {
+        final byte[] binary = compileWat("cached", TEXT);
+        Assert.assertEquals(EXPECTED, run(Context.newBuilder("wasm"), binary));
+        Assert.assertEquals(EXPECTED, run(cachingContext(cacheDirectory), binary));
+        final Path cacheFile = cacheFile();
+        Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(0));
+
+        Assert.assertEquals(EXPECTED, run(cachingContext(cacheDirectory), binary));
+        Assert.assertEquals("The cached code section should have been used.", 0, Files.getLastModifiedTime(cacheFile).toMillis());
+    }
+
+    @Test
+    public void damagedCacheFilesFallBackToParsing() throws IOException, InterruptedException {
+        final byte[] binary = compileWat("cached", TEXT);
+        run(cachingContext(cacheDirectory), binary);
+        final Path cacheFile = cacheFile();
+        final byte[] original = Files.readAllBytes(cacheFile);
+
+        final byte[] truncated = Arrays.copyOf(original, original.length / 2);
+        final byte[] corrupted = original.clone();
+        corrupted[corrupted.length - 1] ^= 0x5a;
+        final byte[] staleFormat = original.clone();
+        staleFormat[7] = 1;
+        final byte[] otherGraalVMVersion = original.clone();
+        // Replaces the first character of the version, which follows the magic number, the format
+        // version and the length of the version string.
+        otherGraalVMVersion[10] = '#';
+        for (byte[] damaged : new byte[][]{truncated, corrupted, staleFormat, otherGraalVMVersion, new byte[0]}) {
+            Files.write(cacheFile, damaged);
+            Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(0));
+            Assert.assertEquals(EXPECTED, run(cachingContext(cacheDirectory), binary));
+            Assert.assertNotEquals("The cache file should have been written again.", 0, Files.getLastModifiedTime(cacheFile).toMillis());
+            Assert.assertArrayEquals(original, Files.readAllBytes(cacheFile));
+        }
+    }
+
+    @Test
+    public void cacheFileOfOtherModuleIsRejected() throws IOException, InterruptedException {
+        // Both modules have the same size and number of code entries.
+        final byte[] binary = module(VALID_BODY);
+        final byte[] otherBinary = module(new byte[]{0x00, 0x41, 0x2b, 0x0b});
+        Assert.assertEquals(42, runF0(cachingContext(cacheDirectory), binary));
+        final Path cacheFile = cacheFile();
+        final Path otherCacheFile = cacheDirectory.resolve("other.tmp");
+        Assert.assertEquals(43, runF0(cachingContext(cacheDirectory), otherBinary));
+        Files.move(cacheFile, otherCacheFile);
+        // Stores the cache file of the first module under the name of the second one.
+        final Path otherKey = cacheFile();
+        Files.copy(otherCacheFile, otherKey, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(otherCacheFile);
+        Assert.assertEquals(43, runF0(cachingContext(cacheDirectory), otherBinary));
+    }
+
+    @Test
+    public void outOfBoundsRecordingIsRejected() throws IOException, InterruptedException {
+        final byte[] binary = module(VALID_BODY);
+        runF0(cachingContext(cacheDirectory), binary);
+        final Path cacheFile = cacheFile();
+        final byte[] bytes = Files.readAllBytes(cacheFile);
+        // Magic number, format version, version string, module hash, module length and number of
+        // code entries.
+        final int checksumOffset = 4 + 4 + 2 + (((bytes[8] & 0xff) << 8) | (bytes[9] & 0xff)) + 32 + 4 + 4;
+        final int payloadOffset = checksumOffset + 8;
+        // The payload starts with the local types and the length of the node recording, followed
+        // by the tag and the start offset of the function block.
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Assert.assertEquals(0, buffer.getInt(payloadOffset));
+        buffer.putInt(payloadOffset + 12, Integer.MAX_VALUE);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, payloadOffset, bytes.length - payloadOffset);
+        buffer.putLong(checksumOffset, crc.getValue());
+        Files.write(cacheFile, bytes);
+        Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(0));
+
+        Assert.assertEquals(42, runF0(cachingContext(cacheDirectory), binary));
+        Assert.assertNotEquals("The cache file should have been written again.", 0, Files.getLastModifiedTime(cacheFile).toMillis());
+    }
+
+    @Test
+    public void unwritableCacheDirectory() throws IOException, InterruptedException {
+        final Path file = Files.createFile(cacheDirectory.resolve("file"));
+        final byte[] binary = compileWat("cached", TEXT);
+        // The cache directory cannot be created below a regular file.
+        Assert.assertEquals(EXPECTED, run(cachingContext(file.resolve("cache")), binary));
+        Assert.assertEquals(EXPECTED, run(cachingContext(file.resolve("cache")), binary));
+    }
+
+    @Test
+    public void parallelParsingReportsFirstInvalidEntry() throws IOException {
+        assertInvalid(module(VALID_BODY, VALID_BODY, VALID_BODY, MISMATCHED_BODY, VALID_BODY, VALID_BODY, VALID_BODY, EMPTY_BODY), "Expected type i32 but got i64");
+        assertInvalid(module(VALID_BODY, VALID_BODY, VALID_BODY, EMPTY_BODY, VALID_BODY, VALID_BODY, VALID_BODY, MISMATCHED_BODY), "Cannot pop from the stack");
+    }
+
+    @Test
+    public void deeplyNestedEntryIsReadOnParsingThread() throws IOException {
+        // Deep enough to overflow the default stack of the fork-join worker threads.
+        final int depth = 100_000;
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(0x00);
+        for (int i = 0; i < depth; i++) {
+            body.write(0x02);
+            body.write(0x40);
+        }
+        for (int i = 0; i < depth; i++) {
+            body.write(0x0b);
+        }
+        body.write(0x41);
+        body.write(0x07);
+        body.write(0x0b);
+        final Context.Builder builder = parallelParsingContext().option("wasm.AsyncParsingStackSize", "500000");
+        try (Context context = builder.build()) {
+            final Value instance = context.eval(Source.newBuilder("wasm", ByteSequence.create(module(VALID_BODY, body.toByteArray(), VALID_BODY)), "test").build());
+            Assert.assertEquals(42, instance.getMember("f0").execute().asInt());
+        }
+    }
+
+    private Path cacheFile() throws IOException {
+        try (Stream<Path> paths = Files.list(cacheDirectory)) {
+            final List<Path> cacheFiles = paths.filter(path -> path.toString().endsWith(".wasmcache")).collect(Collectors.toList());
+            Assert.assertEquals(1, cacheFiles.size());
+            return cacheFiles.get(0);
+        }
+    }
+
+    private static Context.Builder cachingContext(Path directory) {
+        return Context.newBuilder("wasm").allowIO(true).allowExperimentalOptions(true).option("wasm.CodeCacheDirectory", directory.toString());
+    }
+
+    private static Context.Builder parallelParsingContext() {
+        return Context.newBuilder("wasm").allowExperimentalOptions(true).option("wasm.AsyncParsingBinarySize", "0").option("wasm.ParallelParsingThreads", "4");
+    }
+
+    private static int run(Context.Builder builder, byte[] binary) throws IOException {
+        try (Context context = builder.build()) {
+            final Value instance = context.eval(Source.newBuilder("wasm", ByteSequence.create(binary), "cached").build());
+            return instance.getMember("run").execute().asInt();
+        }
+    }
+
+    private static int runF0(Context.Builder builder, byte[] binary) throws IOException {
+        try (Context context = builder.build()) {
+            final Value instance = context.eval(Source.newBuilder("wasm", ByteSequence.create(binary), "test").build());
+            return instance.getMember("f0").execute().asInt();
+        }
+    }
+
+    private static void assertInvalid(byte[] binary, String expectedMessage) throws IOException {
+        try (Context context = parallelParsingContext().build()) {
+            final Value instance = context.eval(Source.newBuilder("wasm", ByteSequence.create(binary), "test").build());
+            instance.getMember("f0").execute();
+            Assert.fail("Should not reach here.");
+        } catch (PolyglotException e) {
+            Assert.assertTrue("Should report the first invalid code entry, got: " + e.getMessage(), e.getMessage().contains(expectedMessage));
+        }
+    }
+
+    /**
+     * Builds a module with a function of type {@code [] -> [i32]} for each of the given bodies, and
+     * exports the first one as {@code f0}.
+     */
+    private static byte[] module(byte[]... bodies) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0x00, 0x61, 0x73, 0x6d, 0x01, 0x00, 0x00, 0x00}, 0, 8);
+        section(out, 1, new byte[]{0x01, 0x60, 0x00, 0x01, 0x7f});
+        final ByteArrayOutputStream functions = new ByteArrayOutputStream();
+        writeUnsigned(functions, bodies.length);
+        for (int i = 0; i < bodies.length; i++) {
+            functions.write(0x00);
+        }
+        section(out, 3, functions.toByteArray());
+        section(out, 7, new byte[]{0x01, 0x02, 'f', '0', 0x00, 0x00});
+        final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        writeUnsigned(code, bodies.length);
+        for (byte[] body : bodies) {
+            writeUnsigned(code, body.length);
+            code.write(body, 0, body.length);
+        }
+        section(out, 10, code.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static void section(ByteArrayOutputStream out, int id, byte[] contents) {
+        out.write(id);
+        writeUnsigned(out, contents.length);
+        out.write(contents, 0, contents.length);
+    }
+
+    private static void writeUnsigned(ByteArrayOutputStream out, int value) {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            out.write((remaining & 0x7f) | 0x80);
+            remaining >>>= 7;
+        }
+        out.write(remaining);
+    }
+}
@@ -303,6 +303,11 @@ public abstract class WasmFileSuite extends AbstractWasmSuite {
                 }
             }
 
+            final boolean enableSimd = Boolean.parseBoolean(testCase.options().getProperty("enable-simd"));
+            if (enableSimd) {
+                contextBuilder.option("wasm.SIMD", "true");
+            }
+
             final boolean enableIO = Boolean.parseBoolean(testCase.options().getProperty("enable-io"));
             if (enableIO) {
                 contextBuilder.allowIO(true);
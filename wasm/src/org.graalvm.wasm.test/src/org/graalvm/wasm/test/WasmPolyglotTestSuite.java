@@ -47,12 +47,14 @@ import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.io.ByteSequence;
 import org.graalvm.wasm.WasmContext;
+import org.graalvm.wasm.exception.WasmException;
 import org.graalvm.wasm.memory.UnsafeWasmMemory;
 import org.graalvm.wasm.utils.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
 
+import static org.graalvm.wasm.constants.Sizes.MEMORY_PAGE_SIZE;
 import static org.graalvm.wasm.test.WasmTestUtils.hexStringToByteArray;
 import static org.graalvm.wasm.utils.WasmBinaryTools.compileWat;
 
@@ -102,6 +104,61 @@ public class WasmPolyglotTestSuite {
         Assert.assertTrue("Memory should have been freed.", memory.freed());
     }
 
+    @Test
+    public void reserveUnsafeMemoryImpliesUnsafeMemory() throws IOException {
+        Source source = Source.newBuilder("wasm", ByteSequence.create(binaryReturnConst), "main").build();
+        Context context = Context.newBuilder("wasm").allowExperimentalOptions(true).option("wasm.ReserveUnsafeMemory", "true").build();
+        try {
+            context.enter();
+            context.eval(source);
+            final Value mainModule = context.getBindings("wasm").getMember("main");
+            final TruffleLanguage.Env env = WasmContext.getCurrent().environment();
+            Assert.assertTrue("Memory should be unsafe memory.", env.asGuestValue(mainModule.getMember("memory")) instanceof UnsafeWasmMemory);
+        } finally {
+            context.leave();
+            context.close();
+        }
+    }
+
+    @Test
+    public void reservedUnsafeMemoryGrowsInPlace() {
+        try (UnsafeWasmMemory memory = new UnsafeWasmMemory(1, 4, 4, true)) {
+            memory.store_i32(null, 0, 42);
+            Assert.assertTrue("Memory should grow.", memory.grow(2));
+            Assert.assertEquals("Memory size should be 3 pages.", 3, memory.size());
+            Assert.assertEquals("Memory content should be preserved.", 42, memory.load_i32(null, 0));
+            Assert.assertEquals("New pages should be zeroed.", 0L, memory.load_i64(null, 3 * MEMORY_PAGE_SIZE - 8));
+            Assert.assertTrue("Memory should not grow beyond its maximum size.", !memory.grow(2));
+            try {
+                memory.load_i32(null, Integer.MAX_VALUE - 1);
+                Assert.fail("Access at the end of the address space should be out-of-bounds.");
+            } catch (WasmException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void sharedUnsafeMemoryResetsInPlace() {
+        try (UnsafeWasmMemory memory = UnsafeWasmMemory.createShared(1, 4, 4)) {
+            Assert.assertTrue("Memory should grow.", memory.grow(1));
+            memory.store_i32(null, 0, 42);
+            memory.store_i32(null, MEMORY_PAGE_SIZE, 43);
+            memory.reset();
+            Assert.assertTrue("Memory should not have been freed.", !memory.freed());
+            Assert.assertEquals("Memory size should be 1 page.", 1, memory.size());
+            Assert.assertEquals("Memory should be zeroed.", 0, memory.load_i32(null, 0));
+            try {
+                memory.load_i32(null, MEMORY_PAGE_SIZE);
+                Assert.fail("Access beyond the reset size should be out-of-bounds.");
+            } catch (WasmException e) {
+                // expected
+            }
+            Assert.assertTrue("Memory should grow.", memory.grow(1));
+            Assert.assertEquals("Grown pages should be zeroed.", 0, memory.load_i32(null, MEMORY_PAGE_SIZE));
+        }
+    }
+
     @Test
     public void overwriteElement() throws IOException, InterruptedException {
         final ByteSequence test = ByteSequence.create(compileWat("test", textOverwriteElement));
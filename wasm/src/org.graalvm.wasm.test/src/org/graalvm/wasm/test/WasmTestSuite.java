@@ -52,6 +52,8 @@ import org.graalvm.wasm.test.suites.control.MultipleFunctionsSuite;
 import org.graalvm.wasm.test.suites.control.SimpleBlockSuite;
 import org.graalvm.wasm.test.suites.linker.LinkerSuite;
 import org.graalvm.wasm.test.suites.memory.MemorySuite;
+import org.graalvm.wasm.test.suites.simd.SimdSuite;
+import org.graalvm.wasm.test.suites.threads.ThreadsSuite;
 import org.graalvm.wasm.test.suites.validation.ValidationSuite;
 import org.graalvm.wasm.test.suites.wasi.WasiSuite;
 import org.graalvm.wasm.test.suites.webassembly.EmscriptenSuite;
@@ -72,6 +74,8 @@ import org.junit.runners.Suite;
                 LoopBlockSuite.class,
                 IfThenElseSuite.class,
                 MemorySuite.class,
+                SimdSuite.class,
+                ThreadsSuite.class,
                 IssueSuite.class,
                 MultipleFunctionsSuite.class,
                 EmscriptenSuite.class,
@@ -81,6 +85,8 @@ import org.junit.runners.Suite;
                 WasmJsApiSuite.class,
                 ValidationSuite.class,
                 WasmLateLinkingSuite.class,
+                WasmThreadsSuite.class,
+                WasmCodeCacheSuite.class,
 })
 public class WasmTestSuite {
     @Test
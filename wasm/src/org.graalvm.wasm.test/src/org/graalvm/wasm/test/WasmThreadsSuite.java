@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm.test;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.io.ByteSequence;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.graalvm.wasm.utils.WasmBinaryTools.compileWat;
+
+public class WasmThreadsSuite {
+    private static final String WAITER_COUNT_TEXT = "(memory 1 1 shared)" +
+                    "(func (export \"wait\") (result i32) i32.const 0 i32.const 0 i64.const -1 memory.atomic.wait32)" +
+                    "(func (export \"notify\") (param i32) (result i32) i32.const 0 local.get 0 memory.atomic.notify)";
+
+    @Test
+    public void sharedImportOfSharedMemory() throws IOException, InterruptedException {
+        final Value importer = evalExporterAndImporter("(memory 1 1 shared)", "(memory 1 1 shared)");
+        Assert.assertEquals(0, importer.getMember("load").execute().asInt());
+    }
+
+    @Test
+    public void sharedImportOfUnsharedMemory() throws IOException, InterruptedException {
+        final Value importer = evalExporterAndImporter("(memory 1 1)", "(memory 1 1 shared)");
+        assertIncompatibleImport(importer);
+    }
+
+    @Test
+    public void unsharedImportOfSharedMemory() throws IOException, InterruptedException {
+        final Value importer = evalExporterAndImporter("(memory 1 1 shared)", "(memory 1 1)");
+        assertIncompatibleImport(importer);
+    }
+
+    @Test
+    public void notifyCountsWokenWaiters() throws IOException, InterruptedException {
+        try (Context context = Context.newBuilder("wasm").allowExperimentalOptions(true).option("wasm.Threads", "true").build()) {
+            final Value instance = context.eval(Source.newBuilder("wasm", ByteSequence.create(compileWat("waiters", WAITER_COUNT_TEXT)), "waiters").build());
+            final Value notify = instance.getMember("notify");
+            // Links the module before the waiters start.
+            Assert.assertEquals(0, notify.execute(1).asInt());
+
+            final Thread[] waiters = new Thread[3];
+            final AtomicIntegerArray results = new AtomicIntegerArray(waiters.length);
+            for (int i = 0; i < waiters.length; i++) {
+                final int index = i;
+                waiters[i] = new Thread(() -> results.set(index, instance.getMember("wait").execute().asInt()));
+                waiters[i].start();
+            }
+            awaitParked(waiters);
+
+            Assert.assertEquals(0, notify.execute(0).asInt());
+            Assert.assertEquals(2, notify.execute(2).asInt());
+            // The count is unsigned, so -1 wakes all remaining waiters.
+            Assert.assertEquals(1, notify.execute(-1).asInt());
+            Assert.assertEquals(0, notify.execute(1).asInt());
+            for (int i = 0; i < waiters.length; i++) {
+                waiters[i].join();
+                Assert.assertEquals("Unexpected result of waiter " + i, 0, results.get(i));
+            }
+        }
+    }
+
+    private static Value evalExporterAndImporter(String exportedMemory, String importedMemory) throws IOException, InterruptedException {
+        final Context context = Context.newBuilder("wasm").build();
+        final ByteSequence exporter = ByteSequence.create(compileWat("exporter", exportedMemory.replace("(memory", "(memory (export \"mem\")")));
+        final ByteSequence importer = ByteSequence.create(compileWat("importer", importedMemory.replace("(memory", "(import \"main\" \"mem\" (memory") + ")" +
+                        "(func (export \"load\") (result i32) i32.const 0 i32.atomic.load)"));
+        // The first module is always named "main".
+        context.eval(Source.newBuilder("wasm", exporter, "exporter").build());
+        return context.eval(Source.newBuilder("wasm", importer, "importer").build());
+    }
+
+    private static void assertIncompatibleImport(Value importer) {
+        try {
+            importer.getMember("load").execute();
+            Assert.fail("Should not reach here.");
+        } catch (PolyglotException e) {
+            Assert.assertTrue("Should fail due to mismatching sharedness, got: " + e.getMessage(), e.getMessage().contains("incompatible import type"));
+        }
+    }
+
+    private static void awaitParked(Thread[] threads) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Assert.assertTrue("Thread did not start waiting: " + thread.getState(), thread.isAlive() && System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,929 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Branches out of 130 nested blocks with br, br_if and br_table, so that the
+;; label indices take two LEB128 bytes.
+;;
+(module
+    (func $branch (param $i i32) (result i32)
+        (local $r i32)
+        block ;; label 129 from the innermost block
+            block ;; label 128 from the innermost block
+                block ;; label 127 from the innermost block
+                    block ;; label 126 from the innermost block
+                        block ;; label 125 from the innermost block
+                            block ;; label 124 from the innermost block
+                                block ;; label 123 from the innermost block
+                                    block ;; label 122 from the innermost block
+                                        block ;; label 121 from the innermost block
+                                            block ;; label 120 from the innermost block
+                                                block ;; label 119 from the innermost block
+                                                    block ;; label 118 from the innermost block
+                                                        block ;; label 117 from the innermost block
+                                                            block ;; label 116 from the innermost block
+                                                                block ;; label 115 from the innermost block
+                                                                    block ;; label 114 from the innermost block
+                                                                        block ;; label 113 from the innermost block
+                                                                            block ;; label 112 from the innermost block
+                                                                                block ;; label 111 from the innermost block
+                                                                                    block ;; label 110 from the innermost block
+                                                                                        block ;; label 109 from the innermost block
+                                                                                            block ;; label 108 from the innermost block
+                                                                                                block ;; label 107 from the innermost block
+                                                                                                    block ;; label 106 from the innermost block
+                                                                                                        block ;; label 105 from the innermost block
+                                                                                                            block ;; label 104 from the innermost block
+                                                                                                                block ;; label 103 from the innermost block
+                                                                                                                    block ;; label 102 from the innermost block
+                                                                                                                        block ;; label 101 from the innermost block
+                                                                                                                            block ;; label 100 from the innermost block
+                                                                                                                                block ;; label 99 from the innermost block
+                                                                                                                                    block ;; label 98 from the innermost block
+                                                                                                                                        block ;; label 97 from the innermost block
+                                                                                                                                            block ;; label 96 from the innermost block
+                                                                                                                                                block ;; label 95 from the innermost block
+                                                                                                                                                    block ;; label 94 from the innermost block
+                                                                                                                                                        block ;; label 93 from the innermost block
+                                                                                                                                                            block ;; label 92 from the innermost block
+                                                                                                                                                                block ;; label 91 from the innermost block
+                                                                                                                                                                    block ;; label 90 from the innermost block
+                                                                                                                                                                        block ;; label 89 from the innermost block
+                                                                                                                                                                            block ;; label 88 from the innermost block
+                                                                                                                                                                                block ;; label 87 from the innermost block
+                                                                                                                                                                                    block ;; label 86 from the innermost block
+                                                                                                                                                                                        block ;; label 85 from the innermost block
+                                                                                                                                                                                            block ;; label 84 from the innermost block
+                                                                                                                                                                                                block ;; label 83 from the innermost block
+                                                                                                                                                                                                    block ;; label 82 from the innermost block
+                                                                                                                                                                                                        block ;; label 81 from the innermost block
+                                                                                                                                                                                                            block ;; label 80 from the innermost block
+                                                                                                                                                                                                                block ;; label 79 from the innermost block
+                                                                                                                                                                                                                    block ;; label 78 from the innermost block
+                                                                                                                                                                                                                        block ;; label 77 from the innermost block
+                                                                                                                                                                                                                            block ;; label 76 from the innermost block
+                                                                                                                                                                                                                                block ;; label 75 from the innermost block
+                                                                                                                                                                                                                                    block ;; label 74 from the innermost block
+                                                                                                                                                                                                                                        block ;; label 73 from the innermost block
+                                                                                                                                                                                                                                            block ;; label 72 from the innermost block
+                                                                                                                                                                                                                                                block ;; label 71 from the innermost block
+                                                                                                                                                                                                                                                    block ;; label 70 from the innermost block
+                                                                                                                                                                                                                                                        block ;; label 69 from the innermost block
+                                                                                                                                                                                                                                                            block ;; label 68 from the innermost block
+                                                                                                                                                                                                                                                                block ;; label 67 from the innermost block
+                                                                                                                                                                                                                                                                    block ;; label 66 from the innermost block
+                                                                                                                                                                                                                                                                        block ;; label 65 from the innermost block
+                                                                                                                                                                                                                                                                            block ;; label 64 from the innermost block
+                                                                                                                                                                                                                                                                                block ;; label 63 from the innermost block
+                                                                                                                                                                                                                                                                                    block ;; label 62 from the innermost block
+                                                                                                                                                                                                                                                                                        block ;; label 61 from the innermost block
+                                                                                                                                                                                                                                                                                            block ;; label 60 from the innermost block
+                                                                                                                                                                                                                                                                                                block ;; label 59 from the innermost block
+                                                                                                                                                                                                                                                                                                    block ;; label 58 from the innermost block
+                                                                                                                                                                                                                                                                                                        block ;; label 57 from the innermost block
+                                                                                                                                                                                                                                                                                                            block ;; label 56 from the innermost block
+                                                                                                                                                                                                                                                                                                                block ;; label 55 from the innermost block
+                                                                                                                                                                                                                                                                                                                    block ;; label 54 from the innermost block
+                                                                                                                                                                                                                                                                                                                        block ;; label 53 from the innermost block
+                                                                                                                                                                                                                                                                                                                            block ;; label 52 from the innermost block
+                                                                                                                                                                                                                                                                                                                                block ;; label 51 from the innermost block
+                                                                                                                                                                                                                                                                                                                                    block ;; label 50 from the innermost block
+                                                                                                                                                                                                                                                                                                                                        block ;; label 49 from the innermost block
+                                                                                                                                                                                                                                                                                                                                            block ;; label 48 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                block ;; label 47 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                    block ;; label 46 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                        block ;; label 45 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                            block ;; label 44 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                block ;; label 43 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                    block ;; label 42 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                        block ;; label 41 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                            block ;; label 40 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                block ;; label 39 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 38 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 37 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 36 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 35 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 34 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 33 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 32 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 31 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 30 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 29 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 28 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 27 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 26 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 25 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 24 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 23 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 22 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 21 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 20 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 19 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 18 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 17 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 16 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 15 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 14 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 13 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 12 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 11 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 10 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 9 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 8 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 7 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 6 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 5 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 4 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                block ;; label 3 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    block ;; label 2 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        block ;; label 1 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            block ;; label 0 from the innermost block
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $i
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 7
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.eq
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                br_if 129
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $i
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 8
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.eq
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    br 129
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $i
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                br_table 0 1 2 5 64 127 128 129 3
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 1
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 2
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 3
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 4
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 5
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 6
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 7
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 8
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 9
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 10
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 11
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 12
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 13
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 14
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 15
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 16
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 17
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 18
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 19
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 20
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 21
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 22
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 23
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 24
+                                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 25
+                                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 26
+                                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 27
+                                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 28
+                                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 29
+                                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 30
+                                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 31
+                                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                                i32.const 32
+                                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                            i32.const 33
+                                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                        i32.const 34
+                                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                    i32.const 35
+                                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                                i32.const 36
+                                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                            i32.const 37
+                                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                        i32.const 38
+                                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                    i32.const 39
+                                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                                i32.const 40
+                                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                                            i32.const 41
+                                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                                        i32.const 42
+                                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                                    i32.const 43
+                                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                                i32.const 44
+                                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                                            i32.const 45
+                                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                                        i32.const 46
+                                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                                    i32.const 47
+                                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                                i32.const 48
+                                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                                            i32.const 49
+                                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                                        i32.const 50
+                                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                                    i32.const 51
+                                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                                i32.const 52
+                                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                                            i32.const 53
+                                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                                        i32.const 54
+                                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                                    i32.const 55
+                                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                                i32.const 56
+                                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                                            i32.const 57
+                                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                                        i32.const 58
+                                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                                    i32.const 59
+                                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                                i32.const 60
+                                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                                            i32.const 61
+                                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                                        i32.const 62
+                                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                                    i32.const 63
+                                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                                i32.const 64
+                                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                                            i32.const 65
+                                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                                        i32.const 66
+                                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                                    i32.const 67
+                                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                                i32.const 68
+                                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                                            i32.const 69
+                                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                                        i32.const 70
+                                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                                    i32.const 71
+                                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                                i32.const 72
+                                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                                            i32.const 73
+                                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                                        i32.const 74
+                                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                                    i32.const 75
+                                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                                end
+                                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                                i32.const 76
+                                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                                            end
+                                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                                            i32.const 77
+                                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                                        end
+                                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                                        i32.const 78
+                                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                                    end
+                                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                                    i32.const 79
+                                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                                end
+                                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                                i32.const 80
+                                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                                            end
+                                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                                            i32.const 81
+                                                                                                                                                                                                            i32.add
+                                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                                        end
+                                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                                        i32.const 82
+                                                                                                                                                                                                        i32.add
+                                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                                    end
+                                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                                    i32.const 83
+                                                                                                                                                                                                    i32.add
+                                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                                end
+                                                                                                                                                                                                local.get $r
+                                                                                                                                                                                                i32.const 84
+                                                                                                                                                                                                i32.add
+                                                                                                                                                                                                local.set $r
+                                                                                                                                                                                            end
+                                                                                                                                                                                            local.get $r
+                                                                                                                                                                                            i32.const 85
+                                                                                                                                                                                            i32.add
+                                                                                                                                                                                            local.set $r
+                                                                                                                                                                                        end
+                                                                                                                                                                                        local.get $r
+                                                                                                                                                                                        i32.const 86
+                                                                                                                                                                                        i32.add
+                                                                                                                                                                                        local.set $r
+                                                                                                                                                                                    end
+                                                                                                                                                                                    local.get $r
+                                                                                                                                                                                    i32.const 87
+                                                                                                                                                                                    i32.add
+                                                                                                                                                                                    local.set $r
+                                                                                                                                                                                end
+                                                                                                                                                                                local.get $r
+                                                                                                                                                                                i32.const 88
+                                                                                                                                                                                i32.add
+                                                                                                                                                                                local.set $r
+                                                                                                                                                                            end
+                                                                                                                                                                            local.get $r
+                                                                                                                                                                            i32.const 89
+                                                                                                                                                                            i32.add
+                                                                                                                                                                            local.set $r
+                                                                                                                                                                        end
+                                                                                                                                                                        local.get $r
+                                                                                                                                                                        i32.const 90
+                                                                                                                                                                        i32.add
+                                                                                                                                                                        local.set $r
+                                                                                                                                                                    end
+                                                                                                                                                                    local.get $r
+                                                                                                                                                                    i32.const 91
+                                                                                                                                                                    i32.add
+                                                                                                                                                                    local.set $r
+                                                                                                                                                                end
+                                                                                                                                                                local.get $r
+                                                                                                                                                                i32.const 92
+                                                                                                                                                                i32.add
+                                                                                                                                                                local.set $r
+                                                                                                                                                            end
+                                                                                                                                                            local.get $r
+                                                                                                                                                            i32.const 93
+                                                                                                                                                            i32.add
+                                                                                                                                                            local.set $r
+                                                                                                                                                        end
+                                                                                                                                                        local.get $r
+                                                                                                                                                        i32.const 94
+                                                                                                                                                        i32.add
+                                                                                                                                                        local.set $r
+                                                                                                                                                    end
+                                                                                                                                                    local.get $r
+                                                                                                                                                    i32.const 95
+                                                                                                                                                    i32.add
+                                                                                                                                                    local.set $r
+                                                                                                                                                end
+                                                                                                                                                local.get $r
+                                                                                                                                                i32.const 96
+                                                                                                                                                i32.add
+                                                                                                                                                local.set $r
+                                                                                                                                            end
+                                                                                                                                            local.get $r
+                                                                                                                                            i32.const 97
+                                                                                                                                            i32.add
+                                                                                                                                            local.set $r
+                                                                                                                                        end
+                                                                                                                                        local.get $r
+                                                                                                                                        i32.const 98
+                                                                                                                                        i32.add
+                                                                                                                                        local.set $r
+                                                                                                                                    end
+                                                                                                                                    local.get $r
+                                                                                                                                    i32.const 99
+                                                                                                                                    i32.add
+                                                                                                                                    local.set $r
+                                                                                                                                end
+                                                                                                                                local.get $r
+                                                                                                                                i32.const 100
+                                                                                                                                i32.add
+                                                                                                                                local.set $r
+                                                                                                                            end
+                                                                                                                            local.get $r
+                                                                                                                            i32.const 101
+                                                                                                                            i32.add
+                                                                                                                            local.set $r
+                                                                                                                        end
+                                                                                                                        local.get $r
+                                                                                                                        i32.const 102
+                                                                                                                        i32.add
+                                                                                                                        local.set $r
+                                                                                                                    end
+                                                                                                                    local.get $r
+                                                                                                                    i32.const 103
+                                                                                                                    i32.add
+                                                                                                                    local.set $r
+                                                                                                                end
+                                                                                                                local.get $r
+                                                                                                                i32.const 104
+                                                                                                                i32.add
+                                                                                                                local.set $r
+                                                                                                            end
+                                                                                                            local.get $r
+                                                                                                            i32.const 105
+                                                                                                            i32.add
+                                                                                                            local.set $r
+                                                                                                        end
+                                                                                                        local.get $r
+                                                                                                        i32.const 106
+                                                                                                        i32.add
+                                                                                                        local.set $r
+                                                                                                    end
+                                                                                                    local.get $r
+                                                                                                    i32.const 107
+                                                                                                    i32.add
+                                                                                                    local.set $r
+                                                                                                end
+                                                                                                local.get $r
+                                                                                                i32.const 108
+                                                                                                i32.add
+                                                                                                local.set $r
+                                                                                            end
+                                                                                            local.get $r
+                                                                                            i32.const 109
+                                                                                            i32.add
+                                                                                            local.set $r
+                                                                                        end
+                                                                                        local.get $r
+                                                                                        i32.const 110
+                                                                                        i32.add
+                                                                                        local.set $r
+                                                                                    end
+                                                                                    local.get $r
+                                                                                    i32.const 111
+                                                                                    i32.add
+                                                                                    local.set $r
+                                                                                end
+                                                                                local.get $r
+                                                                                i32.const 112
+                                                                                i32.add
+                                                                                local.set $r
+                                                                            end
+                                                                            local.get $r
+                                                                            i32.const 113
+                                                                            i32.add
+                                                                            local.set $r
+                                                                        end
+                                                                        local.get $r
+                                                                        i32.const 114
+                                                                        i32.add
+                                                                        local.set $r
+                                                                    end
+                                                                    local.get $r
+                                                                    i32.const 115
+                                                                    i32.add
+                                                                    local.set $r
+                                                                end
+                                                                local.get $r
+                                                                i32.const 116
+                                                                i32.add
+                                                                local.set $r
+                                                            end
+                                                            local.get $r
+                                                            i32.const 117
+                                                            i32.add
+                                                            local.set $r
+                                                        end
+                                                        local.get $r
+                                                        i32.const 118
+                                                        i32.add
+                                                        local.set $r
+                                                    end
+                                                    local.get $r
+                                                    i32.const 119
+                                                    i32.add
+                                                    local.set $r
+                                                end
+                                                local.get $r
+                                                i32.const 120
+                                                i32.add
+                                                local.set $r
+                                            end
+                                            local.get $r
+                                            i32.const 121
+                                            i32.add
+                                            local.set $r
+                                        end
+                                        local.get $r
+                                        i32.const 122
+                                        i32.add
+                                        local.set $r
+                                    end
+                                    local.get $r
+                                    i32.const 123
+                                    i32.add
+                                    local.set $r
+                                end
+                                local.get $r
+                                i32.const 124
+                                i32.add
+                                local.set $r
+                            end
+                            local.get $r
+                            i32.const 125
+                            i32.add
+                            local.set $r
+                        end
+                        local.get $r
+                        i32.const 126
+                        i32.add
+                        local.set $r
+                    end
+                    local.get $r
+                    i32.const 127
+                    i32.add
+                    local.set $r
+                end
+                local.get $r
+                i32.const 128
+                i32.add
+                local.set $r
+            end
+            local.get $r
+            i32.const 129
+            i32.add
+            local.set $r
+        end
+        local.get $r
+        i32.const 130
+        i32.add
+        local.set $r
+        local.get $r
+    )
+    (func (export "_main") (result i32)
+        (local $acc i32)
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 0
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 1
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 2
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 3
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 4
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 5
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 6
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 7
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 8
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 9
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const -1
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+        i32.const 5
+        i32.mul
+        i32.const 1000
+        call $branch
+        i32.add
+        local.set $acc
+        local.get $acc
+    )
+)
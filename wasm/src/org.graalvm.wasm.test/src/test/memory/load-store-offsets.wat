@@ -0,0 +1,215 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Stores and loads every scalar type with memory offsets that take several LEB128
+;; bytes, interleaved with local accesses that read pre-decoded immediates.
+;;
+(module
+    (memory 2)
+    (func (export "_main") (result i32)
+        (local $acc i64) (local $tmp i64)
+        i32.const 0
+        i32.const 0x12345678
+        i32.store offset=300
+        i32.const 8
+        i64.const 0x0123456789abcdef
+        i64.store offset=70000
+        i32.const 4
+        f32.const 1.5
+        f32.store offset=128
+        i32.const 16
+        f64.const 2.25
+        f64.store offset=1000
+        i32.const 0
+        i32.const -1
+        i32.store8 offset=2000
+        i32.const 0
+        i32.const 0x18182
+        i32.store16 offset=2010
+        i32.const 0
+        i64.const -2
+        i64.store8 offset=2020
+        i32.const 0
+        i64.const 0x18384
+        i64.store16 offset=2030
+        i32.const 0
+        i64.const 0x185868788
+        i64.store32 offset=2040
+        i32.const 0
+        i32.load offset=300
+        i64.extend_i32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 8
+        i64.load offset=70000
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 4
+        f32.load offset=128
+        i64.trunc_f32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 16
+        f64.load offset=1000
+        i64.trunc_f64_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i32.load8_s offset=2000
+        i64.extend_i32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i32.load8_u offset=2000
+        i64.extend_i32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i32.load16_s offset=2010
+        i64.extend_i32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i32.load16_u offset=2010
+        i64.extend_i32_s
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load8_s offset=2020
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load8_u offset=2020
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load16_s offset=2030
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load16_u offset=2030
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load32_s offset=2040
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        i32.const 0
+        i64.load32_u offset=2040
+        local.set $tmp
+        local.get $acc
+        i64.const 3
+        i64.mul
+        local.get $tmp
+        i64.add
+        local.set $acc
+        local.get $acc
+        local.get $acc
+        i64.const 32
+        i64.shr_u
+        i64.xor
+        i32.wrap_i64
+    )
+)
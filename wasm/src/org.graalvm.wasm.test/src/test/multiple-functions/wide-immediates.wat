@@ -0,0 +1,1184 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Uses local, global, function and type indices above 127, and integer constants
+;; near the LEB128 length boundaries and the 64-bit limits.
+;;
+(module
+    (type $t0 (func (param i32) (result i32)))
+    (type $t1 (func (param i32) (result i32)))
+    (type $t2 (func (param i32) (result i32)))
+    (type $t3 (func (param i32) (result i32)))
+    (type $t4 (func (param i32) (result i32)))
+    (type $t5 (func (param i32) (result i32)))
+    (type $t6 (func (param i32) (result i32)))
+    (type $t7 (func (param i32) (result i32)))
+    (type $t8 (func (param i32) (result i32)))
+    (type $t9 (func (param i32) (result i32)))
+    (type $t10 (func (param i32) (result i32)))
+    (type $t11 (func (param i32) (result i32)))
+    (type $t12 (func (param i32) (result i32)))
+    (type $t13 (func (param i32) (result i32)))
+    (type $t14 (func (param i32) (result i32)))
+    (type $t15 (func (param i32) (result i32)))
+    (type $t16 (func (param i32) (result i32)))
+    (type $t17 (func (param i32) (result i32)))
+    (type $t18 (func (param i32) (result i32)))
+    (type $t19 (func (param i32) (result i32)))
+    (type $t20 (func (param i32) (result i32)))
+    (type $t21 (func (param i32) (result i32)))
+    (type $t22 (func (param i32) (result i32)))
+    (type $t23 (func (param i32) (result i32)))
+    (type $t24 (func (param i32) (result i32)))
+    (type $t25 (func (param i32) (result i32)))
+    (type $t26 (func (param i32) (result i32)))
+    (type $t27 (func (param i32) (result i32)))
+    (type $t28 (func (param i32) (result i32)))
+    (type $t29 (func (param i32) (result i32)))
+    (type $t30 (func (param i32) (result i32)))
+    (type $t31 (func (param i32) (result i32)))
+    (type $t32 (func (param i32) (result i32)))
+    (type $t33 (func (param i32) (result i32)))
+    (type $t34 (func (param i32) (result i32)))
+    (type $t35 (func (param i32) (result i32)))
+    (type $t36 (func (param i32) (result i32)))
+    (type $t37 (func (param i32) (result i32)))
+    (type $t38 (func (param i32) (result i32)))
+    (type $t39 (func (param i32) (result i32)))
+    (type $t40 (func (param i32) (result i32)))
+    (type $t41 (func (param i32) (result i32)))
+    (type $t42 (func (param i32) (result i32)))
+    (type $t43 (func (param i32) (result i32)))
+    (type $t44 (func (param i32) (result i32)))
+    (type $t45 (func (param i32) (result i32)))
+    (type $t46 (func (param i32) (result i32)))
+    (type $t47 (func (param i32) (result i32)))
+    (type $t48 (func (param i32) (result i32)))
+    (type $t49 (func (param i32) (result i32)))
+    (type $t50 (func (param i32) (result i32)))
+    (type $t51 (func (param i32) (result i32)))
+    (type $t52 (func (param i32) (result i32)))
+    (type $t53 (func (param i32) (result i32)))
+    (type $t54 (func (param i32) (result i32)))
+    (type $t55 (func (param i32) (result i32)))
+    (type $t56 (func (param i32) (result i32)))
+    (type $t57 (func (param i32) (result i32)))
+    (type $t58 (func (param i32) (result i32)))
+    (type $t59 (func (param i32) (result i32)))
+    (type $t60 (func (param i32) (result i32)))
+    (type $t61 (func (param i32) (result i32)))
+    (type $t62 (func (param i32) (result i32)))
+    (type $t63 (func (param i32) (result i32)))
+    (type $t64 (func (param i32) (result i32)))
+    (type $t65 (func (param i32) (result i32)))
+    (type $t66 (func (param i32) (result i32)))
+    (type $t67 (func (param i32) (result i32)))
+    (type $t68 (func (param i32) (result i32)))
+    (type $t69 (func (param i32) (result i32)))
+    (type $t70 (func (param i32) (result i32)))
+    (type $t71 (func (param i32) (result i32)))
+    (type $t72 (func (param i32) (result i32)))
+    (type $t73 (func (param i32) (result i32)))
+    (type $t74 (func (param i32) (result i32)))
+    (type $t75 (func (param i32) (result i32)))
+    (type $t76 (func (param i32) (result i32)))
+    (type $t77 (func (param i32) (result i32)))
+    (type $t78 (func (param i32) (result i32)))
+    (type $t79 (func (param i32) (result i32)))
+    (type $t80 (func (param i32) (result i32)))
+    (type $t81 (func (param i32) (result i32)))
+    (type $t82 (func (param i32) (result i32)))
+    (type $t83 (func (param i32) (result i32)))
+    (type $t84 (func (param i32) (result i32)))
+    (type $t85 (func (param i32) (result i32)))
+    (type $t86 (func (param i32) (result i32)))
+    (type $t87 (func (param i32) (result i32)))
+    (type $t88 (func (param i32) (result i32)))
+    (type $t89 (func (param i32) (result i32)))
+    (type $t90 (func (param i32) (result i32)))
+    (type $t91 (func (param i32) (result i32)))
+    (type $t92 (func (param i32) (result i32)))
+    (type $t93 (func (param i32) (result i32)))
+    (type $t94 (func (param i32) (result i32)))
+    (type $t95 (func (param i32) (result i32)))
+    (type $t96 (func (param i32) (result i32)))
+    (type $t97 (func (param i32) (result i32)))
+    (type $t98 (func (param i32) (result i32)))
+    (type $t99 (func (param i32) (result i32)))
+    (type $t100 (func (param i32) (result i32)))
+    (type $t101 (func (param i32) (result i32)))
+    (type $t102 (func (param i32) (result i32)))
+    (type $t103 (func (param i32) (result i32)))
+    (type $t104 (func (param i32) (result i32)))
+    (type $t105 (func (param i32) (result i32)))
+    (type $t106 (func (param i32) (result i32)))
+    (type $t107 (func (param i32) (result i32)))
+    (type $t108 (func (param i32) (result i32)))
+    (type $t109 (func (param i32) (result i32)))
+    (type $t110 (func (param i32) (result i32)))
+    (type $t111 (func (param i32) (result i32)))
+    (type $t112 (func (param i32) (result i32)))
+    (type $t113 (func (param i32) (result i32)))
+    (type $t114 (func (param i32) (result i32)))
+    (type $t115 (func (param i32) (result i32)))
+    (type $t116 (func (param i32) (result i32)))
+    (type $t117 (func (param i32) (result i32)))
+    (type $t118 (func (param i32) (result i32)))
+    (type $t119 (func (param i32) (result i32)))
+    (type $t120 (func (param i32) (result i32)))
+    (type $t121 (func (param i32) (result i32)))
+    (type $t122 (func (param i32) (result i32)))
+    (type $t123 (func (param i32) (result i32)))
+    (type $t124 (func (param i32) (result i32)))
+    (type $t125 (func (param i32) (result i32)))
+    (type $t126 (func (param i32) (result i32)))
+    (type $t127 (func (param i32) (result i32)))
+    (type $t128 (func (param i32) (result i32)))
+    (type $t129 (func (param i32) (result i32)))
+    (table 1 funcref)
+    (elem (i32.const 0) $f133)
+    (global $g0 (mut i32) (i32.const 0))
+    (global $g1 (mut i32) (i32.const 7))
+    (global $g2 (mut i32) (i32.const 14))
+    (global $g3 (mut i32) (i32.const 21))
+    (global $g4 (mut i32) (i32.const 28))
+    (global $g5 (mut i32) (i32.const 35))
+    (global $g6 (mut i32) (i32.const 42))
+    (global $g7 (mut i32) (i32.const 49))
+    (global $g8 (mut i32) (i32.const 56))
+    (global $g9 (mut i32) (i32.const 63))
+    (global $g10 (mut i32) (i32.const 70))
+    (global $g11 (mut i32) (i32.const 77))
+    (global $g12 (mut i32) (i32.const 84))
+    (global $g13 (mut i32) (i32.const 91))
+    (global $g14 (mut i32) (i32.const 98))
+    (global $g15 (mut i32) (i32.const 105))
+    (global $g16 (mut i32) (i32.const 112))
+    (global $g17 (mut i32) (i32.const 119))
+    (global $g18 (mut i32) (i32.const 126))
+    (global $g19 (mut i32) (i32.const 133))
+    (global $g20 (mut i32) (i32.const 140))
+    (global $g21 (mut i32) (i32.const 147))
+    (global $g22 (mut i32) (i32.const 154))
+    (global $g23 (mut i32) (i32.const 161))
+    (global $g24 (mut i32) (i32.const 168))
+    (global $g25 (mut i32) (i32.const 175))
+    (global $g26 (mut i32) (i32.const 182))
+    (global $g27 (mut i32) (i32.const 189))
+    (global $g28 (mut i32) (i32.const 196))
+    (global $g29 (mut i32) (i32.const 203))
+    (global $g30 (mut i32) (i32.const 210))
+    (global $g31 (mut i32) (i32.const 217))
+    (global $g32 (mut i32) (i32.const 224))
+    (global $g33 (mut i32) (i32.const 231))
+    (global $g34 (mut i32) (i32.const 238))
+    (global $g35 (mut i32) (i32.const 245))
+    (global $g36 (mut i32) (i32.const 252))
+    (global $g37 (mut i32) (i32.const 259))
+    (global $g38 (mut i32) (i32.const 266))
+    (global $g39 (mut i32) (i32.const 273))
+    (global $g40 (mut i32) (i32.const 280))
+    (global $g41 (mut i32) (i32.const 287))
+    (global $g42 (mut i32) (i32.const 294))
+    (global $g43 (mut i32) (i32.const 301))
+    (global $g44 (mut i32) (i32.const 308))
+    (global $g45 (mut i32) (i32.const 315))
+    (global $g46 (mut i32) (i32.const 322))
+    (global $g47 (mut i32) (i32.const 329))
+    (global $g48 (mut i32) (i32.const 336))
+    (global $g49 (mut i32) (i32.const 343))
+    (global $g50 (mut i32) (i32.const 350))
+    (global $g51 (mut i32) (i32.const 357))
+    (global $g52 (mut i32) (i32.const 364))
+    (global $g53 (mut i32) (i32.const 371))
+    (global $g54 (mut i32) (i32.const 378))
+    (global $g55 (mut i32) (i32.const 385))
+    (global $g56 (mut i32) (i32.const 392))
+    (global $g57 (mut i32) (i32.const 399))
+    (global $g58 (mut i32) (i32.const 406))
+    (global $g59 (mut i32) (i32.const 413))
+    (global $g60 (mut i32) (i32.const 420))
+    (global $g61 (mut i32) (i32.const 427))
+    (global $g62 (mut i32) (i32.const 434))
+    (global $g63 (mut i32) (i32.const 441))
+    (global $g64 (mut i32) (i32.const 448))
+    (global $g65 (mut i32) (i32.const 455))
+    (global $g66 (mut i32) (i32.const 462))
+    (global $g67 (mut i32) (i32.const 469))
+    (global $g68 (mut i32) (i32.const 476))
+    (global $g69 (mut i32) (i32.const 483))
+    (global $g70 (mut i32) (i32.const 490))
+    (global $g71 (mut i32) (i32.const 497))
+    (global $g72 (mut i32) (i32.const 504))
+    (global $g73 (mut i32) (i32.const 511))
+    (global $g74 (mut i32) (i32.const 518))
+    (global $g75 (mut i32) (i32.const 525))
+    (global $g76 (mut i32) (i32.const 532))
+    (global $g77 (mut i32) (i32.const 539))
+    (global $g78 (mut i32) (i32.const 546))
+    (global $g79 (mut i32) (i32.const 553))
+    (global $g80 (mut i32) (i32.const 560))
+    (global $g81 (mut i32) (i32.const 567))
+    (global $g82 (mut i32) (i32.const 574))
+    (global $g83 (mut i32) (i32.const 581))
+    (global $g84 (mut i32) (i32.const 588))
+    (global $g85 (mut i32) (i32.const 595))
+    (global $g86 (mut i32) (i32.const 602))
+    (global $g87 (mut i32) (i32.const 609))
+    (global $g88 (mut i32) (i32.const 616))
+    (global $g89 (mut i32) (i32.const 623))
+    (global $g90 (mut i32) (i32.const 630))
+    (global $g91 (mut i32) (i32.const 637))
+    (global $g92 (mut i32) (i32.const 644))
+    (global $g93 (mut i32) (i32.const 651))
+    (global $g94 (mut i32) (i32.const 658))
+    (global $g95 (mut i32) (i32.const 665))
+    (global $g96 (mut i32) (i32.const 672))
+    (global $g97 (mut i32) (i32.const 679))
+    (global $g98 (mut i32) (i32.const 686))
+    (global $g99 (mut i32) (i32.const 693))
+    (global $g100 (mut i32) (i32.const 700))
+    (global $g101 (mut i32) (i32.const 707))
+    (global $g102 (mut i32) (i32.const 714))
+    (global $g103 (mut i32) (i32.const 721))
+    (global $g104 (mut i32) (i32.const 728))
+    (global $g105 (mut i32) (i32.const 735))
+    (global $g106 (mut i32) (i32.const 742))
+    (global $g107 (mut i32) (i32.const 749))
+    (global $g108 (mut i32) (i32.const 756))
+    (global $g109 (mut i32) (i32.const 763))
+    (global $g110 (mut i32) (i32.const 770))
+    (global $g111 (mut i32) (i32.const 777))
+    (global $g112 (mut i32) (i32.const 784))
+    (global $g113 (mut i32) (i32.const 791))
+    (global $g114 (mut i32) (i32.const 798))
+    (global $g115 (mut i32) (i32.const 805))
+    (global $g116 (mut i32) (i32.const 812))
+    (global $g117 (mut i32) (i32.const 819))
+    (global $g118 (mut i32) (i32.const 826))
+    (global $g119 (mut i32) (i32.const 833))
+    (global $g120 (mut i32) (i32.const 840))
+    (global $g121 (mut i32) (i32.const 847))
+    (global $g122 (mut i32) (i32.const 854))
+    (global $g123 (mut i32) (i32.const 861))
+    (global $g124 (mut i32) (i32.const 868))
+    (global $g125 (mut i32) (i32.const 875))
+    (global $g126 (mut i32) (i32.const 882))
+    (global $g127 (mut i32) (i32.const 889))
+    (global $g128 (mut i32) (i32.const 896))
+    (global $g129 (mut i32) (i32.const 903))
+    (global $g130 (mut i32) (i32.const 910))
+    (global $g131 (mut i32) (i32.const 917))
+    (global $g132 (mut i32) (i32.const 924))
+    (global $g133 (mut i32) (i32.const 931))
+    (global $g134 (mut i32) (i32.const 938))
+    (global $g135 (mut i32) (i32.const 945))
+    (global $g136 (mut i32) (i32.const 952))
+    (global $g137 (mut i32) (i32.const 959))
+    (global $g138 (mut i32) (i32.const 966))
+    (global $g139 (mut i32) (i32.const 973))
+    (func $f0 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 0
+        i32.add
+    )
+    (func $f1 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 1
+        i32.add
+    )
+    (func $f2 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 2
+        i32.add
+    )
+    (func $f3 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 3
+        i32.add
+    )
+    (func $f4 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 4
+        i32.add
+    )
+    (func $f5 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 5
+        i32.add
+    )
+    (func $f6 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 6
+        i32.add
+    )
+    (func $f7 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 7
+        i32.add
+    )
+    (func $f8 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 8
+        i32.add
+    )
+    (func $f9 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 9
+        i32.add
+    )
+    (func $f10 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 10
+        i32.add
+    )
+    (func $f11 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 11
+        i32.add
+    )
+    (func $f12 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 12
+        i32.add
+    )
+    (func $f13 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 13
+        i32.add
+    )
+    (func $f14 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 14
+        i32.add
+    )
+    (func $f15 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 15
+        i32.add
+    )
+    (func $f16 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 16
+        i32.add
+    )
+    (func $f17 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 17
+        i32.add
+    )
+    (func $f18 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 18
+        i32.add
+    )
+    (func $f19 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 19
+        i32.add
+    )
+    (func $f20 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 20
+        i32.add
+    )
+    (func $f21 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 21
+        i32.add
+    )
+    (func $f22 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 22
+        i32.add
+    )
+    (func $f23 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 23
+        i32.add
+    )
+    (func $f24 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 24
+        i32.add
+    )
+    (func $f25 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 25
+        i32.add
+    )
+    (func $f26 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 26
+        i32.add
+    )
+    (func $f27 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 27
+        i32.add
+    )
+    (func $f28 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 28
+        i32.add
+    )
+    (func $f29 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 29
+        i32.add
+    )
+    (func $f30 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 30
+        i32.add
+    )
+    (func $f31 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 31
+        i32.add
+    )
+    (func $f32 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 32
+        i32.add
+    )
+    (func $f33 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 33
+        i32.add
+    )
+    (func $f34 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 34
+        i32.add
+    )
+    (func $f35 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 35
+        i32.add
+    )
+    (func $f36 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 36
+        i32.add
+    )
+    (func $f37 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 37
+        i32.add
+    )
+    (func $f38 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 38
+        i32.add
+    )
+    (func $f39 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 39
+        i32.add
+    )
+    (func $f40 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 40
+        i32.add
+    )
+    (func $f41 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 41
+        i32.add
+    )
+    (func $f42 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 42
+        i32.add
+    )
+    (func $f43 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 43
+        i32.add
+    )
+    (func $f44 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 44
+        i32.add
+    )
+    (func $f45 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 45
+        i32.add
+    )
+    (func $f46 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 46
+        i32.add
+    )
+    (func $f47 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 47
+        i32.add
+    )
+    (func $f48 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 48
+        i32.add
+    )
+    (func $f49 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 49
+        i32.add
+    )
+    (func $f50 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 50
+        i32.add
+    )
+    (func $f51 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 51
+        i32.add
+    )
+    (func $f52 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 52
+        i32.add
+    )
+    (func $f53 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 53
+        i32.add
+    )
+    (func $f54 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 54
+        i32.add
+    )
+    (func $f55 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 55
+        i32.add
+    )
+    (func $f56 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 56
+        i32.add
+    )
+    (func $f57 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 57
+        i32.add
+    )
+    (func $f58 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 58
+        i32.add
+    )
+    (func $f59 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 59
+        i32.add
+    )
+    (func $f60 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 60
+        i32.add
+    )
+    (func $f61 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 61
+        i32.add
+    )
+    (func $f62 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 62
+        i32.add
+    )
+    (func $f63 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 63
+        i32.add
+    )
+    (func $f64 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 64
+        i32.add
+    )
+    (func $f65 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 65
+        i32.add
+    )
+    (func $f66 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 66
+        i32.add
+    )
+    (func $f67 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 67
+        i32.add
+    )
+    (func $f68 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 68
+        i32.add
+    )
+    (func $f69 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 69
+        i32.add
+    )
+    (func $f70 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 70
+        i32.add
+    )
+    (func $f71 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 71
+        i32.add
+    )
+    (func $f72 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 72
+        i32.add
+    )
+    (func $f73 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 73
+        i32.add
+    )
+    (func $f74 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 74
+        i32.add
+    )
+    (func $f75 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 75
+        i32.add
+    )
+    (func $f76 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 76
+        i32.add
+    )
+    (func $f77 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 77
+        i32.add
+    )
+    (func $f78 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 78
+        i32.add
+    )
+    (func $f79 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 79
+        i32.add
+    )
+    (func $f80 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 80
+        i32.add
+    )
+    (func $f81 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 81
+        i32.add
+    )
+    (func $f82 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 82
+        i32.add
+    )
+    (func $f83 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 83
+        i32.add
+    )
+    (func $f84 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 84
+        i32.add
+    )
+    (func $f85 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 85
+        i32.add
+    )
+    (func $f86 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 86
+        i32.add
+    )
+    (func $f87 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 87
+        i32.add
+    )
+    (func $f88 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 88
+        i32.add
+    )
+    (func $f89 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 89
+        i32.add
+    )
+    (func $f90 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 90
+        i32.add
+    )
+    (func $f91 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 91
+        i32.add
+    )
+    (func $f92 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 92
+        i32.add
+    )
+    (func $f93 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 93
+        i32.add
+    )
+    (func $f94 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 94
+        i32.add
+    )
+    (func $f95 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 95
+        i32.add
+    )
+    (func $f96 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 96
+        i32.add
+    )
+    (func $f97 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 97
+        i32.add
+    )
+    (func $f98 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 98
+        i32.add
+    )
+    (func $f99 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 99
+        i32.add
+    )
+    (func $f100 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 100
+        i32.add
+    )
+    (func $f101 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 101
+        i32.add
+    )
+    (func $f102 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 102
+        i32.add
+    )
+    (func $f103 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 103
+        i32.add
+    )
+    (func $f104 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 104
+        i32.add
+    )
+    (func $f105 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 105
+        i32.add
+    )
+    (func $f106 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 106
+        i32.add
+    )
+    (func $f107 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 107
+        i32.add
+    )
+    (func $f108 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 108
+        i32.add
+    )
+    (func $f109 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 109
+        i32.add
+    )
+    (func $f110 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 110
+        i32.add
+    )
+    (func $f111 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 111
+        i32.add
+    )
+    (func $f112 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 112
+        i32.add
+    )
+    (func $f113 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 113
+        i32.add
+    )
+    (func $f114 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 114
+        i32.add
+    )
+    (func $f115 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 115
+        i32.add
+    )
+    (func $f116 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 116
+        i32.add
+    )
+    (func $f117 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 117
+        i32.add
+    )
+    (func $f118 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 118
+        i32.add
+    )
+    (func $f119 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 119
+        i32.add
+    )
+    (func $f120 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 120
+        i32.add
+    )
+    (func $f121 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 121
+        i32.add
+    )
+    (func $f122 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 122
+        i32.add
+    )
+    (func $f123 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 123
+        i32.add
+    )
+    (func $f124 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 124
+        i32.add
+    )
+    (func $f125 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 125
+        i32.add
+    )
+    (func $f126 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 126
+        i32.add
+    )
+    (func $f127 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 127
+        i32.add
+    )
+    (func $f128 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 128
+        i32.add
+    )
+    (func $f129 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 129
+        i32.add
+    )
+    (func $f130 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 130
+        i32.add
+    )
+    (func $f131 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 131
+        i32.add
+    )
+    (func $f132 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 132
+        i32.add
+    )
+    (func $f133 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 133
+        i32.add
+    )
+    (func $f134 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 134
+        i32.add
+    )
+    (func $f135 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 135
+        i32.add
+    )
+    (func $f136 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 136
+        i32.add
+    )
+    (func $f137 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 137
+        i32.add
+    )
+    (func $f138 (type $t0) (param i32) (result i32)
+        local.get 0
+        i32.const 138
+        i32.add
+    )
+    (func (export "_main") (result i32)
+        (local i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32 i32)
+        (local $acc i64)
+        i32.const 0
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 63
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 64
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const -64
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const -65
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 8191
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const -8192
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 2147483647
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const -2147483648
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 123456789
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const -1
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const -9223372036854775808
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const 9223372036854775807
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const -4294967296
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const -4294967296
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const 1099511627776
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const 1311768467463790320
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i64.const -9223372036854775807
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 1111
+        local.set 150
+        i32.const 2222
+        local.set 199
+        local.get 150
+        local.tee 128
+        drop
+        local.get 128
+        local.get 199
+        i32.add
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        global.get $g130
+        global.set $g131
+        global.get $g131
+        global.get $g139
+        i32.add
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 1000
+        call $f135
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        i32.const 2000
+        i32.const 0
+        call_indirect (type $t129)
+        i64.extend_i32_s
+        local.get $acc
+        i64.const 3
+        i64.mul
+        i64.add
+        local.set $acc
+        local.get $acc
+        local.get $acc
+        i64.const 32
+        i64.shr_u
+        i64.xor
+        i32.wrap_i64
+    )
+)
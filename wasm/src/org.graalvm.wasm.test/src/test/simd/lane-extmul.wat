@@ -0,0 +1,103 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Lane loads and stores, pairwise extending addition, Q15 multiplication and
+;; extending multiplication. Each result lane is folded into a checksum.
+;;
+(module
+    (memory 1)
+    (data (i32.const 0) "\01\02\03\04\05\06\07\08\09\0a\0b\0c\0d\0e\0f\10")
+    (func $mix (param $acc i32) (param $x i32) (result i32)
+        local.get $acc
+        i32.const 31
+        i32.mul
+        local.get $x
+        i32.add
+    )
+    (func (export "_main") (result i32)
+        (local $acc i32)
+        (v128.store8_lane 13 (i32.const 100) (v128.const i8x16 0xf0 0xf1 0xf2 0xf3 0xf4 0xf5 0xf6 0xf7 0xf8 0xf9 0xfa 0xfb 0xfc 0xfd 0xfe 0xff))
+        (v128.store16_lane 5 (i32.const 200) (v128.const i16x8 1 2 3 4 5 -6 7 8))
+        (v128.store32_lane offset=4 3 (i32.const 296) (v128.const i32x4 10 20 30 -40))
+        (v128.store64_lane 0 (i32.const 400) (v128.const i64x2 0x1122334455667788 0))
+        (local.set $acc (call $mix (local.get $acc) (i32.load8_u (i32.const 100))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load8_u (i32.const 101))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load16_s (i32.const 200))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load16_u (i32.const 202))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load (i32.const 300))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load (i32.const 400))))
+        (local.set $acc (call $mix (local.get $acc) (i32.load (i32.const 404))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 2 (v128.load32_lane offset=4 2 (i32.const 0) (v128.const i32x4 -1 -1 -1 -1)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 3 (v128.load32_lane offset=4 2 (i32.const 0) (v128.const i32x4 -1 -1 -1 -1)))))
+        (local.set $acc (call $mix (local.get $acc) (i8x16.extract_lane_u 9 (v128.load8_lane 9 (i32.const 15) (v128.const i64x2 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i8x16.extract_lane_u 8 (v128.load8_lane 9 (i32.const 15) (v128.const i64x2 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 7 (v128.load16_lane 7 (i32.const 2) (v128.const i64x2 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 1 (v128.load64_lane 1 (i32.const 8) (v128.const i64x2 7 7))))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 0 (v128.load64_lane 1 (i32.const 8) (v128.const i64x2 7 7))))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 0 (i16x8.extadd_pairwise_i8x16_s (v128.const i8x16 -1 2 -128 127 100 100 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 1 (i16x8.extadd_pairwise_i8x16_s (v128.const i8x16 -1 2 -128 127 100 100 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 2 (i16x8.extadd_pairwise_i8x16_s (v128.const i8x16 -1 2 -128 127 100 100 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_u 0 (i16x8.extadd_pairwise_i8x16_u (v128.const i8x16 -1 2 -128 127 100 100 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_u 1 (i16x8.extadd_pairwise_i8x16_u (v128.const i8x16 -1 2 -128 127 100 100 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 0 (i32x4.extadd_pairwise_i16x8_s (v128.const i16x8 -32768 -32768 32767 32767 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 1 (i32x4.extadd_pairwise_i16x8_s (v128.const i16x8 -32768 -32768 32767 32767 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 0 (i32x4.extadd_pairwise_i16x8_u (v128.const i16x8 -32768 -32768 32767 32767 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 1 (i32x4.extadd_pairwise_i16x8_u (v128.const i16x8 -32768 -32768 32767 32767 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 0 (i16x8.q15mulr_sat_s (v128.const i16x8 16384 -32768 -32768 100 0 0 0 0) (v128.const i16x8 16384 -32768 16384 -200 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 1 (i16x8.q15mulr_sat_s (v128.const i16x8 16384 -32768 -32768 100 0 0 0 0) (v128.const i16x8 16384 -32768 16384 -200 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 2 (i16x8.q15mulr_sat_s (v128.const i16x8 16384 -32768 -32768 100 0 0 0 0) (v128.const i16x8 16384 -32768 16384 -200 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 3 (i16x8.q15mulr_sat_s (v128.const i16x8 16384 -32768 -32768 100 0 0 0 0) (v128.const i16x8 16384 -32768 16384 -200 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 0 (i16x8.extmul_high_i8x16_s (v128.const i8x16 0 0 0 0 0 0 0 0 -2 3 127 -128 0 0 0 0) (v128.const i8x16 0 0 0 0 0 0 0 0 5 -7 127 -128 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 1 (i16x8.extmul_high_i8x16_s (v128.const i8x16 0 0 0 0 0 0 0 0 -2 3 127 -128 0 0 0 0) (v128.const i8x16 0 0 0 0 0 0 0 0 5 -7 127 -128 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 2 (i16x8.extmul_high_i8x16_s (v128.const i8x16 0 0 0 0 0 0 0 0 -2 3 127 -128 0 0 0 0) (v128.const i8x16 0 0 0 0 0 0 0 0 5 -7 127 -128 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_s 3 (i16x8.extmul_high_i8x16_s (v128.const i8x16 0 0 0 0 0 0 0 0 -2 3 127 -128 0 0 0 0) (v128.const i8x16 0 0 0 0 0 0 0 0 5 -7 127 -128 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_u 0 (i16x8.extmul_low_i8x16_u (v128.const i8x16 255 2 0 0 0 0 0 0 0 0 0 0 0 0 0 0) (v128.const i8x16 255 3 0 0 0 0 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i16x8.extract_lane_u 1 (i16x8.extmul_low_i8x16_u (v128.const i8x16 255 2 0 0 0 0 0 0 0 0 0 0 0 0 0 0) (v128.const i8x16 255 3 0 0 0 0 0 0 0 0 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 0 (i32x4.extmul_low_i16x8_s (v128.const i16x8 -32768 3 0 0 0 0 0 0) (v128.const i16x8 -32768 -4 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 1 (i32x4.extmul_low_i16x8_s (v128.const i16x8 -32768 3 0 0 0 0 0 0) (v128.const i16x8 -32768 -4 0 0 0 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32x4.extract_lane 0 (i32x4.extmul_high_i16x8_u (v128.const i16x8 0 0 0 0 65535 0 0 0) (v128.const i16x8 0 0 0 0 65535 0 0 0)))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 0 (i64x2.extmul_low_i32x4_u (v128.const i32x4 -1 2 0 0) (v128.const i32x4 -1 3 0 0))))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64.shr_u (i64x2.extract_lane 0 (i64x2.extmul_low_i32x4_u (v128.const i32x4 -1 2 0 0) (v128.const i32x4 -1 3 0 0))) (i64.const 32)))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 1 (i64x2.extmul_low_i32x4_u (v128.const i32x4 -1 2 0 0) (v128.const i32x4 -1 3 0 0))))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 0 (i64x2.extmul_high_i32x4_s (v128.const i32x4 0 0 -5 7) (v128.const i32x4 0 0 6 -8))))))
+        (local.set $acc (call $mix (local.get $acc) (i32.wrap_i64 (i64x2.extract_lane 1 (i64x2.extmul_high_i32x4_s (v128.const i32x4 0 0 -5 7) (v128.const i32x4 0 0 6 -8))))))
+        local.get $acc
+    )
+)
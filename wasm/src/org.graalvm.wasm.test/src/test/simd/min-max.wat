@@ -0,0 +1,1265 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Floating-point min, max, pmin and pmax, including NaN operands and signed zeros.
+;; NaN results are only checked to be NaN.
+;;
+(module
+    (func (export "_main") (result i64)
+        (local $v v128) (local $m v128) (local $acc i64)
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        f32x4.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        f32x4.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        f32x4.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        f32x4.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        f32x4.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        f32x4.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        f32x4.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        f32x4.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        f32x4.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        f32x4.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        f32x4.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.0000000000000p+1 0x0p+0 nan 0x1.a000000000000p+1
+        v128.const f32x4 nan -0x0p+0 0x1.8000000000000p+0 -inf
+        f32x4.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        f32x4.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        f32x4.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        f32x4.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 -0x1.4000000000000p+1 -inf nan
+        v128.const f32x4 0x0p+0 -0x1.4000000000000p+1 inf nan
+        f32x4.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f32x4.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x0p+0
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        f64x2.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x0p+0
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        f64x2.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x0p+0
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        f64x2.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x0p+0
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        f64x2.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        v128.const f64x2 nan -0x0p+0
+        f64x2.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        v128.const f64x2 nan -0x0p+0
+        f64x2.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        v128.const f64x2 nan -0x0p+0
+        f64x2.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.0000000000000p+0 0x0p+0
+        v128.const f64x2 nan -0x0p+0
+        f64x2.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        f64x2.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        f64x2.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        f64x2.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        f64x2.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        f64x2.min
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        f64x2.max
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        f64x2.pmin
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.4000000000000p+1
+        v128.const f64x2 -inf 0x1.4000000000000p+1
+        f64x2.pmax
+        local.set $v
+        local.get $v
+        local.get $v
+        f64x2.ne
+        local.set $m
+        local.get $v
+        local.get $m
+        v128.andnot
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $m
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $acc
+    )
+)
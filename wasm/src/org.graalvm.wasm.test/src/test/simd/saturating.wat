@@ -0,0 +1,176 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Saturating addition and subtraction of 8- and 16-bit lanes.
+;;
+(module
+    (func (export "_main") (result i64)
+        (local $v v128) (local $m v128) (local $acc i64)
+        v128.const i8x16 0x7f 0x80 0xff 0x0 0x1 0x7e 0x81 0xfe 0x40 0xc0 0x10 0xf0 0x55 0xaa 0x0 0xff
+        v128.const i8x16 0x1 0xff 0x1 0x80 0x7f 0x5 0x80 0x2 0x40 0xc0 0xf0 0x10 0xaa 0x55 0xff 0x0
+        i8x16.add_sat_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x7f 0x80 0xff 0x0 0x1 0x7e 0x81 0xfe 0x40 0xc0 0x10 0xf0 0x55 0xaa 0x0 0xff
+        v128.const i8x16 0x1 0xff 0x1 0x80 0x7f 0x5 0x80 0x2 0x40 0xc0 0xf0 0x10 0xaa 0x55 0xff 0x0
+        i8x16.sub_sat_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x7f 0x80 0xff 0x0 0x1 0x7e 0x81 0xfe 0x40 0xc0 0x10 0xf0 0x55 0xaa 0x0 0xff
+        v128.const i8x16 0x1 0xff 0x1 0x80 0x7f 0x5 0x80 0x2 0x40 0xc0 0xf0 0x10 0xaa 0x55 0xff 0x0
+        i8x16.add_sat_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x7f 0x80 0xff 0x0 0x1 0x7e 0x81 0xfe 0x40 0xc0 0x10 0xf0 0x55 0xaa 0x0 0xff
+        v128.const i8x16 0x1 0xff 0x1 0x80 0x7f 0x5 0x80 0x2 0x40 0xc0 0xf0 0x10 0xaa 0x55 0xff 0x0
+        i8x16.sub_sat_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i16x8 0x7fff 0x8000 0xffff 0x0 0x1 0x7ffe 0x8001 0x1234
+        v128.const i16x8 0x1 0xffff 0x1 0x8000 0x7fff 0x5 0x8000 0xedcc
+        i16x8.add_sat_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i16x8 0x7fff 0x8000 0xffff 0x0 0x1 0x7ffe 0x8001 0x1234
+        v128.const i16x8 0x1 0xffff 0x1 0x8000 0x7fff 0x5 0x8000 0xedcc
+        i16x8.sub_sat_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i16x8 0x7fff 0x8000 0xffff 0x0 0x1 0x7ffe 0x8001 0x1234
+        v128.const i16x8 0x1 0xffff 0x1 0x8000 0x7fff 0x5 0x8000 0xedcc
+        i16x8.add_sat_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i16x8 0x7fff 0x8000 0xffff 0x0 0x1 0x7ffe 0x8001 0x1234
+        v128.const i16x8 0x1 0xffff 0x1 0x8000 0x7fff 0x5 0x8000 0xedcc
+        i16x8.sub_sat_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $acc
+    )
+)
@@ -0,0 +1,145 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Byte permutations: swizzle selects zero for indices beyond 15, and shuffle
+;; selects from both operands with lane indices up to 31.
+;;
+(module
+    (func (export "_main") (result i64)
+        (local $v v128) (local $m v128) (local $acc i64)
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0x0 0xf 0x10 0x11 0x1f 0x20 0x7f 0x80 0xff 0x1 0xe 0x2 0xd 0x10 0xf 0x3
+        i8x16.swizzle
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0xf 0xe 0xd 0xc 0xb 0xa 0x9 0x8 0x7 0x6 0x5 0x4 0x3 0x2 0x1 0x0
+        i8x16.swizzle
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0xf0 0xf0 0xf0 0xf0 0xf0 0xf0 0xf0 0xf0 0x7 0x7 0x7 0x7 0x7 0x7 0x7 0x7
+        i8x16.swizzle
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0xa0 0xa1 0xa2 0xa3 0xa4 0xa5 0xa6 0xa7 0xa8 0xa9 0xaa 0xab 0xac 0xad 0xae 0xaf
+        i8x16.shuffle 0 16 1 17 2 18 3 19 31 15 30 14 29 13 28 12
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0xa0 0xa1 0xa2 0xa3 0xa4 0xa5 0xa6 0xa7 0xa8 0xa9 0xaa 0xab 0xac 0xad 0xae 0xaf
+        i8x16.shuffle 31 31 31 31 31 31 31 31 31 31 31 31 31 31 31 31
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const i8x16 0x10 0x11 0x12 0x13 0x14 0x15 0x16 0x17 0x18 0x19 0x1a 0x1b 0x1c 0x1d 0x1e 0x1f
+        v128.const i8x16 0xa0 0xa1 0xa2 0xa3 0xa4 0xa5 0xa6 0xa7 0xa8 0xa9 0xaa 0xab 0xac 0xad 0xae 0xaf
+        i8x16.shuffle 16 17 18 19 20 21 22 23 24 25 26 27 28 29 30 31
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $acc
+    )
+)
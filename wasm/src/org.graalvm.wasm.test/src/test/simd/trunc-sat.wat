@@ -0,0 +1,319 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+;; Saturating truncation of float lanes, which maps NaN to zero and clamps
+;; out-of-range values.
+;;
+(module
+    (func (export "_main") (result i64)
+        (local $v v128) (local $m v128) (local $acc i64)
+        v128.const f32x4 nan inf -inf -0x1.8000000000000p+0
+        i32x4.trunc_sat_f32x4_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 nan inf -inf -0x1.8000000000000p+0
+        i32x4.trunc_sat_f32x4_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.fffffe0000000p+30 -0x1.0000000000000p+31 0x1.fffffe0000000p+31 0x1.8000000000000p-1
+        i32x4.trunc_sat_f32x4_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.fffffe0000000p+30 -0x1.0000000000000p+31 0x1.fffffe0000000p+31 0x1.8000000000000p-1
+        i32x4.trunc_sat_f32x4_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 0x1.2a05f20000000p+33 -0x1.2a05f20000000p+33 -0x1.fae147ae147aep-1
+        i32x4.trunc_sat_f32x4_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 -0x0p+0 0x1.2a05f20000000p+33 -0x1.2a05f20000000p+33 -0x1.fae147ae147aep-1
+        i32x4.trunc_sat_f32x4_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.e240000000000p+16 -0x1.e000000000000p+2 0x1.65a0bc0000000p+31 -0x1.65a0bc0000000p+31
+        i32x4.trunc_sat_f32x4_s
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f32x4 0x1.e240000000000p+16 -0x1.e000000000000p+2 0x1.65a0bc0000000p+31 -0x1.65a0bc0000000p+31
+        i32x4.trunc_sat_f32x4_u
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.8000000000000p+0
+        i32x4.trunc_sat_f64x2_s_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 nan -0x1.8000000000000p+0
+        i32x4.trunc_sat_f64x2_u_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 inf -inf
+        i32x4.trunc_sat_f64x2_s_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 inf -inf
+        i32x4.trunc_sat_f64x2_u_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.ffffffff9999ap+30 -0x1.00000001ccccdp+31
+        i32x4.trunc_sat_f64x2_s_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.ffffffff9999ap+30 -0x1.00000001ccccdp+31
+        i32x4.trunc_sat_f64x2_u_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.ffffffff00000p+31 0x1.0000000000000p+32
+        i32x4.trunc_sat_f64x2_s_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 0x1.ffffffff00000p+31 0x1.0000000000000p+32
+        i32x4.trunc_sat_f64x2_u_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -0x1.0000000000000p-1 0x1.5af1d78b58c40p+66
+        i32x4.trunc_sat_f64x2_s_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        v128.const f64x2 -0x1.0000000000000p-1 0x1.5af1d78b58c40p+66
+        i32x4.trunc_sat_f64x2_u_zero
+        local.set $v
+        local.get $acc
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 0
+        i64.add
+        i64.const 31
+        i64.mul
+        local.get $v
+        i64x2.extract_lane 1
+        i64.add
+        local.set $acc
+        local.get $acc
+    )
+)
@@ -0,0 +1,179 @@
+;;
+;; Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+;; DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+;;
+;; The Universal Permissive License (UPL), Version 1.0
+;;
+;; Subject to the condition set forth below, permission is hereby granted to any
+;; person obtaining a copy of this software, associated documentation and/or
+;; data (collectively the "Software"), free of charge and under any and all
+;; copyright rights in the Software, and any and all patent rights owned or
+;; freely licensable by each licensor hereunder covering either (i) the
+;; unmodified Software as contributed to or provided by such licensor, or (ii)
+;; the Larger Works (as defined below), to deal in both
+;;
+;; (a) the Software, and
+;;
+;; (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+;; one is included with the Software each a "Larger Work" to which the Software
+;; is contributed by such licensors),
+;;
+;; without restriction, including without limitation the rights to copy, create
+;; derivative works of, display, perform, and distribute the Software and make,
+;; use, sell, offer for sale, import, export, have made, and have sold the
+;; Software and the Larger Work(s), and to sublicense the foregoing rights on
+;; either these or other terms.
+;;
+;; This license is subject to the following condition:
+;;
+;; The above copyright notice and either this complete permission notice or at a
+;; minimum a reference to the UPL must be included in all copies or substantial
+;; portions of the Software.
+;;
+;; THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+;; IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+;; FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+;; AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+;; LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+;; OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+;; SOFTWARE.
+;;
+(module
+    (memory 1 1 shared)
+    (data (i32.const 0) "\11\22\33\44\55\66\77\88")
+    (func (export "_main") (result i64)
+        (local $acc i64)
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 1
+        i32.const 496
+        i32.atomic.rmw8.add_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 2
+        i32.const 65588
+        i32.atomic.rmw16.sub_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 3
+        i32.const 15
+        i32.atomic.rmw8.and_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 0
+        i32.const 256
+        i32.atomic.rmw8.or_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 6
+        i32.const 65535
+        i32.atomic.rmw16.xor_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 5
+        i32.const 43981
+        i32.atomic.rmw8.xchg_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 7
+        i64.const 255
+        i64.atomic.rmw8.add_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 0
+        i64.const 114415
+        i64.atomic.rmw16.xchg_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 4
+        i64.const 17293822569102704641
+        i64.atomic.rmw32.or_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 0
+        i64.const 4294967297
+        i64.atomic.rmw32.sub_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 4
+        i32.const 427
+        i32.const 460
+        i32.atomic.rmw8.cmpxchg_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 6
+        i32.const 4660
+        i32.const 0
+        i32.atomic.rmw16.cmpxchg_u
+        i64.extend_i32_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 2
+        i64.const 34359690239
+        i64.const 23130
+        i64.atomic.rmw16.cmpxchg_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 0
+        i64.const 305419896
+        i64.const 0
+        i64.atomic.rmw32.cmpxchg_u
+        i64.add
+        local.set $acc
+        local.get $acc
+        i64.const 31
+        i64.mul
+        i32.const 0
+        i64.atomic.load
+        i64.add
+        local.set $acc
+        local.get $acc
+    )
+)
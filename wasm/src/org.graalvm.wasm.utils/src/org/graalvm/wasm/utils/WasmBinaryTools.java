@@ -102,6 +102,8 @@ public class WasmBinaryTools {
                                         // invalid wasm files.
                                         "-v",
                                         "--no-check",
+                                        "--enable-simd",
+                                        "--enable-threads",
                                         "-o",
                                         output.getPath(),
                         });
@@ -47,6 +47,8 @@ import com.oracle.truffle.api.interop.ExceptionType;
 import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.Node;
 import org.graalvm.wasm.collection.ByteArrayList;
+import org.graalvm.wasm.collection.IntArrayList;
+import org.graalvm.wasm.constants.AtomicInstructions;
 import org.graalvm.wasm.constants.CallIndirect;
 import org.graalvm.wasm.constants.ExportIdentifier;
 import org.graalvm.wasm.constants.GlobalModifier;
@@ -54,6 +56,7 @@ import org.graalvm.wasm.constants.ImportIdentifier;
 import org.graalvm.wasm.constants.Instructions;
 import org.graalvm.wasm.constants.LimitsPrefix;
 import org.graalvm.wasm.constants.Section;
+import org.graalvm.wasm.constants.VectorInstructions;
 import org.graalvm.wasm.exception.Failure;
 import org.graalvm.wasm.exception.WasmException;
 import org.graalvm.wasm.memory.WasmMemory;
@@ -71,6 +74,8 @@ import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static org.graalvm.wasm.Assert.assertByteEqual;
 import static org.graalvm.wasm.Assert.assertIntEqual;
@@ -83,6 +88,7 @@ import static org.graalvm.wasm.WasmType.F32_TYPE;
 import static org.graalvm.wasm.WasmType.F64_TYPE;
 import static org.graalvm.wasm.WasmType.I32_TYPE;
 import static org.graalvm.wasm.WasmType.I64_TYPE;
+import static org.graalvm.wasm.WasmType.V128_TYPE;
 import static org.graalvm.wasm.constants.Sizes.MAX_MEMORY_DECLARATION_SIZE;
 import static org.graalvm.wasm.constants.Sizes.MAX_TABLE_DECLARATION_SIZE;
 
@@ -113,6 +119,11 @@ public class BinaryParser extends BinaryStreamParser {
     private final WasmModule module;
     private final int[] limitsResult;
 
+    /**
+     * The node recording of the code entry that is being read, if its code section is cached.
+     */
+    private IntArrayList nodeRecording;
+
     @CompilerDirectives.TruffleBoundary
     public BinaryParser(WasmLanguage language, WasmModule module) {
         super(module.data());
@@ -133,12 +144,14 @@ public class BinaryParser extends BinaryStreamParser {
         int binarySize = instance.module().data().length;
         final int asyncParsingBinarySize = WasmOptions.AsyncParsingBinarySize.getValue(context.environment().getOptions());
         if (binarySize < asyncParsingBinarySize) {
-            readInstanceSynchronously(context, instance);
+            readInstanceSynchronously(context, instance, 1);
         } else {
+            final int requestedParallelism = WasmOptions.ParallelParsingThreads.getValue(context.environment().getOptions());
+            final int parallelism = requestedParallelism != 0 ? requestedParallelism : Runtime.getRuntime().availableProcessors();
             final Runnable parsing = new Runnable() {
                 @Override
                 public void run() {
-                    readInstanceSynchronously(context, instance);
+                    readInstanceSynchronously(context, instance, parallelism);
                 }
             };
             final String name = "wasm-parsing-thread(" + instance.name() + ")";
@@ -151,7 +164,11 @@ public class BinaryParser extends BinaryStreamParser {
             parsingThread.start();
             try {
                 parsingThread.join();
-                if (handler.parsingException() != null) {
+                final Throwable parsingException = handler.parsingException();
+                if (parsingException instanceof WasmException) {
+                    // Report the validation failure, e.g. of the first invalid code entry.
+                    throw (WasmException) parsingException;
+                } else if (parsingException != null) {
                     throw WasmException.create(Failure.UNSPECIFIED_INVALID, "Asynchronous parsing failed.");
                 }
             } catch (InterruptedException e) {
@@ -160,9 +177,9 @@ public class BinaryParser extends BinaryStreamParser {
         }
     }
 
-    private void readInstanceSynchronously(WasmContext context, WasmInstance instance) {
+    private void readInstanceSynchronously(WasmContext context, WasmInstance instance, int parallelism) {
         if (tryJumpToSection(Section.CODE)) {
-            readCodeSection(context, instance);
+            readCodeSection(context, instance, parallelism);
         } else {
             final int expectedNumCodeEntries = module.numFunctions() - module.importedFunctions().size();
             assertIntEqual(0, expectedNumCodeEntries, Failure.FUNCTIONS_CODE_INCONSISTENT_LENGTHS);
@@ -356,8 +373,8 @@ public class BinaryParser extends BinaryStreamParser {
                     break;
                 }
                 case ImportIdentifier.MEMORY: {
-                    readMemoryLimits(limitsResult);
-                    module.symbolTable().importMemory(moduleName, memberName, limitsResult[0], limitsResult[1]);
+                    final boolean shared = readMemoryLimits(limitsResult);
+                    module.symbolTable().importMemory(moduleName, memberName, limitsResult[0], limitsResult[1], shared);
                     break;
                 }
                 case ImportIdentifier.GLOBAL: {
@@ -402,8 +419,8 @@ public class BinaryParser extends BinaryStreamParser {
         // module, this loop should be executed at most once. `SymbolTable#allocateMemory` fails if
         // it is not the case.
         for (int i = 0; i != numMemories; ++i) {
-            readMemoryLimits(limitsResult);
-            module.symbolTable().allocateMemory(limitsResult[0], limitsResult[1]);
+            final boolean shared = readMemoryLimits(limitsResult);
+            module.symbolTable().allocateMemory(limitsResult[0], limitsResult[1], shared);
         }
     }
 
@@ -422,7 +439,7 @@ public class BinaryParser extends BinaryStreamParser {
         }
     }
 
-    private void readCodeSection(WasmContext context, WasmInstance instance) {
+    private void readCodeSection(WasmContext context, WasmInstance instance, int parallelism) {
         final int numImportedFunctions = instance.module().importedFunctions().size();
         final int numCodeEntries = readLength();
         final int expectedNumCodeEntries = module.numFunctions() - numImportedFunctions;
@@ -432,13 +449,110 @@ public class BinaryParser extends BinaryStreamParser {
         for (int entry = 0; entry != numCodeEntries; ++entry) {
             rootNodes[entry] = createCodeEntry(instance, numImportedFunctions + entry);
         }
+
+        // The code entries are independent of each other, so we first locate them all,
+        // and then read them either in sequence or in parallel.
+        final int[] entryOffsets = new int[numCodeEntries];
+        final int[] entrySizes = new int[numCodeEntries];
         for (int entryIndex = 0; entryIndex != numCodeEntries; ++entryIndex) {
-            final int codeEntrySize = readUnsignedInt32();
-            final int startOffset = offset;
-            readCodeEntry(instance, numImportedFunctions + entryIndex, rootNodes[entryIndex]);
-            assertIntEqual(offset - startOffset, codeEntrySize, String.format("Code entry %d size is incorrect", entryIndex), Failure.UNSPECIFIED_MALFORMED);
-            final int currentEntryIndex = entryIndex;
-            context.linker().resolveCodeEntry(module, currentEntryIndex);
+            entrySizes[entryIndex] = readUnsignedInt32();
+            entryOffsets[entryIndex] = offset;
+            offset += entrySizes[entryIndex];
+        }
+
+        final CodeSectionCache cache = CodeSectionCache.create(context, data);
+        final CodeSectionCache.Entry[] cachedEntries = cache != null ? cache.load(module, entryOffsets, entrySizes) : null;
+        if (cachedEntries != null) {
+            for (int entryIndex = 0; entryIndex != numCodeEntries; ++entryIndex) {
+                CodeSectionCache.instantiate(module, instance, rootNodes[entryIndex], cachedEntries[entryIndex]);
+                context.linker().resolveCodeEntry(module, entryIndex);
+            }
+            return;
+        }
+
+        final boolean record = cache != null;
+        final CodeSectionCache.Entry[] entries = new CodeSectionCache.Entry[numCodeEntries];
+        if (parallelism > 1 && numCodeEntries > 1) {
+            readCodeEntriesInParallel(instance, rootNodes, entryOffsets, entrySizes, entries, record, parallelism);
+        } else {
+            for (int entryIndex = 0; entryIndex != numCodeEntries; ++entryIndex) {
+                entries[entryIndex] = readCodeEntry(instance, entryIndex, entryOffsets[entryIndex], entrySizes[entryIndex], rootNodes[entryIndex], record);
+            }
+        }
+        for (int entryIndex = 0; entryIndex != numCodeEntries; ++entryIndex) {
+            context.linker().resolveCodeEntry(module, entryIndex);
+        }
+        if (cache != null) {
+            cache.store(entries);
+        }
+    }
+
+    private void readCodeEntriesInParallel(WasmInstance instance, WasmRootNode[] rootNodes, int[] entryOffsets, int[] entrySizes, CodeSectionCache.Entry[] entries, boolean record,
+                    int parallelism) {
+        final Throwable[] failures = new Throwable[rootNodes.length];
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new CodeEntryTask(instance, rootNodes, entryOffsets, entrySizes, entries, failures, record, 0, rootNodes.length));
+        } finally {
+            pool.shutdown();
+        }
+        // Report the failure of the first invalid code entry, as the sequential parser would.
+        for (int entryIndex = 0; entryIndex != rootNodes.length; ++entryIndex) {
+            final Throwable failure = failures[entryIndex];
+            if (failure instanceof StackOverflowError) {
+                // The fork-join worker threads use the default stack size, which may not suffice
+                // for deeply nested code entries, so we read them again on the parsing thread.
+                entries[entryIndex] = readCodeEntry(instance, entryIndex, entryOffsets[entryIndex], entrySizes[entryIndex], rootNodes[entryIndex], record);
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
+
+    /**
+     * Reads a range of code entries, by recursively splitting it until each task reads a single
+     * code entry with its own parser.
+     */
+    private final class CodeEntryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WasmInstance instance;
+        private final WasmRootNode[] rootNodes;
+        private final int[] entryOffsets;
+        private final int[] entrySizes;
+        private final CodeSectionCache.Entry[] entries;
+        private final Throwable[] failures;
+        private final boolean record;
+        private final int from;
+        private final int to;
+
+        CodeEntryTask(WasmInstance instance, WasmRootNode[] rootNodes, int[] entryOffsets, int[] entrySizes, CodeSectionCache.Entry[] entries, Throwable[] failures, boolean record,
+                        int from, int to) {
+            this.instance = instance;
+            this.rootNodes = rootNodes;
+            this.entryOffsets = entryOffsets;
+            this.entrySizes = entrySizes;
+            this.entries = entries;
+            this.failures = failures;
+            this.record = record;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new CodeEntryTask(instance, rootNodes, entryOffsets, entrySizes, entries, failures, record, from, middle),
+                                new CodeEntryTask(instance, rootNodes, entryOffsets, entrySizes, entries, failures, record, middle, to));
+                return;
+            }
+            final BinaryParser parser = new BinaryParser(language, module);
+            try {
+                entries[from] = parser.readCodeEntry(instance, from, entryOffsets[from], entrySizes[from], rootNodes[from], record);
+            } catch (RuntimeException | StackOverflowError e) {
+                failures[from] = e;
+            }
         }
     }
 
@@ -459,11 +573,15 @@ public class BinaryParser extends BinaryStreamParser {
         return rootNode;
     }
 
-    private void readCodeEntry(WasmInstance instance, int funcIndex, WasmRootNode rootNode) {
+    private CodeSectionCache.Entry readCodeEntry(WasmInstance instance, int entryIndex, int startOffset, int codeEntrySize, WasmRootNode rootNode, boolean record) {
+        final int funcIndex = module.importedFunctions().size() + entryIndex;
+        offset = startOffset;
+        nodeRecording = record ? new IntArrayList() : null;
+
         /*
          * Initialise the code entry local variables (which contain the parameters and the locals).
          */
-        initCodeEntryLocals(funcIndex);
+        final byte[] localTypes = initCodeEntryLocals(funcIndex);
 
         /* Read (parse) and abstractly interpret the code entry */
         final WasmFunction function = module.symbolTable().function(funcIndex);
@@ -475,13 +593,22 @@ public class BinaryParser extends BinaryStreamParser {
                         "Stack size must match the return type length at the function end", Failure.TYPE_MISMATCH);
         rootNode.setBody(bodyBlock);
 
+        assertIntEqual(offset - startOffset, codeEntrySize, String.format("Code entry %d size is incorrect", entryIndex), Failure.UNSPECIFIED_MALFORMED);
+
         /* Initialize the Truffle-related components required for execution. */
-        rootNode.codeEntry().setIntConstants(state.intConstants());
-        if (state.branchTables().length > 0) {
-            rootNode.codeEntry().setBranchTables(state.branchTables());
+        final int[] intConstants = state.intConstants();
+        final int[][] branchTables = state.branchTables();
+        rootNode.codeEntry().setIntConstants(intConstants);
+        if (branchTables.length > 0) {
+            rootNode.codeEntry().setBranchTables(branchTables);
         }
         rootNode.codeEntry().setProfileCount(state.profileCount());
         rootNode.codeEntry().initStackLocals(rootNode.getFrameDescriptor(), state.maxStackSize());
+
+        if (nodeRecording == null) {
+            return null;
+        }
+        return new CodeSectionCache.Entry(localTypes, nodeRecording.toArray(), intConstants, branchTables, state.profileCount(), state.maxStackSize());
     }
 
     private ByteArrayList readCodeEntryLocals() {
@@ -492,7 +619,8 @@ public class BinaryParser extends BinaryStreamParser {
             final int groupLength = readUnsignedInt32();
             localsLength += groupLength;
             module.limits().checkLocalCount(localsLength);
-            final byte t = readValueType();
+            final byte t = readLocalValueType();
+            assertTrue(t != V128_TYPE || language.isSimdEnabled(), "v128 locals require the wasm.SIMD option", Failure.MALFORMED_VALUE_TYPE);
             for (int i = 0; i != groupLength; ++i) {
                 localTypes.add(t);
             }
@@ -500,13 +628,24 @@ public class BinaryParser extends BinaryStreamParser {
         return localTypes;
     }
 
-    private void initCodeEntryLocals(int funcIndex) {
+    private byte[] initCodeEntryLocals(int funcIndex) {
         WasmCodeEntry codeEntry = module.symbolTable().function(funcIndex).codeEntry();
         int typeIndex = module.symbolTable().function(funcIndex).typeIndex();
         ByteArrayList argumentTypes = module.symbolTable().functionTypeArgumentTypes(typeIndex);
         ByteArrayList localTypes = readCodeEntryLocals();
         byte[] allLocalTypes = ByteArrayList.concat(argumentTypes, localTypes);
         codeEntry.setLocalTypes(allLocalTypes);
+        return allLocalTypes;
+    }
+
+    /**
+     * Appends a value to the recording of the nodes created for the current code entry, from
+     * which {@link CodeSectionCache} can recreate them.
+     */
+    private void record(int value) {
+        if (nodeRecording != null) {
+            nodeRecording.add(value);
+        }
     }
 
     private WasmBlockNode readBlock(WasmInstance instance, WasmCodeEntry codeEntry, ExecutionState state) {
@@ -530,6 +669,13 @@ public class BinaryParser extends BinaryStreamParser {
         int startProfileCount = state.profileCount();
         final WasmBlockNode currentBlock = new WasmBlockNode(instance, codeEntry, startOffset, returnTypeId, startStackSize, startIntConstantOffset,
                         startBranchTableOffset, startProfileCount);
+        record(CodeSectionCache.BLOCK);
+        record(startOffset);
+        record(returnTypeId);
+        record(startStackSize);
+        record(startIntConstantOffset);
+        record(startBranchTableOffset);
+        record(startProfileCount);
 
         state.startBlock(currentBlock, isLoopBody);
         state.setReachable(true);
@@ -554,6 +700,7 @@ public class BinaryParser extends BinaryStreamParser {
                 case Instructions.LOOP: {
                     // Store the reachability of the current block, to restore it later.
                     boolean reachable = state.isReachable();
+                    record(CodeSectionCache.LOOP);
                     LoopNode loopBlock = readLoop(instance, codeEntry, state);
                     children.add(loopBlock);
                     state.setReachable(reachable);
@@ -564,6 +711,7 @@ public class BinaryParser extends BinaryStreamParser {
                     state.popChecked(I32_TYPE);
                     // Store the reachability of the current block, to restore it later.
                     boolean reachable = state.isReachable();
+                    record(CodeSectionCache.IF);
                     WasmIfNode ifNode = readIf(instance, codeEntry, state);
                     children.add(ifNode);
                     state.setReachable(reachable);
@@ -574,7 +722,9 @@ public class BinaryParser extends BinaryStreamParser {
                 case Instructions.END:
                     break;
                 case Instructions.BR: {
+                    final int immediateOffset = offset();
                     final int unwindLevel = readTargetOffset();
+                    state.useImmediate(unwindLevel, offset() - immediateOffset);
                     final int targetStackSize = state.getStackSize(unwindLevel);
                     state.useIntConstant(targetStackSize);
                     state.useIntConstant(state.getContinuationLength(unwindLevel));
@@ -585,7 +735,9 @@ public class BinaryParser extends BinaryStreamParser {
                 }
                 case Instructions.BR_IF: {
                     state.popChecked(I32_TYPE); // condition
+                    final int immediateOffset = offset();
                     final int unwindLevel = readTargetOffset();
+                    state.useImmediate(unwindLevel, offset() - immediateOffset);
                     final int targetStackSize = state.getStackSize(unwindLevel);
                     state.useIntConstant(targetStackSize);
                     final int continuationReturnLength = state.getContinuationLength(unwindLevel);
@@ -639,7 +791,9 @@ public class BinaryParser extends BinaryStreamParser {
                     break;
                 }
                 case Instructions.CALL: {
+                    final int immediateOffset = offset();
                     final int functionIndex = readDeclaredFunctionIndex();
+                    state.useImmediate(functionIndex, offset() - immediateOffset);
 
                     // Pop arguments
                     final WasmFunction function = module.symbolTable().function(functionIndex);
@@ -663,6 +817,8 @@ public class BinaryParser extends BinaryStreamParser {
                     // after the call target from the other module exists.
                     children.add(new WasmCallStubNode(function));
                     final int stubIndex = children.size() - 1;
+                    record(CodeSectionCache.CALL);
+                    record(functionIndex);
                     module.addLinkAction((context, inst) -> context.linker().resolveCallsite(inst, currentBlock, stubIndex, function));
 
                     break;
@@ -670,7 +826,9 @@ public class BinaryParser extends BinaryStreamParser {
                 case Instructions.CALL_INDIRECT: {
                     assertTrue(module.symbolTable().tableExists(), Failure.UNKNOWN_TABLE);
 
+                    final int immediateOffset = offset();
                     int expectedFunctionTypeIndex = readTypeIndex();
+                    state.useImmediate(expectedFunctionTypeIndex, offset() - immediateOffset);
 
                     // Pop the function index to call
                     state.popChecked(I32_TYPE);
@@ -687,45 +845,56 @@ public class BinaryParser extends BinaryStreamParser {
                     }
 
                     children.add(WasmIndirectCallNode.create());
+                    record(CodeSectionCache.CALL_INDIRECT);
                     final int tableIndex = read1();
                     assertIntEqual(tableIndex, CallIndirect.ZERO_TABLE, "CALL_INDIRECT: Instruction must end with 0x00", Failure.ZERO_FLAG_EXPECTED);
                     break;
                 }
                 case Instructions.DROP:
-                    state.pop();
+                    state.popSingleSlot();
                     break;
                 case Instructions.SELECT:
                     state.popChecked(I32_TYPE); // condition
-                    final byte t = state.pop(); // first operand
+                    final byte t = state.popSingleSlot(); // first operand
                     state.popChecked(t); // second operand
                     state.push(t);
                     break;
                 case Instructions.LOCAL_GET: {
+                    final int immediateOffset = offset();
                     final int localIndex = readLocalIndex();
+                    state.useImmediate(localIndex, offset() - immediateOffset);
                     assertUnsignedIntLess(localIndex, codeEntry.numLocals(), Failure.UNKNOWN_LOCAL);
                     state.push(codeEntry.localType(localIndex));
                     break;
                 }
                 case Instructions.LOCAL_SET: {
+                    final int immediateOffset = offset();
                     final int localIndex = readLocalIndex();
+                    state.useImmediate(localIndex, offset() - immediateOffset);
                     assertUnsignedIntLess(localIndex, codeEntry.numLocals(), Failure.UNKNOWN_LOCAL);
                     state.popChecked(codeEntry.localType(localIndex));
                     break;
                 }
                 case Instructions.LOCAL_TEE: {
+                    final int immediateOffset = offset();
                     final int localIndex = readLocalIndex();
+                    state.useImmediate(localIndex, offset() - immediateOffset);
                     assertUnsignedIntLess(localIndex, codeEntry.numLocals(), Failure.UNKNOWN_LOCAL);
                     state.popChecked(codeEntry.localType(localIndex));
                     state.push(codeEntry.localType(localIndex));
                     break;
                 }
                 case Instructions.GLOBAL_GET: {
+                    final int immediateOffset = offset();
                     final int index = readGlobalIndex();
+                    state.useImmediate(index, offset() - immediateOffset);
                     state.push(module.symbolTable().globalValueType(index));
                     break;
                 }
                 case Instructions.GLOBAL_SET: {
+                    final int immediateOffset = offset();
                     final int index = readGlobalIndex();
+                    state.useImmediate(index, offset() - immediateOffset);
                     // Assert that the global is mutable.
                     assertByteEqual(module.symbolTable().globalMutability(index), (byte) GlobalModifier.MUTABLE,
                                     "Immutable globals cannot be set: " + index, Failure.IMMUTABLE_GLOBAL_WRITE);
@@ -806,14 +975,20 @@ public class BinaryParser extends BinaryStreamParser {
                     state.push(I32_TYPE);
                     break;
                 }
-                case Instructions.I32_CONST:
-                    readSignedInt32();
+                case Instructions.I32_CONST: {
+                    final int immediateOffset = offset();
+                    final int value = readSignedInt32();
+                    state.useImmediate(value, offset() - immediateOffset);
                     state.push(I32_TYPE);
                     break;
-                case Instructions.I64_CONST:
-                    readSignedInt64();
+                }
+                case Instructions.I64_CONST: {
+                    final int immediateOffset = offset();
+                    final long value = readSignedInt64();
+                    state.useLongImmediate(value, offset() - immediateOffset);
                     state.push(I64_TYPE);
                     break;
+                }
                 case Instructions.F32_CONST:
                     read4();
                     state.push(F32_TYPE);
@@ -1043,6 +1218,13 @@ public class BinaryParser extends BinaryStreamParser {
                     state.popChecked(I64_TYPE);
                     state.push(F64_TYPE);
                     break;
+                case Instructions.VECTOR:
+                    assertTrue(language.isSimdEnabled(), "Vector instructions require the wasm.SIMD option", Failure.UNSPECIFIED_MALFORMED);
+                    readVectorInstruction(state);
+                    break;
+                case Instructions.ATOMIC:
+                    readAtomicInstruction(state);
+                    break;
                 default:
                     fail(Failure.UNSPECIFIED_MALFORMED, "Unknown opcode: 0x%02x", opcode);
                     break;
@@ -1052,6 +1234,11 @@ public class BinaryParser extends BinaryStreamParser {
                         offset() - startOffset,
                         state.intConstantOffset() - startIntConstantOffset,
                         state.branchTableOffset() - startBranchTableOffset, state.profileCount() - startProfileCount);
+        record(CodeSectionCache.END);
+        record(offset() - startOffset);
+        record(state.intConstantOffset() - startIntConstantOffset);
+        record(state.branchTableOffset() - startBranchTableOffset);
+        record(state.profileCount() - startProfileCount);
 
         state.endBlock();
 
@@ -1059,29 +1246,484 @@ public class BinaryParser extends BinaryStreamParser {
     }
 
     private void store(ExecutionState state, byte type, int n) {
-        assertTrue(module.symbolTable().memoryExists(), Failure.UNKNOWN_MEMORY);
-
         // We don't store the `align` literal, as our implementation does not make use
         // of it, but we need to store its byte length, so that we can skip it
         // during the execution.
-        readAlignHint(n); // align hint
-        readUnsignedInt32(); // store offset
+        final int immediateOffset = offset();
+        final int storeOffset = readMemoryArgument(n);
+        state.useImmediate(storeOffset, offset() - immediateOffset);
         state.popChecked(type); // value to store
         state.popChecked(I32_TYPE); // base address
     }
 
     private void load(ExecutionState state, byte type, int n) {
-        assertTrue(module.symbolTable().memoryExists(), Failure.UNKNOWN_MEMORY);
-
         // We don't store the `align` literal, as our implementation does not make use
         // of it, but we need to store its byte length, so that we can skip it
         // during execution.
-        readAlignHint(n); // align hint
-        readUnsignedInt32(); // load offset
+        final int immediateOffset = offset();
+        final int loadOffset = readMemoryArgument(n);
+        state.useImmediate(loadOffset, offset() - immediateOffset);
         state.popChecked(I32_TYPE); // base address
         state.push(type); // loaded value
     }
 
+    /**
+     * Validates a {@code v128} load. Unlike the scalar loads, vector instructions decode their
+     * immediates during execution, so no pre-decoded immediate is saved for them.
+     */
+    private void vectorLoad(ExecutionState state, int n) {
+        readMemoryArgument(n);
+        state.popChecked(I32_TYPE); // base address
+        state.push(V128_TYPE); // loaded value
+    }
+
+    private void vectorStore(ExecutionState state) {
+        readMemoryArgument(128);
+        state.popChecked(V128_TYPE); // value to store
+        state.popChecked(I32_TYPE); // base address
+    }
+
+    private void vectorLoadLane(ExecutionState state, int n) {
+        readMemoryArgument(n);
+        readLaneIndex(128 / n);
+        state.popChecked(V128_TYPE); // vector to replace the lane in
+        state.popChecked(I32_TYPE); // base address
+        state.push(V128_TYPE); // resulting vector
+    }
+
+    private void vectorStoreLane(ExecutionState state, int n) {
+        readMemoryArgument(n);
+        readLaneIndex(128 / n);
+        state.popChecked(V128_TYPE); // vector to store the lane of
+        state.popChecked(I32_TYPE); // base address
+    }
+
+    private int readMemoryArgument(int n) {
+        assertTrue(module.symbolTable().memoryExists(), Failure.UNKNOWN_MEMORY);
+        readAlignHint(n); // align hint
+        return readUnsignedInt32(); // offset
+    }
+
+    private void readAtomicInstruction(ExecutionState state) {
+        final int atomicOpcode = readUnsignedInt32();
+        switch (atomicOpcode) {
+            case AtomicInstructions.MEMORY_ATOMIC_NOTIFY:
+                readAtomicMemoryArgument(4);
+                state.popChecked(I32_TYPE); // count
+                state.popChecked(I32_TYPE); // address
+                state.push(I32_TYPE); // number of woken threads
+                break;
+            case AtomicInstructions.MEMORY_ATOMIC_WAIT32:
+                readAtomicMemoryArgument(4);
+                state.popChecked(I64_TYPE); // timeout
+                state.popChecked(I32_TYPE); // expected value
+                state.popChecked(I32_TYPE); // address
+                state.push(I32_TYPE); // result
+                break;
+            case AtomicInstructions.MEMORY_ATOMIC_WAIT64:
+                readAtomicMemoryArgument(8);
+                state.popChecked(I64_TYPE); // timeout
+                state.popChecked(I64_TYPE); // expected value
+                state.popChecked(I32_TYPE); // address
+                state.push(I32_TYPE); // result
+                break;
+            case AtomicInstructions.ATOMIC_FENCE:
+                assertByteEqual(read1(), (byte) 0, Failure.ZERO_FLAG_EXPECTED);
+                break;
+            default:
+                if (atomicOpcode < AtomicInstructions.I32_ATOMIC_LOAD || atomicOpcode > AtomicInstructions.I64_ATOMIC_RMW32_CMPXCHG_U) {
+                    fail(Failure.UNSPECIFIED_MALFORMED, "Unknown atomic opcode: 0x%02x", atomicOpcode);
+                }
+                final byte type = AtomicInstructions.isI64(atomicOpcode) ? I64_TYPE : I32_TYPE;
+                readAtomicMemoryArgument(AtomicInstructions.accessBytes(atomicOpcode));
+                if (atomicOpcode <= AtomicInstructions.I64_ATOMIC_LOAD32_U) {
+                    state.popChecked(I32_TYPE); // address
+                    state.push(type); // loaded value
+                } else if (atomicOpcode <= AtomicInstructions.I64_ATOMIC_STORE32) {
+                    state.popChecked(type); // value to store
+                    state.popChecked(I32_TYPE); // address
+                } else if (atomicOpcode < AtomicInstructions.I32_ATOMIC_RMW_CMPXCHG) {
+                    state.popChecked(type); // operand
+                    state.popChecked(I32_TYPE); // address
+                    state.push(type); // previous value
+                } else {
+                    state.popChecked(type); // replacement
+                    state.popChecked(type); // expected value
+                    state.popChecked(I32_TYPE); // address
+                    state.push(type); // previous value
+                }
+                break;
+        }
+    }
+
+    /**
+     * Reads the memory argument of an atomic instruction, whose alignment must be exactly the
+     * access size.
+     */
+    private void readAtomicMemoryArgument(int accessBytes) {
+        assertTrue(module.symbolTable().memoryExists(), Failure.UNKNOWN_MEMORY);
+        final int align = readUnsignedInt32();
+        assertIntEqual(align, Integer.numberOfTrailingZeros(accessBytes), Failure.ATOMIC_ALIGNMENT_NOT_NATURAL);
+        readUnsignedInt32(); // offset
+    }
+
+    private void readVectorInstruction(ExecutionState state) {
+        final int vectorOpcode = readUnsignedInt32();
+        switch (vectorOpcode) {
+            case VectorInstructions.V128_LOAD:
+                vectorLoad(state, 128);
+                break;
+            case VectorInstructions.V128_LOAD8X8_S:
+            case VectorInstructions.V128_LOAD8X8_U:
+            case VectorInstructions.V128_LOAD16X4_S:
+            case VectorInstructions.V128_LOAD16X4_U:
+            case VectorInstructions.V128_LOAD32X2_S:
+            case VectorInstructions.V128_LOAD32X2_U:
+            case VectorInstructions.V128_LOAD64_SPLAT:
+            case VectorInstructions.V128_LOAD64_ZERO:
+                vectorLoad(state, 64);
+                break;
+            case VectorInstructions.V128_LOAD8_SPLAT:
+                vectorLoad(state, 8);
+                break;
+            case VectorInstructions.V128_LOAD16_SPLAT:
+                vectorLoad(state, 16);
+                break;
+            case VectorInstructions.V128_LOAD32_SPLAT:
+            case VectorInstructions.V128_LOAD32_ZERO:
+                vectorLoad(state, 32);
+                break;
+            case VectorInstructions.V128_STORE:
+                vectorStore(state);
+                break;
+            case VectorInstructions.V128_LOAD8_LANE:
+                vectorLoadLane(state, 8);
+                break;
+            case VectorInstructions.V128_LOAD16_LANE:
+                vectorLoadLane(state, 16);
+                break;
+            case VectorInstructions.V128_LOAD32_LANE:
+                vectorLoadLane(state, 32);
+                break;
+            case VectorInstructions.V128_LOAD64_LANE:
+                vectorLoadLane(state, 64);
+                break;
+            case VectorInstructions.V128_STORE8_LANE:
+                vectorStoreLane(state, 8);
+                break;
+            case VectorInstructions.V128_STORE16_LANE:
+                vectorStoreLane(state, 16);
+                break;
+            case VectorInstructions.V128_STORE32_LANE:
+                vectorStoreLane(state, 32);
+                break;
+            case VectorInstructions.V128_STORE64_LANE:
+                vectorStoreLane(state, 64);
+                break;
+            case VectorInstructions.V128_CONST:
+                read8();
+                read8();
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.I8X16_SHUFFLE:
+                for (int i = 0; i != 16; ++i) {
+                    readLaneIndex(32);
+                }
+                state.popChecked(V128_TYPE);
+                state.popChecked(V128_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.I8X16_SPLAT:
+            case VectorInstructions.I16X8_SPLAT:
+            case VectorInstructions.I32X4_SPLAT:
+                state.popChecked(I32_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.I64X2_SPLAT:
+                state.popChecked(I64_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.F32X4_SPLAT:
+                state.popChecked(F32_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.F64X2_SPLAT:
+                state.popChecked(F64_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.I8X16_EXTRACT_LANE_S:
+            case VectorInstructions.I8X16_EXTRACT_LANE_U:
+                extractLane(state, I32_TYPE, 16);
+                break;
+            case VectorInstructions.I16X8_EXTRACT_LANE_S:
+            case VectorInstructions.I16X8_EXTRACT_LANE_U:
+                extractLane(state, I32_TYPE, 8);
+                break;
+            case VectorInstructions.I32X4_EXTRACT_LANE:
+                extractLane(state, I32_TYPE, 4);
+                break;
+            case VectorInstructions.I64X2_EXTRACT_LANE:
+                extractLane(state, I64_TYPE, 2);
+                break;
+            case VectorInstructions.F32X4_EXTRACT_LANE:
+                extractLane(state, F32_TYPE, 4);
+                break;
+            case VectorInstructions.F64X2_EXTRACT_LANE:
+                extractLane(state, F64_TYPE, 2);
+                break;
+            case VectorInstructions.I8X16_REPLACE_LANE:
+                replaceLane(state, I32_TYPE, 16);
+                break;
+            case VectorInstructions.I16X8_REPLACE_LANE:
+                replaceLane(state, I32_TYPE, 8);
+                break;
+            case VectorInstructions.I32X4_REPLACE_LANE:
+                replaceLane(state, I32_TYPE, 4);
+                break;
+            case VectorInstructions.I64X2_REPLACE_LANE:
+                replaceLane(state, I64_TYPE, 2);
+                break;
+            case VectorInstructions.F32X4_REPLACE_LANE:
+                replaceLane(state, F32_TYPE, 4);
+                break;
+            case VectorInstructions.F64X2_REPLACE_LANE:
+                replaceLane(state, F64_TYPE, 2);
+                break;
+            case VectorInstructions.V128_NOT:
+            case VectorInstructions.F32X4_DEMOTE_F64X2_ZERO:
+            case VectorInstructions.F64X2_PROMOTE_LOW_F32X4:
+            case VectorInstructions.I8X16_ABS:
+            case VectorInstructions.I8X16_NEG:
+            case VectorInstructions.I8X16_POPCNT:
+            case VectorInstructions.F32X4_CEIL:
+            case VectorInstructions.F32X4_FLOOR:
+            case VectorInstructions.F32X4_TRUNC:
+            case VectorInstructions.F32X4_NEAREST:
+            case VectorInstructions.F64X2_CEIL:
+            case VectorInstructions.F64X2_FLOOR:
+            case VectorInstructions.F64X2_TRUNC:
+            case VectorInstructions.F64X2_NEAREST:
+            case VectorInstructions.I16X8_ABS:
+            case VectorInstructions.I16X8_NEG:
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_U:
+            case VectorInstructions.I32X4_ABS:
+            case VectorInstructions.I32X4_NEG:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_U:
+            case VectorInstructions.I64X2_ABS:
+            case VectorInstructions.I64X2_NEG:
+            case VectorInstructions.I64X2_EXTEND_LOW_I32X4_S:
+            case VectorInstructions.I64X2_EXTEND_HIGH_I32X4_S:
+            case VectorInstructions.I64X2_EXTEND_LOW_I32X4_U:
+            case VectorInstructions.I64X2_EXTEND_HIGH_I32X4_U:
+            case VectorInstructions.F32X4_ABS:
+            case VectorInstructions.F32X4_NEG:
+            case VectorInstructions.F32X4_SQRT:
+            case VectorInstructions.F64X2_ABS:
+            case VectorInstructions.F64X2_NEG:
+            case VectorInstructions.F64X2_SQRT:
+            case VectorInstructions.I32X4_TRUNC_SAT_F32X4_S:
+            case VectorInstructions.I32X4_TRUNC_SAT_F32X4_U:
+            case VectorInstructions.F32X4_CONVERT_I32X4_S:
+            case VectorInstructions.F32X4_CONVERT_I32X4_U:
+            case VectorInstructions.I32X4_TRUNC_SAT_F64X2_S_ZERO:
+            case VectorInstructions.I32X4_TRUNC_SAT_F64X2_U_ZERO:
+            case VectorInstructions.F64X2_CONVERT_LOW_I32X4_S:
+            case VectorInstructions.F64X2_CONVERT_LOW_I32X4_U:
+            case VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_S:
+            case VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_U:
+            case VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_S:
+            case VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_U:
+                state.popChecked(V128_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.I8X16_SWIZZLE:
+            case VectorInstructions.I8X16_EQ:
+            case VectorInstructions.I8X16_NE:
+            case VectorInstructions.I8X16_LT_S:
+            case VectorInstructions.I8X16_LT_U:
+            case VectorInstructions.I8X16_GT_S:
+            case VectorInstructions.I8X16_GT_U:
+            case VectorInstructions.I8X16_LE_S:
+            case VectorInstructions.I8X16_LE_U:
+            case VectorInstructions.I8X16_GE_S:
+            case VectorInstructions.I8X16_GE_U:
+            case VectorInstructions.I16X8_EQ:
+            case VectorInstructions.I16X8_NE:
+            case VectorInstructions.I16X8_LT_S:
+            case VectorInstructions.I16X8_LT_U:
+            case VectorInstructions.I16X8_GT_S:
+            case VectorInstructions.I16X8_GT_U:
+            case VectorInstructions.I16X8_LE_S:
+            case VectorInstructions.I16X8_LE_U:
+            case VectorInstructions.I16X8_GE_S:
+            case VectorInstructions.I16X8_GE_U:
+            case VectorInstructions.I32X4_EQ:
+            case VectorInstructions.I32X4_NE:
+            case VectorInstructions.I32X4_LT_S:
+            case VectorInstructions.I32X4_LT_U:
+            case VectorInstructions.I32X4_GT_S:
+            case VectorInstructions.I32X4_GT_U:
+            case VectorInstructions.I32X4_LE_S:
+            case VectorInstructions.I32X4_LE_U:
+            case VectorInstructions.I32X4_GE_S:
+            case VectorInstructions.I32X4_GE_U:
+            case VectorInstructions.F32X4_EQ:
+            case VectorInstructions.F32X4_NE:
+            case VectorInstructions.F32X4_LT:
+            case VectorInstructions.F32X4_GT:
+            case VectorInstructions.F32X4_LE:
+            case VectorInstructions.F32X4_GE:
+            case VectorInstructions.F64X2_EQ:
+            case VectorInstructions.F64X2_NE:
+            case VectorInstructions.F64X2_LT:
+            case VectorInstructions.F64X2_GT:
+            case VectorInstructions.F64X2_LE:
+            case VectorInstructions.F64X2_GE:
+            case VectorInstructions.V128_AND:
+            case VectorInstructions.V128_ANDNOT:
+            case VectorInstructions.V128_OR:
+            case VectorInstructions.V128_XOR:
+            case VectorInstructions.I8X16_NARROW_I16X8_S:
+            case VectorInstructions.I8X16_NARROW_I16X8_U:
+            case VectorInstructions.I8X16_ADD:
+            case VectorInstructions.I8X16_ADD_SAT_S:
+            case VectorInstructions.I8X16_ADD_SAT_U:
+            case VectorInstructions.I8X16_SUB:
+            case VectorInstructions.I8X16_SUB_SAT_S:
+            case VectorInstructions.I8X16_SUB_SAT_U:
+            case VectorInstructions.I8X16_MIN_S:
+            case VectorInstructions.I8X16_MIN_U:
+            case VectorInstructions.I8X16_MAX_S:
+            case VectorInstructions.I8X16_MAX_U:
+            case VectorInstructions.I8X16_AVGR_U:
+            case VectorInstructions.I16X8_NARROW_I32X4_S:
+            case VectorInstructions.I16X8_NARROW_I32X4_U:
+            case VectorInstructions.I16X8_ADD:
+            case VectorInstructions.I16X8_ADD_SAT_S:
+            case VectorInstructions.I16X8_ADD_SAT_U:
+            case VectorInstructions.I16X8_SUB:
+            case VectorInstructions.I16X8_SUB_SAT_S:
+            case VectorInstructions.I16X8_SUB_SAT_U:
+            case VectorInstructions.I16X8_MUL:
+            case VectorInstructions.I16X8_MIN_S:
+            case VectorInstructions.I16X8_MIN_U:
+            case VectorInstructions.I16X8_MAX_S:
+            case VectorInstructions.I16X8_MAX_U:
+            case VectorInstructions.I16X8_AVGR_U:
+            case VectorInstructions.I32X4_ADD:
+            case VectorInstructions.I32X4_SUB:
+            case VectorInstructions.I32X4_MUL:
+            case VectorInstructions.I32X4_MIN_S:
+            case VectorInstructions.I32X4_MIN_U:
+            case VectorInstructions.I32X4_MAX_S:
+            case VectorInstructions.I32X4_MAX_U:
+            case VectorInstructions.I32X4_DOT_I16X8_S:
+            case VectorInstructions.I64X2_ADD:
+            case VectorInstructions.I64X2_SUB:
+            case VectorInstructions.I64X2_MUL:
+            case VectorInstructions.I64X2_EQ:
+            case VectorInstructions.I64X2_NE:
+            case VectorInstructions.I64X2_LT_S:
+            case VectorInstructions.I64X2_GT_S:
+            case VectorInstructions.I64X2_LE_S:
+            case VectorInstructions.I64X2_GE_S:
+            case VectorInstructions.F32X4_ADD:
+            case VectorInstructions.F32X4_SUB:
+            case VectorInstructions.F32X4_MUL:
+            case VectorInstructions.F32X4_DIV:
+            case VectorInstructions.F32X4_MIN:
+            case VectorInstructions.F32X4_MAX:
+            case VectorInstructions.F32X4_PMIN:
+            case VectorInstructions.F32X4_PMAX:
+            case VectorInstructions.F64X2_ADD:
+            case VectorInstructions.F64X2_SUB:
+            case VectorInstructions.F64X2_MUL:
+            case VectorInstructions.F64X2_DIV:
+            case VectorInstructions.F64X2_MIN:
+            case VectorInstructions.F64X2_MAX:
+            case VectorInstructions.F64X2_PMIN:
+            case VectorInstructions.F64X2_PMAX:
+            case VectorInstructions.I16X8_Q15MULR_SAT_S:
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_U:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_U:
+            case VectorInstructions.I64X2_EXTMUL_LOW_I32X4_S:
+            case VectorInstructions.I64X2_EXTMUL_HIGH_I32X4_S:
+            case VectorInstructions.I64X2_EXTMUL_LOW_I32X4_U:
+            case VectorInstructions.I64X2_EXTMUL_HIGH_I32X4_U:
+                state.popChecked(V128_TYPE);
+                state.popChecked(V128_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.V128_BITSELECT:
+                state.popChecked(V128_TYPE);
+                state.popChecked(V128_TYPE);
+                state.popChecked(V128_TYPE);
+                state.push(V128_TYPE);
+                break;
+            case VectorInstructions.V128_ANY_TRUE:
+            case VectorInstructions.I8X16_ALL_TRUE:
+            case VectorInstructions.I8X16_BITMASK:
+            case VectorInstructions.I16X8_ALL_TRUE:
+            case VectorInstructions.I16X8_BITMASK:
+            case VectorInstructions.I32X4_ALL_TRUE:
+            case VectorInstructions.I32X4_BITMASK:
+            case VectorInstructions.I64X2_ALL_TRUE:
+            case VectorInstructions.I64X2_BITMASK:
+                state.popChecked(V128_TYPE);
+                state.push(I32_TYPE);
+                break;
+            case VectorInstructions.I8X16_SHL:
+            case VectorInstructions.I8X16_SHR_S:
+            case VectorInstructions.I8X16_SHR_U:
+            case VectorInstructions.I16X8_SHL:
+            case VectorInstructions.I16X8_SHR_S:
+            case VectorInstructions.I16X8_SHR_U:
+            case VectorInstructions.I32X4_SHL:
+            case VectorInstructions.I32X4_SHR_S:
+            case VectorInstructions.I32X4_SHR_U:
+            case VectorInstructions.I64X2_SHL:
+            case VectorInstructions.I64X2_SHR_S:
+            case VectorInstructions.I64X2_SHR_U:
+                state.popChecked(I32_TYPE);
+                state.popChecked(V128_TYPE);
+                state.push(V128_TYPE);
+                break;
+            default:
+                fail(Failure.UNSPECIFIED_MALFORMED, "Unknown vector opcode: 0x%02x", vectorOpcode);
+                break;
+        }
+    }
+
+    private void readLaneIndex(int laneCount) {
+        final int laneIndex = read1() & 0xFF;
+        assertUnsignedIntLess(laneIndex, laneCount, Failure.INVALID_LANE_INDEX);
+    }
+
+    private void extractLane(ExecutionState state, byte type, int laneCount) {
+        readLaneIndex(laneCount);
+        state.popChecked(V128_TYPE);
+        state.push(type);
+    }
+
+    private void replaceLane(ExecutionState state, byte type, int laneCount) {
+        readLaneIndex(laneCount);
+        state.popChecked(type);
+        state.popChecked(V128_TYPE);
+        state.push(V128_TYPE);
+    }
+
     static Node[] toArray(ArrayList<Node> list) {
         if (list.size() == 0) {
             return null;
@@ -1110,11 +1752,17 @@ public class BinaryParser extends BinaryStreamParser {
         // Read false branch, if it exists.
         WasmBlockNode falseBranchBlock = null;
         if (peek1(-1) == Instructions.ELSE) {
+            record(1);
             falseBranchBlock = readBlockBody(instance, codeEntry, state, blockTypeId, false);
         } else if (blockTypeId != WasmType.VOID_TYPE) {
             fail(Failure.TYPE_MISMATCH, "An if statement without an else branch block cannot return values.");
+        } else {
+            record(0);
         }
         int stackSizeBeforeCondition = stackSizeAfterCondition + 1;
+        record(offset() - startOffset);
+        record(blockTypeId);
+        record(stackSizeBeforeCondition);
         return new WasmIfNode(instance, codeEntry, trueBranchBlock, falseBranchBlock, offset() - startOffset, blockTypeId, stackSizeBeforeCondition);
     }
 
@@ -1460,33 +2108,50 @@ public class BinaryParser extends BinaryStreamParser {
     }
 
     private void readTableLimits(int[] out) {
-        readLimits(out, MAX_TABLE_DECLARATION_SIZE);
+        readLimits(out, MAX_TABLE_DECLARATION_SIZE, false);
         assertUnsignedIntLessOrEqual(out[0], out[1], Failure.LIMIT_MINIMUM_GREATER_THAN_MAXIMUM);
     }
 
-    private void readMemoryLimits(int[] out) {
-        readLimits(out, MAX_MEMORY_DECLARATION_SIZE);
+    /**
+     * Reads the limits of a memory into {@code out} and returns whether the memory is shared.
+     */
+    private boolean readMemoryLimits(int[] out) {
+        final boolean shared = readLimits(out, MAX_MEMORY_DECLARATION_SIZE, true);
         assertUnsignedIntLessOrEqual(out[0], MAX_MEMORY_DECLARATION_SIZE, Failure.MEMORY_SIZE_LIMIT_EXCEEDED);
         assertUnsignedIntLessOrEqual(out[1], MAX_MEMORY_DECLARATION_SIZE, Failure.MEMORY_SIZE_LIMIT_EXCEEDED);
         assertUnsignedIntLessOrEqual(out[0], out[1], Failure.LIMIT_MINIMUM_GREATER_THAN_MAXIMUM);
+        return shared;
     }
 
-    private void readLimits(int[] out, int max) {
+    private boolean readLimits(int[] out, int max, boolean allowShared) {
         final byte limitsPrefix = readLimitsPrefix();
         switch (limitsPrefix) {
             case LimitsPrefix.NO_MAX: {
                 out[0] = readUnsignedInt32();
                 out[1] = max;
-                break;
+                return false;
             }
             case LimitsPrefix.WITH_MAX: {
                 out[0] = readUnsignedInt32();
                 out[1] = readUnsignedInt32();
+                return false;
+            }
+            case LimitsPrefix.SHARED_NO_MAX: {
+                if (allowShared) {
+                    throw fail(Failure.SHARED_MEMORY_WITHOUT_MAXIMUM, "Shared memories must declare a maximum size");
+                }
+                break;
+            }
+            case LimitsPrefix.SHARED_WITH_MAX: {
+                if (allowShared) {
+                    out[0] = readUnsignedInt32();
+                    out[1] = readUnsignedInt32();
+                    return true;
+                }
                 break;
             }
-            default:
-                fail(Failure.UNSPECIFIED_MALFORMED, String.format("Invalid limits prefix (expected 0x00 or 0x01, got 0x%02X", limitsPrefix));
         }
+        throw fail(Failure.UNSPECIFIED_MALFORMED, String.format("Invalid limits prefix (expected 0x00 or 0x01, got 0x%02X", limitsPrefix));
     }
 
     private byte readLimitsPrefix() {
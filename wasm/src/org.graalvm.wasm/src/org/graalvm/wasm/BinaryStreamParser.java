@@ -325,6 +325,19 @@ public abstract class BinaryStreamParser {
         return b;
     }
 
+    /**
+     * Reads the type of a function-local variable. Unlike parameters, results and globals, locals
+     * may also hold {@link WasmType#V128_TYPE v128} values.
+     */
+    protected byte readLocalValueType() {
+        byte b = peek1(data, offset);
+        if (b != WasmType.V128_TYPE) {
+            b = peekValueType(data, offset);
+        }
+        offset++;
+        return b;
+    }
+
     @ExplodeLoop(kind = FULL_EXPLODE_UNTIL_RETURN)
     public static byte peekLeb128Length(byte[] data, int initialOffset) {
         int currentOffset = initialOffset;
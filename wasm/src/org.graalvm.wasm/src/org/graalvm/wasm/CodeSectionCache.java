@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.nodes.Node;
+import org.graalvm.home.Version;
+import org.graalvm.wasm.nodes.WasmBlockNode;
+import org.graalvm.wasm.nodes.WasmCallStubNode;
+import org.graalvm.wasm.nodes.WasmIfNode;
+import org.graalvm.wasm.nodes.WasmIndirectCallNode;
+import org.graalvm.wasm.nodes.WasmRootNode;
+
+/**
+ * The validated and pre-processed code section of a module, which is stored in the directory given
+ * by {@link WasmOptions#CodeCacheDirectory} under the SHA-256 hash of the module binary.
+ * <p>
+ * For every code entry, the cache holds the side tables that the {@link BinaryParser} computed
+ * while validating the function body, and a recording of the nodes that it created. Instantiating
+ * a module whose code section is cached replays these recordings, so that the function bodies are
+ * not decoded and validated again.
+ * <p>
+ * The cache is best-effort: a missing, unreadable, damaged, outdated or invalid cache file is
+ * treated as a miss, and a failure to write the cache file does not fail the instantiation. A cache
+ * file is outdated if it was written by a different GraalVM version or cache format, since the
+ * recorded nodes and side tables depend on the parser and interpreter that produced them. It is
+ * damaged if its checksum does not match, and it is invalid if the module hash stored in the file
+ * differs from the hash of the module, or if a recorded node or side table entry lies outside of
+ * the bounds of its code entry (see {@link #isValid}). The recorded stack sizes and branch targets
+ * are only bounds-checked, not validated again, so the cache directory must still only be writable
+ * by trusted users.
+ */
+final class CodeSectionCache {
+    /*
+     * The tags of the node recordings. A block is recorded as its constructor arguments, followed
+     * by the recordings of its children, and terminated by the arguments of its initialization.
+     */
+    static final int BLOCK = 0;
+    static final int END = 1;
+    static final int LOOP = 2;
+    static final int IF = 3;
+    static final int CALL = 4;
+    static final int CALL_INDIRECT = 5;
+
+    private static final int MAGIC = 0x7761636d;
+    private static final int FORMAT_VERSION = 3;
+    private static final String FILE_SUFFIX = ".wasmcache";
+    private static final String GRAALVM_VERSION = Version.getCurrent().toString();
+
+    static final class Entry {
+        private final byte[] localTypes;
+        private final int[] nodes;
+        private final int[] intConstants;
+        private final int[][] branchTables;
+        private final int profileCount;
+        private final int maxStackSize;
+
+        Entry(byte[] localTypes, int[] nodes, int[] intConstants, int[][] branchTables, int profileCount, int maxStackSize) {
+            this.localTypes = localTypes;
+            this.nodes = nodes;
+            this.intConstants = intConstants;
+            this.branchTables = branchTables;
+            this.profileCount = profileCount;
+            this.maxStackSize = maxStackSize;
+        }
+    }
+
+    private final TruffleLanguage.Env env;
+    private final TruffleFile directory;
+    private final byte[] hash;
+    private final String key;
+    private final int dataLength;
+
+    private CodeSectionCache(TruffleLanguage.Env env, TruffleFile directory, byte[] hash, int dataLength) {
+        this.env = env;
+        this.directory = directory;
+        this.hash = hash;
+        this.key = toHexString(hash);
+        this.dataLength = dataLength;
+    }
+
+    /**
+     * Returns the cache for the given module binary, or {@code null} if code caching is disabled.
+     */
+    static CodeSectionCache create(WasmContext context, byte[] data) {
+        final String path = WasmOptions.CodeCacheDirectory.getValue(context.environment().getOptions());
+        if (path.isEmpty()) {
+            return null;
+        }
+        final TruffleFile directory = context.environment().getPublicTruffleFile(path);
+        return new CodeSectionCache(context.environment(), directory, hash(data), data.length);
+    }
+
+    private static byte[] hash(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        final StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Loads the cached code entries, or returns {@code null} if the code section is not cached or
+     * the cache file is not valid for the code entries at the given offsets and sizes.
+     */
+    Entry[] load(WasmModule module, int[] entryOffsets, int[] entrySizes) {
+        final int numCodeEntries = entryOffsets.length;
+        final TruffleFile file = directory.resolve(key + FILE_SUFFIX);
+        try {
+            final byte[] bytes = file.readAllBytes();
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(GRAALVM_VERSION)) {
+                return null;
+            }
+            final byte[] storedHash = new byte[hash.length];
+            in.readFully(storedHash);
+            if (!MessageDigest.isEqual(storedHash, hash) || in.readInt() != dataLength || in.readInt() != numCodeEntries) {
+                return null;
+            }
+            final long checksum = in.readLong();
+            final int payloadOffset = bytes.length - in.available();
+            if (checksum(bytes, payloadOffset, bytes.length - payloadOffset) != checksum) {
+                // The file was truncated or corrupted after it was written.
+                return null;
+            }
+            final Entry[] entries = new Entry[numCodeEntries];
+            for (int i = 0; i != numCodeEntries; ++i) {
+                final byte[] localTypes = new byte[in.readInt()];
+                in.readFully(localTypes);
+                final int[] nodes = readIntArray(in);
+                final int[] intConstants = readIntArray(in);
+                final int[][] branchTables = new int[in.readInt()][];
+                for (int j = 0; j != branchTables.length; ++j) {
+                    branchTables[j] = readIntArray(in);
+                }
+                entries[i] = new Entry(localTypes, nodes, intConstants, branchTables, in.readInt(), in.readInt());
+                final int funcIndex = module.importedFunctions().size() + i;
+                if (!isValid(module, funcIndex, entryOffsets[i], entrySizes[i], entries[i])) {
+                    return null;
+                }
+            }
+            if (in.available() != 0) {
+                return null;
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the code entries to the cache directory. The file is written under a temporary name
+     * and then moved into place, so that concurrent readers never observe a partial file.
+     */
+    void store(Entry[] entries) {
+        try {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(payload)) {
+                for (Entry entry : entries) {
+                    out.writeInt(entry.localTypes.length);
+                    out.write(entry.localTypes);
+                    writeIntArray(out, entry.nodes);
+                    writeIntArray(out, entry.intConstants);
+                    out.writeInt(entry.branchTables.length);
+                    for (int[] branchTable : entry.branchTables) {
+                        writeIntArray(out, branchTable);
+                    }
+                    out.writeInt(entry.profileCount);
+                    out.writeInt(entry.maxStackSize);
+                }
+            }
+            final byte[] payloadBytes = payload.toByteArray();
+            directory.createDirectories();
+            final TruffleFile temporaryFile = env.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temporaryFile.newOutputStream()))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(GRAALVM_VERSION);
+                out.write(hash);
+                out.writeInt(dataLength);
+                out.writeInt(entries.length);
+                out.writeLong(checksum(payloadBytes, 0, payloadBytes.length));
+                out.write(payloadBytes);
+            }
+            temporaryFile.move(directory.resolve(key + FILE_SUFFIX), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // The module is already instantiated, it just cannot be cached.
+        }
+    }
+
+    private static long checksum(byte[] bytes, int offset, int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return crc.getValue();
+    }
+
+    private static int[] readIntArray(DataInputStream in) throws IOException {
+        final int[] array = new int[in.readInt()];
+        for (int i = 0; i != array.length; ++i) {
+            array[i] = in.readInt();
+        }
+        return array;
+    }
+
+    private static void writeIntArray(DataOutputStream out, int[] array) throws IOException {
+        out.writeInt(array.length);
+        for (int value : array) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Checks that a cached entry fits the code entry of the given function, which starts at
+     * {@code startOffset} and is {@code size} bytes long. The local types must start with the
+     * argument types of the function, and all recorded blocks must lie within the code entry. The
+     * side tables are checked against the same bounds as the parser produces them: every profiled
+     * or stack-changing instruction takes at least one byte, so no stack size, branch target, int
+     * constant or profile count can exceed the size of the code entry.
+     */
+    private static boolean isValid(WasmModule module, int funcIndex, int startOffset, int size, Entry entry) {
+        final WasmFunction function = module.symbolTable().function(funcIndex);
+        final int numArguments = function.numArguments();
+        if (entry.localTypes.length < numArguments) {
+            return false;
+        }
+        for (int i = 0; i != entry.localTypes.length; ++i) {
+            final byte type = entry.localTypes[i];
+            if (!isValueType(type) || i < numArguments && type != function.argumentTypeAt(i)) {
+                return false;
+            }
+        }
+        if (entry.maxStackSize < 0 || entry.maxStackSize > size || entry.profileCount < 0 || entry.profileCount > size) {
+            return false;
+        }
+        for (int value : entry.intConstants) {
+            if (value < 0 || value > size) {
+                return false;
+            }
+        }
+        for (int[] branchTable : entry.branchTables) {
+            if (branchTable.length < 3 || branchTable.length % 2 == 0) {
+                return false;
+            }
+            for (int value : branchTable) {
+                if (value < 0 || value > size) {
+                    return false;
+                }
+            }
+        }
+        final RecordingValidator validator = new RecordingValidator(module, startOffset, startOffset + size, entry);
+        return validator.validateBlock() && validator.position == entry.nodes.length;
+    }
+
+    private static boolean isValueType(byte type) {
+        switch (type) {
+            case WasmType.I32_TYPE:
+            case WasmType.I64_TYPE:
+            case WasmType.F32_TYPE:
+            case WasmType.F64_TYPE:
+            case WasmType.V128_TYPE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Walks a node recording in the same order as {@link NodeReader}, without creating nodes, and
+     * checks every recorded value against the bounds of its code entry.
+     */
+    private static final class RecordingValidator {
+        private final WasmModule module;
+        private final int codeStart;
+        private final int codeEnd;
+        private final Entry entry;
+        private int position;
+
+        RecordingValidator(WasmModule module, int codeStart, int codeEnd, Entry entry) {
+            this.module = module;
+            this.codeStart = codeStart;
+            this.codeEnd = codeEnd;
+            this.entry = entry;
+            this.position = 0;
+        }
+
+        private boolean hasNext(int count) {
+            return entry.nodes.length - position >= count;
+        }
+
+        private int next() {
+            return entry.nodes[position++];
+        }
+
+        private static boolean inRange(int value, int min, int max) {
+            return min <= value && value <= max;
+        }
+
+        private static boolean isBlockType(int typeId) {
+            return typeId == WasmType.VOID_TYPE || isValueType((byte) typeId) && (byte) typeId == typeId;
+        }
+
+        boolean validateBlock() {
+            if (!hasNext(7) || next() != BLOCK) {
+                return false;
+            }
+            final int startOffset = next();
+            final int returnTypeId = next();
+            final int initialStackPointer = next();
+            final int initialIntConstantOffset = next();
+            final int initialBranchTableOffset = next();
+            final int initialProfileOffset = next();
+            if (!inRange(startOffset, codeStart, codeEnd) || !isBlockType(returnTypeId) || !inRange(initialStackPointer, 0, entry.maxStackSize) ||
+                            !inRange(initialIntConstantOffset, 0, entry.intConstants.length) || !inRange(initialBranchTableOffset, 0, entry.branchTables.length) ||
+                            !inRange(initialProfileOffset, 0, entry.profileCount)) {
+                return false;
+            }
+            while (hasNext(1) && entry.nodes[position] != END) {
+                switch (next()) {
+                    case BLOCK:
+                        position--;
+                        if (!validateBlock()) {
+                            return false;
+                        }
+                        break;
+                    case LOOP:
+                        if (!validateBlock()) {
+                            return false;
+                        }
+                        break;
+                    case IF: {
+                        if (!validateBlock() || !hasNext(1)) {
+                            return false;
+                        }
+                        if (next() != 0 && !validateBlock()) {
+                            return false;
+                        }
+                        if (!hasNext(3)) {
+                            return false;
+                        }
+                        final int byteLength = next();
+                        final int blockTypeId = next();
+                        final int stackSizeBeforeCondition = next();
+                        if (!inRange(byteLength, 0, codeEnd - codeStart) || !isBlockType(blockTypeId) || !inRange(stackSizeBeforeCondition, 0, entry.maxStackSize)) {
+                            return false;
+                        }
+                        break;
+                    }
+                    case CALL:
+                        if (!hasNext(1) || !inRange(next(), 0, module.numFunctions() - 1)) {
+                            return false;
+                        }
+                        break;
+                    case CALL_INDIRECT:
+                        break;
+                    default:
+                        return false;
+                }
+            }
+            if (!hasNext(5)) {
+                return false;
+            }
+            position++;
+            final int byteLength = next();
+            final int intConstantLength = next();
+            final int branchTableLength = next();
+            final int profileCount = next();
+            return inRange(byteLength, 0, codeEnd - startOffset) && inRange(intConstantLength, 0, entry.intConstants.length - initialIntConstantOffset) &&
+                            inRange(branchTableLength, 0, entry.branchTables.length - initialBranchTableOffset) && inRange(profileCount, 0, entry.profileCount - initialProfileOffset);
+        }
+    }
+
+    /**
+     * Initializes the code entry of the given root node from a cached entry, in the same way as
+     * {@link BinaryParser} initializes it after reading the function body.
+     */
+    static void instantiate(WasmModule module, WasmInstance instance, WasmRootNode rootNode, Entry entry) {
+        final WasmCodeEntry codeEntry = rootNode.codeEntry();
+        codeEntry.setLocalTypes(entry.localTypes);
+        final NodeReader reader = new NodeReader(module, instance, codeEntry, entry.nodes);
+        rootNode.setBody(reader.readBlock());
+        codeEntry.setIntConstants(entry.intConstants);
+        if (entry.branchTables.length > 0) {
+            codeEntry.setBranchTables(entry.branchTables);
+        }
+        codeEntry.setProfileCount(entry.profileCount);
+        codeEntry.initStackLocals(rootNode.getFrameDescriptor(), entry.maxStackSize);
+    }
+
+    private static final class NodeReader {
+        private final WasmModule module;
+        private final WasmInstance instance;
+        private final WasmCodeEntry codeEntry;
+        private final int[] nodes;
+        private int position;
+
+        NodeReader(WasmModule module, WasmInstance instance, WasmCodeEntry codeEntry, int[] nodes) {
+            this.module = module;
+            this.instance = instance;
+            this.codeEntry = codeEntry;
+            this.nodes = nodes;
+            this.position = 0;
+        }
+
+        private int next() {
+            return nodes[position++];
+        }
+
+        WasmBlockNode readBlock() {
+            final int tag = next();
+            assert tag == BLOCK : "Expected a block recording, got tag " + tag;
+            final int startOffset = next();
+            final byte returnTypeId = (byte) next();
+            final int initialStackPointer = next();
+            final int initialIntConstantOffset = next();
+            final int initialBranchTableOffset = next();
+            final int initialProfileOffset = next();
+            final WasmBlockNode block = new WasmBlockNode(instance, codeEntry, startOffset, returnTypeId, initialStackPointer, initialIntConstantOffset,
+                            initialBranchTableOffset, initialProfileOffset);
+            final ArrayList<Node> children = new ArrayList<>();
+            while (nodes[position] != END) {
+                switch (nodes[position]) {
+                    case BLOCK:
+                        children.add(readBlock());
+                        break;
+                    case LOOP:
+                        position++;
+                        children.add(Truffle.getRuntime().createLoopNode(readBlock()));
+                        break;
+                    case IF: {
+                        position++;
+                        final WasmBlockNode trueBranch = readBlock();
+                        final WasmBlockNode falseBranch = next() != 0 ? readBlock() : null;
+                        final int byteLength = next();
+                        final byte blockTypeId = (byte) next();
+                        final int stackSizeBeforeCondition = next();
+                        children.add(new WasmIfNode(instance, codeEntry, trueBranch, falseBranch, byteLength, blockTypeId, stackSizeBeforeCondition));
+                        break;
+                    }
+                    case CALL: {
+                        position++;
+                        final WasmFunction function = module.symbolTable().function(next());
+                        children.add(new WasmCallStubNode(function));
+                        final int stubIndex = children.size() - 1;
+                        module.addLinkAction((context, inst) -> context.linker().resolveCallsite(inst, block, stubIndex, function));
+                        break;
+                    }
+                    case CALL_INDIRECT:
+                        position++;
+                        children.add(WasmIndirectCallNode.create());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown node recording tag: " + nodes[position]);
+                }
+            }
+            position++;
+            final int byteLength = next();
+            final int intConstantLength = next();
+            final int branchTableLength = next();
+            final int profileCount = next();
+            block.initialize(BinaryParser.toArray(children), byteLength, intConstantLength, branchTableLength, profileCount);
+            return block;
+        }
+    }
+}
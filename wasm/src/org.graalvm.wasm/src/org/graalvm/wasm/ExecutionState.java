@@ -107,6 +107,11 @@ public class ExecutionState {
 
     public void push(byte type) {
         stack.push(type);
+        if (type == WasmType.V128_TYPE) {
+            // A v128 value takes up two slots, so that the stack size keeps matching the number
+            // of stack slots used at run time.
+            stack.push(type);
+        }
         maxStackSize = Math.max(stack.size(), maxStackSize);
     }
 
@@ -121,6 +126,20 @@ public class ExecutionState {
 
     public void popChecked(byte expectedType) {
         assertTypesEqual(expectedType, pop());
+        if (expectedType == WasmType.V128_TYPE) {
+            assertTypesEqual(expectedType, pop());
+        }
+    }
+
+    /**
+     * Pops a value of unknown type that must occupy a single stack slot. Instructions such as
+     * {@code drop} and {@code select} do not encode the type of their operands, so the interpreter
+     * cannot tell how many slots they span.
+     */
+    public byte popSingleSlot() {
+        final byte type = pop();
+        Assert.assertTrue(type != WasmType.V128_TYPE, "v128 operands are not supported by drop and select", Failure.TYPE_MISMATCH);
+        return type;
     }
 
     private static void assertTypesEqual(byte expectedType, byte actualType) {
@@ -140,6 +159,25 @@ public class ExecutionState {
         intConstants.add(constant);
     }
 
+    /**
+     * Saves an immediate operand that was decoded during parsing, followed by the number of bytes
+     * that its encoding occupies in the code, so that the interpreter can skip the encoding instead
+     * of decoding the LEB128 value on every execution.
+     */
+    public void useImmediate(int value, int byteLength) {
+        intConstants.add(value);
+        intConstants.add(byteLength);
+    }
+
+    /**
+     * Saves a 64-bit immediate operand as its lower and upper halves, followed by its byte length.
+     */
+    public void useLongImmediate(long value, int byteLength) {
+        intConstants.add((int) value);
+        intConstants.add((int) (value >>> 32));
+        intConstants.add(byteLength);
+    }
+
     public int depth() {
         return ancestors.size();
     }
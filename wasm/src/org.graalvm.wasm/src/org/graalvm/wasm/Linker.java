@@ -103,7 +103,6 @@ public class Linker {
             // If the linking of this module failed already, then throw.
             throw WasmException.format(Failure.UNSPECIFIED_UNLINKABLE, "Linking of module %s previously failed.", instance.module());
         } else if (instance.isNonLinked()) {
-            // TODO: Once we support multi-threading, add adequate synchronization here.
             tryLinkOutsidePartialEvaluation(instance);
             CompilerDirectives.transferToInterpreterAndInvalidate();
         }
@@ -111,10 +110,21 @@ public class Linker {
 
     @CompilerDirectives.TruffleBoundary
     private void tryLinkOutsidePartialEvaluation(WasmInstance entryPointInstance) {
-        // Some Truffle configurations allow that the code gets compiled before executing the code.
+        final WasmContext context = WasmContext.getCurrent();
+        // Threads of the same context that call into a module concurrently link it only once.
+        synchronized (context) {
+            linkUnderContextLock(context, entryPointInstance);
+        }
+        if (entryPointInstance.isLinkFailed()) {
+            throw WasmException.format(Failure.UNSPECIFIED_UNLINKABLE, "Linking of module %s previously failed.", entryPointInstance.module());
+        }
+    }
+
+    private void linkUnderContextLock(WasmContext context, WasmInstance entryPointInstance) {
+        // Some Truffle configurations allow that the code gets compiled before executing the code,
+        // and another thread may have linked the module while this one waited for the lock.
         // We therefore check the link state again.
         if (entryPointInstance.isNonLinked()) {
-            final WasmContext context = WasmContext.getCurrent();
             Map<String, WasmInstance> instances = context.moduleInstances();
             ArrayList<Throwable> failures = new ArrayList<>();
             runLinkActions(context, instances, failures);
@@ -329,7 +339,7 @@ public class Linker {
         resolutionDag.resolveLater(new CodeEntrySym(module.name(), functionIndex), ResolutionDag.NO_DEPENDENCIES, NO_RESOLVE_ACTION);
     }
 
-    void resolveMemoryImport(WasmContext context, WasmInstance instance, ImportDescriptor importDescriptor, int declaredMinSize, int declaredMaxSize) {
+    void resolveMemoryImport(WasmContext context, WasmInstance instance, ImportDescriptor importDescriptor, int declaredMinSize, int declaredMaxSize, boolean shared) {
         final String importedModuleName = importDescriptor.moduleName;
         final String importedMemoryName = importDescriptor.memberName;
         final Runnable resolveAction = () -> {
@@ -355,6 +365,10 @@ public class Linker {
             // MAX_TABLE_DECLARATION_SIZE, so this condition will pass.
             assertUnsignedIntLessOrEqual(declaredMinSize, memory.declaredMinSize(), Failure.INCOMPATIBLE_IMPORT_TYPE);
             assertUnsignedIntGreaterOrEqual(declaredMaxSize, memory.declaredMaxSize(), Failure.INCOMPATIBLE_IMPORT_TYPE);
+            // Builtin modules access the memory from the host, so they accept both kinds.
+            if (!instance.isBuiltin()) {
+                assertTrue(shared == memory.isShared(), Failure.INCOMPATIBLE_IMPORT_TYPE);
+            }
             instance.setMemory(memory);
         };
         resolutionDag.resolveLater(new ImportMemorySym(instance.name(), importDescriptor), new Sym[]{new ExportMemorySym(importedModuleName, importedMemoryName)}, resolveAction);
@@ -87,7 +87,11 @@ public class RuntimeState {
      */
     @CompilationFinal private WasmMemory memory;
 
-    @CompilationFinal private Linker.LinkState linkState;
+    /**
+     * Read without synchronization on the fast path of {@link Linker#tryLink}, and advanced during
+     * linking while holding the lock of the context.
+     */
+    @CompilationFinal private volatile Linker.LinkState linkState;
 
     private void ensureGlobalsCapacity(int index) {
         while (index >= globalAddresses.length) {
@@ -162,9 +162,16 @@ public abstract class SymbolTable {
          */
         public final int maximumSize;
 
-        public MemoryInfo(int initialSize, int maximumSize) {
+        /**
+         * Whether the memory can be accessed by several threads, as defined by the threads
+         * proposal.
+         */
+        public final boolean shared;
+
+        public MemoryInfo(int initialSize, int maximumSize, boolean shared) {
             this.initialSize = initialSize;
             this.maximumSize = maximumSize;
+            this.shared = shared;
         }
     }
 
@@ -841,16 +848,24 @@ public abstract class SymbolTable {
     }
 
     public void allocateMemory(int declaredMinSize, int declaredMaxSize) {
+        allocateMemory(declaredMinSize, declaredMaxSize, false);
+    }
+
+    public void allocateMemory(int declaredMinSize, int declaredMaxSize, boolean shared) {
         checkNotParsed();
         validateSingleMemory();
-        memory = new MemoryInfo(declaredMinSize, declaredMaxSize);
+        memory = new MemoryInfo(declaredMinSize, declaredMaxSize, shared);
         module().addLinkAction((context, instance) -> {
             final int initialSize = declaredMinSize;
             final int maxAllowedSize = minUnsigned(declaredMaxSize, module().limits().memoryInstanceSizeLimit());
             assert compareUnsigned(initialSize, maxAllowedSize) <= 0; // Tested when reading limits
             final WasmMemory wasmMemory;
-            if (context.environment().getOptions().get(WasmOptions.UseUnsafeMemory)) {
-                wasmMemory = new UnsafeWasmMemory(declaredMinSize, declaredMaxSize, maxAllowedSize);
+            if (shared) {
+                // Byte array memories are replaced when they grow, which other threads would not
+                // observe, so shared memories are always reserved up to their maximum size.
+                wasmMemory = UnsafeWasmMemory.createShared(declaredMinSize, declaredMaxSize, maxAllowedSize);
+            } else if (context.environment().getOptions().get(WasmOptions.UseUnsafeMemory) || context.environment().getOptions().get(WasmOptions.ReserveUnsafeMemory)) {
+                wasmMemory = new UnsafeWasmMemory(declaredMinSize, declaredMaxSize, maxAllowedSize, context.environment().getOptions().get(WasmOptions.ReserveUnsafeMemory));
             } else {
                 wasmMemory = new ByteArrayWasmMemory(declaredMinSize, declaredMaxSize, maxAllowedSize);
             }
@@ -863,7 +878,7 @@ public abstract class SymbolTable {
     public void allocateExternalMemory(WasmMemory externalMemory) {
         checkNotParsed();
         validateSingleMemory();
-        memory = new MemoryInfo(externalMemory.declaredMinSize(), externalMemory.declaredMaxSize());
+        memory = new MemoryInfo(externalMemory.declaredMinSize(), externalMemory.declaredMaxSize(), externalMemory.isShared());
         module().addLinkAction((context, instance) -> {
             final int memoryIndex = context.memories().registerExternal(externalMemory);
             final WasmMemory allocatedMemory = context.memories().memory(memoryIndex);
@@ -871,12 +886,12 @@ public abstract class SymbolTable {
         });
     }
 
-    public void importMemory(String moduleName, String memoryName, int initSize, int maxSize) {
+    public void importMemory(String moduleName, String memoryName, int initSize, int maxSize, boolean shared) {
         checkNotParsed();
         validateSingleMemory();
         importedMemoryDescriptor = new ImportDescriptor(moduleName, memoryName, ImportIdentifier.MEMORY);
         importSymbol(importedMemoryDescriptor);
-        module().addLinkAction((context, instance) -> context.linker().resolveMemoryImport(context, instance, importedMemoryDescriptor, initSize, maxSize));
+        module().addLinkAction((context, instance) -> context.linker().resolveMemoryImport(context, instance, importedMemoryDescriptor, initSize, maxSize, shared));
     }
 
     private void validateSingleMemory() {
@@ -0,0 +1,883 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.ExactMath;
+import org.graalvm.wasm.exception.Failure;
+import org.graalvm.wasm.exception.WasmException;
+
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_CEIL;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_CONVERT_I32X4_S;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_CONVERT_I32X4_U;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_DIV;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_FLOOR;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_GE;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_GT;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_LE;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_LT;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_MAX;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_MIN;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_MUL;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_NEAREST;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_PMAX;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_PMIN;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_SQRT;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.F32X4_TRUNC;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_CEIL;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_DIV;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_FLOOR;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_GE;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_GT;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_LE;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_LT;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_MAX;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_MIN;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_MUL;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_NEAREST;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_PMAX;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_PMIN;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_SQRT;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.F64X2_TRUNC;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_ADD_SAT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_ADD_SAT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_AVGR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_GE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_GE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_GT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_GT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_LE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_LE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_LT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_LT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_MAX_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_MAX_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_MIN_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_MIN_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_MUL;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_Q15MULR_SAT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SHL;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SHR_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SHR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SUB_SAT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I16X8_SUB_SAT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_DOT_I16X8_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_GE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_GE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_GT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_GT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_LE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_LE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_LT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_LT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_MAX_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_MAX_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_MIN_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_MIN_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_MUL;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_SHL;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_SHR_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_SHR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_TRUNC_SAT_F32X4_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I32X4_TRUNC_SAT_F32X4_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_GE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_GT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_LE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_LT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_MUL;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_SHL;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_SHR_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_SHR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I64X2_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_ABS;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_ADD;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_ADD_SAT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_ADD_SAT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_AVGR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_EQ;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_GE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_GE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_GT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_GT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_LE_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_LE_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_LT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_LT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_MAX_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_MAX_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_MIN_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_MIN_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_NE;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_NEG;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_POPCNT;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SHL;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SHR_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SHR_U;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SUB;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SUB_SAT_S;
+import static org.graalvm.wasm.constants.VectorInstructions.I8X16_SUB_SAT_U;
+import static org.graalvm.wasm.constants.VectorInstructions.V128_AND;
+import static org.graalvm.wasm.constants.VectorInstructions.V128_ANDNOT;
+import static org.graalvm.wasm.constants.VectorInstructions.V128_NOT;
+import static org.graalvm.wasm.constants.VectorInstructions.V128_OR;
+import static org.graalvm.wasm.constants.VectorInstructions.V128_XOR;
+
+/**
+ * The class {@code Vector128} implements the lane-wise operations of the fixed-width SIMD
+ * instructions.
+ * <p>
+ * A {@code v128} value is kept in two consecutive {@code long} slots of the operand stack: the low
+ * half holds bytes 0 to 7 and the high half holds bytes 8 to 15, with lanes in little-endian order.
+ * No lane ever straddles the two halves, so most operations are applied to each half separately,
+ * and the common ones (bitwise operations, integer addition and subtraction, float sign
+ * manipulation) are computed on all lanes of a half at once with 64-bit arithmetic. The compiler
+ * therefore sees a fixed sequence of scalar operations on two registers for each instruction.
+ */
+public final class Vector128 {
+
+    private static final long HIGH_BITS_8 = 0x8080_8080_8080_8080L;
+    private static final long HIGH_BITS_16 = 0x8000_8000_8000_8000L;
+    private static final long HIGH_BITS_32 = 0x8000_0000_8000_0000L;
+
+    private Vector128() {
+    }
+
+    public static long laneMask(int laneBits) {
+        return laneBits == 64 ? -1L : (1L << laneBits) - 1;
+    }
+
+    public static int lanesPerHalf(int laneBits) {
+        return 64 / laneBits;
+    }
+
+    /**
+     * Returns the given lane of a half, zero-extended.
+     */
+    public static long lane(long half, int laneBits, int index) {
+        return (half >>> (index * laneBits)) & laneMask(laneBits);
+    }
+
+    /**
+     * Returns the given lane of a half, sign-extended.
+     */
+    public static long signedLane(long half, int laneBits, int index) {
+        return (half << (64 - (index + 1) * laneBits)) >> (64 - laneBits);
+    }
+
+    public static long withLane(long half, int laneBits, int index, long value) {
+        final int shift = index * laneBits;
+        final long mask = laneMask(laneBits) << shift;
+        return (half & ~mask) | ((value << shift) & mask);
+    }
+
+    /**
+     * Returns a half with every lane set to the given value.
+     */
+    public static long splat(long value, int laneBits) {
+        long result = value & laneMask(laneBits);
+        for (int width = laneBits; width < 64; width *= 2) {
+            result |= result << width;
+        }
+        return result;
+    }
+
+    /**
+     * Widens the lanes of the lower ({@code part == 0}) or upper ({@code part == 1}) half of
+     * {@code source} to twice their width.
+     */
+    public static long extend(long source, int laneBits, boolean signed, int part) {
+        final int targetBits = 2 * laneBits;
+        final int targetLanes = lanesPerHalf(targetBits);
+        long result = 0;
+        for (int i = 0; i != targetLanes; ++i) {
+            final int index = part * targetLanes + i;
+            final long value = signed ? signedLane(source, laneBits, index) : lane(source, laneBits, index);
+            result = withLane(result, targetBits, i, value);
+        }
+        return result;
+    }
+
+    /**
+     * Narrows the signed lanes of a whole {@code v128} value to half their width, saturating them
+     * to the signed or unsigned range of the narrower lanes.
+     */
+    public static long narrow(long low, long high, int laneBits, boolean signed) {
+        final int targetBits = laneBits / 2;
+        final long min = signed ? -(1L << (targetBits - 1)) : 0;
+        final long max = signed ? (1L << (targetBits - 1)) - 1 : laneMask(targetBits);
+        final int sourceLanes = lanesPerHalf(laneBits);
+        long result = 0;
+        for (int i = 0; i != 2 * sourceLanes; ++i) {
+            final long value = signedLane(i < sourceLanes ? low : high, laneBits, i % sourceLanes);
+            result = withLane(result, targetBits, i, Math.max(min, Math.min(max, value)));
+        }
+        return result;
+    }
+
+    /**
+     * Computes one half of {@code i8x16.shuffle}. Each byte of {@code indices} selects a byte of
+     * the concatenation of the two operands.
+     */
+    public static long shuffle(long indices, long aLow, long aHigh, long bLow, long bHigh) {
+        long result = 0;
+        for (int i = 0; i != 8; ++i) {
+            final int index = (int) lane(indices, 8, i) & 31;
+            final long source;
+            if (index < 8) {
+                source = aLow;
+            } else if (index < 16) {
+                source = aHigh;
+            } else if (index < 24) {
+                source = bLow;
+            } else {
+                source = bHigh;
+            }
+            result = withLane(result, 8, i, lane(source, 8, index & 7));
+        }
+        return result;
+    }
+
+    /**
+     * Computes one half of {@code i8x16.swizzle}. Indices outside of the operand select zero.
+     */
+    public static long swizzle(long indices, long low, long high) {
+        long result = 0;
+        for (int i = 0; i != 8; ++i) {
+            final long index = lane(indices, 8, i);
+            if (index < 16) {
+                result = withLane(result, 8, i, lane(index < 8 ? low : high, 8, (int) index & 7));
+            }
+        }
+        return result;
+    }
+
+    public static long bitselect(long a, long b, long mask) {
+        return (a & mask) | (b & ~mask);
+    }
+
+    public static boolean allTrue(long low, long high, int laneBits) {
+        for (int i = 0; i != lanesPerHalf(laneBits); ++i) {
+            if (lane(low, laneBits, i) == 0 || lane(high, laneBits, i) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int bitmask(long low, long high, int laneBits) {
+        final int lanes = lanesPerHalf(laneBits);
+        int result = 0;
+        for (int i = 0; i != lanes; ++i) {
+            result |= (int) (lane(low, laneBits, i) >>> (laneBits - 1)) << i;
+            result |= (int) (lane(high, laneBits, i) >>> (laneBits - 1)) << (i + lanes);
+        }
+        return result;
+    }
+
+    private static long addLanes(long x, long y, long highBits) {
+        return ((x & ~highBits) + (y & ~highBits)) ^ ((x ^ y) & highBits);
+    }
+
+    private static long subLanes(long x, long y, long highBits) {
+        return ((x | highBits) - (y & ~highBits)) ^ ((x ^ ~y) & highBits);
+    }
+
+    /**
+     * Applies a lane-wise unary operation to one half of a {@code v128} value.
+     */
+    public static long unary(int vectorOpcode, long x) {
+        switch (vectorOpcode) {
+            case V128_NOT:
+                return ~x;
+            case I8X16_NEG:
+                return subLanes(0, x, HIGH_BITS_8);
+            case I16X8_NEG:
+                return subLanes(0, x, HIGH_BITS_16);
+            case I32X4_NEG:
+                return subLanes(0, x, HIGH_BITS_32);
+            case I64X2_NEG:
+                return -x;
+            case F32X4_ABS:
+                return x & ~HIGH_BITS_32;
+            case F32X4_NEG:
+                return x ^ HIGH_BITS_32;
+            case F64X2_ABS:
+                return x & Long.MAX_VALUE;
+            case F64X2_NEG:
+                return x ^ Long.MIN_VALUE;
+            case I8X16_ABS:
+            case I8X16_POPCNT:
+                return unaryLanes(vectorOpcode, x, 8);
+            case I16X8_ABS:
+                return unaryLanes(vectorOpcode, x, 16);
+            case I16X8_EXTADD_PAIRWISE_I8X16_S:
+                return extaddPairwise(x, 8, true);
+            case I16X8_EXTADD_PAIRWISE_I8X16_U:
+                return extaddPairwise(x, 8, false);
+            case I32X4_EXTADD_PAIRWISE_I16X8_S:
+                return extaddPairwise(x, 16, true);
+            case I32X4_EXTADD_PAIRWISE_I16X8_U:
+                return extaddPairwise(x, 16, false);
+            case I32X4_ABS:
+            case F32X4_CEIL:
+            case F32X4_FLOOR:
+            case F32X4_TRUNC:
+            case F32X4_NEAREST:
+            case F32X4_SQRT:
+            case I32X4_TRUNC_SAT_F32X4_S:
+            case I32X4_TRUNC_SAT_F32X4_U:
+            case F32X4_CONVERT_I32X4_S:
+            case F32X4_CONVERT_I32X4_U:
+                return unaryLanes(vectorOpcode, x, 32);
+            case I64X2_ABS:
+            case F64X2_CEIL:
+            case F64X2_FLOOR:
+            case F64X2_TRUNC:
+            case F64X2_NEAREST:
+            case F64X2_SQRT:
+                return unaryLane(vectorOpcode, x);
+            default:
+                throw unknownOpcode(vectorOpcode);
+        }
+    }
+
+    /**
+     * Adds each pair of adjacent lanes of a half, producing lanes of twice the width.
+     */
+    private static long extaddPairwise(long x, int laneBits, boolean signed) {
+        final int targetBits = 2 * laneBits;
+        long result = 0;
+        for (int i = 0; i != lanesPerHalf(targetBits); ++i) {
+            final long first = signed ? signedLane(x, laneBits, 2 * i) : lane(x, laneBits, 2 * i);
+            final long second = signed ? signedLane(x, laneBits, 2 * i + 1) : lane(x, laneBits, 2 * i + 1);
+            result = withLane(result, targetBits, i, first + second);
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies the widened lanes of the lower ({@code part == 0}) or upper ({@code part == 1})
+     * half of {@code x} and {@code y}, producing lanes of twice the width.
+     */
+    public static long extmul(long x, long y, int laneBits, boolean signed, int part) {
+        final int targetBits = 2 * laneBits;
+        final int targetLanes = lanesPerHalf(targetBits);
+        long result = 0;
+        for (int i = 0; i != targetLanes; ++i) {
+            final int index = part * targetLanes + i;
+            final long a = signed ? signedLane(x, laneBits, index) : lane(x, laneBits, index);
+            final long b = signed ? signedLane(y, laneBits, index) : lane(y, laneBits, index);
+            // For 32-bit lanes, the unsigned product may overflow, but its low 64 bits are exact.
+            result = withLane(result, targetBits, i, a * b);
+        }
+        return result;
+    }
+
+    private static long unaryLanes(int vectorOpcode, long x, int laneBits) {
+        long result = 0;
+        for (int i = 0; i != lanesPerHalf(laneBits); ++i) {
+            result = withLane(result, laneBits, i, unaryLane(vectorOpcode, signedLane(x, laneBits, i)));
+        }
+        return result;
+    }
+
+    private static long unaryLane(int vectorOpcode, long x) {
+        switch (vectorOpcode) {
+            case I8X16_ABS:
+            case I16X8_ABS:
+            case I32X4_ABS:
+            case I64X2_ABS:
+                return Math.abs(x);
+            case I8X16_POPCNT:
+                return Long.bitCount(x & 0xFF);
+            case F32X4_CEIL:
+                return floatBits((float) Math.ceil(asFloat(x)));
+            case F32X4_FLOOR:
+                return floatBits((float) Math.floor(asFloat(x)));
+            case F32X4_TRUNC:
+                return floatBits(ExactMath.truncate(asFloat(x)));
+            case F32X4_NEAREST:
+                return floatBits((float) Math.rint(asFloat(x)));
+            case F32X4_SQRT:
+                return floatBits((float) Math.sqrt(asFloat(x)));
+            case I32X4_TRUNC_SAT_F32X4_S:
+                // Java's conversion saturates and maps NaN to zero, as required.
+                return (int) asFloat(x);
+            case I32X4_TRUNC_SAT_F32X4_U:
+                return truncSatUnsigned(asFloat(x));
+            case F32X4_CONVERT_I32X4_S:
+                return floatBits((int) x);
+            case F32X4_CONVERT_I32X4_U:
+                return floatBits(WasmMath.unsignedIntToFloat((int) x));
+            case F64X2_CEIL:
+                return Double.doubleToRawLongBits(Math.ceil(Double.longBitsToDouble(x)));
+            case F64X2_FLOOR:
+                return Double.doubleToRawLongBits(Math.floor(Double.longBitsToDouble(x)));
+            case F64X2_TRUNC:
+                return Double.doubleToRawLongBits(ExactMath.truncate(Double.longBitsToDouble(x)));
+            case F64X2_NEAREST:
+                return Double.doubleToRawLongBits(Math.rint(Double.longBitsToDouble(x)));
+            case F64X2_SQRT:
+                return Double.doubleToRawLongBits(Math.sqrt(Double.longBitsToDouble(x)));
+            default:
+                throw unknownOpcode(vectorOpcode);
+        }
+    }
+
+    /**
+     * Truncates to an unsigned 32-bit integer, saturating out-of-range values and mapping NaN to
+     * zero.
+     */
+    public static long truncSatUnsigned(double x) {
+        if (!(x > 0)) {
+            return 0;
+        } else if (x >= 4294967296.0) {
+            return 0xFFFF_FFFFL;
+        } else {
+            return (long) x;
+        }
+    }
+
+    /**
+     * Applies a lane-wise shift by {@code count} modulo the lane width to one half of a
+     * {@code v128} value.
+     */
+    public static long shift(int vectorOpcode, long x, int count) {
+        switch (vectorOpcode) {
+            case I8X16_SHL:
+                return shiftLeft(x, count & 7, 8);
+            case I16X8_SHL:
+                return shiftLeft(x, count & 15, 16);
+            case I32X4_SHL:
+                return shiftLeft(x, count & 31, 32);
+            case I64X2_SHL:
+                return x << count;
+            case I8X16_SHR_U:
+                return shiftRightUnsigned(x, count & 7, 8);
+            case I16X8_SHR_U:
+                return shiftRightUnsigned(x, count & 15, 16);
+            case I32X4_SHR_U:
+                return shiftRightUnsigned(x, count & 31, 32);
+            case I64X2_SHR_U:
+                return x >>> count;
+            case I8X16_SHR_S:
+                return shiftRightSigned(x, count & 7, 8);
+            case I16X8_SHR_S:
+                return shiftRightSigned(x, count & 15, 16);
+            case I32X4_SHR_S:
+                return shiftRightSigned(x, count & 31, 32);
+            case I64X2_SHR_S:
+                return x >> count;
+            default:
+                throw unknownOpcode(vectorOpcode);
+        }
+    }
+
+    private static long shiftLeft(long x, int count, int laneBits) {
+        return (x << count) & splat(laneMask(laneBits) << count, laneBits);
+    }
+
+    private static long shiftRightUnsigned(long x, int count, int laneBits) {
+        return (x >>> count) & splat(laneMask(laneBits) >>> count, laneBits);
+    }
+
+    private static long shiftRightSigned(long x, int count, int laneBits) {
+        long result = 0;
+        for (int i = 0; i != lanesPerHalf(laneBits); ++i) {
+            result = withLane(result, laneBits, i, signedLane(x, laneBits, i) >> count);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a lane-wise binary operation to the corresponding halves of two {@code v128} values.
+     */
+    public static long binary(int vectorOpcode, long x, long y) {
+        switch (vectorOpcode) {
+            case V128_AND:
+                return x & y;
+            case V128_ANDNOT:
+                return x & ~y;
+            case V128_OR:
+                return x | y;
+            case V128_XOR:
+                return x ^ y;
+            case I8X16_ADD:
+                return addLanes(x, y, HIGH_BITS_8);
+            case I16X8_ADD:
+                return addLanes(x, y, HIGH_BITS_16);
+            case I32X4_ADD:
+                return addLanes(x, y, HIGH_BITS_32);
+            case I64X2_ADD:
+                return x + y;
+            case I8X16_SUB:
+                return subLanes(x, y, HIGH_BITS_8);
+            case I16X8_SUB:
+                return subLanes(x, y, HIGH_BITS_16);
+            case I32X4_SUB:
+                return subLanes(x, y, HIGH_BITS_32);
+            case I64X2_SUB:
+                return x - y;
+            case I64X2_MUL:
+                return x * y;
+            case I32X4_DOT_I16X8_S: {
+                long result = 0;
+                for (int i = 0; i != 2; ++i) {
+                    final long sum = signedLane(x, 16, 2 * i) * signedLane(y, 16, 2 * i) + signedLane(x, 16, 2 * i + 1) * signedLane(y, 16, 2 * i + 1);
+                    result = withLane(result, 32, i, sum);
+                }
+                return result;
+            }
+            case I8X16_EQ:
+            case I8X16_NE:
+            case I8X16_LT_S:
+            case I8X16_LT_U:
+            case I8X16_GT_S:
+            case I8X16_GT_U:
+            case I8X16_LE_S:
+            case I8X16_LE_U:
+            case I8X16_GE_S:
+            case I8X16_GE_U:
+            case I8X16_ADD_SAT_S:
+            case I8X16_ADD_SAT_U:
+            case I8X16_SUB_SAT_S:
+            case I8X16_SUB_SAT_U:
+            case I8X16_MIN_S:
+            case I8X16_MIN_U:
+            case I8X16_MAX_S:
+            case I8X16_MAX_U:
+            case I8X16_AVGR_U:
+                return binaryLanes(vectorOpcode, x, y, 8);
+            case I16X8_EQ:
+            case I16X8_NE:
+            case I16X8_LT_S:
+            case I16X8_LT_U:
+            case I16X8_GT_S:
+            case I16X8_GT_U:
+            case I16X8_LE_S:
+            case I16X8_LE_U:
+            case I16X8_GE_S:
+            case I16X8_GE_U:
+            case I16X8_ADD_SAT_S:
+            case I16X8_ADD_SAT_U:
+            case I16X8_SUB_SAT_S:
+            case I16X8_SUB_SAT_U:
+            case I16X8_MUL:
+            case I16X8_MIN_S:
+            case I16X8_MIN_U:
+            case I16X8_MAX_S:
+            case I16X8_MAX_U:
+            case I16X8_AVGR_U:
+            case I16X8_Q15MULR_SAT_S:
+                return binaryLanes(vectorOpcode, x, y, 16);
+            case I32X4_EQ:
+            case I32X4_NE:
+            case I32X4_LT_S:
+            case I32X4_LT_U:
+            case I32X4_GT_S:
+            case I32X4_GT_U:
+            case I32X4_LE_S:
+            case I32X4_LE_U:
+            case I32X4_GE_S:
+            case I32X4_GE_U:
+            case I32X4_MUL:
+            case I32X4_MIN_S:
+            case I32X4_MIN_U:
+            case I32X4_MAX_S:
+            case I32X4_MAX_U:
+            case F32X4_EQ:
+            case F32X4_NE:
+            case F32X4_LT:
+            case F32X4_GT:
+            case F32X4_LE:
+            case F32X4_GE:
+            case F32X4_ADD:
+            case F32X4_SUB:
+            case F32X4_MUL:
+            case F32X4_DIV:
+            case F32X4_MIN:
+            case F32X4_MAX:
+            case F32X4_PMIN:
+            case F32X4_PMAX:
+                return binaryLanes(vectorOpcode, x, y, 32);
+            case I64X2_EQ:
+            case I64X2_NE:
+            case I64X2_LT_S:
+            case I64X2_GT_S:
+            case I64X2_LE_S:
+            case I64X2_GE_S:
+            case F64X2_EQ:
+            case F64X2_NE:
+            case F64X2_LT:
+            case F64X2_GT:
+            case F64X2_LE:
+            case F64X2_GE:
+            case F64X2_ADD:
+            case F64X2_SUB:
+            case F64X2_MUL:
+            case F64X2_DIV:
+            case F64X2_MIN:
+            case F64X2_MAX:
+            case F64X2_PMIN:
+            case F64X2_PMAX:
+                return binaryLane(vectorOpcode, x, y, 64);
+            default:
+                throw unknownOpcode(vectorOpcode);
+        }
+    }
+
+    private static long binaryLanes(int vectorOpcode, long x, long y, int laneBits) {
+        long result = 0;
+        for (int i = 0; i != lanesPerHalf(laneBits); ++i) {
+            result = withLane(result, laneBits, i, binaryLane(vectorOpcode, signedLane(x, laneBits, i), signedLane(y, laneBits, i), laneBits));
+        }
+        return result;
+    }
+
+    /**
+     * Applies a binary operation to a single pair of lanes, given as sign-extended values. The
+     * result is truncated to the lane width by the caller.
+     */
+    private static long binaryLane(int vectorOpcode, long x, long y, int laneBits) {
+        final long mask = laneMask(laneBits);
+        switch (vectorOpcode) {
+            case I8X16_EQ:
+            case I16X8_EQ:
+            case I32X4_EQ:
+            case I64X2_EQ:
+                return mask(x == y);
+            case I8X16_NE:
+            case I16X8_NE:
+            case I32X4_NE:
+            case I64X2_NE:
+                return mask(x != y);
+            case I8X16_LT_S:
+            case I16X8_LT_S:
+            case I32X4_LT_S:
+            case I64X2_LT_S:
+                return mask(x < y);
+            case I8X16_GT_S:
+            case I16X8_GT_S:
+            case I32X4_GT_S:
+            case I64X2_GT_S:
+                return mask(x > y);
+            case I8X16_LE_S:
+            case I16X8_LE_S:
+            case I32X4_LE_S:
+            case I64X2_LE_S:
+                return mask(x <= y);
+            case I8X16_GE_S:
+            case I16X8_GE_S:
+            case I32X4_GE_S:
+            case I64X2_GE_S:
+                return mask(x >= y);
+            case I8X16_LT_U:
+            case I16X8_LT_U:
+            case I32X4_LT_U:
+                return mask((x & mask) < (y & mask));
+            case I8X16_GT_U:
+            case I16X8_GT_U:
+            case I32X4_GT_U:
+                return mask((x & mask) > (y & mask));
+            case I8X16_LE_U:
+            case I16X8_LE_U:
+            case I32X4_LE_U:
+                return mask((x & mask) <= (y & mask));
+            case I8X16_GE_U:
+            case I16X8_GE_U:
+            case I32X4_GE_U:
+                return mask((x & mask) >= (y & mask));
+            case I8X16_ADD_SAT_S:
+            case I16X8_ADD_SAT_S:
+                return saturateSigned(x + y, laneBits);
+            case I8X16_SUB_SAT_S:
+            case I16X8_SUB_SAT_S:
+                return saturateSigned(x - y, laneBits);
+            case I8X16_ADD_SAT_U:
+            case I16X8_ADD_SAT_U:
+                return Math.min((x & mask) + (y & mask), mask);
+            case I8X16_SUB_SAT_U:
+            case I16X8_SUB_SAT_U:
+                return Math.max((x & mask) - (y & mask), 0);
+            case I16X8_MUL:
+            case I32X4_MUL:
+                return x * y;
+            case I16X8_Q15MULR_SAT_S:
+                return saturateSigned((x * y + 0x4000) >> 15, laneBits);
+            case I8X16_MIN_S:
+            case I16X8_MIN_S:
+            case I32X4_MIN_S:
+                return Math.min(x, y);
+            case I8X16_MAX_S:
+            case I16X8_MAX_S:
+            case I32X4_MAX_S:
+                return Math.max(x, y);
+            case I8X16_MIN_U:
+            case I16X8_MIN_U:
+            case I32X4_MIN_U:
+                return Math.min(x & mask, y & mask);
+            case I8X16_MAX_U:
+            case I16X8_MAX_U:
+            case I32X4_MAX_U:
+                return Math.max(x & mask, y & mask);
+            case I8X16_AVGR_U:
+            case I16X8_AVGR_U:
+                return ((x & mask) + (y & mask) + 1) >>> 1;
+            case F32X4_EQ:
+                return mask(asFloat(x) == asFloat(y));
+            case F32X4_NE:
+                return mask(asFloat(x) != asFloat(y));
+            case F32X4_LT:
+                return mask(asFloat(x) < asFloat(y));
+            case F32X4_GT:
+                return mask(asFloat(x) > asFloat(y));
+            case F32X4_LE:
+                return mask(asFloat(x) <= asFloat(y));
+            case F32X4_GE:
+                return mask(asFloat(x) >= asFloat(y));
+            case F32X4_ADD:
+                return floatBits(asFloat(x) + asFloat(y));
+            case F32X4_SUB:
+                return floatBits(asFloat(x) - asFloat(y));
+            case F32X4_MUL:
+                return floatBits(asFloat(x) * asFloat(y));
+            case F32X4_DIV:
+                return floatBits(asFloat(x) / asFloat(y));
+            case F32X4_MIN:
+                return floatBits(Math.min(asFloat(x), asFloat(y)));
+            case F32X4_MAX:
+                return floatBits(Math.max(asFloat(x), asFloat(y)));
+            case F32X4_PMIN:
+                return asFloat(y) < asFloat(x) ? y : x;
+            case F32X4_PMAX:
+                return asFloat(x) < asFloat(y) ? y : x;
+            case F64X2_EQ:
+                return mask(asDouble(x) == asDouble(y));
+            case F64X2_NE:
+                return mask(asDouble(x) != asDouble(y));
+            case F64X2_LT:
+                return mask(asDouble(x) < asDouble(y));
+            case F64X2_GT:
+                return mask(asDouble(x) > asDouble(y));
+            case F64X2_LE:
+                return mask(asDouble(x) <= asDouble(y));
+            case F64X2_GE:
+                return mask(asDouble(x) >= asDouble(y));
+            case F64X2_ADD:
+                return Double.doubleToRawLongBits(asDouble(x) + asDouble(y));
+            case F64X2_SUB:
+                return Double.doubleToRawLongBits(asDouble(x) - asDouble(y));
+            case F64X2_MUL:
+                return Double.doubleToRawLongBits(asDouble(x) * asDouble(y));
+            case F64X2_DIV:
+                return Double.doubleToRawLongBits(asDouble(x) / asDouble(y));
+            case F64X2_MIN:
+                return Double.doubleToRawLongBits(Math.min(asDouble(x), asDouble(y)));
+            case F64X2_MAX:
+                return Double.doubleToRawLongBits(Math.max(asDouble(x), asDouble(y)));
+            case F64X2_PMIN:
+                return asDouble(y) < asDouble(x) ? y : x;
+            case F64X2_PMAX:
+                return asDouble(x) < asDouble(y) ? y : x;
+            default:
+                throw unknownOpcode(vectorOpcode);
+        }
+    }
+
+    private static long mask(boolean condition) {
+        return condition ? -1L : 0L;
+    }
+
+    private static long saturateSigned(long value, int laneBits) {
+        final long max = (1L << (laneBits - 1)) - 1;
+        return Math.max(-max - 1, Math.min(max, value));
+    }
+
+    private static float asFloat(long lane) {
+        return Float.intBitsToFloat((int) lane);
+    }
+
+    private static double asDouble(long lane) {
+        return Double.longBitsToDouble(lane);
+    }
+
+    private static long floatBits(float value) {
+        return Float.floatToRawIntBits(value) & 0xFFFF_FFFFL;
+    }
+
+    @TruffleBoundary
+    private static WasmException unknownOpcode(int vectorOpcode) {
+        return WasmException.format(Failure.UNSPECIFIED_INTERNAL, "Unknown vector opcode: 0x%02x", vectorOpcode);
+    }
+}
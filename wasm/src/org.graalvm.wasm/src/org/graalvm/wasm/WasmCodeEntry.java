@@ -53,6 +53,8 @@ public final class WasmCodeEntry {
     private final WasmFunction function;
     @CompilationFinal(dimensions = 1) private final byte[] data;
     @CompilationFinal(dimensions = 1) private byte[] localTypes;
+    @CompilationFinal(dimensions = 1) private int[] localSlots;
+    @CompilationFinal private int numLocalSlots;
     @CompilationFinal(dimensions = 1) private int[] intConstants;
     @CompilationFinal(dimensions = 2) private int[][] branchTables;
     @CompilationFinal(dimensions = 1) private int[] profileCounters;
@@ -90,12 +92,28 @@ public final class WasmCodeEntry {
 
     public void setLocalTypes(byte[] localTypes) {
         this.localTypes = localTypes;
+        this.localSlots = new int[localTypes.length];
+        int slot = 0;
+        for (int i = 0; i != localTypes.length; ++i) {
+            localSlots[i] = slot;
+            slot += WasmType.slotCount(localTypes[i]);
+        }
+        this.numLocalSlots = slot;
     }
 
     public byte localType(int index) {
         return localTypes[index];
     }
 
+    /**
+     * The index of the first slot of the given local in the {@code stacklocals} array. This differs
+     * from the local index once a preceding local holds a {@code v128} value, which takes up two
+     * slots.
+     */
+    public int localSlot(int index) {
+        return localSlots[index];
+    }
+
     @SuppressWarnings("unused")
     public int intConstant(int index) {
         return intConstants[index];
@@ -105,6 +123,11 @@ public final class WasmCodeEntry {
         this.intConstants = intConstants;
     }
 
+    /**
+     * Returns the constants computed while parsing the code entry, in the order in which the
+     * instructions consume them: pre-decoded immediates together with their encoded byte lengths,
+     * and the target stack pointers and continuation lengths of branches.
+     */
     public int[] intConstants() {
         return intConstants;
     }
@@ -133,6 +156,14 @@ public final class WasmCodeEntry {
         return localTypes.length;
     }
 
+    /**
+     * The number of {@code stacklocals} slots occupied by the locals, which is also the index at
+     * which the operand stack starts.
+     */
+    public int numLocalSlots() {
+        return numLocalSlots;
+    }
+
     public int functionIndex() {
         return function.index();
     }
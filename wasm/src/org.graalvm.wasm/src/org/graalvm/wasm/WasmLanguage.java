@@ -56,9 +56,13 @@ import java.io.IOException;
                 interactive = false)
 public final class WasmLanguage extends TruffleLanguage<WasmContext> {
     private boolean isFirst = true;
+    private boolean multiThreaded;
+    private boolean simd;
 
     @Override
     protected WasmContext createContext(Env env) {
+        multiThreaded = env.getOptions().get(WasmOptions.Threads);
+        simd = env.getOptions().get(WasmOptions.SIMD);
         WasmContext context = new WasmContext(env, this);
         if (env.isPolyglotBindingsAccessAllowed()) {
             env.exportSymbol("WebAssembly", new WebAssembly(context));
@@ -82,6 +86,16 @@ public final class WasmLanguage extends TruffleLanguage<WasmContext> {
         });
     }
 
+    @Override
+    protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
+        // The context policy is exclusive, so this language instance belongs to a single context.
+        return singleThreaded || multiThreaded;
+    }
+
+    boolean isSimdEnabled() {
+        return simd;
+    }
+
     @Override
     protected Object getScope(WasmContext context) {
         return context.getScope();
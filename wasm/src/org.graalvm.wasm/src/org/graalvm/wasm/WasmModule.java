@@ -104,7 +104,8 @@ public final class WasmModule extends SymbolTable {
         return Collections.unmodifiableList(linkActions);
     }
 
-    public void addLinkAction(BiConsumer<WasmContext, WasmInstance> action) {
+    // Code entries may be read in parallel, and each of them registers its call sites.
+    public synchronized void addLinkAction(BiConsumer<WasmContext, WasmInstance> action) {
         linkActions.add(action);
     }
 
@@ -57,6 +57,12 @@ public class WasmOptions {
     @Option(help = "The stack size in kilobytes to use during async parsing, or zero to use defaults.", category = OptionCategory.USER, stability = OptionStability.STABLE)//
     public static final OptionKey<Integer> AsyncParsingStackSize = new OptionKey<>(0);
 
+    @Option(help = "The number of threads used to read the function bodies of modules larger than AsyncParsingBinarySize, or zero to use the number of available processors.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
+    public static final OptionKey<Integer> ParallelParsingThreads = new OptionKey<>(0);
+
+    @Option(help = "A directory in which to cache the validated code sections of modules, keyed by the module hash, or empty to disable caching. Cache files are checked against the module hash and the bounds of its code entries, but not fully validated again, so the directory must only be writable by trusted users.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
+    public static final OptionKey<String> CodeCacheDirectory = new OptionKey<>("");
+
     @Option(help = "A comma-separated list of pre-opened Wasi directories: [<virtual-dir>:]<host-dir>.", category = OptionCategory.USER, stability = OptionStability.STABLE)//
     public static final OptionKey<String> WasiMapDirs = new OptionKey<>("");
 
@@ -73,4 +79,13 @@ public class WasmOptions {
 
     @Option(help = "Use sun.misc.Unsafe-based memory.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
     public static final OptionKey<Boolean> UseUnsafeMemory = new OptionKey<>(false);
+
+    @Option(help = "Allocate unsafe memories with their maximum size upfront, so that memory.grow zeroes the new pages in place instead of copying the memory. Implies UseUnsafeMemory.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
+    public static final OptionKey<Boolean> ReserveUnsafeMemory = new OptionKey<>(false);
+
+    @Option(help = "Enable the fixed-width SIMD instructions and the v128 value type. v128 values are only supported on the operand stack and in function locals, and the vector lanes are computed with scalar operations.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
+    public static final OptionKey<Boolean> SIMD = new OptionKey<>(false);
+
+    @Option(help = "Allow several threads to execute WebAssembly code in the same context, synchronizing through shared memories and atomic instructions.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL)//
+    public static final OptionKey<Boolean> Threads = new OptionKey<>(false);
 }
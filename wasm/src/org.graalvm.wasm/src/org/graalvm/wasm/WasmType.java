@@ -63,6 +63,8 @@ public class WasmType implements TruffleObject {
 
     public static final byte F64_TYPE = 0x7C;
 
+    public static final byte V128_TYPE = 0x7B;
+
     public static final WasmType VOID = new WasmType("void");
 
     public static String toString(int valueType) {
@@ -75,11 +77,21 @@ public class WasmType implements TruffleObject {
                 return "f32";
             case F64_TYPE:
                 return "f64";
+            case V128_TYPE:
+                return "v128";
             default:
                 throw WasmException.create(Failure.UNSPECIFIED_INTERNAL, null, "Unknown value type: 0x" + Integer.toHexString(valueType));
         }
     }
 
+    /**
+     * The number of {@code long} slots that a value of the given type occupies on the operand stack
+     * and among the locals.
+     */
+    public static int slotCount(byte valueType) {
+        return valueType == V128_TYPE ? 2 : 1;
+    }
+
     private final String name;
 
     public WasmType(String name) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm.constants;
+
+/**
+ * Opcodes of the atomic memory instructions of the threads proposal. In the binary format, each of
+ * these follows the {@link Instructions#ATOMIC} prefix byte, encoded as an unsigned LEB128 integer.
+ * <p>
+ * Each group of loads, stores and read-modify-write operations lists its seven variants in the same
+ * order: the full-width {@code i32} and {@code i64} forms, followed by the 8- and 16-bit {@code i32}
+ * forms and the 8-, 16- and 32-bit {@code i64} forms.
+ */
+public final class AtomicInstructions {
+    public static final int MEMORY_ATOMIC_NOTIFY = 0x00;
+    public static final int MEMORY_ATOMIC_WAIT32 = 0x01;
+    public static final int MEMORY_ATOMIC_WAIT64 = 0x02;
+    public static final int ATOMIC_FENCE = 0x03;
+    public static final int I32_ATOMIC_LOAD = 0x10;
+    public static final int I64_ATOMIC_LOAD = 0x11;
+    public static final int I32_ATOMIC_LOAD8_U = 0x12;
+    public static final int I32_ATOMIC_LOAD16_U = 0x13;
+    public static final int I64_ATOMIC_LOAD8_U = 0x14;
+    public static final int I64_ATOMIC_LOAD16_U = 0x15;
+    public static final int I64_ATOMIC_LOAD32_U = 0x16;
+    public static final int I32_ATOMIC_STORE = 0x17;
+    public static final int I64_ATOMIC_STORE = 0x18;
+    public static final int I32_ATOMIC_STORE8 = 0x19;
+    public static final int I32_ATOMIC_STORE16 = 0x1A;
+    public static final int I64_ATOMIC_STORE8 = 0x1B;
+    public static final int I64_ATOMIC_STORE16 = 0x1C;
+    public static final int I64_ATOMIC_STORE32 = 0x1D;
+    public static final int I32_ATOMIC_RMW_ADD = 0x1E;
+    public static final int I64_ATOMIC_RMW_ADD = 0x1F;
+    public static final int I32_ATOMIC_RMW8_ADD_U = 0x20;
+    public static final int I32_ATOMIC_RMW16_ADD_U = 0x21;
+    public static final int I64_ATOMIC_RMW8_ADD_U = 0x22;
+    public static final int I64_ATOMIC_RMW16_ADD_U = 0x23;
+    public static final int I64_ATOMIC_RMW32_ADD_U = 0x24;
+    public static final int I32_ATOMIC_RMW_SUB = 0x25;
+    public static final int I64_ATOMIC_RMW_SUB = 0x26;
+    public static final int I32_ATOMIC_RMW8_SUB_U = 0x27;
+    public static final int I32_ATOMIC_RMW16_SUB_U = 0x28;
+    public static final int I64_ATOMIC_RMW8_SUB_U = 0x29;
+    public static final int I64_ATOMIC_RMW16_SUB_U = 0x2A;
+    public static final int I64_ATOMIC_RMW32_SUB_U = 0x2B;
+    public static final int I32_ATOMIC_RMW_AND = 0x2C;
+    public static final int I64_ATOMIC_RMW_AND = 0x2D;
+    public static final int I32_ATOMIC_RMW8_AND_U = 0x2E;
+    public static final int I32_ATOMIC_RMW16_AND_U = 0x2F;
+    public static final int I64_ATOMIC_RMW8_AND_U = 0x30;
+    public static final int I64_ATOMIC_RMW16_AND_U = 0x31;
+    public static final int I64_ATOMIC_RMW32_AND_U = 0x32;
+    public static final int I32_ATOMIC_RMW_OR = 0x33;
+    public static final int I64_ATOMIC_RMW_OR = 0x34;
+    public static final int I32_ATOMIC_RMW8_OR_U = 0x35;
+    public static final int I32_ATOMIC_RMW16_OR_U = 0x36;
+    public static final int I64_ATOMIC_RMW8_OR_U = 0x37;
+    public static final int I64_ATOMIC_RMW16_OR_U = 0x38;
+    public static final int I64_ATOMIC_RMW32_OR_U = 0x39;
+    public static final int I32_ATOMIC_RMW_XOR = 0x3A;
+    public static final int I64_ATOMIC_RMW_XOR = 0x3B;
+    public static final int I32_ATOMIC_RMW8_XOR_U = 0x3C;
+    public static final int I32_ATOMIC_RMW16_XOR_U = 0x3D;
+    public static final int I64_ATOMIC_RMW8_XOR_U = 0x3E;
+    public static final int I64_ATOMIC_RMW16_XOR_U = 0x3F;
+    public static final int I64_ATOMIC_RMW32_XOR_U = 0x40;
+    public static final int I32_ATOMIC_RMW_XCHG = 0x41;
+    public static final int I64_ATOMIC_RMW_XCHG = 0x42;
+    public static final int I32_ATOMIC_RMW8_XCHG_U = 0x43;
+    public static final int I32_ATOMIC_RMW16_XCHG_U = 0x44;
+    public static final int I64_ATOMIC_RMW8_XCHG_U = 0x45;
+    public static final int I64_ATOMIC_RMW16_XCHG_U = 0x46;
+    public static final int I64_ATOMIC_RMW32_XCHG_U = 0x47;
+    public static final int I32_ATOMIC_RMW_CMPXCHG = 0x48;
+    public static final int I64_ATOMIC_RMW_CMPXCHG = 0x49;
+    public static final int I32_ATOMIC_RMW8_CMPXCHG_U = 0x4A;
+    public static final int I32_ATOMIC_RMW16_CMPXCHG_U = 0x4B;
+    public static final int I64_ATOMIC_RMW8_CMPXCHG_U = 0x4C;
+    public static final int I64_ATOMIC_RMW16_CMPXCHG_U = 0x4D;
+    public static final int I64_ATOMIC_RMW32_CMPXCHG_U = 0x4E;
+
+    /**
+     * Returns the number of bytes accessed by the load, store or read-modify-write instruction
+     * {@code opcode}.
+     */
+    public static int accessBytes(int opcode) {
+        switch ((opcode - I32_ATOMIC_LOAD) % 7) {
+            case 0:
+            case 6:
+                return 4;
+            case 1:
+                return 8;
+            case 2:
+            case 4:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Returns whether the load, store or read-modify-write instruction {@code opcode} operates on
+     * {@code i64} values.
+     */
+    public static boolean isI64(int opcode) {
+        final int variant = (opcode - I32_ATOMIC_LOAD) % 7;
+        return variant == 1 || variant >= 4;
+    }
+
+    private AtomicInstructions() {
+    }
+}
@@ -235,6 +235,18 @@ public final class Instructions {
     public static final int F32_REINTERPRET_I32 = 0xBE;
     public static final int F64_REINTERPRET_I64 = 0xBF;
 
+    /**
+     * Prefix of the fixed-width SIMD instructions, whose opcodes are listed in
+     * {@link VectorInstructions}.
+     */
+    public static final int VECTOR = 0xFD;
+
+    /**
+     * Prefix of the atomic memory instructions of the threads proposal, whose opcodes are listed in
+     * {@link AtomicInstructions}.
+     */
+    public static final int ATOMIC = 0xFE;
+
     private static String[] decodingTable = new String[256];
 
     private Instructions() {
@@ -85,6 +85,9 @@ public enum Failure {
     LIMIT_EXCEEDED(Type.INVALID, "limit exceeded"),
     MEMORY_SIZE_LIMIT_EXCEEDED(Type.INVALID, "memory size must be at most 65536 pages (4GiB)"),
     ALIGNMENT_LARGER_THAN_NATURAL(Type.INVALID, "alignment must not be larger than natural"),
+    INVALID_LANE_INDEX(Type.INVALID, "invalid lane index"),
+    ATOMIC_ALIGNMENT_NOT_NATURAL(Type.INVALID, "alignment must be equal to natural"),
+    SHARED_MEMORY_WITHOUT_MAXIMUM(Type.INVALID, "shared memory must have maximum"),
     // GraalWasm-specific:
     MODULE_SIZE_LIMIT_EXCEEDED(Type.INVALID, "module size exceeds limit"),
     TYPE_COUNT_LIMIT_EXCEEDED(Type.INVALID, "type count exceeds limit"),
@@ -117,6 +120,8 @@ public enum Failure {
     UNINITIALIZED_ELEMENT(Type.TRAP, "uninitialized element"),
     OUT_OF_BOUNDS_MEMORY_ACCESS(Type.TRAP, "out of bounds memory access"),
     INDIRECT_CALL_TYPE__MISMATCH(Type.TRAP, "indirect call type mismatch"),
+    UNALIGNED_ATOMIC(Type.TRAP, "unaligned atomic"),
+    EXPECTED_SHARED_MEMORY(Type.TRAP, "expected shared memory"),
     // GraalWasm-specific:
     TABLE_INSTANCE_SIZE_LIMIT_EXCEEDED(Type.TRAP, "table instance size exceeds limit"),
     MEMORY_INSTANCE_SIZE_LIMIT_EXCEEDED(Type.TRAP, "memory instance size exceeds limit"),
@@ -364,6 +364,89 @@ public final class ByteArrayWasmMemory extends WasmMemory {
         }
     }
 
+    /**
+     * Byte array memories are never shared, so they are only accessed by a single thread and the
+     * atomic operations can use plain accesses.
+     */
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public int atomic_load_i32(Node node, int address) {
+        validateAtomicAddress(node, address, 4);
+        return load_i32(node, address);
+    }
+
+    @Override
+    public long atomic_load_i64(Node node, int address) {
+        validateAtomicAddress(node, address, 8);
+        return load_i64(node, address);
+    }
+
+    @Override
+    public void atomic_store_i32(Node node, int address, int value) {
+        validateAtomicAddress(node, address, 4);
+        store_i32(node, address, value);
+    }
+
+    @Override
+    public void atomic_store_i64(Node node, int address, long value) {
+        validateAtomicAddress(node, address, 8);
+        store_i64(node, address, value);
+    }
+
+    @Override
+    public int atomic_rmw_add_i32(Node node, int address, int value) {
+        final int previous = atomic_load_i32(node, address);
+        store_i32(node, address, previous + value);
+        return previous;
+    }
+
+    @Override
+    public long atomic_rmw_add_i64(Node node, int address, long value) {
+        final long previous = atomic_load_i64(node, address);
+        store_i64(node, address, previous + value);
+        return previous;
+    }
+
+    @Override
+    public int atomic_rmw_xchg_i32(Node node, int address, int value) {
+        final int previous = atomic_load_i32(node, address);
+        store_i32(node, address, value);
+        return previous;
+    }
+
+    @Override
+    public long atomic_rmw_xchg_i64(Node node, int address, long value) {
+        final long previous = atomic_load_i64(node, address);
+        store_i64(node, address, value);
+        return previous;
+    }
+
+    @Override
+    public int atomic_rmw_cmpxchg_i32(Node node, int address, int expected, int replacement) {
+        final int previous = atomic_load_i32(node, address);
+        if (previous == expected) {
+            store_i32(node, address, replacement);
+        }
+        return previous;
+    }
+
+    @Override
+    public long atomic_rmw_cmpxchg_i64(Node node, int address, long expected, long replacement) {
+        final long previous = atomic_load_i64(node, address);
+        if (previous == expected) {
+            store_i64(node, address, replacement);
+        }
+        return previous;
+    }
+
+    @Override
+    public void atomic_fence() {
+    }
+
     @Override
     public WasmMemory duplicate() {
         final ByteArrayWasmMemory other = new ByteArrayWasmMemory(declaredMinSize, declaredMaxSize, size(), maxAllowedSize);
@@ -67,9 +67,23 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
      */
     private final int declaredMaxSize;
     private final Unsafe unsafe;
+
+    /**
+     * The address of the native block. A {@link #isShared() shared} memory never moves: it is only
+     * written by the constructor and by {@link #free()}. Other agents get the memory through the
+     * start of their thread, which orders the write in the constructor before their accesses, and
+     * the memory is only freed once no agent uses it anymore.
+     */
     private long startAddress;
     private int size;
 
+    /**
+     * The current size of this memory instance in bytes, cached to keep the bounds checks cheap. It
+     * is volatile so that agents reading it without the lock of a shared memory never see a torn
+     * value, and see the zeroed pages once they see the size written by {@link #grow(int)}.
+     */
+    private volatile long currentByteSize;
+
     /**
      * The maximum practical size of this memory instance (measured in number of
      * {@link Sizes#MEMORY_PAGE_SIZE pages}).
@@ -82,12 +96,31 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
      */
     private final int maxAllowedSize;
 
-    private UnsafeWasmMemory(int declaredMinSize, int declaredMaxSize, int initialSize, int maxAllowedSize) {
+    /**
+     * If {@code true}, the native block is allocated for {@link #maxAllowedSize} pages upfront. Only
+     * the pages up to the current size are written to, so the operating system commits the
+     * remaining pages lazily when they are first touched after {@link #grow(int)}, which never has
+     * to copy the memory.
+     */
+    private final boolean reserved;
+
+    /**
+     * @see #isShared()
+     */
+    private final boolean shared;
+
+    /**
+     * The size of the native block at {@link #startAddress}, in bytes.
+     */
+    private long allocatedByteSize;
+
+    private UnsafeWasmMemory(int declaredMinSize, int declaredMaxSize, int initialSize, int maxAllowedSize, boolean reserved, boolean shared) {
         assert compareUnsigned(declaredMinSize, initialSize) <= 0;
         assert compareUnsigned(declaredMaxSize, MAX_MEMORY_DECLARATION_SIZE) <= 0;
         assert compareUnsigned(initialSize, maxAllowedSize) <= 0;
         assert compareUnsigned(maxAllowedSize, MAX_MEMORY_INSTANCE_SIZE) <= 0;
         assert compareUnsigned(maxAllowedSize, declaredMaxSize) <= 0;
+        assert !shared || reserved;
 
         try {
             final Field f = Unsafe.class.getDeclaredField("theUnsafe");
@@ -99,23 +132,71 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
 
         this.declaredMinSize = declaredMinSize;
         this.declaredMaxSize = declaredMaxSize;
-        this.size = declaredMinSize;
         this.maxAllowedSize = maxAllowedSize;
-        final long byteSize = byteSize();
-        this.startAddress = unsafe.allocateMemory(byteSize);
-        unsafe.setMemory(startAddress, byteSize, (byte) 0);
+        this.reserved = reserved;
+        this.shared = shared;
+        allocate(initialSize);
     }
 
     public UnsafeWasmMemory(int declaredMinSize, int declaredMaxSize, int maxAllowedSize) {
-        this(declaredMinSize, declaredMaxSize, declaredMinSize, maxAllowedSize);
+        this(declaredMinSize, declaredMaxSize, declaredMinSize, maxAllowedSize, false, false);
+    }
+
+    public UnsafeWasmMemory(int declaredMinSize, int declaredMaxSize, int maxAllowedSize, boolean reserved) {
+        this(declaredMinSize, declaredMaxSize, declaredMinSize, maxAllowedSize, reserved, false);
+    }
+
+    /**
+     * Creates a shared memory. It is always reserved up to its maximum size, so that growing it
+     * never moves it while other threads access it.
+     */
+    public static UnsafeWasmMemory createShared(int declaredMinSize, int declaredMaxSize, int maxAllowedSize) {
+        return new UnsafeWasmMemory(declaredMinSize, declaredMaxSize, declaredMinSize, maxAllowedSize, true, true);
+    }
+
+    private void allocate(int initialSize) {
+        this.size = initialSize;
+        this.currentByteSize = (long) initialSize * MEMORY_PAGE_SIZE;
+        long address = 0;
+        if (reserved) {
+            try {
+                address = unsafe.allocateMemory((long) maxAllowedSize * MEMORY_PAGE_SIZE);
+                this.allocatedByteSize = (long) maxAllowedSize * MEMORY_PAGE_SIZE;
+            } catch (OutOfMemoryError e) {
+                if (shared) {
+                    throw WasmException.format(Failure.MEMORY_INSTANCE_SIZE_LIMIT_EXCEEDED, "Could not reserve %d pages for a shared memory.", maxAllowedSize);
+                }
+                // the address space could not be reserved, grow by copying instead
+            }
+        }
+        if (address == 0) {
+            address = unsafe.allocateMemory(currentByteSize);
+            this.allocatedByteSize = currentByteSize;
+        }
+        this.startAddress = address;
+        unsafe.setMemory(startAddress, currentByteSize, (byte) 0);
     }
 
     public void validateAddress(Node node, int address, int offset) {
-        if (address < 0 || address + offset > this.byteSize()) {
-            throw trapOutOfBounds(node, address, offset);
+        // a single unsigned comparison, which also covers negative addresses and overflows
+        if (Integer.toUnsignedLong(address) + offset > currentByteSize) {
+            validateAddressAfterGrowth(node, address, offset);
         }
     }
 
+    @TruffleBoundary
+    private void validateAddressAfterGrowth(Node node, int address, int offset) {
+        if (shared) {
+            // Another thread may have grown the memory since this one last read its size.
+            synchronized (this) {
+                if (Integer.toUnsignedLong(address) + offset <= currentByteSize) {
+                    return;
+                }
+            }
+        }
+        throw trapOutOfBounds(node, address, offset);
+    }
+
     @TruffleBoundary
     private WasmException trapOutOfBounds(Node node, int address, int offset) {
         throw WasmException.format(Failure.OUT_OF_BOUNDS_MEMORY_ACCESS, node, "%d-byte memory access at address 0x%016X (%d) is out-of-bounds (memory size %d bytes).",
@@ -131,9 +212,24 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
 
     @Override
     public void reset() {
+        if (shared) {
+            resetShared();
+        } else {
+            unsafe.freeMemory(startAddress);
+            allocate(declaredMinSize);
+        }
+    }
+
+    /**
+     * Resets a shared memory in place. Other agents may still hold its address, so its block is
+     * never freed or moved. Must only be called while no other agent accesses the memory.
+     */
+    private synchronized void resetShared() {
+        final long minByteSize = (long) declaredMinSize * MEMORY_PAGE_SIZE;
+        currentByteSize = minByteSize;
         size = declaredMinSize;
-        unsafe.freeMemory(startAddress);
-        startAddress = unsafe.allocateMemory(byteSize());
+        // the pages above the minimum size are zeroed again when the memory grows
+        unsafe.setMemory(startAddress, minByteSize, (byte) 0);
     }
 
     @Override
@@ -158,19 +254,24 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
 
     @Override
     @TruffleBoundary
-    public boolean grow(int extraPageSize) {
+    public synchronized boolean grow(int extraPageSize) {
         if (extraPageSize == 0) {
             return true;
         } else if (compareUnsigned(extraPageSize, maxAllowedSize) <= 0 && compareUnsigned(size() + extraPageSize, maxAllowedSize) <= 0) {
             // Condition above and limit on maxPageSize (see ModuleLimits#MAX_MEMORY_SIZE) ensure
             // computation of targetByteSize does not overflow.
             final int targetByteSize = multiplyExact(addExact(size(), extraPageSize), MEMORY_PAGE_SIZE);
-            final long updatedStartAddress = unsafe.allocateMemory(targetByteSize);
-            unsafe.copyMemory(startAddress, updatedStartAddress, byteSize());
-            unsafe.setMemory(updatedStartAddress + byteSize(), targetByteSize - byteSize(), (byte) 0);
-            unsafe.freeMemory(startAddress);
-            startAddress = updatedStartAddress;
+            if (targetByteSize > allocatedByteSize) {
+                final long updatedStartAddress = unsafe.allocateMemory(targetByteSize);
+                unsafe.copyMemory(startAddress, updatedStartAddress, byteSize());
+                unsafe.freeMemory(startAddress);
+                startAddress = updatedStartAddress;
+                allocatedByteSize = targetByteSize;
+            }
+            // grow in place
+            unsafe.setMemory(startAddress + byteSize(), targetByteSize - byteSize(), (byte) 0);
             size += extraPageSize;
+            currentByteSize = targetByteSize;
             return true;
         } else {
             return false;
@@ -331,9 +432,91 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
         unsafe.putInt(startAddress + address, value);
     }
 
+    @Override
+    public boolean isShared() {
+        return shared;
+    }
+
+    @Override
+    public int atomic_load_i32(Node node, int address) {
+        validateAtomicAddress(node, address, 4);
+        return unsafe.getIntVolatile(null, startAddress + address);
+    }
+
+    @Override
+    public long atomic_load_i64(Node node, int address) {
+        validateAtomicAddress(node, address, 8);
+        return unsafe.getLongVolatile(null, startAddress + address);
+    }
+
+    @Override
+    public void atomic_store_i32(Node node, int address, int value) {
+        validateAtomicAddress(node, address, 4);
+        unsafe.putIntVolatile(null, startAddress + address, value);
+    }
+
+    @Override
+    public void atomic_store_i64(Node node, int address, long value) {
+        validateAtomicAddress(node, address, 8);
+        unsafe.putLongVolatile(null, startAddress + address, value);
+    }
+
+    @Override
+    public int atomic_rmw_add_i32(Node node, int address, int value) {
+        validateAtomicAddress(node, address, 4);
+        return unsafe.getAndAddInt(null, startAddress + address, value);
+    }
+
+    @Override
+    public long atomic_rmw_add_i64(Node node, int address, long value) {
+        validateAtomicAddress(node, address, 8);
+        return unsafe.getAndAddLong(null, startAddress + address, value);
+    }
+
+    @Override
+    public int atomic_rmw_xchg_i32(Node node, int address, int value) {
+        validateAtomicAddress(node, address, 4);
+        return unsafe.getAndSetInt(null, startAddress + address, value);
+    }
+
+    @Override
+    public long atomic_rmw_xchg_i64(Node node, int address, long value) {
+        validateAtomicAddress(node, address, 8);
+        return unsafe.getAndSetLong(null, startAddress + address, value);
+    }
+
+    @Override
+    public int atomic_rmw_cmpxchg_i32(Node node, int address, int expected, int replacement) {
+        validateAtomicAddress(node, address, 4);
+        final long effectiveAddress = startAddress + address;
+        while (true) {
+            final int value = unsafe.getIntVolatile(null, effectiveAddress);
+            if (value != expected || unsafe.compareAndSwapInt(null, effectiveAddress, expected, replacement)) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public long atomic_rmw_cmpxchg_i64(Node node, int address, long expected, long replacement) {
+        validateAtomicAddress(node, address, 8);
+        final long effectiveAddress = startAddress + address;
+        while (true) {
+            final long value = unsafe.getLongVolatile(null, effectiveAddress);
+            if (value != expected || unsafe.compareAndSwapLong(null, effectiveAddress, expected, replacement)) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public void atomic_fence() {
+        unsafe.fullFence();
+    }
+
     @Override
     public WasmMemory duplicate() {
-        final UnsafeWasmMemory other = new UnsafeWasmMemory(declaredMinSize, declaredMaxSize, size, maxAllowedSize);
+        final UnsafeWasmMemory other = new UnsafeWasmMemory(declaredMinSize, declaredMaxSize, size, maxAllowedSize, reserved, shared);
         unsafe.copyMemory(this.startAddress, other.startAddress, this.byteSize());
         return other;
     }
@@ -342,6 +525,8 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
         unsafe.freeMemory(this.startAddress);
         startAddress = 0;
         size = 0;
+        currentByteSize = 0;
+        allocatedByteSize = 0;
     }
 
     public boolean freed() {
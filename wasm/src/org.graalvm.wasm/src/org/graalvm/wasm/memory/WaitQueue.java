@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.wasm.memory;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.nodes.Node;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Integer.compareUnsigned;
+
+/**
+ * The threads suspended by {@code memory.atomic.wait} on the addresses of a shared memory, in
+ * arrival order for each address.
+ * <p>
+ * A waiting thread must compare the memory contents and {@link #enqueue} itself while holding the
+ * lock of this queue, so that a notification sent by another thread after it modified the memory
+ * cannot be lost.
+ */
+final class WaitQueue {
+    static final class Waiter {
+        private final Thread thread;
+        private final int address;
+        private volatile boolean notified;
+
+        private Waiter(Thread thread, int address) {
+            this.thread = thread;
+            this.address = address;
+        }
+    }
+
+    private final Map<Integer, ArrayDeque<Waiter>> waiters = new HashMap<>();
+
+    /**
+     * Adds the current thread to the waiters of {@code address}. The caller must hold the lock of
+     * this queue.
+     */
+    @TruffleBoundary
+    Waiter enqueue(int address) {
+        assert Thread.holdsLock(this);
+        final Waiter waiter = new Waiter(Thread.currentThread(), address);
+        waiters.computeIfAbsent(address, a -> new ArrayDeque<>()).addLast(waiter);
+        return waiter;
+    }
+
+    /**
+     * Parks the current thread until {@code waiter} is notified or {@code timeout} nanoseconds have
+     * elapsed. A negative timeout waits forever. The wait can be interrupted by Truffle safepoint
+     * actions, e.g. when the context is cancelled.
+     *
+     * @return {@code true} if the waiter was notified, {@code false} if it timed out
+     */
+    @TruffleBoundary
+    boolean await(Node node, Waiter waiter, long timeout) {
+        final long deadline = System.nanoTime() + timeout;
+        try {
+            TruffleSafepoint.setBlockedThreadInterruptible(node, w -> {
+                while (!w.notified) {
+                    if (timeout < 0) {
+                        LockSupport.park(this);
+                    } else {
+                        final long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return;
+                        }
+                        LockSupport.parkNanos(this, remaining);
+                    }
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }, waiter);
+        } finally {
+            // Also dequeue the waiter if a safepoint action threw, e.g. because the context was
+            // cancelled, so that it is not counted by later notifications.
+            synchronized (this) {
+                if (!waiter.notified) {
+                    dequeue(waiter);
+                }
+            }
+        }
+        // Waiters are only notified while they are queued, so this cannot change anymore.
+        return waiter.notified;
+    }
+
+    private void dequeue(Waiter waiter) {
+        assert Thread.holdsLock(this);
+        final ArrayDeque<Waiter> queue = waiters.get(waiter.address);
+        if (queue != null) {
+            queue.remove(waiter);
+            if (queue.isEmpty()) {
+                waiters.remove(waiter.address);
+            }
+        }
+    }
+
+    /**
+     * Wakes up to {@code count} threads waiting on {@code address}, where {@code count} is
+     * interpreted as an unsigned integer.
+     *
+     * @return the number of threads woken up
+     */
+    @TruffleBoundary
+    synchronized int wake(int address, int count) {
+        final ArrayDeque<Waiter> queue = waiters.get(address);
+        if (queue == null) {
+            return 0;
+        }
+        int woken = 0;
+        while (compareUnsigned(woken, count) < 0 && !queue.isEmpty()) {
+            final Waiter waiter = queue.removeFirst();
+            waiter.notified = true;
+            LockSupport.unpark(waiter.thread);
+            woken++;
+        }
+        if (queue.isEmpty()) {
+            waiters.remove(address);
+        }
+        return woken;
+    }
+}
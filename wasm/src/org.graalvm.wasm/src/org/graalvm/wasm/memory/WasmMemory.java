@@ -52,6 +52,8 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 import org.graalvm.wasm.collection.ByteArrayList;
 import org.graalvm.wasm.constants.Sizes;
+import org.graalvm.wasm.exception.Failure;
+import org.graalvm.wasm.exception.WasmException;
 import org.graalvm.wasm.nodes.WasmNode;
 
 import java.nio.charset.StandardCharsets;
@@ -62,6 +64,8 @@ import static java.lang.Math.toIntExact;
 @ExportLibrary(InteropLibrary.class)
 public abstract class WasmMemory implements TruffleObject {
 
+    private final WaitQueue waitQueue = new WaitQueue();
+
     public abstract void copy(Node node, int src, int dst, int n);
 
     /**
@@ -152,6 +156,283 @@ public abstract class WasmMemory implements TruffleObject {
     public abstract void store_i64_16(Node node, int address, short value);
 
     public abstract void store_i64_32(Node node, int address, int value);
+
+    /**
+     * Whether this memory is shared, i.e. can be accessed by several threads at the same time, as
+     * defined by the threads proposal. Only shared memories support {@link #atomic_wait32 waiting}.
+     */
+    public abstract boolean isShared();
+
+    /*
+     * Sequentially consistent accesses. The subclasses implement the full-width operations; the
+     * narrower ones are derived from them below. All of them trap on unaligned addresses.
+     */
+
+    public abstract int atomic_load_i32(Node node, int address);
+
+    public abstract long atomic_load_i64(Node node, int address);
+
+    public abstract void atomic_store_i32(Node node, int address, int value);
+
+    public abstract void atomic_store_i64(Node node, int address, long value);
+
+    public abstract int atomic_rmw_add_i32(Node node, int address, int value);
+
+    public abstract long atomic_rmw_add_i64(Node node, int address, long value);
+
+    public abstract int atomic_rmw_xchg_i32(Node node, int address, int value);
+
+    public abstract long atomic_rmw_xchg_i64(Node node, int address, long value);
+
+    /**
+     * Replaces the value at {@code address} with {@code replacement} if it equals
+     * {@code expected}, and returns the value read.
+     */
+    public abstract int atomic_rmw_cmpxchg_i32(Node node, int address, int expected, int replacement);
+
+    public abstract long atomic_rmw_cmpxchg_i64(Node node, int address, long expected, long replacement);
+
+    public abstract void atomic_fence();
+
+    /*
+     * The read-modify-write operations, in the order of their groups in AtomicInstructions.
+     */
+    public static final int ATOMIC_RMW_ADD = 0;
+    public static final int ATOMIC_RMW_SUB = 1;
+    public static final int ATOMIC_RMW_AND = 2;
+    public static final int ATOMIC_RMW_OR = 3;
+    public static final int ATOMIC_RMW_XOR = 4;
+    public static final int ATOMIC_RMW_XCHG = 5;
+
+    /*
+     * The results of memory.atomic.wait32 and memory.atomic.wait64.
+     */
+    public static final int WAIT_OK = 0;
+    public static final int WAIT_NOT_EQUAL = 1;
+    public static final int WAIT_TIMED_OUT = 2;
+
+    /**
+     * Atomically reads the zero-extended {@code accessBytes}-wide integer at {@code address}.
+     */
+    public final int atomic_load_u(Node node, int address, int accessBytes) {
+        if (accessBytes == 4) {
+            return atomic_load_i32(node, address);
+        }
+        validateAtomicAddress(node, address, accessBytes);
+        final int shift = (address & 3) * 8;
+        return (atomic_load_i32(node, address & ~3) >>> shift) & narrowMask(accessBytes);
+    }
+
+    /**
+     * Atomically writes the low {@code accessBytes} bytes of {@code value} at {@code address}.
+     */
+    public final void atomic_store(Node node, int address, int accessBytes, int value) {
+        if (accessBytes == 4) {
+            atomic_store_i32(node, address, value);
+        } else {
+            atomic_rmw_u(node, address, accessBytes, ATOMIC_RMW_XCHG, value);
+        }
+    }
+
+    /**
+     * Atomically applies the read-modify-write {@code operation} with {@code operand} to the
+     * unsigned {@code accessBytes}-wide integer at {@code address}, and returns its previous value.
+     * Operations without a direct implementation are compare-and-exchange loops on the enclosing
+     * aligned 32-bit word.
+     */
+    public final int atomic_rmw_u(Node node, int address, int accessBytes, int operation, int operand) {
+        if (accessBytes == 4) {
+            switch (operation) {
+                case ATOMIC_RMW_ADD:
+                    return atomic_rmw_add_i32(node, address, operand);
+                case ATOMIC_RMW_SUB:
+                    return atomic_rmw_add_i32(node, address, -operand);
+                case ATOMIC_RMW_XCHG:
+                    return atomic_rmw_xchg_i32(node, address, operand);
+            }
+        }
+        validateAtomicAddress(node, address, accessBytes);
+        final int wordAddress = address & ~3;
+        final int shift = (address & 3) * 8;
+        final int mask = narrowMask(accessBytes) << shift;
+        while (true) {
+            final int word = atomic_load_i32(node, wordAddress);
+            final int previous = (word & mask) >>> shift;
+            final int updated = (word & ~mask) | ((applyRmw(operation, previous, operand) << shift) & mask);
+            if (atomic_rmw_cmpxchg_i32(node, wordAddress, word, updated) == word) {
+                return previous;
+            }
+        }
+    }
+
+    public final long atomic_rmw_i64(Node node, int address, int operation, long operand) {
+        switch (operation) {
+            case ATOMIC_RMW_ADD:
+                return atomic_rmw_add_i64(node, address, operand);
+            case ATOMIC_RMW_SUB:
+                return atomic_rmw_add_i64(node, address, -operand);
+            case ATOMIC_RMW_XCHG:
+                return atomic_rmw_xchg_i64(node, address, operand);
+        }
+        while (true) {
+            final long previous = atomic_load_i64(node, address);
+            final long updated = applyRmw(operation, previous, operand);
+            if (atomic_rmw_cmpxchg_i64(node, address, previous, updated) == previous) {
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Compares the unsigned {@code accessBytes}-wide integer at {@code address} with the same
+     * number of low bytes of {@code expected}, replaces it with those of {@code replacement} if
+     * they are equal, and returns the value read.
+     */
+    public final int atomic_rmw_cmpxchg_u(Node node, int address, int accessBytes, int expected, int replacement) {
+        if (accessBytes == 4) {
+            return atomic_rmw_cmpxchg_i32(node, address, expected, replacement);
+        }
+        validateAtomicAddress(node, address, accessBytes);
+        final int wordAddress = address & ~3;
+        final int shift = (address & 3) * 8;
+        final int mask = narrowMask(accessBytes) << shift;
+        while (true) {
+            final int word = atomic_load_i32(node, wordAddress);
+            final int previous = (word & mask) >>> shift;
+            if (previous != (expected & narrowMask(accessBytes))) {
+                return previous;
+            }
+            final int updated = (word & ~mask) | ((replacement << shift) & mask);
+            if (atomic_rmw_cmpxchg_i32(node, wordAddress, word, updated) == word) {
+                return previous;
+            }
+        }
+    }
+
+    private static int narrowMask(int accessBytes) {
+        return (int) (0xFFFF_FFFFL >>> (32 - 8 * accessBytes));
+    }
+
+    private static int applyRmw(int operation, int previous, int operand) {
+        switch (operation) {
+            case ATOMIC_RMW_ADD:
+                return previous + operand;
+            case ATOMIC_RMW_SUB:
+                return previous - operand;
+            case ATOMIC_RMW_AND:
+                return previous & operand;
+            case ATOMIC_RMW_OR:
+                return previous | operand;
+            case ATOMIC_RMW_XOR:
+                return previous ^ operand;
+            case ATOMIC_RMW_XCHG:
+                return operand;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private static long applyRmw(int operation, long previous, long operand) {
+        switch (operation) {
+            case ATOMIC_RMW_AND:
+                return previous & operand;
+            case ATOMIC_RMW_OR:
+                return previous | operand;
+            case ATOMIC_RMW_XOR:
+                return previous ^ operand;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Wakes up to {@code count} threads waiting on {@code address}, and returns their number.
+     * Unshared memories have no waiters.
+     */
+    @CompilerDirectives.TruffleBoundary
+    public final int atomic_notify(Node node, int address, int count) {
+        validateAtomicAddress(node, address, 4);
+        if (!isShared()) {
+            return 0;
+        }
+        return waitQueue.wake(address, count);
+    }
+
+    /**
+     * Suspends the current thread until it is notified on {@code address}, unless the 32-bit
+     * integer at that address differs from {@code expected}. A negative {@code timeout} (in
+     * nanoseconds) waits forever.
+     *
+     * @return {@link #WAIT_OK}, {@link #WAIT_NOT_EQUAL} or {@link #WAIT_TIMED_OUT}
+     */
+    @CompilerDirectives.TruffleBoundary
+    public final int atomic_wait32(Node node, int address, int expected, long timeout) {
+        validateAtomicAddress(node, address, 4);
+        checkShared(node);
+        final WaitQueue.Waiter waiter;
+        synchronized (waitQueue) {
+            if (atomic_load_i32(node, address) != expected) {
+                return WAIT_NOT_EQUAL;
+            }
+            waiter = waitQueue.enqueue(address);
+        }
+        return waitQueue.await(node, waiter, timeout) ? WAIT_OK : WAIT_TIMED_OUT;
+    }
+
+    /**
+     * The 64-bit variant of {@link #atomic_wait32}.
+     */
+    @CompilerDirectives.TruffleBoundary
+    public final int atomic_wait64(Node node, int address, long expected, long timeout) {
+        validateAtomicAddress(node, address, 8);
+        checkShared(node);
+        final WaitQueue.Waiter waiter;
+        synchronized (waitQueue) {
+            if (atomic_load_i64(node, address) != expected) {
+                return WAIT_NOT_EQUAL;
+            }
+            waiter = waitQueue.enqueue(address);
+        }
+        return waitQueue.await(node, waiter, timeout) ? WAIT_OK : WAIT_TIMED_OUT;
+    }
+
+    private void checkShared(Node node) {
+        if (!isShared()) {
+            throw WasmException.create(Failure.EXPECTED_SHARED_MEMORY, node, "Waiting is only allowed on shared memories.");
+        }
+    }
+
+    /**
+     * Traps if an atomic access of {@code accessBytes} bytes at {@code address} is out of bounds
+     * or not naturally aligned, in this order.
+     */
+    protected final void validateAtomicAddress(Node node, int address, int accessBytes) {
+        if (Integer.toUnsignedLong(address) + accessBytes > (long) size() * Sizes.MEMORY_PAGE_SIZE) {
+            validateAtomicAddressAfterGrowth(node, address, accessBytes);
+        }
+        if ((address & (accessBytes - 1)) != 0) {
+            throw trapAtomicAccess(Failure.UNALIGNED_ATOMIC, node, address, accessBytes);
+        }
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private void validateAtomicAddressAfterGrowth(Node node, int address, int accessBytes) {
+        if (isShared()) {
+            // Another thread may have grown the memory since this one last read its size.
+            synchronized (this) {
+                if (Integer.toUnsignedLong(address) + accessBytes <= (long) size() * Sizes.MEMORY_PAGE_SIZE) {
+                    return;
+                }
+            }
+        }
+        throw trapAtomicAccess(Failure.OUT_OF_BOUNDS_MEMORY_ACCESS, node, address, accessBytes);
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private WasmException trapAtomicAccess(Failure failure, Node node, int address, int accessBytes) {
+        return WasmException.format(failure, node, "%d-byte atomic access at address 0x%016X (%d) is invalid (memory size %d bytes).",
+                        accessBytes, address, address, byteSize());
+    }
     // Checkstyle: resume
 
     public abstract WasmMemory duplicate();
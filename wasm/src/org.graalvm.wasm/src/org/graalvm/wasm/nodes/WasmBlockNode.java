@@ -59,6 +59,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RepeatingNode;
 import org.graalvm.wasm.BinaryStreamParser;
 import org.graalvm.wasm.SymbolTable;
+import org.graalvm.wasm.Vector128;
 import org.graalvm.wasm.WasmCodeEntry;
 import org.graalvm.wasm.WasmContext;
 import org.graalvm.wasm.WasmFunction;
@@ -68,6 +69,8 @@ import org.graalvm.wasm.WasmLanguage;
 import org.graalvm.wasm.WasmMath;
 import org.graalvm.wasm.WasmTable;
 import org.graalvm.wasm.WasmType;
+import org.graalvm.wasm.constants.AtomicInstructions;
+import org.graalvm.wasm.constants.VectorInstructions;
 import org.graalvm.wasm.exception.Failure;
 import org.graalvm.wasm.exception.WasmException;
 import org.graalvm.wasm.memory.WasmMemory;
@@ -75,6 +78,7 @@ import org.graalvm.wasm.memory.WasmMemory;
 import static org.graalvm.wasm.BinaryStreamParser.length;
 import static org.graalvm.wasm.BinaryStreamParser.value;
 import static org.graalvm.wasm.WasmMath.addExactUnsigned;
+import static org.graalvm.wasm.constants.Instructions.ATOMIC;
 import static org.graalvm.wasm.constants.Instructions.BLOCK;
 import static org.graalvm.wasm.constants.Instructions.BR;
 import static org.graalvm.wasm.constants.Instructions.BR_IF;
@@ -247,6 +251,7 @@ import static org.graalvm.wasm.constants.Instructions.NOP;
 import static org.graalvm.wasm.constants.Instructions.RETURN;
 import static org.graalvm.wasm.constants.Instructions.SELECT;
 import static org.graalvm.wasm.constants.Instructions.UNREACHABLE;
+import static org.graalvm.wasm.constants.Instructions.VECTOR;
 
 public final class WasmBlockNode extends WasmNode implements RepeatingNode {
 
@@ -366,7 +371,7 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
     @SuppressWarnings("UnusedAssignment")
     public int execute(WasmContext context, VirtualFrame frame, long[] stacklocals) {
         final WasmCodeEntry codeEntry = codeEntry();
-        final int numLocals = codeEntry.numLocals();
+        final int numLocals = codeEntry.numLocalSlots();
         final byte[] data = codeEntry.data();
         final int[] intConstants = codeEntry.intConstants();
         final int[] profileCounters = codeEntry.profileCounters();
@@ -465,11 +470,10 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                     case END:
                         break;
                     case BR: {
-                        // region Load LEB128 Unsigned32 -> unwindCounter
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int unwindCounter = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int unwindCounter
+                        int unwindCounter = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         // Reset the stack pointer to the target block stack pointer.
@@ -490,11 +494,10 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                     }
                     case BR_IF: {
                         stackPointer--;
-                        // region Load LEB128 Unsigned32 -> unwindCounter
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int unwindCounter = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int unwindCounter
+                        int unwindCounter = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
                         // region Load int continuationStackPointer
                         int continuationStackPointer = intConstants[intConstantOffset];
@@ -527,6 +530,17 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
 
                         int returnTypeLength = table[0];
 
+                        if (CompilerDirectives.inInterpreter()) {
+                            // The table is dense, so the interpreter can jump to the target
+                            // directly instead of scanning the labels.
+                            int unwindCounter = table[1 + 2 * index];
+                            int continuationStackPointer = table[1 + 2 * index + 1];
+                            unwindStack(stacklocals, stackPointer, numLocals + continuationStackPointer, returnTypeLength);
+                            return unwindCounter;
+                        }
+
+                        // In compiled code, the loop is exploded, so that the target stack
+                        // pointer of every branch is a partial evaluation constant.
                         for (int i = 0; i < (table.length - 1) / 2; ++i) {
                             if (i == index) {
                                 int unwindCounter = table[1 + 2 * i];
@@ -557,11 +571,10 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                         return unwindCounter;
                     }
                     case CALL: {
-                        // region Load LEB128 Unsigned32 -> functionIndex
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int functionIndex = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int functionIndex
+                        int functionIndex = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         WasmFunction function = instance().symbolTable().function(functionIndex);
@@ -636,11 +649,10 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                         }
 
                         // Extract the function type index.
-                        // region Load LEB128 Unsigned32 -> expectedFunctionTypeIndex
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int expectedFunctionTypeIndex = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int expectedFunctionTypeIndex
+                        int expectedFunctionTypeIndex = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         int expectedTypeEquivalenceClass = symtab.equivalenceClass(expectedFunctionTypeIndex);
@@ -717,69 +729,80 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                         break;
                     }
                     case LOCAL_GET: {
-                        // region Load LEB128 Unsigned32 -> index
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int index = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int index
+                        int index = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
-                        local_get(stacklocals, stackPointer, index);
-                        stackPointer++;
+                        final int slot = codeEntry.localSlot(index);
+                        if (codeEntry.localType(index) == WasmType.V128_TYPE) {
+                            local_get(stacklocals, stackPointer, slot);
+                            local_get(stacklocals, stackPointer + 1, slot + 1);
+                            stackPointer += 2;
+                        } else {
+                            local_get(stacklocals, stackPointer, slot);
+                            stackPointer++;
+                        }
                         break;
                     }
                     case LOCAL_SET: {
-                        // region Load LEB128 Unsigned32 -> index
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int index = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int index
+                        int index = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
-                        stackPointer--;
-                        local_set(stacklocals, stackPointer, index);
+                        final int slot = codeEntry.localSlot(index);
+                        if (codeEntry.localType(index) == WasmType.V128_TYPE) {
+                            stackPointer -= 2;
+                            local_set(stacklocals, stackPointer, slot);
+                            local_set(stacklocals, stackPointer + 1, slot + 1);
+                        } else {
+                            stackPointer--;
+                            local_set(stacklocals, stackPointer, slot);
+                        }
                         break;
                     }
                     case LOCAL_TEE: {
-                        // region Load LEB128 Unsigned32 -> index
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int index = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int index
+                        int index = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
-                        local_tee(stacklocals, stackPointer - 1, index);
+                        final int slot = codeEntry.localSlot(index);
+                        if (codeEntry.localType(index) == WasmType.V128_TYPE) {
+                            local_tee(stacklocals, stackPointer - 2, slot);
+                            local_tee(stacklocals, stackPointer - 1, slot + 1);
+                        } else {
+                            local_tee(stacklocals, stackPointer - 1, slot);
+                        }
                         break;
                     }
                     case GLOBAL_GET: {
-                        // region Load LEB128 Unsigned32 -> index
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int index = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int index
+                        int index = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
                         global_get(context, stacklocals, stackPointer, index);
                         stackPointer++;
                         break;
                     }
                     case GLOBAL_SET: {
-                        // region Load LEB128 Unsigned32 -> index
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int index = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        // region Load int index
+                        int index = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
                         stackPointer--;
                         global_set(context, stacklocals, stackPointer, index);
                         break;
                     }
                     case I32_LOAD: {
-                        /* The memAlign hint is not currently used or taken into account. */
-                        int memAlignOffsetDelta = offsetDelta(data, offset);
-                        offset += memAlignOffsetDelta;
-
-                        // region Load LEB128 Unsigned32 -> memOffset
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int memOffset = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        /* The memAlign hint is not used, its encoding is skipped with the offset. */
+                        // region Load int memOffset
+                        int memOffset = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         int baseAddress = popInt(stacklocals, stackPointer - 1);
@@ -807,15 +830,11 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                     case I64_LOAD16_U:
                     case I64_LOAD32_S:
                     case I64_LOAD32_U: {
-                        /* The memAlign hint is not currently used or taken into account. */
-                        int memAlignOffsetDelta = offsetDelta(data, offset);
-                        offset += memAlignOffsetDelta;
-
-                        // region Load LEB128 Unsigned32 -> memOffset
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int memOffset = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        /* The memAlign hint is not used, its encoding is skipped with the offset. */
+                        // region Load int memOffset
+                        int memOffset = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         load(memory, stacklocals, stackPointer - 1, opcode, memOffset);
@@ -830,15 +849,11 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                     case I64_STORE_8:
                     case I64_STORE_16:
                     case I64_STORE_32: {
-                        /* The memAlign hint is not currently used or taken into account. */
-                        int memAlignOffsetDelta = offsetDelta(data, offset);
-                        offset += memAlignOffsetDelta;
-
-                        // region Load LEB128 Unsigned32 -> memOffset
-                        long valueLength = unsignedIntConstantAndLength(data, offset);
-                        int memOffset = value(valueLength);
-                        int offsetDelta = length(valueLength);
-                        offset += offsetDelta;
+                        /* The memAlign hint is not used, its encoding is skipped with the offset. */
+                        // region Load int memOffset
+                        int memOffset = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
 
                         store(memory, stacklocals, stackPointer, opcode, memOffset);
@@ -870,20 +885,20 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                         break;
                     }
                     case I32_CONST: {
-                        // region Load LEB128 Signed32 -> value
-                        long valueAndLength = signedIntConstantAndLength(data, offset);
-                        int offsetDelta = length(valueAndLength);
-                        offset += offsetDelta;
+                        // region Load int value
+                        int value = intConstants[intConstantOffset];
+                        offset += intConstants[intConstantOffset + 1];
+                        intConstantOffset += 2;
                         // endregion
-                        pushInt(stacklocals, stackPointer, value(valueAndLength));
+                        pushInt(stacklocals, stackPointer, value);
                         stackPointer++;
                         break;
                     }
                     case I64_CONST: {
-                        // region Load LEB128 Signed64 -> value
-                        long value = signedLongConstant(data, offset);
-                        int offsetDelta = offsetDelta(data, offset);
-                        offset += offsetDelta;
+                        // region Load long value
+                        long value = (intConstants[intConstantOffset] & 0xffff_ffffL) | ((long) intConstants[intConstantOffset + 1] << 32);
+                        offset += intConstants[intConstantOffset + 2];
+                        intConstantOffset += 3;
                         // endregion
                         push(stacklocals, stackPointer, value);
                         stackPointer++;
@@ -1364,6 +1379,30 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
                         // and interpreted appropriately upon access), we don't need to do anything
                         // for these instructions.
                         break;
+                    case VECTOR: {
+                        // region Load LEB128 Unsigned32 -> vectorOpcode
+                        long valueLength = unsignedIntConstantAndLength(data, offset);
+                        int vectorOpcode = value(valueLength);
+                        int offsetDelta = length(valueLength);
+                        offset += offsetDelta;
+                        // endregion
+                        CompilerAsserts.partialEvaluationConstant(vectorOpcode);
+                        stackPointer = executeVector(memory, stacklocals, stackPointer, vectorOpcode, data, offset);
+                        offset += vectorImmediateLength(vectorOpcode, data, offset);
+                        break;
+                    }
+                    case ATOMIC: {
+                        // region Load LEB128 Unsigned32 -> atomicOpcode
+                        long valueLength = unsignedIntConstantAndLength(data, offset);
+                        int atomicOpcode = value(valueLength);
+                        int offsetDelta = length(valueLength);
+                        offset += offsetDelta;
+                        // endregion
+                        CompilerAsserts.partialEvaluationConstant(atomicOpcode);
+                        stackPointer = executeAtomic(memory, stacklocals, stackPointer, atomicOpcode, data, offset);
+                        offset += atomicImmediateLength(atomicOpcode, data, offset);
+                        break;
+                    }
                     default:
                         throw CompilerDirectives.shouldNotReachHere();
                 }
@@ -2823,6 +2862,685 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
         return condition != 0;
     }
 
+    /**
+     * Executes the atomic instruction {@code atomicOpcode}, whose immediates start at
+     * {@code offset}, and returns the new stack pointer.
+     */
+    private int executeAtomic(WasmMemory memory, long[] stack, int stackPointer, int atomicOpcode, byte[] data, int offset) {
+        switch (atomicOpcode) {
+            case AtomicInstructions.MEMORY_ATOMIC_NOTIFY: {
+                int count = popInt(stack, stackPointer - 1);
+                int address = effectiveAddress(stack, stackPointer - 1, data, offset);
+                pushInt(stack, stackPointer - 2, memory.atomic_notify(this, address, count));
+                return stackPointer - 1;
+            }
+            case AtomicInstructions.MEMORY_ATOMIC_WAIT32: {
+                long timeout = pop(stack, stackPointer - 1);
+                int expected = popInt(stack, stackPointer - 2);
+                int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+                pushInt(stack, stackPointer - 3, memory.atomic_wait32(this, address, expected, timeout));
+                return stackPointer - 2;
+            }
+            case AtomicInstructions.MEMORY_ATOMIC_WAIT64: {
+                long timeout = pop(stack, stackPointer - 1);
+                long expected = pop(stack, stackPointer - 2);
+                int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+                pushInt(stack, stackPointer - 3, memory.atomic_wait64(this, address, expected, timeout));
+                return stackPointer - 2;
+            }
+            case AtomicInstructions.ATOMIC_FENCE: {
+                // Without a memory, there are no accesses to order.
+                if (memory != null) {
+                    memory.atomic_fence();
+                }
+                return stackPointer;
+            }
+        }
+        final int accessBytes = AtomicInstructions.accessBytes(atomicOpcode);
+        if (atomicOpcode <= AtomicInstructions.I64_ATOMIC_LOAD32_U) {
+            int address = effectiveAddress(stack, stackPointer, data, offset);
+            if (accessBytes == 8) {
+                push(stack, stackPointer - 1, memory.atomic_load_i64(this, address));
+            } else {
+                // Narrow loads zero-extend, to both i32 and i64.
+                pushInt(stack, stackPointer - 1, memory.atomic_load_u(this, address, accessBytes));
+            }
+            return stackPointer;
+        } else if (atomicOpcode <= AtomicInstructions.I64_ATOMIC_STORE32) {
+            long value = pop(stack, stackPointer - 1);
+            int address = effectiveAddress(stack, stackPointer - 1, data, offset);
+            if (accessBytes == 8) {
+                memory.atomic_store_i64(this, address, value);
+            } else {
+                memory.atomic_store(this, address, accessBytes, (int) value);
+            }
+            return stackPointer - 2;
+        } else if (atomicOpcode < AtomicInstructions.I32_ATOMIC_RMW_CMPXCHG) {
+            int operation = (atomicOpcode - AtomicInstructions.I32_ATOMIC_RMW_ADD) / 7;
+            long operand = pop(stack, stackPointer - 1);
+            int address = effectiveAddress(stack, stackPointer - 1, data, offset);
+            if (accessBytes == 8) {
+                push(stack, stackPointer - 2, memory.atomic_rmw_i64(this, address, operation, operand));
+            } else {
+                pushInt(stack, stackPointer - 2, memory.atomic_rmw_u(this, address, accessBytes, operation, (int) operand));
+            }
+            return stackPointer - 1;
+        } else {
+            long replacement = pop(stack, stackPointer - 1);
+            long expected = pop(stack, stackPointer - 2);
+            int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+            if (accessBytes == 8) {
+                push(stack, stackPointer - 3, memory.atomic_rmw_cmpxchg_i64(this, address, expected, replacement));
+            } else {
+                pushInt(stack, stackPointer - 3, memory.atomic_rmw_cmpxchg_u(this, address, accessBytes, (int) expected, (int) replacement));
+            }
+            return stackPointer - 2;
+        }
+    }
+
+    private static int atomicImmediateLength(int atomicOpcode, byte[] data, int offset) {
+        if (atomicOpcode == AtomicInstructions.ATOMIC_FENCE) {
+            return 1;
+        }
+        int memAlignOffsetDelta = offsetDelta(data, offset);
+        return memAlignOffsetDelta + offsetDelta(data, offset + memAlignOffsetDelta);
+    }
+
+    /**
+     * Executes the vector instruction {@code vectorOpcode}, whose immediates start at
+     * {@code offset}, and returns the new stack pointer. A {@code v128} operand occupies two stack
+     * slots, the low half followed by the high half (see {@link Vector128}).
+     */
+    private int executeVector(WasmMemory memory, long[] stack, int stackPointer, int vectorOpcode, byte[] data, int offset) {
+        switch (vectorOpcode) {
+            case VectorInstructions.V128_LOAD: {
+                int address = effectiveAddress(stack, stackPointer, data, offset);
+                long low = memory.load_i64(this, address);
+                long high = memory.load_i64(this, upperHalfAddress(address));
+                push(stack, stackPointer - 1, low);
+                push(stack, stackPointer, high);
+                return stackPointer + 1;
+            }
+            case VectorInstructions.V128_LOAD8X8_S:
+            case VectorInstructions.V128_LOAD8X8_U:
+            case VectorInstructions.V128_LOAD16X4_S:
+            case VectorInstructions.V128_LOAD16X4_U:
+            case VectorInstructions.V128_LOAD32X2_S:
+            case VectorInstructions.V128_LOAD32X2_U: {
+                int address = effectiveAddress(stack, stackPointer, data, offset);
+                long value = memory.load_i64(this, address);
+                int laneBits = 8 << ((vectorOpcode - VectorInstructions.V128_LOAD8X8_S) / 2);
+                boolean signed = (vectorOpcode - VectorInstructions.V128_LOAD8X8_S) % 2 == 0;
+                push(stack, stackPointer - 1, Vector128.extend(value, laneBits, signed, 0));
+                push(stack, stackPointer, Vector128.extend(value, laneBits, signed, 1));
+                return stackPointer + 1;
+            }
+            case VectorInstructions.V128_LOAD8_SPLAT:
+            case VectorInstructions.V128_LOAD16_SPLAT:
+            case VectorInstructions.V128_LOAD32_SPLAT:
+            case VectorInstructions.V128_LOAD64_SPLAT: {
+                int address = effectiveAddress(stack, stackPointer, data, offset);
+                final long value;
+                final int laneBits;
+                switch (vectorOpcode) {
+                    case VectorInstructions.V128_LOAD8_SPLAT:
+                        value = memory.load_i32_8u(this, address);
+                        laneBits = 8;
+                        break;
+                    case VectorInstructions.V128_LOAD16_SPLAT:
+                        value = memory.load_i32_16u(this, address);
+                        laneBits = 16;
+                        break;
+                    case VectorInstructions.V128_LOAD32_SPLAT:
+                        value = memory.load_i32(this, address);
+                        laneBits = 32;
+                        break;
+                    default:
+                        value = memory.load_i64(this, address);
+                        laneBits = 64;
+                        break;
+                }
+                long half = Vector128.splat(value, laneBits);
+                push(stack, stackPointer - 1, half);
+                push(stack, stackPointer, half);
+                return stackPointer + 1;
+            }
+            case VectorInstructions.V128_LOAD32_ZERO: {
+                int address = effectiveAddress(stack, stackPointer, data, offset);
+                pushInt(stack, stackPointer - 1, memory.load_i32(this, address));
+                push(stack, stackPointer, 0L);
+                return stackPointer + 1;
+            }
+            case VectorInstructions.V128_LOAD64_ZERO: {
+                int address = effectiveAddress(stack, stackPointer, data, offset);
+                push(stack, stackPointer - 1, memory.load_i64(this, address));
+                push(stack, stackPointer, 0L);
+                return stackPointer + 1;
+            }
+            case VectorInstructions.V128_STORE: {
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+                // Store the upper half first: if it fits, then so does the lower one, and a
+                // trapping store leaves the memory unchanged.
+                memory.store_i64(this, upperHalfAddress(address), high);
+                memory.store_i64(this, address, low);
+                return stackPointer - 3;
+            }
+            case VectorInstructions.V128_LOAD8_LANE:
+            case VectorInstructions.V128_LOAD16_LANE:
+            case VectorInstructions.V128_LOAD32_LANE:
+            case VectorInstructions.V128_LOAD64_LANE: {
+                int laneBits = 8 << (vectorOpcode - VectorInstructions.V128_LOAD8_LANE);
+                int laneIndex = vectorLaneIndex(data, offset);
+                int lanesPerHalf = Vector128.lanesPerHalf(laneBits);
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+                final long value;
+                switch (vectorOpcode) {
+                    case VectorInstructions.V128_LOAD8_LANE:
+                        value = memory.load_i32_8u(this, address);
+                        break;
+                    case VectorInstructions.V128_LOAD16_LANE:
+                        value = memory.load_i32_16u(this, address);
+                        break;
+                    case VectorInstructions.V128_LOAD32_LANE:
+                        value = memory.load_i32(this, address);
+                        break;
+                    default:
+                        value = memory.load_i64(this, address);
+                        break;
+                }
+                if (laneIndex < lanesPerHalf) {
+                    low = Vector128.withLane(low, laneBits, laneIndex, value);
+                } else {
+                    high = Vector128.withLane(high, laneBits, laneIndex - lanesPerHalf, value);
+                }
+                push(stack, stackPointer - 3, low);
+                push(stack, stackPointer - 2, high);
+                return stackPointer - 1;
+            }
+            case VectorInstructions.V128_STORE8_LANE:
+            case VectorInstructions.V128_STORE16_LANE:
+            case VectorInstructions.V128_STORE32_LANE:
+            case VectorInstructions.V128_STORE64_LANE: {
+                int laneBits = 8 << (vectorOpcode - VectorInstructions.V128_STORE8_LANE);
+                int laneIndex = vectorLaneIndex(data, offset);
+                int lanesPerHalf = Vector128.lanesPerHalf(laneBits);
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                int address = effectiveAddress(stack, stackPointer - 2, data, offset);
+                long value = laneIndex < lanesPerHalf ? Vector128.lane(low, laneBits, laneIndex) : Vector128.lane(high, laneBits, laneIndex - lanesPerHalf);
+                switch (vectorOpcode) {
+                    case VectorInstructions.V128_STORE8_LANE:
+                        memory.store_i32_8(this, address, (byte) value);
+                        break;
+                    case VectorInstructions.V128_STORE16_LANE:
+                        memory.store_i32_16(this, address, (short) value);
+                        break;
+                    case VectorInstructions.V128_STORE32_LANE:
+                        memory.store_i32(this, address, (int) value);
+                        break;
+                    default:
+                        memory.store_i64(this, address, value);
+                        break;
+                }
+                return stackPointer - 3;
+            }
+            case VectorInstructions.V128_CONST: {
+                push(stack, stackPointer, BinaryStreamParser.peek8(data, offset));
+                push(stack, stackPointer + 1, BinaryStreamParser.peek8(data, offset + 8));
+                return stackPointer + 2;
+            }
+            case VectorInstructions.I8X16_SHUFFLE: {
+                long bHigh = pop(stack, stackPointer - 1);
+                long bLow = pop(stack, stackPointer - 2);
+                long aHigh = pop(stack, stackPointer - 3);
+                long aLow = pop(stack, stackPointer - 4);
+                long low = Vector128.shuffle(BinaryStreamParser.peek8(data, offset), aLow, aHigh, bLow, bHigh);
+                long high = Vector128.shuffle(BinaryStreamParser.peek8(data, offset + 8), aLow, aHigh, bLow, bHigh);
+                push(stack, stackPointer - 4, low);
+                push(stack, stackPointer - 3, high);
+                return stackPointer - 2;
+            }
+            case VectorInstructions.I8X16_SWIZZLE: {
+                long indicesHigh = pop(stack, stackPointer - 1);
+                long indicesLow = pop(stack, stackPointer - 2);
+                long high = pop(stack, stackPointer - 3);
+                long low = pop(stack, stackPointer - 4);
+                push(stack, stackPointer - 4, Vector128.swizzle(indicesLow, low, high));
+                push(stack, stackPointer - 3, Vector128.swizzle(indicesHigh, low, high));
+                return stackPointer - 2;
+            }
+            case VectorInstructions.I8X16_SPLAT:
+            case VectorInstructions.I16X8_SPLAT:
+            case VectorInstructions.I32X4_SPLAT:
+            case VectorInstructions.I64X2_SPLAT:
+            case VectorInstructions.F32X4_SPLAT:
+            case VectorInstructions.F64X2_SPLAT: {
+                long value = pop(stack, stackPointer - 1);
+                long half = Vector128.splat(value, vectorLaneBits(vectorOpcode));
+                push(stack, stackPointer - 1, half);
+                push(stack, stackPointer, half);
+                return stackPointer + 1;
+            }
+            case VectorInstructions.I8X16_EXTRACT_LANE_S:
+            case VectorInstructions.I8X16_EXTRACT_LANE_U:
+            case VectorInstructions.I16X8_EXTRACT_LANE_S:
+            case VectorInstructions.I16X8_EXTRACT_LANE_U:
+            case VectorInstructions.I32X4_EXTRACT_LANE:
+            case VectorInstructions.I64X2_EXTRACT_LANE:
+            case VectorInstructions.F32X4_EXTRACT_LANE:
+            case VectorInstructions.F64X2_EXTRACT_LANE: {
+                int laneBits = vectorLaneBits(vectorOpcode);
+                int laneIndex = BinaryStreamParser.rawPeek1(data, offset) & 0xFF;
+                int lanesPerHalf = Vector128.lanesPerHalf(laneBits);
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                long half = laneIndex < lanesPerHalf ? low : high;
+                int index = laneIndex % lanesPerHalf;
+                switch (vectorOpcode) {
+                    case VectorInstructions.I8X16_EXTRACT_LANE_S:
+                    case VectorInstructions.I16X8_EXTRACT_LANE_S:
+                        pushInt(stack, stackPointer - 2, (int) Vector128.signedLane(half, laneBits, index));
+                        break;
+                    case VectorInstructions.I64X2_EXTRACT_LANE:
+                    case VectorInstructions.F64X2_EXTRACT_LANE:
+                        push(stack, stackPointer - 2, half);
+                        break;
+                    default:
+                        pushInt(stack, stackPointer - 2, (int) Vector128.lane(half, laneBits, index));
+                        break;
+                }
+                return stackPointer - 1;
+            }
+            case VectorInstructions.I8X16_REPLACE_LANE:
+            case VectorInstructions.I16X8_REPLACE_LANE:
+            case VectorInstructions.I32X4_REPLACE_LANE:
+            case VectorInstructions.I64X2_REPLACE_LANE:
+            case VectorInstructions.F32X4_REPLACE_LANE:
+            case VectorInstructions.F64X2_REPLACE_LANE: {
+                int laneBits = vectorLaneBits(vectorOpcode);
+                int laneIndex = BinaryStreamParser.rawPeek1(data, offset) & 0xFF;
+                int lanesPerHalf = Vector128.lanesPerHalf(laneBits);
+                long value = pop(stack, stackPointer - 1);
+                long high = pop(stack, stackPointer - 2);
+                long low = pop(stack, stackPointer - 3);
+                if (laneIndex < lanesPerHalf) {
+                    low = Vector128.withLane(low, laneBits, laneIndex, value);
+                } else {
+                    high = Vector128.withLane(high, laneBits, laneIndex - lanesPerHalf, value);
+                }
+                push(stack, stackPointer - 3, low);
+                push(stack, stackPointer - 2, high);
+                return stackPointer - 1;
+            }
+            case VectorInstructions.V128_BITSELECT: {
+                long maskHigh = pop(stack, stackPointer - 1);
+                long maskLow = pop(stack, stackPointer - 2);
+                long bHigh = pop(stack, stackPointer - 3);
+                long bLow = pop(stack, stackPointer - 4);
+                long aHigh = pop(stack, stackPointer - 5);
+                long aLow = pop(stack, stackPointer - 6);
+                push(stack, stackPointer - 6, Vector128.bitselect(aLow, bLow, maskLow));
+                push(stack, stackPointer - 5, Vector128.bitselect(aHigh, bHigh, maskHigh));
+                return stackPointer - 4;
+            }
+            case VectorInstructions.V128_ANY_TRUE:
+            case VectorInstructions.I8X16_ALL_TRUE:
+            case VectorInstructions.I16X8_ALL_TRUE:
+            case VectorInstructions.I32X4_ALL_TRUE:
+            case VectorInstructions.I64X2_ALL_TRUE:
+            case VectorInstructions.I8X16_BITMASK:
+            case VectorInstructions.I16X8_BITMASK:
+            case VectorInstructions.I32X4_BITMASK:
+            case VectorInstructions.I64X2_BITMASK: {
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                final int result;
+                switch (vectorOpcode) {
+                    case VectorInstructions.V128_ANY_TRUE:
+                        result = (low | high) != 0 ? 1 : 0;
+                        break;
+                    case VectorInstructions.I8X16_ALL_TRUE:
+                    case VectorInstructions.I16X8_ALL_TRUE:
+                    case VectorInstructions.I32X4_ALL_TRUE:
+                    case VectorInstructions.I64X2_ALL_TRUE:
+                        result = Vector128.allTrue(low, high, vectorLaneBits(vectorOpcode)) ? 1 : 0;
+                        break;
+                    default:
+                        result = Vector128.bitmask(low, high, vectorLaneBits(vectorOpcode));
+                        break;
+                }
+                pushInt(stack, stackPointer - 2, result);
+                return stackPointer - 1;
+            }
+            case VectorInstructions.I8X16_SHL:
+            case VectorInstructions.I8X16_SHR_S:
+            case VectorInstructions.I8X16_SHR_U:
+            case VectorInstructions.I16X8_SHL:
+            case VectorInstructions.I16X8_SHR_S:
+            case VectorInstructions.I16X8_SHR_U:
+            case VectorInstructions.I32X4_SHL:
+            case VectorInstructions.I32X4_SHR_S:
+            case VectorInstructions.I32X4_SHR_U:
+            case VectorInstructions.I64X2_SHL:
+            case VectorInstructions.I64X2_SHR_S:
+            case VectorInstructions.I64X2_SHR_U: {
+                int count = popInt(stack, stackPointer - 1);
+                long high = pop(stack, stackPointer - 2);
+                long low = pop(stack, stackPointer - 3);
+                push(stack, stackPointer - 3, Vector128.shift(vectorOpcode, low, count));
+                push(stack, stackPointer - 2, Vector128.shift(vectorOpcode, high, count));
+                return stackPointer - 1;
+            }
+            case VectorInstructions.I8X16_NARROW_I16X8_S:
+            case VectorInstructions.I8X16_NARROW_I16X8_U:
+            case VectorInstructions.I16X8_NARROW_I32X4_S:
+            case VectorInstructions.I16X8_NARROW_I32X4_U: {
+                int laneBits = vectorOpcode == VectorInstructions.I8X16_NARROW_I16X8_S || vectorOpcode == VectorInstructions.I8X16_NARROW_I16X8_U ? 16 : 32;
+                boolean signed = vectorOpcode == VectorInstructions.I8X16_NARROW_I16X8_S || vectorOpcode == VectorInstructions.I16X8_NARROW_I32X4_S;
+                long bHigh = pop(stack, stackPointer - 1);
+                long bLow = pop(stack, stackPointer - 2);
+                long aHigh = pop(stack, stackPointer - 3);
+                long aLow = pop(stack, stackPointer - 4);
+                push(stack, stackPointer - 4, Vector128.narrow(aLow, aHigh, laneBits, signed));
+                push(stack, stackPointer - 3, Vector128.narrow(bLow, bHigh, laneBits, signed));
+                return stackPointer - 2;
+            }
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_U:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_U:
+            case VectorInstructions.I64X2_EXTEND_LOW_I32X4_S:
+            case VectorInstructions.I64X2_EXTEND_HIGH_I32X4_S:
+            case VectorInstructions.I64X2_EXTEND_LOW_I32X4_U:
+            case VectorInstructions.I64X2_EXTEND_HIGH_I32X4_U: {
+                // The four variants of each shape are numbered low_s, high_s, low_u, high_u.
+                int variant = vectorOpcode & 3;
+                int laneBits = vectorLaneBits(vectorOpcode) / 2;
+                boolean high = variant == 0 || variant == 2;
+                boolean signed = variant == 0 || variant == 3;
+                long sourceHigh = pop(stack, stackPointer - 1);
+                long sourceLow = pop(stack, stackPointer - 2);
+                long source = high ? sourceHigh : sourceLow;
+                push(stack, stackPointer - 2, Vector128.extend(source, laneBits, signed, 0));
+                push(stack, stackPointer - 1, Vector128.extend(source, laneBits, signed, 1));
+                return stackPointer;
+            }
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_U:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_U:
+            case VectorInstructions.I64X2_EXTMUL_LOW_I32X4_S:
+            case VectorInstructions.I64X2_EXTMUL_HIGH_I32X4_S:
+            case VectorInstructions.I64X2_EXTMUL_LOW_I32X4_U:
+            case VectorInstructions.I64X2_EXTMUL_HIGH_I32X4_U: {
+                // The four variants of each shape are numbered low_s, high_s, low_u, high_u.
+                int variant = vectorOpcode & 3;
+                int laneBits = vectorLaneBits(vectorOpcode) / 2;
+                boolean high = variant == 1 || variant == 3;
+                boolean signed = variant == 0 || variant == 1;
+                long bHigh = pop(stack, stackPointer - 1);
+                long bLow = pop(stack, stackPointer - 2);
+                long aHigh = pop(stack, stackPointer - 3);
+                long aLow = pop(stack, stackPointer - 4);
+                long a = high ? aHigh : aLow;
+                long b = high ? bHigh : bLow;
+                push(stack, stackPointer - 4, Vector128.extmul(a, b, laneBits, signed, 0));
+                push(stack, stackPointer - 3, Vector128.extmul(a, b, laneBits, signed, 1));
+                return stackPointer - 2;
+            }
+            case VectorInstructions.F32X4_DEMOTE_F64X2_ZERO:
+            case VectorInstructions.I32X4_TRUNC_SAT_F64X2_S_ZERO:
+            case VectorInstructions.I32X4_TRUNC_SAT_F64X2_U_ZERO: {
+                double high = Double.longBitsToDouble(pop(stack, stackPointer - 1));
+                double low = Double.longBitsToDouble(pop(stack, stackPointer - 2));
+                final long lowResult;
+                final long highResult;
+                switch (vectorOpcode) {
+                    case VectorInstructions.F32X4_DEMOTE_F64X2_ZERO:
+                        lowResult = Float.floatToRawIntBits((float) low) & 0xFFFF_FFFFL;
+                        highResult = Float.floatToRawIntBits((float) high) & 0xFFFF_FFFFL;
+                        break;
+                    case VectorInstructions.I32X4_TRUNC_SAT_F64X2_S_ZERO:
+                        // Java's conversion saturates and maps NaN to zero, as required.
+                        lowResult = (int) low & 0xFFFF_FFFFL;
+                        highResult = (int) high & 0xFFFF_FFFFL;
+                        break;
+                    default:
+                        lowResult = Vector128.truncSatUnsigned(low);
+                        highResult = Vector128.truncSatUnsigned(high);
+                        break;
+                }
+                push(stack, stackPointer - 2, lowResult | (highResult << 32));
+                push(stack, stackPointer - 1, 0L);
+                return stackPointer;
+            }
+            case VectorInstructions.F64X2_PROMOTE_LOW_F32X4:
+            case VectorInstructions.F64X2_CONVERT_LOW_I32X4_S:
+            case VectorInstructions.F64X2_CONVERT_LOW_I32X4_U: {
+                pop(stack, stackPointer - 1);
+                long source = pop(stack, stackPointer - 2);
+                int low = (int) source;
+                int high = (int) (source >>> 32);
+                final double lowResult;
+                final double highResult;
+                switch (vectorOpcode) {
+                    case VectorInstructions.F64X2_PROMOTE_LOW_F32X4:
+                        lowResult = Float.intBitsToFloat(low);
+                        highResult = Float.intBitsToFloat(high);
+                        break;
+                    case VectorInstructions.F64X2_CONVERT_LOW_I32X4_S:
+                        lowResult = low;
+                        highResult = high;
+                        break;
+                    default:
+                        lowResult = WasmMath.unsignedIntToDouble(low);
+                        highResult = WasmMath.unsignedIntToDouble(high);
+                        break;
+                }
+                pushDouble(stack, stackPointer - 2, lowResult);
+                pushDouble(stack, stackPointer - 1, highResult);
+                return stackPointer;
+            }
+            case VectorInstructions.V128_NOT:
+            case VectorInstructions.I8X16_ABS:
+            case VectorInstructions.I8X16_NEG:
+            case VectorInstructions.I8X16_POPCNT:
+            case VectorInstructions.I16X8_ABS:
+            case VectorInstructions.I16X8_NEG:
+            case VectorInstructions.I32X4_ABS:
+            case VectorInstructions.I32X4_NEG:
+            case VectorInstructions.I64X2_ABS:
+            case VectorInstructions.I64X2_NEG:
+            case VectorInstructions.F32X4_ABS:
+            case VectorInstructions.F32X4_NEG:
+            case VectorInstructions.F32X4_SQRT:
+            case VectorInstructions.F32X4_CEIL:
+            case VectorInstructions.F32X4_FLOOR:
+            case VectorInstructions.F32X4_TRUNC:
+            case VectorInstructions.F32X4_NEAREST:
+            case VectorInstructions.F64X2_ABS:
+            case VectorInstructions.F64X2_NEG:
+            case VectorInstructions.F64X2_SQRT:
+            case VectorInstructions.F64X2_CEIL:
+            case VectorInstructions.F64X2_FLOOR:
+            case VectorInstructions.F64X2_TRUNC:
+            case VectorInstructions.F64X2_NEAREST:
+            case VectorInstructions.I32X4_TRUNC_SAT_F32X4_S:
+            case VectorInstructions.I32X4_TRUNC_SAT_F32X4_U:
+            case VectorInstructions.F32X4_CONVERT_I32X4_S:
+            case VectorInstructions.F32X4_CONVERT_I32X4_U:
+            case VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_S:
+            case VectorInstructions.I16X8_EXTADD_PAIRWISE_I8X16_U:
+            case VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_S:
+            case VectorInstructions.I32X4_EXTADD_PAIRWISE_I16X8_U: {
+                long high = pop(stack, stackPointer - 1);
+                long low = pop(stack, stackPointer - 2);
+                push(stack, stackPointer - 2, Vector128.unary(vectorOpcode, low));
+                push(stack, stackPointer - 1, Vector128.unary(vectorOpcode, high));
+                return stackPointer;
+            }
+            default: {
+                // All the remaining instructions are lane-wise binary operations.
+                long bHigh = pop(stack, stackPointer - 1);
+                long bLow = pop(stack, stackPointer - 2);
+                long aHigh = pop(stack, stackPointer - 3);
+                long aLow = pop(stack, stackPointer - 4);
+                push(stack, stackPointer - 4, Vector128.binary(vectorOpcode, aLow, bLow));
+                push(stack, stackPointer - 3, Vector128.binary(vectorOpcode, aHigh, bHigh));
+                return stackPointer - 2;
+            }
+        }
+    }
+
+    /**
+     * The lane width, in bits, of the splat, lane access, reduction, extension and extending
+     * multiplication instructions. For the latter two, this is the width of the resulting lanes.
+     */
+    private static int vectorLaneBits(int vectorOpcode) {
+        switch (vectorOpcode) {
+            case VectorInstructions.I8X16_SPLAT:
+            case VectorInstructions.I8X16_EXTRACT_LANE_S:
+            case VectorInstructions.I8X16_EXTRACT_LANE_U:
+            case VectorInstructions.I8X16_REPLACE_LANE:
+            case VectorInstructions.I8X16_ALL_TRUE:
+            case VectorInstructions.I8X16_BITMASK:
+                return 8;
+            case VectorInstructions.I16X8_SPLAT:
+            case VectorInstructions.I16X8_EXTRACT_LANE_S:
+            case VectorInstructions.I16X8_EXTRACT_LANE_U:
+            case VectorInstructions.I16X8_REPLACE_LANE:
+            case VectorInstructions.I16X8_ALL_TRUE:
+            case VectorInstructions.I16X8_BITMASK:
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTEND_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTEND_HIGH_I8X16_U:
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_S:
+            case VectorInstructions.I16X8_EXTMUL_LOW_I8X16_U:
+            case VectorInstructions.I16X8_EXTMUL_HIGH_I8X16_U:
+                return 16;
+            case VectorInstructions.I32X4_SPLAT:
+            case VectorInstructions.F32X4_SPLAT:
+            case VectorInstructions.I32X4_EXTRACT_LANE:
+            case VectorInstructions.F32X4_EXTRACT_LANE:
+            case VectorInstructions.I32X4_REPLACE_LANE:
+            case VectorInstructions.F32X4_REPLACE_LANE:
+            case VectorInstructions.I32X4_ALL_TRUE:
+            case VectorInstructions.I32X4_BITMASK:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTEND_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTEND_HIGH_I16X8_U:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_S:
+            case VectorInstructions.I32X4_EXTMUL_LOW_I16X8_U:
+            case VectorInstructions.I32X4_EXTMUL_HIGH_I16X8_U:
+                return 32;
+            default:
+                return 64;
+        }
+    }
+
+    private static int vectorImmediateLength(int vectorOpcode, byte[] data, int offset) {
+        switch (vectorOpcode) {
+            case VectorInstructions.V128_LOAD:
+            case VectorInstructions.V128_LOAD8X8_S:
+            case VectorInstructions.V128_LOAD8X8_U:
+            case VectorInstructions.V128_LOAD16X4_S:
+            case VectorInstructions.V128_LOAD16X4_U:
+            case VectorInstructions.V128_LOAD32X2_S:
+            case VectorInstructions.V128_LOAD32X2_U:
+            case VectorInstructions.V128_LOAD8_SPLAT:
+            case VectorInstructions.V128_LOAD16_SPLAT:
+            case VectorInstructions.V128_LOAD32_SPLAT:
+            case VectorInstructions.V128_LOAD64_SPLAT:
+            case VectorInstructions.V128_LOAD32_ZERO:
+            case VectorInstructions.V128_LOAD64_ZERO:
+            case VectorInstructions.V128_STORE: {
+                int memAlignOffsetDelta = offsetDelta(data, offset);
+                return memAlignOffsetDelta + offsetDelta(data, offset + memAlignOffsetDelta);
+            }
+            case VectorInstructions.V128_LOAD8_LANE:
+            case VectorInstructions.V128_LOAD16_LANE:
+            case VectorInstructions.V128_LOAD32_LANE:
+            case VectorInstructions.V128_LOAD64_LANE:
+            case VectorInstructions.V128_STORE8_LANE:
+            case VectorInstructions.V128_STORE16_LANE:
+            case VectorInstructions.V128_STORE32_LANE:
+            case VectorInstructions.V128_STORE64_LANE: {
+                // The memory argument is followed by the lane index.
+                int memAlignOffsetDelta = offsetDelta(data, offset);
+                return memAlignOffsetDelta + offsetDelta(data, offset + memAlignOffsetDelta) + 1;
+            }
+            case VectorInstructions.V128_CONST:
+            case VectorInstructions.I8X16_SHUFFLE:
+                return 16;
+            case VectorInstructions.I8X16_EXTRACT_LANE_S:
+            case VectorInstructions.I8X16_EXTRACT_LANE_U:
+            case VectorInstructions.I8X16_REPLACE_LANE:
+            case VectorInstructions.I16X8_EXTRACT_LANE_S:
+            case VectorInstructions.I16X8_EXTRACT_LANE_U:
+            case VectorInstructions.I16X8_REPLACE_LANE:
+            case VectorInstructions.I32X4_EXTRACT_LANE:
+            case VectorInstructions.I32X4_REPLACE_LANE:
+            case VectorInstructions.I64X2_EXTRACT_LANE:
+            case VectorInstructions.I64X2_REPLACE_LANE:
+            case VectorInstructions.F32X4_EXTRACT_LANE:
+            case VectorInstructions.F32X4_REPLACE_LANE:
+            case VectorInstructions.F64X2_EXTRACT_LANE:
+            case VectorInstructions.F64X2_REPLACE_LANE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Pops the base address below {@code stackPointer} and adds the offset of the memory
+     * immediate at {@code offset} to it.
+     */
+    private int effectiveAddress(long[] stack, int stackPointer, byte[] data, int offset) {
+        /* The memAlign hint is not currently used or taken into account. */
+        int memAlignOffsetDelta = offsetDelta(data, offset);
+        int memOffset = value(unsignedIntConstantAndLength(data, offset + memAlignOffsetDelta));
+        int baseAddress = popInt(stack, stackPointer - 1);
+        try {
+            return addExactUnsigned(memOffset, baseAddress);
+        } catch (ArithmeticException e) {
+            throw WasmException.create(Failure.OUT_OF_BOUNDS_MEMORY_ACCESS, this);
+        }
+    }
+
+    /**
+     * Reads the lane index that follows the memory argument of a lane load or store.
+     */
+    private static int vectorLaneIndex(byte[] data, int offset) {
+        int memAlignOffsetDelta = offsetDelta(data, offset);
+        int memOffsetDelta = offsetDelta(data, offset + memAlignOffsetDelta);
+        return BinaryStreamParser.rawPeek1(data, offset + memAlignOffsetDelta + memOffsetDelta) & 0xFF;
+    }
+
+    private int upperHalfAddress(int address) {
+        try {
+            return addExactUnsigned(address, 8);
+        } catch (ArithmeticException e) {
+            throw WasmException.create(Failure.OUT_OF_BOUNDS_MEMORY_ACCESS, this);
+        }
+    }
+
     @TruffleBoundary
     public void resolveCallNode(int childOffset) {
         final WasmFunction function = ((WasmCallStubNode) children[childOffset]).function();
@@ -2888,16 +3606,6 @@ public final class WasmBlockNode extends WasmNode implements RepeatingNode {
         return BinaryStreamParser.rawPeekUnsignedInt32AndLength(data, offset);
     }
 
-    private static long signedIntConstantAndLength(byte[] data, int offset) {
-        // This is an optimized version of the read which returns both the constant
-        // and its length within one 64-bit value.
-        return BinaryStreamParser.rawPeekSignedInt32AndLength(data, offset);
-    }
-
-    private static long signedLongConstant(byte[] data, int offset) {
-        return BinaryStreamParser.peekSignedInt64(data, offset, false);
-    }
-
     private static int offsetDelta(byte[] data, int offset) {
         return BinaryStreamParser.peekLeb128Length(data, offset);
     }
@@ -69,7 +69,7 @@ public final class WasmIfNode extends WasmNode {
     @Override
     public int execute(WasmContext context, VirtualFrame frame, long[] stacklocals) {
         int stackPointer = initialStackPointer - 1;
-        if (condition.profile(popInt(stacklocals, codeEntry().numLocals() + stackPointer) != 0)) {
+        if (condition.profile(popInt(stacklocals, codeEntry().numLocalSlots() + stackPointer) != 0)) {
             return trueBranch.execute(context, frame, stacklocals);
         } else if (falseBranch != null) {
             return falseBranch.execute(context, frame, stacklocals);
@@ -116,7 +116,7 @@ public class WasmRootNode extends RootNode implements WasmNodeInterface {
         // as an argument to the loop-node's execute method,
         // and must be restored at the beginning of the loop body.
         final int maxStackSize = codeEntry.maxStackSize();
-        final int numLocals = body.codeEntry().numLocals();
+        final int numLocals = body.codeEntry().numLocalSlots();
         long[] stacklocals = new long[numLocals + maxStackSize];
         frame.setObject(codeEntry.stackLocalsSlot(), stacklocals);
         moveArgumentsToLocals(frame, stacklocals);
@@ -190,6 +190,7 @@ public class WasmRootNode extends RootNode implements WasmNodeInterface {
         int numArgs = body.instance().symbolTable().function(codeEntry().functionIndex()).numArguments();
         for (int i = numArgs; i != body.codeEntry().numLocals(); ++i) {
             byte type = body.codeEntry().localType(i);
+            int slot = body.codeEntry().localSlot(i);
             switch (type) {
                 case WasmType.I32_TYPE:
                     // Already set to 0 at allocation.
@@ -198,10 +199,13 @@ public class WasmRootNode extends RootNode implements WasmNodeInterface {
                     // Already set to 0 at allocation.
                     break;
                 case WasmType.F32_TYPE:
-                    stacklocals[i] = Float.floatToRawIntBits(0.0f);
+                    stacklocals[slot] = Float.floatToRawIntBits(0.0f);
                     break;
                 case WasmType.F64_TYPE:
-                    stacklocals[i] = Double.doubleToRawLongBits(0.0);
+                    stacklocals[slot] = Double.doubleToRawLongBits(0.0);
+                    break;
+                case WasmType.V128_TYPE:
+                    // Both slots already set to 0 at allocation.
                     break;
             }
         }
@@ -134,7 +134,7 @@ public abstract class BuiltinModule {
     }
 
     protected void importMemory(WasmInstance instance, String importModuleName, String memoryName, int initSize, int maxSize) {
-        instance.symbolTable().importMemory(importModuleName, memoryName, initSize, maxSize);
+        instance.symbolTable().importMemory(importModuleName, memoryName, initSize, maxSize, false);
     }
 
     protected byte[] types(byte... args) {